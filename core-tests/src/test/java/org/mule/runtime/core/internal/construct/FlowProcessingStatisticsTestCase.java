@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
+import static org.mule.runtime.core.api.construct.BackPressureReason.REQUIRED_SCHEDULER_BUSY;
+import static org.mule.runtime.core.api.construct.BackPressureReason.REQUIRED_SCHEDULER_BUSY_WITH_FULL_BUFFER;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.EXECUTION_ENGINE;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.BACKPRESSURE;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.ExecutorService;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(EXECUTION_ENGINE)
+@Story(BACKPRESSURE)
+public class FlowProcessingStatisticsTestCase extends AbstractMuleTestCase {
+
+  private final FlowProcessingStatistics statistics = new FlowProcessingStatistics();
+
+  @Test
+  public void emptyByDefault() {
+    assertThat(statistics.getInFlightEvents(), is(0L));
+    for (BackPressureReason reason : BackPressureReason.values()) {
+      assertThat(statistics.getBackPressureCount(reason), is(0L));
+    }
+  }
+
+  @Test
+  public void inFlightEventsTracked() {
+    statistics.eventStarted();
+    statistics.eventStarted();
+    statistics.eventStarted();
+    statistics.eventCompleted();
+
+    assertThat(statistics.getInFlightEvents(), is(2L));
+  }
+
+  @Test
+  public void backPressureCountedPerReason() {
+    statistics.backPressureApplied(MAX_CONCURRENCY_EXCEEDED);
+    statistics.backPressureApplied(MAX_CONCURRENCY_EXCEEDED);
+    statistics.backPressureApplied(REQUIRED_SCHEDULER_BUSY);
+
+    assertThat(statistics.getBackPressureCount(MAX_CONCURRENCY_EXCEEDED), is(2L));
+    assertThat(statistics.getBackPressureCount(REQUIRED_SCHEDULER_BUSY), is(1L));
+    assertThat(statistics.getBackPressureCount(REQUIRED_SCHEDULER_BUSY_WITH_FULL_BUFFER), is(0L));
+  }
+
+  @Test
+  public void concurrentUpdatesNotLost() throws InterruptedException {
+    final int threads = 4;
+    final int eventsPerThread = 10_000;
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      for (int i = 0; i < threads; ++i) {
+        executor.execute(() -> {
+          for (int j = 0; j < eventsPerThread; ++j) {
+            statistics.eventStarted();
+            statistics.backPressureApplied(REQUIRED_SCHEDULER_BUSY);
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(executor.awaitTermination(10, SECONDS), is(true));
+
+    assertThat(statistics.getInFlightEvents(), is((long) threads * eventsPerThread));
+    assertThat(statistics.getBackPressureCount(REQUIRED_SCHEDULER_BUSY), is((long) threads * eventsPerThread));
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowStrategy.BLOCK;
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.OverflowStrategy.DROP;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BatchingNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private final List<Runnable> submittedTasks = new ArrayList<>();
+  private final List<Notification> received = new ArrayList<>();
+
+  private Scheduler scheduler;
+  private NotificationListener listener;
+
+  @Before
+  public void before() {
+    scheduler = mock(Scheduler.class);
+    when(scheduler.submit(any(Runnable.class))).thenAnswer(inv -> {
+      submittedTasks.add(inv.getArgument(0));
+      return null;
+    });
+
+    listener = new NotificationListener() {
+
+      @Override
+      public void onNotification(Notification notification) {
+        received.add(notification);
+      }
+    };
+  }
+
+  @Test
+  public void ringBufferIsFifoAndBounded() {
+    NotificationRingBuffer<String> ringBuffer = new NotificationRingBuffer<>(3);
+
+    assertThat(ringBuffer.capacity(), is(4));
+    assertThat(ringBuffer.poll(), is(nullValue()));
+    for (int i = 0; i < 4; ++i) {
+      assertThat(ringBuffer.offer("n" + i), is(true));
+    }
+    assertThat(ringBuffer.offer("overflow"), is(false));
+    assertThat(ringBuffer.poll(), is("n0"));
+    assertThat(ringBuffer.offer("n4"), is(true));
+    assertThat(ringBuffer.size(), is(4));
+
+    List<String> polled = new ArrayList<>();
+    String element;
+    while ((element = ringBuffer.poll()) != null) {
+      polled.add(element);
+    }
+    assertThat(polled, contains("n1", "n2", "n3", "n4"));
+    assertThat(ringBuffer.isEmpty(), is(true));
+  }
+
+  @Test
+  public void singleDrainTaskPerBatch() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(scheduler, scheduler, 16, 2, DROP);
+    Notification n1 = mock(Notification.class);
+    Notification n2 = mock(Notification.class);
+    Notification n3 = mock(Notification.class);
+
+    dispatcher.dispatch(listener, n1);
+    dispatcher.dispatch(listener, n2);
+    dispatcher.dispatch(listener, n3);
+    verify(scheduler, times(1)).submit(any(Runnable.class));
+    assertThat(received, is(empty()));
+
+    // first batch delivers 2 and reschedules for the rest
+    submittedTasks.remove(0).run();
+    assertThat(received, contains(n1, n2));
+    submittedTasks.remove(0).run();
+    assertThat(received, contains(n1, n2, n3));
+    assertThat(submittedTasks, is(empty()));
+  }
+
+  @Test
+  public void dropOnOverflow() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(scheduler, scheduler, 2, 16, DROP);
+
+    for (int i = 0; i < 5; ++i) {
+      dispatcher.dispatch(listener, mock(Notification.class));
+    }
+
+    assertThat(dispatcher.getDroppedCount(), is(3L));
+    assertThat(dispatcher.getPendingCount(), is(2));
+  }
+
+  @Test
+  public void disposeDeliversPending() {
+    BatchingNotificationDispatcher dispatcher = new BatchingNotificationDispatcher(scheduler, scheduler, 16, 1, DROP);
+    Notification n1 = mock(Notification.class);
+    Notification n2 = mock(Notification.class);
+
+    dispatcher.dispatch(listener, n1);
+    dispatcher.dispatch(listener, n2);
+    dispatcher.dispose();
+
+    assertThat(received, contains(n1, n2));
+    assertThat(dispatcher.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void disposeDeliversPendingWhenSchedulerStopped() {
+    Scheduler stoppedScheduler = mock(Scheduler.class);
+    when(stoppedScheduler.submit(any(Runnable.class))).thenThrow(new RejectedExecutionException("stopped"));
+    BatchingNotificationDispatcher dispatcher =
+        new BatchingNotificationDispatcher(stoppedScheduler, stoppedScheduler, 16, 1, DROP);
+    Notification n1 = mock(Notification.class);
+    Notification n2 = mock(Notification.class);
+
+    dispatcher.dispatch(listener, n1);
+    dispatcher.dispatch(listener, n2);
+    dispatcher.dispose();
+
+    assertThat(received, contains(n1, n2));
+    assertThat(dispatcher.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void listenerFiringOnFullBufferWithBlockStrategy() {
+    Notification n1 = mock(Notification.class);
+    Notification n2 = mock(Notification.class);
+    Notification fired1 = mock(Notification.class);
+    Notification fired2 = mock(Notification.class);
+    Notification fired3 = mock(Notification.class);
+    BatchingNotificationDispatcher[] dispatcher = new BatchingNotificationDispatcher[1];
+    NotificationListener firingListener = new NotificationListener() {
+
+      @Override
+      public void onNotification(Notification notification) {
+        received.add(notification);
+        if (notification == n1) {
+          dispatcher[0].dispatch(this, fired1);
+          dispatcher[0].dispatch(this, fired2);
+          dispatcher[0].dispatch(this, fired3);
+        }
+      }
+    };
+    dispatcher[0] = new BatchingNotificationDispatcher(scheduler, scheduler, 2, 16, BLOCK);
+
+    dispatcher[0].dispatch(firingListener, n1);
+    dispatcher[0].dispatch(firingListener, n2);
+    // the ring buffer is full while the listener fires, the drain thread delivers the oldest instead of waiting for space
+    submittedTasks.remove(0).run();
+
+    assertThat(received, contains(n1, n2, fired1, fired2, fired3));
+    assertThat(dispatcher[0].getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void disposeFromListener() {
+    Notification n1 = mock(Notification.class);
+    Notification n2 = mock(Notification.class);
+    BatchingNotificationDispatcher[] dispatcher = new BatchingNotificationDispatcher[1];
+    NotificationListener disposingListener = new NotificationListener() {
+
+      @Override
+      public void onNotification(Notification notification) {
+        received.add(notification);
+        if (notification == n1) {
+          dispatcher[0].dispose();
+        }
+      }
+    };
+    dispatcher[0] = new BatchingNotificationDispatcher(scheduler, scheduler, 16, 1, DROP);
+
+    dispatcher[0].dispatch(disposingListener, n1);
+    dispatcher[0].dispatch(disposingListener, n2);
+    submittedTasks.remove(0).run();
+
+    assertThat(received, contains(n1, n2));
+    assertThat(dispatcher[0].getPendingCount(), is(0));
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lifecycle;
+
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback.LIFECYCLE_PARALLELISM_PROPERTY;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LIFECYCLE_AND_DEPENDENCY_INJECTION;
+import static org.mule.test.allure.AllureConstants.LifecycleAndDependencyInjectionFeature.LifecyclePhaseStory.LIFECYCLE_PHASE_STORY;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Initialisable;
+import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@Feature(LIFECYCLE_AND_DEPENDENCY_INJECTION)
+@Story(LIFECYCLE_PHASE_STORY)
+public class RegistryLifecycleCallbackTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty parallelism = new SystemProperty(LIFECYCLE_PARALLELISM_PROPERTY, "4");
+
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private final List<Object> applied = new CopyOnWriteArrayList<>();
+
+  private RegistryLifecycleManager lifecycleManager;
+  private LifecyclePhase phase;
+
+  @Before
+  public void before() {
+    MuleContext muleContext = mock(MuleContext.class);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(muleContext).withLifecycleLock(any());
+    when(muleContext.getSchedulerService()).thenReturn(schedulerService);
+    when(muleContext.getSchedulerBaseConfig()).thenReturn(SchedulerConfig.config());
+
+    phase = mock(LifecyclePhase.class);
+    when(phase.getName()).thenReturn(Initialisable.PHASE_NAME);
+
+    lifecycleManager = mock(RegistryLifecycleManager.class);
+    when(lifecycleManager.getMuleContext()).thenReturn(of(muleContext));
+    when(lifecycleManager.getPhase(Initialisable.PHASE_NAME)).thenReturn(phase);
+  }
+
+  @After
+  public void after() throws MuleException {
+    schedulerService.stop();
+  }
+
+  @Test
+  public void objectsOfALevelAppliedInParallel() throws Exception {
+    CountDownLatch allStarted = new CountDownLatch(3);
+    doAnswer(invocation -> {
+      allStarted.countDown();
+      // Only completes if the three objects of the level are being initialised at the same time
+      if (!allStarted.await(5, SECONDS)) {
+        throw new LifecycleException(createStaticMessage("Not applied in parallel"), invocation.getArgument(0));
+      }
+      applied.add(invocation.getArgument(0));
+      return null;
+    }).when(phase).applyLifecycle(any());
+    when(lifecycleManager.getObjectLevelsForPhase(phase)).thenReturn(asList(asList("a", "b", "c"), singletonList("d")));
+
+    new RegistryLifecycleCallback<>(lifecycleManager).onTransition(Initialisable.PHASE_NAME, new Object());
+
+    assertThat(applied.subList(0, 3), containsInAnyOrder("a", "b", "c"));
+    assertThat(applied.get(3), is("d"));
+  }
+
+  @Test
+  public void firstFailureInLevelOrderPropagated() throws Exception {
+    LifecycleException firstFailure = new LifecycleException(createStaticMessage("first"), "a");
+    LifecycleException secondFailure = new LifecycleException(createStaticMessage("second"), "c");
+    CountDownLatch secondFailed = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      Object target = invocation.getArgument(0);
+      if (target.equals("a")) {
+        // Fails after the object later in the level, so the order of completion differs from the order of the level
+        secondFailed.await(5, SECONDS);
+        throw firstFailure;
+      } else if (target.equals("c")) {
+        secondFailed.countDown();
+        throw secondFailure;
+      }
+      applied.add(target);
+      return null;
+    }).when(phase).applyLifecycle(any());
+    when(lifecycleManager.getObjectLevelsForPhase(phase)).thenReturn(asList(asList("a", "b", "c"), singletonList("d")));
+
+    try {
+      new RegistryLifecycleCallback<>(lifecycleManager).onTransition(Initialisable.PHASE_NAME, new Object());
+      fail("Expected the lifecycle phase to fail");
+    } catch (LifecycleException e) {
+      assertThat(e, sameInstance(firstFailure));
+    }
+
+    // The whole failed level completes, but the next one is not applied
+    assertThat(applied, contains("b"));
+  }
+
+  @Test
+  public void contextClassLoaderPropagated() throws Exception {
+    Map<Object, ClassLoader> contextClassLoaders = new ConcurrentHashMap<>();
+    doAnswer(invocation -> {
+      contextClassLoaders.put(invocation.getArgument(0), currentThread().getContextClassLoader());
+      return null;
+    }).when(phase).applyLifecycle(any());
+    when(lifecycleManager.getObjectLevelsForPhase(phase)).thenReturn(singletonList(asList("a", "b", "c")));
+
+    ClassLoader originalClassLoader = currentThread().getContextClassLoader();
+    ClassLoader artifactClassLoader = new URLClassLoader(new URL[0], originalClassLoader);
+    currentThread().setContextClassLoader(artifactClassLoader);
+    try {
+      new RegistryLifecycleCallback<>(lifecycleManager).onTransition(Initialisable.PHASE_NAME, new Object());
+    } finally {
+      currentThread().setContextClassLoader(originalClassLoader);
+    }
+
+    assertThat(contextClassLoaders.keySet(), containsInAnyOrder("a", "b", "c"));
+    assertThat(contextClassLoaders.values(), everyItem(sameInstance(artifactClassLoader)));
+  }
+
+  @Test
+  public void interruptedWhileApplyingLevel() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(2);
+    CountDownLatch objectInterrupted = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      blocked.countDown();
+      try {
+        new CountDownLatch(1).await();
+      } catch (InterruptedException e) {
+        objectInterrupted.countDown();
+        throw e;
+      }
+      return null;
+    }).when(phase).applyLifecycle(any());
+    when(lifecycleManager.getObjectLevelsForPhase(phase)).thenReturn(asList(asList("a", "b"), singletonList("c")));
+
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    AtomicReference<Boolean> interruptFlagKept = new AtomicReference<>();
+    Thread transitioning = new Thread(() -> {
+      try {
+        new RegistryLifecycleCallback<>(lifecycleManager).onTransition(Initialisable.PHASE_NAME, new Object());
+      } catch (Throwable t) {
+        failure.set(t);
+      }
+      interruptFlagKept.set(currentThread().isInterrupted());
+    });
+    transitioning.start();
+
+    assertThat(blocked.await(5, SECONDS), is(true));
+    transitioning.interrupt();
+    transitioning.join(SECONDS.toMillis(5));
+
+    assertThat(transitioning.isAlive(), is(false));
+    assertThat(failure.get(), instanceOf(MuleRuntimeException.class));
+    assertThat(interruptFlagKept.get(), is(true));
+    assertThat(objectInterrupted.await(5, SECONDS), is(true));
+    verify(phase, never()).applyLifecycle("c");
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimit.ADAPTIVE_CONCURRENCY_STATISTICS_NAME;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimit.PROCESSING_STRATEGY_NAME_ATTRIBUTE;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.EXECUTION_ENGINE;
+import static org.mule.test.allure.AllureConstants.ExecutionEngineFeature.ExecutionEngineStory.BACKPRESSURE;
+
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
+import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionException;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
+import org.mule.runtime.metrics.api.meter.builder.MeterBuilder;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(EXECUTION_ENGINE)
+@Story(BACKPRESSURE)
+public class AdaptiveConcurrencyLimitTestCase {
+
+  private static final long LATENCY = MILLISECONDS.toNanos(10);
+
+  @Test
+  public void growsWhileLatencyIsStable() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    int initial = limit.getLimit();
+
+    for (int i = 0; i < 200; ++i) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+
+    assertThat(limit.getLimit(), is(100));
+    assertThat(limit.getIncreases(), greaterThan(0L));
+    assertThat(limit.getDecreases(), is(0L));
+    assertThat(initial, lessThan(100));
+  }
+
+  @Test
+  public void shrinksWhenLatencyGrows() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    for (int i = 0; i < 200; ++i) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+
+    for (int i = 0; i < 50; ++i) {
+      limit.onSample(LATENCY * 10, limit.getLimit());
+    }
+
+    assertThat(limit.getLimit(), lessThan(100));
+    assertThat(limit.getDecreases(), greaterThan(0L));
+  }
+
+  @Test
+  public void doesNotGrowWhenConcurrencyIsNotUsed() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 100);
+    int initial = limit.getLimit();
+
+    for (int i = 0; i < 200; ++i) {
+      limit.onSample(LATENCY, 1);
+    }
+
+    assertThat(limit.getLimit(), is(initial));
+  }
+
+  @Test
+  public void neverGoesBelowTheMinimum() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(5, 100);
+    limit.onSample(LATENCY, limit.getLimit());
+
+    for (int i = 0; i < 500; ++i) {
+      limit.onSample(LATENCY * (i + 2), limit.getLimit());
+    }
+
+    assertThat(limit.getLimit(), greaterThan(4));
+  }
+
+  @Test
+  public void processingStrategyExportsLimitWithArtifactId() throws Exception {
+    MeterBuilder meterBuilder = mock(MeterBuilder.class, RETURNS_SELF);
+    when(meterBuilder.build()).thenReturn(mock(Meter.class, RETURNS_DEEP_STUBS));
+    MeterProvider meterProvider = mock(MeterProvider.class);
+    when(meterProvider.getMeterBuilder(ADAPTIVE_CONCURRENCY_STATISTICS_NAME)).thenReturn(meterBuilder);
+
+    AbstractReactorStreamProcessingStrategy processingStrategy = createAdaptiveProcessingStrategy(10);
+    processingStrategy.setMeterProvider(of(new ArtifactMeterProvider(meterProvider, "app")));
+    processingStrategy.initialise();
+
+    verify(meterBuilder).withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, "app");
+    verify(meterBuilder).withMeterAttribute(PROCESSING_STRATEGY_NAME_ATTRIBUTE, "app.flow");
+    verify(meterBuilder, never()).withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, "app.flow-app");
+  }
+
+  @Test
+  public void processingStrategyRejectsEventsOverTheLimit() {
+    AbstractReactorStreamProcessingStrategy processingStrategy = createAdaptiveProcessingStrategy(2);
+    int limit = processingStrategy.getConcurrencyLimit().get().getLimit();
+
+    for (int i = 0; i < limit; ++i) {
+      processingStrategy.checkBackpressureAccepting(mockEvent());
+    }
+
+    assertThat(limit, is(2));
+    assertThrows(FromFlowRejectedExecutionException.class,
+                 () -> processingStrategy.checkBackpressureAccepting(mockEvent()));
+  }
+
+  private AbstractReactorStreamProcessingStrategy createAdaptiveProcessingStrategy(int maxConcurrency) {
+    ProactorStreamEmitterProcessingStrategyFactory factory = new ProactorStreamEmitterProcessingStrategyFactory() {
+
+      @Override
+      protected boolean isAdaptiveConcurrency() {
+        return true;
+      }
+    };
+    factory.setMaxConcurrency(maxConcurrency);
+    return (AbstractReactorStreamProcessingStrategy) factory.create(mock(MuleContext.class), "app.flow");
+  }
+
+  private CoreEvent mockEvent() {
+    CoreEvent event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(mock(BaseEventContext.class));
+    return event;
+  }
+}
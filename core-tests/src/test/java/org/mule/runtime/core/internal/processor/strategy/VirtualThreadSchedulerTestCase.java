@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.PROACTOR;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.MDC;
+
+@Feature(PROCESSING_STRATEGIES)
+@Story(PROACTOR)
+public class VirtualThreadSchedulerTestCase {
+
+  private Scheduler ioScheduler;
+  private VirtualThreadScheduler scheduler;
+
+  @Before
+  public void before() throws InterruptedException {
+    assumeTrue(VirtualThreadScheduler.isSupported());
+    ioScheduler = mock(Scheduler.class);
+    when(ioScheduler.getName()).thenReturn("flow.BLOCKING");
+    when(ioScheduler.isTerminated()).thenReturn(true);
+    when(ioScheduler.awaitTermination(anyLong(), any())).thenReturn(true);
+    scheduler = new VirtualThreadScheduler(ioScheduler, 2, 2000);
+  }
+
+  @After
+  public void after() {
+    MDC.clear();
+  }
+
+  @Test
+  public void contextIsPropagated() throws Exception {
+    ClassLoader classLoader = new ClassLoader() {};
+    ClassLoader original = currentThread().getContextClassLoader();
+    currentThread().setContextClassLoader(classLoader);
+    MDC.put("correlationId", "1234");
+    try {
+      Future<Object[]> result = scheduler.submit(() -> new Object[] {currentThread().getName(),
+          currentThread().getContextClassLoader(), MDC.get("correlationId")});
+
+      Object[] context = result.get(5, SECONDS);
+      assertThat((String) context[0], startsWith("flow.BLOCKING.virtual."));
+      assertThat(context[1], sameInstance(classLoader));
+      assertThat(context[2], is("1234"));
+    } finally {
+      currentThread().setContextClassLoader(original);
+    }
+  }
+
+  @Test
+  public void rejectsWhenMaxConcurrencyReached() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    futures.add(scheduler.submit(() -> awaitUninterruptibly(release)));
+    futures.add(scheduler.submit(() -> awaitUninterruptibly(release)));
+
+    try {
+      scheduler.submit(() -> {
+      });
+      fail("Expected the task exceeding the max concurrency to be rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+
+    release.countDown();
+    for (Future<?> future : futures) {
+      future.get(5, SECONDS);
+    }
+    // Permits are given back once the tasks complete
+    scheduler.submit(() -> {
+    }).get(5, SECONDS);
+  }
+
+  @Test
+  public void stopWaitsForRunningTasks() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> future = scheduler.submit(() -> {
+      started.countDown();
+      awaitUninterruptibly(release);
+    });
+    assertThat(started.await(5, SECONDS), is(true));
+
+    Thread stopping = new Thread(scheduler::stop);
+    stopping.start();
+    stopping.join(200);
+    assertThat(stopping.isAlive(), is(true));
+    assertThat(scheduler.isShutdown(), is(true));
+    assertThat(scheduler.isTerminated(), is(false));
+    assertThat(scheduler.awaitTermination(100, MILLISECONDS), is(false));
+
+    release.countDown();
+    stopping.join(SECONDS.toMillis(5));
+    future.get(5, SECONDS);
+    assertThat(scheduler.awaitTermination(5, SECONDS), is(true));
+    assertThat(scheduler.isTerminated(), is(true));
+  }
+
+  @Test
+  public void stopInterruptsTasksAfterGracefulShutdownTimeout() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    Future<?> future = scheduler.submit(() -> {
+      started.countDown();
+      new CountDownLatch(1).await();
+      return null;
+    });
+    assertThat(started.await(5, SECONDS), is(true));
+
+    scheduler.stop();
+
+    try {
+      future.get(5, SECONDS);
+      fail("Expected the running task to be interrupted");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(InterruptedException.class));
+    }
+    assertThat(scheduler.awaitTermination(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void shutdownNowInterruptsRunningTasks() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    Future<?> future = scheduler.submit(() -> {
+      started.countDown();
+      new CountDownLatch(1).await();
+      return null;
+    });
+    assertThat(started.await(5, SECONDS), is(true));
+
+    scheduler.shutdownNow();
+
+    try {
+      future.get(5, SECONDS);
+      fail("Expected the running task to be interrupted");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(InterruptedException.class));
+    }
+    verify(ioScheduler).shutdownNow();
+    assertThat(scheduler.awaitTermination(5, SECONDS), is(true));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void rejectsAfterStop() {
+    scheduler.stop();
+    verify(ioScheduler).stop();
+    scheduler.execute(() -> {
+    });
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
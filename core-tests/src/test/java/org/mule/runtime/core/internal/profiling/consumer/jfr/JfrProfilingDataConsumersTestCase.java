@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_PROFILING_SERVICE;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.TypedComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.threading.ThreadSnapshot;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.api.profiling.type.context.ComponentProcessingStrategyProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultComponentMetadata;
+import org.mule.runtime.core.internal.profiling.tracing.DefaultExecutionContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(PROFILING)
+@Story(DEFAULT_PROFILING_SERVICE)
+public class JfrProfilingDataConsumersTestCase extends AbstractMuleTestCase {
+
+  private static final long TRIGGER_TIMESTAMP = 1700000000000L;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void byteBufferAllocationEventIsRecorded() throws IOException {
+    ByteBufferProviderEventContext eventContext = mock(ByteBufferProviderEventContext.class);
+    when(eventContext.getByteBufferProviderName()).thenReturn("provider");
+    when(eventContext.size()).thenReturn(1024);
+    when(eventContext.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+
+    List<RecordedEvent> events = record("org.mule.runtime.ByteBufferAllocation", () -> new JfrByteBufferAllocationDataConsumer()
+        .onProfilingEvent(MEMORY_BYTE_BUFFER_ALLOCATION, eventContext));
+
+    assertThat(events, hasSize(1));
+    assertThat(events.get(0).getString("byteBufferProviderName"), is("provider"));
+    assertThat(events.get(0).getLong("size"), is(1024L));
+    assertThat(events.get(0).getInstant("triggerTimestamp").toEpochMilli(), is(TRIGGER_TIMESTAMP));
+    assertThat(events.get(0).getString("profilingEventType"),
+               is(MEMORY_BYTE_BUFFER_ALLOCATION.getProfilingEventTypeNamespace() + ":"
+                   + MEMORY_BYTE_BUFFER_ALLOCATION.getProfilingEventTypeIdentifier()));
+  }
+
+  @Test
+  public void taskSchedulingEventIsRecordedWithComponentData() throws IOException {
+    TaskSchedulingProfilingEventContext eventContext = mock(TaskSchedulingProfilingEventContext.class);
+    when(eventContext.getTaskId()).thenReturn("task");
+    when(eventContext.getThreadName()).thenReturn("cpuLight.01");
+    when(eventContext.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(eventContext.getTaskTracingContext())
+        .thenReturn(of(new DefaultExecutionContext(new DefaultComponentMetadata("correlationId", "app", "APP",
+                                                                                mockLocation()))));
+
+    List<RecordedEvent> events = record("org.mule.runtime.TaskScheduling", () -> new JfrTaskSchedulingDataConsumer()
+        .onProfilingEvent(STARTING_TASK_EXECUTION, eventContext));
+
+    assertThat(events, hasSize(1));
+    assertThat(events.get(0).getString("taskId"), is("task"));
+    assertThat(events.get(0).getString("processingThread"), is("cpuLight.01"));
+    assertThat(events.get(0).getString("artifactId"), is("app"));
+    assertThat(events.get(0).getString("correlationId"), is("correlationId"));
+    assertThat(events.get(0).getString("location"), is("flow/processors/0"));
+    assertThat(events.get(0).getString("componentIdentifier"), is("mule:logger"));
+  }
+
+  @Test
+  public void componentExecutionEventIsRecorded() throws IOException {
+    ComponentProcessingStrategyProfilingEventContext eventContext = mock(ComponentProcessingStrategyProfilingEventContext.class);
+    when(eventContext.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(eventContext.getThreadName()).thenReturn("cpuLight.01");
+    when(eventContext.getArtifactId()).thenReturn("app");
+    when(eventContext.getArtifactType()).thenReturn("APP");
+    when(eventContext.getCorrelationId()).thenReturn("correlationId");
+    when(eventContext.getLocation()).thenReturn(of(mockLocation()));
+
+    List<RecordedEvent> events = record("org.mule.runtime.ComponentExecution", () -> new JfrComponentExecutionDataConsumer()
+        .onProfilingEvent(PS_STARTING_OPERATION_EXECUTION, eventContext));
+
+    assertThat(events, hasSize(1));
+    assertThat(events.get(0).getString("profilingEventType"),
+               is(PS_STARTING_OPERATION_EXECUTION.getProfilingEventTypeNamespace() + ":"
+                   + PS_STARTING_OPERATION_EXECUTION.getProfilingEventTypeIdentifier()));
+    assertThat(events.get(0).getInstant("triggerTimestamp").toEpochMilli(), is(TRIGGER_TIMESTAMP));
+    assertThat(events.get(0).getString("processingThread"), is("cpuLight.01"));
+    assertThat(events.get(0).getString("artifactId"), is("app"));
+    assertThat(events.get(0).getString("artifactType"), is("APP"));
+    assertThat(events.get(0).getString("correlationId"), is("correlationId"));
+    assertThat(events.get(0).getString("location"), is("flow/processors/0"));
+    assertThat(events.get(0).getString("componentIdentifier"), is("mule:logger"));
+  }
+
+  @Test
+  public void componentThreadingEventIsRecordedWithThreadSnapshot() throws IOException {
+    ComponentThreadingProfilingEventContext eventContext = mock(ComponentThreadingProfilingEventContext.class);
+    when(eventContext.getTriggerTimestamp()).thenReturn(TRIGGER_TIMESTAMP);
+    when(eventContext.getThreadName()).thenReturn("io.01");
+    when(eventContext.getArtifactId()).thenReturn("app");
+    when(eventContext.getLocation()).thenReturn(of(mockLocation()));
+    ThreadSnapshot threadSnapshot = mock(ThreadSnapshot.class);
+    when(threadSnapshot.getBlockedTime()).thenReturn(10L);
+    when(threadSnapshot.getWaitedTime()).thenReturn(20L);
+    when(threadSnapshot.getCpuTime()).thenReturn(30L);
+    when(eventContext.getThreadSnapshot()).thenReturn(of(threadSnapshot));
+
+    List<RecordedEvent> events = record("org.mule.runtime.ComponentThreading", () -> new JfrComponentThreadingDataConsumer()
+        .onProfilingEvent(OPERATION_THREAD_RELEASE, eventContext));
+
+    assertThat(events, hasSize(1));
+    assertThat(events.get(0).getString("processingThread"), is("io.01"));
+    assertThat(events.get(0).getString("artifactId"), is("app"));
+    assertThat(events.get(0).getString("location"), is("flow/processors/0"));
+    assertThat(events.get(0).getDuration("blockedTime").toMillis(), is(10L));
+    assertThat(events.get(0).getDuration("waitedTime").toMillis(), is(20L));
+    assertThat(events.get(0).getDuration("cpuTime").toNanos(), is(30L));
+  }
+
+  @Test
+  public void componentThreadingEventIsRecordedWithoutThreadSnapshot() throws IOException {
+    ComponentThreadingProfilingEventContext eventContext = mock(ComponentThreadingProfilingEventContext.class);
+    when(eventContext.getLocation()).thenReturn(empty());
+    when(eventContext.getThreadSnapshot()).thenReturn(empty());
+
+    List<RecordedEvent> events = record("org.mule.runtime.ComponentThreading", () -> new JfrComponentThreadingDataConsumer()
+        .onProfilingEvent(OPERATION_THREAD_RELEASE, eventContext));
+
+    assertThat(events, hasSize(1));
+    assertThat(events.get(0).getString("location"), is(nullValue()));
+    assertThat(events.get(0).getDuration("cpuTime").toNanos(), is(0L));
+  }
+
+  @Test
+  public void eventIsEnabledOnlyWhileRecording() {
+    JfrComponentExecutionDataConsumer dataConsumer = new JfrComponentExecutionDataConsumer();
+    assertThat(dataConsumer.isEventEnabled(), is(false));
+
+    try (Recording recording = new Recording()) {
+      recording.enable("org.mule.runtime.ComponentExecution");
+      recording.start();
+      assertThat(dataConsumer.isEventEnabled(), is(true));
+      recording.stop();
+    }
+
+    assertThat(dataConsumer.isEventEnabled(), is(false));
+  }
+
+  @Test
+  public void eventIsNotRecordedWhenDisabled() throws IOException {
+    TaskSchedulingProfilingEventContext eventContext = mock(TaskSchedulingProfilingEventContext.class);
+    when(eventContext.getTaskTracingContext()).thenReturn(empty());
+
+    Path recordingFile = temporaryFolder.newFile("disabled.jfr").toPath();
+    try (Recording recording = new Recording()) {
+      recording.disable("org.mule.runtime.TaskScheduling");
+      recording.start();
+      new JfrTaskSchedulingDataConsumer().onProfilingEvent(STARTING_TASK_EXECUTION, eventContext);
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    assertThat(RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals("org.mule.runtime.TaskScheduling"))
+        .count(), is(0L));
+  }
+
+  private static ComponentLocation mockLocation() {
+    ComponentIdentifier identifier = mock(ComponentIdentifier.class);
+    when(identifier.getNamespace()).thenReturn("mule");
+    when(identifier.getName()).thenReturn("logger");
+    TypedComponentIdentifier typedIdentifier = mock(TypedComponentIdentifier.class);
+    when(typedIdentifier.getIdentifier()).thenReturn(identifier);
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn("flow/processors/0");
+    when(location.getComponentIdentifier()).thenReturn(typedIdentifier);
+    return location;
+  }
+
+  private List<RecordedEvent> record(String eventName, Runnable emitter) throws IOException {
+    Path recordingFile = temporaryFolder.newFile().toPath();
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName);
+      recording.start();
+      emitter.run();
+      recording.stop();
+      recording.dump(recordingFile);
+    }
+
+    return RecordingFile.readAllEvents(recordingFile).stream()
+        .filter(event -> event.getEventType().getName().equals(eventName))
+        .collect(toList());
+  }
+}
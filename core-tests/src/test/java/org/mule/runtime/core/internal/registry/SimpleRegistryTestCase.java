@@ -9,9 +9,12 @@ package org.mule.runtime.core.internal.registry;
 import static org.mule.runtime.api.config.FeatureFlaggingService.FEATURE_FLAGGING_SERVICE_KEY;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsEmptyIterable.emptyIterable;
 import static org.hamcrest.core.IsIterableContaining.hasItems;
 import static org.junit.Assert.assertEquals;
@@ -26,6 +29,10 @@ import org.mule.runtime.core.privileged.registry.RegistrationException;
 import org.mule.runtime.feature.internal.config.DefaultFeatureFlaggingService;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
+import java.util.Collection;
+
+import jakarta.inject.Inject;
+
 import org.slf4j.Logger;
 
 import org.junit.Test;
@@ -100,6 +107,62 @@ public class SimpleRegistryTestCase extends AbstractMuleContextTestCase {
     assertThat(registryMap.getLostObjects(), is(empty()));
   }
 
+  @Test
+  public void typeIndexFollowsRegistrations() throws Exception {
+    final RegistryMap registryMap = new RegistryMap(mock(Logger.class));
+    InterfaceBasedTracker tracker = new InterfaceBasedTracker();
+    Object plain = new Object();
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, tracker);
+    registryMap.putAndLogWarningIfDuplicate("plain", plain);
+
+    assertThat(registryMap.selectByType(Disposable.class).keySet(), contains(TEST_KEY));
+    assertThat(registryMap.selectByType(AbstractLifecycleTracker.class).keySet(), contains(TEST_KEY));
+    assertThat(registryMap.selectValuesByType(Object.class), containsInAnyOrder(tracker, plain));
+
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, plain);
+    assertThat(registryMap.selectByType(Disposable.class).isEmpty(), is(true));
+    assertThat(registryMap.selectByType(Object.class).keySet(), containsInAnyOrder(TEST_KEY, "plain"));
+
+    registryMap.remove("plain");
+    assertThat(registryMap.selectByType(Object.class).keySet(), contains(TEST_KEY));
+  }
+
+  @Test
+  public void typeIndexBuiltOnFirstLookup() throws Exception {
+    final RegistryMap registryMap = new RegistryMap(mock(Logger.class));
+    InterfaceBasedTracker tracker = new InterfaceBasedTracker();
+    assertThat(registryMap.selectByType(Disposable.class).isEmpty(), is(true));
+
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, tracker);
+    registryMap.putAndLogWarningIfDuplicate("other", new InterfaceBasedTracker());
+    assertThat(registryMap.selectByType(Disposable.class).keySet(), containsInAnyOrder(TEST_KEY, "other"));
+
+    registryMap.remove("other");
+    assertThat(registryMap.selectValuesByType(Disposable.class), contains(tracker));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void entrySetIsUnmodifiable() throws Exception {
+    final RegistryMap registryMap = new RegistryMap(mock(Logger.class));
+    registryMap.putAndLogWarningIfDuplicate(TEST_KEY, new Object());
+
+    registryMap.entrySet().iterator().next().setValue(new Object());
+  }
+
+  @Test
+  public void injectionPointsOfSameClass() throws Exception {
+    final SimpleRegistry registry = new SimpleRegistry(null);
+    InterfaceBasedTracker tracker = new InterfaceBasedTracker();
+    registry.registerObject(TEST_KEY, tracker);
+
+    InjectionTarget first = registry.inject(new InjectionTarget());
+    InjectionTarget second = registry.inject(new InjectionTarget());
+
+    assertThat(first.tracker, is(sameInstance(tracker)));
+    assertThat(second.tracker, is(sameInstance(tracker)));
+    assertThat(second.trackers, contains(tracker));
+  }
+
   @Test
   public void testObjectLifecycleStates() throws Exception {
     InterfaceBasedTracker tracker = new InterfaceBasedTracker();
@@ -257,4 +320,17 @@ public class SimpleRegistryTestCase extends AbstractMuleContextTestCase {
     // no custom methods
   }
 
+  public static class InjectionTarget {
+
+    @Inject
+    private InterfaceBasedTracker tracker;
+
+    private Collection<AbstractLifecycleTracker> trackers;
+
+    @Inject
+    public void setTrackers(Collection<AbstractLifecycleTracker> trackers) {
+      this.trackers = trackers;
+    }
+  }
+
 }
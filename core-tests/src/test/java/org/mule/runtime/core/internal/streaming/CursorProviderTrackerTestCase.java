@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.core.internal.streaming.IdentifiableCursorProviderDecorator.of;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Optional.empty;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.CursorProviderTracker.OpenCursorProvider;
+import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class CursorProviderTrackerTestCase extends AbstractMuleTestCase {
+
+  private final CursorProviderTracker tracker = new CursorProviderTracker();
+
+  @Test
+  public void providerIsListedUntilReleased() {
+    CursorStreamProvider provider = mock(CursorStreamProvider.class);
+    when(provider.getOriginatingLocation()).thenReturn(empty());
+    ManagedCursorStreamProvider managedProvider = new ManagedCursorStreamProvider(of(provider), null);
+
+    tracker.track(managedProvider);
+    assertThat(tracker.getOpenCursorProviders(), hasSize(1));
+
+    OpenCursorProvider openProvider = tracker.getOpenCursorProviders().iterator().next();
+    assertThat(openProvider.getId(), is(managedProvider.getId()));
+    assertThat(openProvider.getLocation(), is("unknown"));
+    assertThat(openProvider.getCreatorThreadName(), is(currentThread().getName()));
+    assertThat(openProvider.getBufferedBytes(), is(-1L));
+
+    managedProvider.releaseResources();
+    assertThat(tracker.getOpenCursorProviders(), hasSize(0));
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.time;
+
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.SHARED_TIMER_PROPERTY;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.getActiveTriggerStatistics;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.getSharedTimer;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.withSharedTimer;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.SimpleUnitTestSupportScheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+@SmallTest
+public class SharedTimerSchedulerTestCase extends AbstractMuleTestCase {
+
+  private static final String ARTIFACT_ID = "app";
+
+  private static final HashedWheelTimer TIMER = new HashedWheelTimer("test.timer", MILLISECONDS.toNanos(1), 64);
+
+  @Rule
+  public SystemProperty sharedTimer = new SystemProperty(SHARED_TIMER_PROPERTY, "true");
+
+  private SimpleUnitTestSupportScheduler dispatcher;
+  private SharedTimerScheduler scheduler;
+
+  @Before
+  public void before() {
+    dispatcher = new SimpleUnitTestSupportScheduler(2, Thread::new, new AbortPolicy());
+    scheduler = new SharedTimerScheduler(dispatcher, ARTIFACT_ID, TIMER, () -> {
+    });
+  }
+
+  @After
+  public void after() {
+    scheduler.stop();
+    dispatcher.shutdownNow();
+  }
+
+  @Test
+  public void oneShot() throws Exception {
+    ScheduledFuture<String> future = scheduler.schedule(() -> "done", 5, MILLISECONDS);
+
+    assertThat(future.get(5, SECONDS), is("done"));
+    assertThat(future.isDone(), is(true));
+    assertThat(scheduler.getStatistics().getFiredCount(), is(1L));
+  }
+
+  @Test
+  public void fixedRate() throws Exception {
+    CountDownLatch latch = new CountDownLatch(5);
+    scheduler.scheduleAtFixedRate(latch::countDown, 0, 2, MILLISECONDS);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(scheduler.getStatistics().getFiredCount(), greaterThanOrEqualTo(5L));
+  }
+
+  @Test
+  public void fixedDelay() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    scheduler.scheduleWithFixedDelay(latch::countDown, 0, 2, MILLISECONDS);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void periodicJobKeepsRunningAfterFailure() throws Exception {
+    CountDownLatch latch = new CountDownLatch(3);
+    scheduler.scheduleAtFixedRate(() -> {
+      latch.countDown();
+      throw new IllegalStateException("Expected");
+    }, 0, 2, MILLISECONDS);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+  }
+
+  @Test(expected = CancellationException.class)
+  public void cancel() throws Exception {
+    AtomicInteger executions = new AtomicInteger();
+    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(executions::incrementAndGet, 1, 1, SECONDS);
+
+    assertThat(future.cancel(false), is(true));
+    assertThat(future.isCancelled(), is(true));
+    Thread.sleep(50);
+    assertThat(executions.get(), is(0));
+    future.get();
+  }
+
+  @Test
+  public void lagRecorded() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    scheduler.schedule(latch::countDown, 20, MILLISECONDS);
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(scheduler.getStatistics().getMaxLag(MILLISECONDS), greaterThanOrEqualTo(0L));
+    assertThat(scheduler.getStatistics().getFiredCount(), greaterThan(0L));
+  }
+
+  @Test
+  public void stopCancelsTriggersAndUnregistersStatistics() throws Exception {
+    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
+    }, 1, 1, SECONDS);
+    assertThat(getActiveTriggerStatistics(ARTIFACT_ID), hasItem(scheduler.getStatistics()));
+    assertThat(getActiveTriggerStatistics("otherApp"), not(hasItem(scheduler.getStatistics())));
+
+    scheduler.stop();
+
+    assertThat(future.isCancelled(), is(true));
+    assertThat(getActiveTriggerStatistics(ARTIFACT_ID), not(hasItem(scheduler.getStatistics())));
+  }
+
+  @Test
+  public void sharedTimerStoppedWithItsLastScheduler() throws Exception {
+    SimpleUnitTestSupportScheduler otherDispatcher = new SimpleUnitTestSupportScheduler(1, Thread::new, new AbortPolicy());
+    try {
+      Scheduler first = withSharedTimer(dispatcher, ARTIFACT_ID);
+      Scheduler second = withSharedTimer(otherDispatcher, "otherApp");
+      first.schedule(() -> {
+      }, 1, MILLISECONDS).get(5, SECONDS);
+      HashedWheelTimer timer = getSharedTimer();
+      assertThat(timer.isRunning(), is(true));
+
+      first.stop();
+      assertThat(timer.isRunning(), is(true));
+      assertThat(second.schedule(() -> "done", 1, MILLISECONDS).get(5, SECONDS), is("done"));
+
+      second.stop();
+      assertThat(getSharedTimer(), is(nullValue()));
+      probe(5000, 10, () -> !timer.isRunning());
+    } finally {
+      otherDispatcher.shutdownNow();
+    }
+  }
+
+  @Test
+  public void sharedTimerStoppedWhenDispatcherShutDown() throws Exception {
+    Scheduler decorated = withSharedTimer(dispatcher, ARTIFACT_ID);
+    CountDownLatch firstRun = new CountDownLatch(1);
+    decorated.scheduleAtFixedRate(firstRun::countDown, 0, 2, MILLISECONDS);
+    assertThat(firstRun.await(5, SECONDS), is(true));
+    HashedWheelTimer timer = getSharedTimer();
+
+    // As done by the scheduler service when stopping, without going through the decorator
+    dispatcher.shutdownNow();
+
+    probe(5000, 10, () -> !timer.isRunning());
+    assertThat(getSharedTimer(), is(nullValue()));
+    assertThat(getActiveTriggerStatistics(ARTIFACT_ID), not(hasItem(((SharedTimerScheduler) decorated).getStatistics())));
+  }
+
+  @Test
+  public void rejectedJobsCounted() throws Exception {
+    dispatcher.shutdownNow();
+    ScheduledFuture<?> future = scheduler.schedule(() -> {
+    }, 1, MILLISECONDS);
+
+    while (!future.isDone()) {
+      Thread.sleep(5);
+    }
+    assertThat(scheduler.getStatistics().getRejectedCount(), is(1L));
+  }
+}
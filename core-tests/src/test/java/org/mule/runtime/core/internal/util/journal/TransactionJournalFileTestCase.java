@@ -11,13 +11,19 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
 import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.RandomStringUtils;
 
@@ -53,12 +59,66 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void groupCommitSyncsConcurrentOperations() throws Exception {
+    final int transactions = 200;
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(true);
+
+    ExecutorService executor = newFixedThreadPool(8);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < transactions; ++i) {
+        final int txId = i;
+        results.add(executor.submit(() -> journal
+            .sync(journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 5, "queue", "value" + txId)))));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Everything synced must be in the file, without closing the journal
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reloaded = openJournal(false);
+    try {
+      for (int i = 0; i < transactions; ++i) {
+        Collection<LocalQueueTxJournalEntry> entries = reloaded.getLogEntries(i);
+        assertThat(entries.size(), equalTo(1));
+        assertThat(entries.iterator().next().getValue(), equalTo("value" + i));
+      }
+    } finally {
+      reloaded.close();
+      journal.close();
+    }
+  }
+
+  @Test
+  public void groupCommitSyncsPendingOperationsOnClose() throws Exception {
+    final int txId = 1;
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(true);
+    journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 5, "queue", "value"));
+    journal.close();
+
+    journal = openJournal(true);
+    try {
+      assertThat(journal.getLogEntries(txId).size(), equalTo(1));
+    } finally {
+      journal.close();
+    }
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
+    return openJournal(false);
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(boolean groupCommit) {
     File journalFile = new File(temporaryFolder.getRoot(), "journal");
     JournalEntrySerializer<Integer, LocalQueueTxJournalEntry> serializer = LocalTxQueueTransactionJournal
         .createLocalTxQueueJournalEntrySerializer(muleContext.getObjectSerializer().getInternalProtocol());
 
-    return new TransactionJournalFile<>(journalFile, serializer, journalEntry -> false, KB_500);
+    return new TransactionJournalFile<>(journalFile, serializer, journalEntry -> false, KB_500, groupCommit);
   }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.privileged.event;
+
+import static org.mule.runtime.core.privileged.event.DefaultFlowCallStack.newDefaultFlowCallStack;
+
+import static org.apache.commons.lang3.SerializationUtils.deserialize;
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowCallStackTestCase extends AbstractMuleTestCase {
+
+  private final FlowStackElement flow = new FlowStackElement("flow", null);
+  private final FlowStackElement subFlow = new FlowStackElement("subFlow", null);
+
+  @Test
+  public void emptyStack() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+
+    assertThat(stack.peek(), is(nullValue()));
+    assertThat(stack.getElements(), is(empty()));
+    assertThat(stack.toString(), is(""));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void popEmptyStack() {
+    newDefaultFlowCallStack().pop();
+  }
+
+  @Test
+  public void pushAndPop() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    stack.push(flow);
+    stack.push(subFlow);
+
+    assertThat(stack.peek(), is(sameInstance(subFlow)));
+    assertThat(stack.getElements(), contains(subFlow, flow));
+
+    assertThat(stack.pop(), is(sameInstance(subFlow)));
+    assertThat(stack.getElements(), contains(flow));
+  }
+
+  @Test
+  public void pushCurrentProcessorPathReplacesTop() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    stack.push(flow);
+    stack.push(subFlow);
+    stack.pushCurrentProcessorPath("subFlow/processors/0");
+
+    assertThat(stack.peek().getFlowName(), is("subFlow"));
+    assertThat(stack.peek().getProcessorPath(), is("subFlow/processors/0"));
+    assertThat(stack.getElements().get(1), is(sameInstance(flow)));
+  }
+
+  @Test
+  public void pushCurrentProcessorPathOnEmptyStack() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    stack.pushCurrentProcessorPath("flow/processors/0");
+
+    assertThat(stack.peek(), is(nullValue()));
+  }
+
+  @Test
+  public void cloneIsIndependent() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    stack.push(flow);
+
+    DefaultFlowCallStack clone = stack.clone();
+    clone.push(subFlow);
+    stack.pushCurrentProcessorPath("flow/processors/1");
+
+    assertThat(clone.getElements(), contains(subFlow, flow));
+    assertThat(stack.getElements().size(), is(1));
+    assertThat(stack.peek().getProcessorPath(), is("flow/processors/1"));
+  }
+
+  @Test(expected = EventContextDeepNestingException.class)
+  public void maxDepth() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    for (int i = 0; i < 1000; ++i) {
+      stack.push(new FlowStackElement("flow" + i, null));
+    }
+  }
+
+  @Test
+  public void serialization() {
+    DefaultFlowCallStack stack = newDefaultFlowCallStack();
+    stack.push(flow);
+    stack.push(subFlow);
+
+    DefaultFlowCallStack deserialized = deserialize(serialize(stack));
+
+    assertThat(deserialized.getElements().size(), is(2));
+    assertThat(deserialized.peek().getFlowName(), is("subFlow"));
+    assertThat(deserialized.getElements().get(1).getFlowName(), is("flow"));
+  }
+}
@@ -97,6 +97,7 @@ module org.mule.runtime.core {
   requires transitive jakarta.jms.api;
   requires transitive jakarta.messaging;
   requires java.management;
+  requires jdk.jfr;
   requires jakarta.transaction;
 
   exports org.mule.runtime.core.api;
@@ -237,7 +238,8 @@ module org.mule.runtime.core {
       org.mule.runtime.deployment,
       org.mule.runtime.deployment.model.impl,
       org.mule.runtime.extensions.support,
-      org.mule.runtime.spring.config;
+      org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting;
   exports org.mule.runtime.core.internal.context to
       org.mule.runtime.core.components,
       org.mule.runtime.artifact,
@@ -347,7 +349,8 @@ module org.mule.runtime.core {
       kryo.shaded;
   exports org.mule.runtime.core.internal.processor.strategy to
       org.mule.runtime.core.components,
-      org.mule.runtime.extensions.support;
+      org.mule.runtime.extensions.support,
+      org.mule.runtime.troubleshooting;
   exports org.mule.runtime.core.internal.processor.strategy.util to
       org.mule.runtime.extensions.support;
   exports org.mule.runtime.core.internal.profiling to
@@ -414,6 +417,7 @@ module org.mule.runtime.core {
       org.mule.runtime.core.components,
       org.mule.runtime.extensions.support,
       org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
       com.mulesoft.mule.runtime.core.ee,
       spring.beans;
   exports org.mule.runtime.core.internal.streaming.bytes to
@@ -431,8 +435,10 @@ module org.mule.runtime.core {
   exports org.mule.runtime.core.internal.streaming.object.iterator to
       com.mulesoft.mule.runtime.batch;
   exports org.mule.runtime.core.internal.time to
+      org.mule.runtime.core.components,
       org.mule.runtime.extensions.support,
       org.mule.runtime.spring.config,
+      org.mule.runtime.troubleshooting,
       spring.beans;
   exports org.mule.runtime.core.internal.transaction to
       org.mule.runtime.core.components,
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher.isBatchedNotificationDispatchEnabled;
+
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
@@ -59,6 +61,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.BatchingNotificationDispatcher;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.OptimisedNotificationHandler;
 import org.mule.runtime.core.internal.context.notification.Policy;
@@ -95,6 +98,12 @@ import org.slf4j.Logger;
  * </p>
  *
  * <p>
+ * When {@link BatchingNotificationDispatcher#MULE_NOTIFICATIONS_BATCHED_DISPATCH} is set, asynchronous notifications are
+ * enqueued in a bounded ring buffer per listener group and delivered in batches by a {@link BatchingNotificationDispatcher},
+ * instead of submitting a task to a scheduler for each notification and listener.
+ * </p>
+ *
+ * <p>
  * Note that, because of subclass relationships, we need to be very careful about exactly what is enabled and disabled:
  * <ul>
  * <li>Disabling an event or interface disables all uses of that class or any subclass.</li>
@@ -113,6 +122,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private final Latch disposeLatch = new Latch();
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private BatchingNotificationDispatcher batchingDispatcher;
   private MuleContext muleContext;
   private LazyValue<String> serverId = new LazyValue<>(() -> muleContext.getId());
   private LazyValue<SchedulerService> schedulerService = new LazyValue<>(() -> muleContext.getSchedulerService());
@@ -141,6 +151,9 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = schedulerService.get().cpuLightScheduler(SchedulerConfig.config().withName(toString()));
     notificationsIoScheduler = schedulerService.get().ioScheduler();
+    if (isBatchedNotificationDispatchEnabled()) {
+      batchingDispatcher = new BatchingNotificationDispatcher(notificationsLiteScheduler, notificationsIoScheduler);
+    }
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -225,6 +238,8 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
       if (notification.isSynchronous()) {
         notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
+      } else if (batchingDispatcher != null) {
+        notifyListeners(notification, batchingDispatcher::dispatch);
       } else {
         notifyListeners(notification, (listener, nfn) -> {
           if (listener.isBlocking()) {
@@ -273,6 +288,10 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
     }
 
+    if (batchingDispatcher != null) {
+      batchingDispatcher.dispose();
+      batchingDispatcher = null;
+    }
     if (notificationsLiteScheduler != null) {
       notificationsLiteScheduler.stop();
       notificationsLiteScheduler = null;
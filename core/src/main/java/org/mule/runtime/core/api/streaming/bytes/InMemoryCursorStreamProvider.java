@@ -8,6 +8,7 @@ package org.mule.runtime.core.api.streaming.bytes;
 
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.core.internal.streaming.BufferedCursorProvider;
 import org.mule.runtime.core.internal.streaming.bytes.BufferedCursorStream;
 import org.mule.runtime.core.internal.streaming.bytes.InMemoryStreamBuffer;
 
@@ -18,7 +19,7 @@ import java.io.InputStream;
  *
  * @since 4.0
  */
-public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProvider {
+public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProvider implements BufferedCursorProvider {
 
   private final InMemoryStreamBuffer buffer;
 
@@ -69,6 +70,14 @@ public final class InMemoryCursorStreamProvider extends AbstractCursorStreamProv
   }
 
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long getBufferedBytes() {
+    return buffer.getBufferedBytes();
+  }
+
   /**
    * {@inheritDoc}
    */
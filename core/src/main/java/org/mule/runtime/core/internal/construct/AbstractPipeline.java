@@ -134,6 +134,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private final boolean apikitFlow;
   private final ComponentInitialStateManager componentInitialStateManager;
   private final BackPressureStrategySelector backpressureStrategySelector;
+  private final FlowProcessingStatistics processingStatistics = new FlowProcessingStatistics();
   private final ErrorType FLOW_BACKPRESSURE_ERROR_TYPE;
 
   private ComponentTracerFactory componentTracerFactory;
@@ -408,6 +409,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private void sinkEmit(CoreEvent event) {
     final BackPressureReason emitFailReason = sink.emit(event);
     if (emitFailReason != null) {
+      processingStatistics.backPressureApplied(emitFailReason);
       notifyBackpressureException(event, backPressureExceptions.get(emitFailReason));
     }
   }
@@ -455,6 +457,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   private Consumer<CoreEvent> beforeProcessors() {
     return event -> {
       getStatistics().incReceivedEvents();
+      processingStatistics.eventStarted();
 
       FlowCallStack flowCallStack = event.getFlowCallStack();
       if (flowCallStack instanceof DefaultFlowCallStack fs) {
@@ -467,6 +470,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
 
       BaseEventContext baseEventContext = ((BaseEventContext) event.getContext());
       baseEventContext.onComplete((response, throwable) -> {
+        processingStatistics.eventCompleted();
         // Here (response == null) XOR (throwable == null)
 
         MessagingException messagingException = null;
@@ -698,4 +702,12 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
   public Map<BackPressureReason, FlowBackPressureException> getBackPressureExceptions() {
     return backPressureExceptions;
   }
+
+  /**
+   * @return the counters of the events being processed by this flow and of the back-pressure it applied.
+   * @since 4.10
+   */
+  public FlowProcessingStatistics getProcessingStatistics() {
+    return processingStatistics;
+  }
 }
@@ -46,11 +46,16 @@ class BackPressureStrategySelector {
   protected void checkWithWaitStrategy(CoreEvent event)
       throws FlowBackPressureException {
     boolean accepted = false;
+    boolean waited = false;
     while (!accepted) {
       try {
         abstractPipeline.getProcessingStrategy().checkBackpressureAccepting(event);
         accepted = true;
       } catch (FromFlowRejectedExecutionException ree) {
+        if (!waited) {
+          abstractPipeline.getProcessingStatistics().backPressureApplied(ree.getReason());
+          waited = true;
+        }
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("waitStrategy - " + ree.getClass().getName() + " @ "
               + event.getContext().getOriginatingLocation().getRootContainerName() + ": " + ree.getReason());
@@ -77,6 +82,7 @@ class BackPressureStrategySelector {
       throws FlowBackPressureException {
     final BackPressureReason reason = abstractPipeline.getProcessingStrategy().checkBackpressureEmitting(event);
     if (reason != null) {
+      abstractPipeline.getProcessingStatistics().backPressureApplied(reason);
       if (LOGGER.isDebugEnabled()) {
         LOGGER
             .debug("failDropStrategy - @ " + event.getContext().getOriginatingLocation().getRootContainerName() + ": " + reason);
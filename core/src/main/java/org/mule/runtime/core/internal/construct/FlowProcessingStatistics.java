@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the events being processed by a flow and of the back-pressure it applied.
+ * <p>
+ * Counters are updated without locking from the threads processing the events, so reading them is cheap enough to be done
+ * frequently, at the cost of not being an atomic snapshot of the flow.
+ *
+ * @since 4.10
+ */
+public final class FlowProcessingStatistics {
+
+  private final LongAdder inFlightEvents = new LongAdder();
+  private final LongAdder[] backPressureCounts = new LongAdder[BackPressureReason.values().length];
+
+  public FlowProcessingStatistics() {
+    for (int i = 0; i < backPressureCounts.length; ++i) {
+      backPressureCounts[i] = new LongAdder();
+    }
+  }
+
+  void eventStarted() {
+    inFlightEvents.increment();
+  }
+
+  void eventCompleted() {
+    inFlightEvents.decrement();
+  }
+
+  void backPressureApplied(BackPressureReason reason) {
+    backPressureCounts[reason.ordinal()].increment();
+  }
+
+  /**
+   * @return the amount of events that started being processed by the flow and have not completed yet.
+   */
+  public long getInFlightEvents() {
+    return inFlightEvents.sum();
+  }
+
+  /**
+   * @param reason the reason for which back-pressure was applied
+   * @return how many events were rejected by the flow, or had to wait to be accepted, for the given {@code reason}.
+   */
+  public long getBackPressureCount(BackPressureReason reason) {
+    return backPressureCounts[reason.ordinal()].sum();
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to their listeners in batches.
+ * <p>
+ * Listeners are split in two groups, blocking and non-blocking, each one backed by its own bounded
+ * {@link NotificationRingBuffer}. Firing a notification only enqueues it in the ring buffer of the group. A single drain task
+ * per group, running on the scheduler of that group, delivers up to {@link #MULE_NOTIFICATIONS_BATCH_SIZE} notifications each
+ * time it is run, instead of submitting a task to the scheduler for each notification and listener.
+ * <p>
+ * When a ring buffer is full, the notification is either dropped or the firing thread waits until there is space for it,
+ * according to the {@link OverflowStrategy} configured with {@link #MULE_NOTIFICATIONS_OVERFLOW_STRATEGY}.
+ *
+ * @since 4.10
+ */
+public final class BatchingNotificationDispatcher {
+
+  private static final Logger LOGGER = getLogger(BatchingNotificationDispatcher.class);
+
+  /**
+   * When {@code true}, asynchronous notifications are delivered through a {@link BatchingNotificationDispatcher}.
+   */
+  public static final String MULE_NOTIFICATIONS_BATCHED_DISPATCH = SYSTEM_PROPERTY_PREFIX + "notifications.batchedDispatch";
+
+  /**
+   * The capacity of the ring buffer of each listener group.
+   */
+  public static final String MULE_NOTIFICATIONS_BUFFER_SIZE = SYSTEM_PROPERTY_PREFIX + "notifications.bufferSize";
+
+  /**
+   * The max amount of notifications delivered by a drain task before yielding its thread.
+   */
+  public static final String MULE_NOTIFICATIONS_BATCH_SIZE = SYSTEM_PROPERTY_PREFIX + "notifications.batchSize";
+
+  /**
+   * What to do when the ring buffer of a listener group is full. One of the values of {@link OverflowStrategy}.
+   */
+  public static final String MULE_NOTIFICATIONS_OVERFLOW_STRATEGY = SYSTEM_PROPERTY_PREFIX + "notifications.overflowStrategy";
+
+  private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+  private static final int DEFAULT_BATCH_SIZE = 256;
+  private static final long BLOCK_PARK_NANOS = MICROSECONDS.toNanos(50);
+
+  /**
+   * @return whether batched dispatch of notifications was enabled through {@link #MULE_NOTIFICATIONS_BATCHED_DISPATCH}.
+   */
+  public static boolean isBatchedNotificationDispatchEnabled() {
+    return getBoolean(MULE_NOTIFICATIONS_BATCHED_DISPATCH);
+  }
+
+  /**
+   * Determines what happens to a notification fired when the ring buffer of its listener group is full.
+   */
+  public enum OverflowStrategy {
+    /**
+     * The notification is discarded and counted in {@link #getDroppedCount()}.
+     */
+    DROP,
+
+    /**
+     * The thread firing the notification waits until there is space in the ring buffer. A listener firing a notification while
+     * being notified delivers the oldest pending notifications of its group itself instead, since it can't wait for itself.
+     */
+    BLOCK
+  }
+
+  private final ListenerGroup nonBlockingGroup;
+  private final ListenerGroup blockingGroup;
+  private final OverflowStrategy overflowStrategy;
+  private final int batchSize;
+  private final LongAdder dropped = new LongAdder();
+  private volatile boolean disposed = false;
+
+  /**
+   * Creates a dispatcher configured from the system properties.
+   *
+   * @param nonBlockingScheduler the scheduler where the non-blocking listeners are notified.
+   * @param blockingScheduler    the scheduler where the blocking listeners are notified.
+   */
+  public BatchingNotificationDispatcher(Scheduler nonBlockingScheduler, Scheduler blockingScheduler) {
+    this(nonBlockingScheduler, blockingScheduler,
+         getInteger(MULE_NOTIFICATIONS_BUFFER_SIZE, DEFAULT_BUFFER_SIZE),
+         getInteger(MULE_NOTIFICATIONS_BATCH_SIZE, DEFAULT_BATCH_SIZE),
+         OverflowStrategy.valueOf(getProperty(MULE_NOTIFICATIONS_OVERFLOW_STRATEGY, OverflowStrategy.DROP.name()).toUpperCase()));
+  }
+
+  /**
+   * @param nonBlockingScheduler the scheduler where the non-blocking listeners are notified.
+   * @param blockingScheduler    the scheduler where the blocking listeners are notified.
+   * @param bufferSize           the capacity of the ring buffer of each listener group.
+   * @param batchSize            the max amount of notifications delivered by a drain task before yielding its thread.
+   * @param overflowStrategy     what to do when the ring buffer of a listener group is full.
+   */
+  public BatchingNotificationDispatcher(Scheduler nonBlockingScheduler, Scheduler blockingScheduler,
+                                        int bufferSize, int batchSize, OverflowStrategy overflowStrategy) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Notifications batch size must be positive, but was " + batchSize);
+    }
+    this.nonBlockingGroup = new ListenerGroup(nonBlockingScheduler, bufferSize);
+    this.blockingGroup = new ListenerGroup(blockingScheduler, bufferSize);
+    this.batchSize = batchSize;
+    this.overflowStrategy = overflowStrategy;
+  }
+
+  /**
+   * Enqueues the delivery of the given {@code notification} to the {@code listener}.
+   *
+   * @param listener     the listener to notify.
+   * @param notification the notification to deliver.
+   */
+  public void dispatch(NotificationListener listener, Notification notification) {
+    (listener.isBlocking() ? blockingGroup : nonBlockingGroup).enqueue(new PendingNotification(listener, notification));
+  }
+
+  /**
+   * @return the amount of notifications that were discarded because the ring buffer of their listener group was full.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * @return the amount of notifications waiting to be delivered.
+   */
+  public int getPendingCount() {
+    return nonBlockingGroup.ringBuffer.size() + blockingGroup.ringBuffer.size();
+  }
+
+  /**
+   * Delivers the pending notifications in the calling thread and stops accepting new ones. Only drain tasks already running are
+   * waited for, so it doesn't depend on the schedulers of this dispatcher running the ones already submitted.
+   */
+  public void dispose() {
+    disposed = true;
+    nonBlockingGroup.drainRemaining();
+    blockingGroup.drainRemaining();
+  }
+
+  private final class ListenerGroup {
+
+    private final Scheduler scheduler;
+    private final NotificationRingBuffer<PendingNotification> ringBuffer;
+    // A drain task was submitted to the scheduler and hasn't started yet
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    // Some thread is consuming the ring buffer, either a drain task or a disposal
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile Thread drainingThread;
+
+    private ListenerGroup(Scheduler scheduler, int bufferSize) {
+      this.scheduler = scheduler;
+      this.ringBuffer = new NotificationRingBuffer<>(bufferSize);
+    }
+
+    private void enqueue(PendingNotification pending) {
+      if (disposed) {
+        LOGGER.warn("Notification not enqueued after dispatcher disposal: {}", pending.notification);
+        return;
+      }
+
+      if (!ringBuffer.offer(pending)) {
+        if (overflowStrategy == OverflowStrategy.DROP) {
+          dropped.increment();
+          LOGGER.debug("Notification buffer full, dropping notification: {}", pending.notification);
+          return;
+        }
+
+        do {
+          if (drainingThread == Thread.currentThread()) {
+            // A listener of this group fired the notification, waiting here would block the only consumer of the ring buffer
+            deliver(1);
+          } else {
+            scheduleDrain();
+            parkNanos(BLOCK_PARK_NANOS);
+            if (disposed) {
+              dropped.increment();
+              return;
+            }
+          }
+        } while (!ringBuffer.offer(pending));
+      }
+
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (!disposed && drainScheduled.compareAndSet(false, true)) {
+        try {
+          scheduler.submit(this::drain);
+        } catch (RejectedExecutionException e) {
+          drainScheduled.set(false);
+          LOGGER.debug("Notification drain task rejected, it will be retried on the next notification", e);
+        }
+      }
+    }
+
+    private void drain() {
+      drainScheduled.set(false);
+      if (!draining.compareAndSet(false, true)) {
+        // The thread currently draining checks for pending notifications when it finishes
+        return;
+      }
+      try {
+        drainingThread = Thread.currentThread();
+        deliver(batchSize);
+      } finally {
+        drainingThread = null;
+        draining.set(false);
+      }
+
+      // Notifications may have been enqueued after the last poll but before the flag was cleared
+      if (!ringBuffer.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+
+    private void drainRemaining() {
+      if (drainingThread == Thread.currentThread()) {
+        // Disposed from a listener of this group, which already is the only consumer of the ring buffer
+        deliver(Integer.MAX_VALUE);
+        return;
+      }
+
+      // Only a drain task that already started is waited for, a scheduled one may never run once the scheduler is stopped
+      while (!draining.compareAndSet(false, true)) {
+        parkNanos(BLOCK_PARK_NANOS);
+      }
+      try {
+        drainingThread = Thread.currentThread();
+        deliver(Integer.MAX_VALUE);
+      } finally {
+        drainingThread = null;
+        draining.set(false);
+      }
+    }
+
+    private void deliver(int maxCount) {
+      PendingNotification pending;
+      int count = 0;
+      while (count < maxCount && (pending = ringBuffer.poll()) != null) {
+        ++count;
+        try {
+          pending.listener.onNotification(pending.notification);
+        } catch (Throwable e) {
+          LOGGER.info(format("NotificationListener %s was unable to fire notification %s due to an exception.",
+                             pending.listener, pending.notification),
+                      e);
+        }
+      }
+    }
+  }
+
+  private static final class PendingNotification {
+
+    private final NotificationListener listener;
+    private final Notification notification;
+
+    private PendingNotification(NotificationListener listener, Notification notification) {
+      this.listener = listener;
+      this.notification = notification;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Thread.onSpinWait;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer supporting many concurrent producers and a single consumer.
+ * <p>
+ * Producers claim a slot by advancing the producer index and then publish the element into it. The consumer is the only one
+ * that clears slots and advances the consumer index, so {@link #poll()} must never be called concurrently.
+ *
+ * @param <E> the type of the buffered elements.
+ * @since 4.10
+ */
+final class NotificationRingBuffer<E> {
+
+  private final AtomicReferenceArray<E> buffer;
+  private final int capacity;
+  private final int mask;
+
+  private final AtomicLong producerIndex = new AtomicLong();
+  private volatile long consumerIndex;
+
+  /**
+   * @param requestedCapacity the minimum capacity of the buffer. It is rounded up to the next power of 2.
+   */
+  NotificationRingBuffer(int requestedCapacity) {
+    if (requestedCapacity < 1) {
+      throw new IllegalArgumentException("Ring buffer capacity must be positive, but was " + requestedCapacity);
+    }
+    int highestOneBit = highestOneBit(requestedCapacity);
+    this.capacity = highestOneBit == requestedCapacity ? requestedCapacity : highestOneBit << 1;
+    this.mask = capacity - 1;
+    this.buffer = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Adds the given element to the buffer, if there is space for it. May be called concurrently by many threads.
+   *
+   * @param element the element to add.
+   * @return {@code true} if the element was added, {@code false} if the buffer is full.
+   */
+  boolean offer(E element) {
+    long index;
+    do {
+      index = producerIndex.get();
+      if (index - consumerIndex >= capacity) {
+        return false;
+      }
+    } while (!producerIndex.compareAndSet(index, index + 1));
+
+    buffer.lazySet((int) index & mask, element);
+    return true;
+  }
+
+  /**
+   * Removes the oldest element of the buffer. Must only be called by one thread at a time.
+   *
+   * @return the removed element, or {@code null} if the buffer is empty.
+   */
+  E poll() {
+    final long index = consumerIndex;
+    final int offset = (int) index & mask;
+
+    E element = buffer.get(offset);
+    if (element == null) {
+      if (index == producerIndex.get()) {
+        return null;
+      }
+      // A producer claimed the slot but has not yet published the element into it.
+      do {
+        onSpinWait();
+        element = buffer.get(offset);
+      } while (element == null);
+    }
+
+    buffer.lazySet(offset, null);
+    consumerIndex = index + 1;
+    return element;
+  }
+
+  /**
+   * @return {@code true} if there are no elements claimed or published in the buffer.
+   */
+  boolean isEmpty() {
+    return consumerIndex == producerIndex.get();
+  }
+
+  /**
+   * @return the number of elements claimed or published in the buffer.
+   */
+  int size() {
+    final long consumed = consumerIndex;
+    return (int) (producerIndex.get() - consumed);
+  }
+
+  /**
+   * @return the actual capacity of this buffer.
+   */
+  int capacity() {
+    return capacity;
+  }
+}
@@ -17,10 +17,16 @@ import org.mule.runtime.core.api.context.notification.ServerNotificationHandler;
 public final class OptimisedNotificationHandler
     implements ServerNotificationHandler, ServerNotificationConfigurationChangeListener {
 
+  private static final byte UNRESOLVED = 0;
+  private static final byte ENABLED = 1;
+  private static final byte DISABLED = 2;
+
   private ServerNotificationHandler delegate;
   private Class<? extends Notification> type;
   private boolean dynamic = false;
-  private volatile Boolean enabled = null;
+  // Resolved enablement of the notification type, kept as a primitive so that checking a disabled notification is a single
+  // volatile read and comparison.
+  private volatile byte state = UNRESOLVED;
   private Class<? extends Notification> resolutionNotFnClass;
 
 
@@ -58,20 +64,25 @@ public final class OptimisedNotificationHandler
    */
   @Override
   public boolean isNotificationEnabled(Class<? extends Notification> notfnClass) {
-    if ((!dynamic) && type.isAssignableFrom(notfnClass)) {
-      if (enabled == null) {
-        resolveEnabled(notfnClass);
+    if ((!dynamic) && (type == notfnClass || type.isAssignableFrom(notfnClass))) {
+      byte resolved = state;
+      if (resolved == UNRESOLVED) {
+        resolved = resolveEnabled(notfnClass);
       }
 
-      return enabled;
+      return resolved == ENABLED;
     } else {
       return delegate.isNotificationEnabled(notfnClass);
     }
   }
 
-  private synchronized void resolveEnabled(Class<? extends Notification> notfnClass) {
-    enabled = delegate.isNotificationEnabled(notfnClass);
+  private synchronized byte resolveEnabled(Class<? extends Notification> notfnClass) {
     resolutionNotFnClass = notfnClass;
+    return state = toState(delegate.isNotificationEnabled(notfnClass));
+  }
+
+  private static byte toState(boolean enabled) {
+    return enabled ? ENABLED : DISABLED;
   }
 
   @Override
@@ -84,7 +95,7 @@ public final class OptimisedNotificationHandler
   @Override
   public synchronized void onServerNotificationConfigurationChange() {
     if (resolutionNotFnClass != null) {
-      enabled = delegate.isNotificationEnabled(resolutionNotFnClass);
+      state = toState(delegate.isNotificationEnabled(resolutionNotFnClass));
     }
   }
 }
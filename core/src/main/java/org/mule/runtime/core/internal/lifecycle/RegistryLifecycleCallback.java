@@ -7,11 +7,16 @@
 package org.mule.runtime.core.internal.lifecycle;
 
 import static org.mule.runtime.api.exception.ExceptionHelper.unwrap;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractOfType;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.lang.Thread.currentThread;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
@@ -21,20 +26,36 @@ import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.LifecycleException;
+import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.lifecycle.LifecycleCallback;
 import org.mule.runtime.core.internal.lifecycle.phases.LifecyclePhase;
 import org.mule.runtime.core.internal.registry.Registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 
 /**
  * An implementation of {@link LifecycleCallback} for applying {@link Registry} lifecycles
+ * <p>
+ * When {@link #LIFECYCLE_PARALLELISM_PROPERTY} is set to more than 1, the initialise and start phases are applied level by level
+ * (see {@link RegistryLifecycleManager#getObjectLevelsForPhase(LifecyclePhase)}), applying the phase in parallel to the objects
+ * of a level, which don't depend on each other. A level is only started once the previous one has completed, and if any of the
+ * objects of a level fails, the failure of the first one in the order of the level is thrown once all of them have completed.
+ * The stop and dispose phases are always applied sequentially, in reverse order.
  *
  * @since 3.7.0
  */
@@ -42,7 +63,19 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
 
   private static final Logger LOGGER = getLogger(RegistryLifecycleCallback.class);
 
+  /**
+   * Maximum amount of objects to which the initialise and start phases are applied in parallel. Values lower than 2 mean the
+   * phases are applied sequentially, which is the default.
+   * <p>
+   * The phases are applied in parallel by threads other than the one that holds the lifecycle lock of the {@code MuleContext}, so
+   * the lifecycle of the objects must not wait on that lock.
+   *
+   * @since 4.10
+   */
+  public static final String LIFECYCLE_PARALLELISM_PROPERTY = SYSTEM_PROPERTY_PREFIX + "lifecycle.parallelism";
+
   protected final RegistryLifecycleManager registryLifecycleManager;
+  private final int parallelism = getInteger(LIFECYCLE_PARALLELISM_PROPERTY, 1);
   private LifecycleInterceptor interceptor = new NullLifecycleInterceptor();
 
   public RegistryLifecycleCallback(RegistryLifecycleManager registryLifecycleManager) {
@@ -82,11 +115,112 @@ public class RegistryLifecycleCallback<T> implements LifecycleCallback<T>, HasLi
       LOGGER.debug("Applying lifecycle phase: {} for registry: {}", phase, object.getClass().getSimpleName());
     }
 
-    doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    Optional<MuleContext> muleContext = registryLifecycleManager.getMuleContext();
+    if (parallelism > 1 && isParallelizable(phase) && muleContext.isPresent()
+        && muleContext.get().getSchedulerService() != null) {
+      doApplyLifecycleByLevel(phase, new HashSet<>(), registryLifecycleManager.getObjectLevelsForPhase(phase),
+                              muleContext.get());
+    } else {
+      doApplyLifecycle(phase, new HashSet<>(), registryLifecycleManager.getObjectsForPhase(phase));
+    }
 
     interceptor.onPhaseCompleted(phase);
   }
 
+  private boolean isParallelizable(LifecyclePhase phase) {
+    return phase.getName().equals(Initialisable.PHASE_NAME) || phase.getName().equals(Startable.PHASE_NAME);
+  }
+
+  private void doApplyLifecycleByLevel(LifecyclePhase phase, Set<Object> duplicates, List<List<Object>> levels,
+                                       MuleContext muleContext)
+      throws LifecycleException {
+    ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    Scheduler scheduler = null;
+    try {
+      for (List<Object> level : levels) {
+        List<Object> targets = new ArrayList<>(level.size());
+        for (Object target : level) {
+          if (target != null && !duplicates.contains(target) && !targets.contains(target)) {
+            targets.add(target);
+          }
+        }
+
+        if (targets.size() < 2) {
+          doApplyLifecycle(phase, duplicates, targets);
+          continue;
+        }
+
+        if (scheduler == null) {
+          scheduler = muleContext.getSchedulerService()
+              .ioScheduler(muleContext.getSchedulerBaseConfig()
+                  .withMaxConcurrentTasks(parallelism)
+                  .withName("lifecycle." + phase.getName()));
+        }
+        applyLifecycleInParallel(phase, duplicates, targets, scheduler, contextClassLoader);
+      }
+    } finally {
+      if (scheduler != null) {
+        scheduler.stop();
+      }
+    }
+  }
+
+  private void applyLifecycleInParallel(LifecyclePhase phase, Set<Object> duplicates, List<Object> targets,
+                                        Scheduler scheduler, ClassLoader contextClassLoader)
+      throws LifecycleException {
+    Set<Object> applied = ConcurrentHashMap.newKeySet();
+    List<Future<?>> results = new ArrayList<>(targets.size());
+    for (Object target : targets) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("lifecycle phase: {} for object: {}", phase.getName(), target.getClass().getSimpleName());
+      }
+      results.add(scheduler.submit(() -> {
+        // The objects are transitioned with the context classloader of the thread that triggered the phase
+        Thread thread = currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        setContextClassLoader(thread, originalClassLoader, contextClassLoader);
+        try {
+          applyLifecycle(phase, applied, target);
+          return null;
+        } finally {
+          setContextClassLoader(thread, contextClassLoader, originalClassLoader);
+        }
+      }));
+    }
+
+    // Wait for the whole level so no object is left transitioning, then report the first failure in the order of the level
+    Throwable failure = null;
+    try {
+      for (Future<?> result : results) {
+        try {
+          result.get();
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      // The phase won't complete, so the objects still transitioning are interrupted too
+      results.forEach(result -> result.cancel(true));
+      throw new MuleRuntimeException(createStaticMessage("Interrupted while applying lifecycle phase '%s'", phase.getName()),
+                                     e);
+    } finally {
+      duplicates.addAll(applied);
+    }
+
+    if (failure instanceof LifecycleException) {
+      throw (LifecycleException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else if (failure instanceof Error) {
+      throw (Error) failure;
+    } else if (failure != null) {
+      throw new MuleRuntimeException(failure);
+    }
+  }
+
   private void doApplyLifecycle(LifecyclePhase phase, Set<Object> duplicates, Collection<?> targetObjects)
       throws LifecycleException {
     for (Object target : targetObjects) {
@@ -184,6 +184,20 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
   }
 
   protected List<Object> getObjectsForPhase(LifecyclePhase phase) {
+    return newSorterForPhase(phase).getSortedObjects();
+  }
+
+  /**
+   * @param phase the phase to apply
+   * @return the objects to apply the {@code phase} to, grouped in levels of objects that don't depend on each other.
+   * @see LifecycleObjectSorter#getSortedObjectLevels()
+   * @since 4.10
+   */
+  protected List<List<Object>> getObjectLevelsForPhase(LifecyclePhase phase) {
+    return newSorterForPhase(phase).getSortedObjectLevels();
+  }
+
+  private LifecycleObjectSorter newSorterForPhase(LifecyclePhase phase) {
     LifecycleObjectSorter sorter = phase.newLifecycleObjectSorter();
     Map<String, Object> lookupObjectsForLifecycle = lookupObjectsForLifecycle();
     List<String> lookupObjects = new ArrayList<>();
@@ -193,7 +207,7 @@ public class RegistryLifecycleManager extends AbstractLifecycleManager<Registry>
       lookupObjects.add(key);
     });
     sorter.setLifeCycleObjectNameOrder(lookupObjects);
-    return sorter.getSortedObjects();
+    return sorter;
   }
 
   protected Map<String, Object> lookupObjectsForLifecycle() {
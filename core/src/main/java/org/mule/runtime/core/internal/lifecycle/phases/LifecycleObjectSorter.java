@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.lifecycle.phases;
 
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
 import org.mule.runtime.core.internal.registry.Registry;
 
 import java.util.List;
@@ -31,6 +34,21 @@ public interface LifecycleObjectSorter {
    */
   List<Object> getSortedObjects();
 
+  /**
+   * Groups the objects previously added through {@link #addObject(String, Object)} in levels, so that the objects in a level
+   * don't depend on each other and only depend on objects of previous levels. Flattening the levels yields a valid order for
+   * the phase.
+   * <p>
+   * This default implementation knows nothing about the dependencies between the objects, so each object of
+   * {@link #getSortedObjects()} is put in a level of its own.
+   *
+   * @return the levels of objects, in the order in which they are to be processed
+   * @since 4.10
+   */
+  default List<List<Object>> getSortedObjectLevels() {
+    return getSortedObjects().stream().map(object -> singletonList(object)).collect(toList());
+  }
+
   /**
    * Provides the order of objects as reference for initialise/dispose phases
    *
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_ARTIFACT_METER_PROVIDER_KEY;
 import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
@@ -14,6 +15,8 @@ import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamPr
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
 
+import static java.lang.System.nanoTime;
+
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -21,6 +24,7 @@ import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.BackPressureReason;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionException;
 import org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy;
@@ -30,7 +34,9 @@ import org.mule.runtime.core.internal.processor.strategy.enricher.ReactiveProces
 import org.mule.runtime.core.internal.processor.strategy.enricher.ProcessingTypeBasedReactiveProcessorEnricher;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
+import org.mule.runtime.metrics.api.MeterProvider;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -38,6 +44,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 
 import org.slf4j.Logger;
 
@@ -58,6 +65,9 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
 
   private Scheduler cpuLightScheduler;
   private ReactiveProcessorEnricher processorEnricher = null;
+  private AdaptiveConcurrencyLimit concurrencyLimit;
+  private String name;
+  private MeterProvider meterProvider;
 
   @Inject
   InternalProfilingService profilingService;
@@ -94,7 +104,36 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
 
   @Override
   public void initialise() throws InitialisationException {
-    // Nothing to do.
+    if (concurrencyLimit != null && meterProvider instanceof ArtifactMeterProvider artifactMeterProvider) {
+      concurrencyLimit.trackUsingMeterProvider(artifactMeterProvider, name);
+    }
+  }
+
+  /**
+   * Makes this processing strategy adjust the amount of events it accepts concurrently from their processing latency, instead of
+   * using the fixed {@code maxConcurrency}.
+   *
+   * @param concurrencyLimit the limit to use
+   * @param name             the name of the owner of this processing strategy, to identify the metrics of the limit
+   * @since 4.10
+   */
+  void setConcurrencyLimit(AdaptiveConcurrencyLimit concurrencyLimit, String name) {
+    this.concurrencyLimit = concurrencyLimit;
+    this.name = name;
+  }
+
+  /**
+   * @return the limit adjusted from the processing latency, if this processing strategy uses one.
+   * @since 4.10
+   */
+  public Optional<AdaptiveConcurrencyLimit> getConcurrencyLimit() {
+    return Optional.ofNullable(concurrencyLimit);
+  }
+
+  @Inject
+  @Named(MULE_ARTIFACT_METER_PROVIDER_KEY)
+  public void setMeterProvider(Optional<MeterProvider> meterProvider) {
+    this.meterProvider = meterProvider.orElse(null);
   }
 
   @Override
@@ -109,6 +148,10 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
    * @return true if the event can be accepted for processing
    */
   protected BackPressureReason checkCapacity(CoreEvent event) {
+    if (concurrencyLimit != null) {
+      return checkAdaptiveCapacity(event);
+    }
+
     if (maxConcurrencyEagerCheck) {
       int incremented = inFlightEvents.incrementAndGet();
       if (LOGGER.isDebugEnabled()) {
@@ -130,6 +173,24 @@ public abstract class AbstractReactorStreamProcessingStrategy extends AbstractSt
     return null;
   }
 
+  private BackPressureReason checkAdaptiveCapacity(CoreEvent event) {
+    int incremented = inFlightEvents.incrementAndGet();
+    if (incremented > concurrencyLimit.getLimit()) {
+      inFlightEvents.decrementAndGet();
+      return MAX_CONCURRENCY_EXCEEDED;
+    }
+
+    final long acceptedAt = nanoTime();
+    ((BaseEventContext) event.getContext()).onBeforeResponse((e, t) -> {
+      inFlightEvents.decrementAndGet();
+      // Errors usually complete faster than successful events and would make the limit grow
+      if (t == null) {
+        concurrencyLimit.onSample(nanoTime() - acceptedAt, incremented);
+      }
+    });
+    return null;
+  }
+
   protected int getParallelism() {
     return parallelism;
   }
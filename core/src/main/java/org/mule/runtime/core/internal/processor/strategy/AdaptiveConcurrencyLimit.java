@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit of a flow that is adjusted from the observed processing latency, following a gradient algorithm.
+ * <p>
+ * Two moving averages of the latency are kept: a short one, reflecting the current load, and a long one, approximating the
+ * latency with no queueing. When the short average grows above the long one, queueing is happening somewhere (i.e.: in the
+ * blocking or cpu intensive pools) and the limit is reduced proportionally. Otherwise, the limit is allowed to grow by a small
+ * margin, so that it converges to the concurrency the flow can actually sustain.
+ * <p>
+ * Samples are taken without blocking the threads processing the events: if another thread is updating the limit, the sample is
+ * just discarded.
+ *
+ * @since 4.10
+ */
+public final class AdaptiveConcurrencyLimit {
+
+  /**
+   * The lower bound of the limit, defaults to 1.
+   */
+  public static final String ADAPTIVE_MIN_LIMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "processingStrategy.adaptive.minLimit";
+
+  /**
+   * The upper bound of the limit for flows without a {@code maxConcurrency}, defaults to 1000.
+   */
+  public static final String ADAPTIVE_MAX_LIMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "processingStrategy.adaptive.maxLimit";
+
+  public static final String ADAPTIVE_CONCURRENCY_STATISTICS_NAME = "adaptive-concurrency-statistic";
+  public static final String ADAPTIVE_CONCURRENCY_STATISTICS_DESCRIPTION = "Adaptive Concurrency Statistics";
+  /**
+   * A meter attribute for the name of the owner of the processing strategy the limit belongs to.
+   */
+  public static final String PROCESSING_STRATEGY_NAME_ATTRIBUTE = "mule.processingStrategy.name";
+  public static final String CONCURRENCY_LIMIT_NAME = "concurrency-limit";
+  public static final String CONCURRENCY_LIMIT_DESCRIPTION = "Current concurrency limit";
+  public static final String CONCURRENCY_LIMIT_INCREASES_NAME = "concurrency-limit-increases";
+  public static final String CONCURRENCY_LIMIT_INCREASES_DESCRIPTION = "Times the concurrency limit was increased";
+  public static final String CONCURRENCY_LIMIT_DECREASES_NAME = "concurrency-limit-decreases";
+  public static final String CONCURRENCY_LIMIT_DECREASES_DESCRIPTION = "Times the concurrency limit was decreased";
+
+  private static final int DEFAULT_MAX_LIMIT = 1000;
+  private static final int INITIAL_LIMIT = 20;
+
+  // Smoothing factors of the exponential moving averages, for windows of about 10 and 600 samples.
+  private static final double SHORT_RTT_ALPHA = 2.0 / 11;
+  private static final double LONG_RTT_ALPHA = 2.0 / 601;
+  // How much the short latency may exceed the long one before the limit is reduced.
+  private static final double TOLERANCE = 1.5;
+  // How fast the limit moves to the newly estimated one.
+  private static final double SMOOTHING = 0.2;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final ReentrantLock sampleLock = new ReentrantLock();
+  private final LongAdder increases = new LongAdder();
+  private final LongAdder decreases = new LongAdder();
+
+  private double estimatedLimit;
+  private double shortRtt;
+  private double longRtt;
+  private volatile int limit;
+
+  /**
+   * Creates a new limit, bounded by {@link #ADAPTIVE_MIN_LIMIT_PROPERTY} and the given {@code maxConcurrency}.
+   *
+   * @param maxConcurrency the max concurrency configured for the flow, or {@link Integer#MAX_VALUE} if not configured.
+   */
+  public AdaptiveConcurrencyLimit(int maxConcurrency) {
+    this(getInteger(ADAPTIVE_MIN_LIMIT_PROPERTY, 1),
+         maxConcurrency == Integer.MAX_VALUE ? getInteger(ADAPTIVE_MAX_LIMIT_PROPERTY, DEFAULT_MAX_LIMIT) : maxConcurrency);
+  }
+
+  AdaptiveConcurrencyLimit(int minLimit, int maxLimit) {
+    this.minLimit = max(minLimit, 1);
+    this.maxLimit = max(maxLimit, this.minLimit);
+    this.limit = max(this.minLimit, min(this.maxLimit, INITIAL_LIMIT));
+    this.estimatedLimit = limit;
+  }
+
+  /**
+   * @return the amount of events that may be processed concurrently at the moment.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return how many times the limit was increased.
+   */
+  public long getIncreases() {
+    return increases.sum();
+  }
+
+  /**
+   * @return how many times the limit was reduced.
+   */
+  public long getDecreases() {
+    return decreases.sum();
+  }
+
+  /**
+   * Updates the limit with the latency of an event that completed processing.
+   *
+   * @param rttNanos the time it took for the event to be processed, since it was accepted by the flow.
+   * @param inFlight the amount of events being processed when the event was accepted.
+   */
+  public void onSample(long rttNanos, int inFlight) {
+    if (rttNanos <= 0 || !sampleLock.tryLock()) {
+      return;
+    }
+
+    try {
+      if (longRtt == 0) {
+        shortRtt = rttNanos;
+        longRtt = rttNanos;
+      } else {
+        shortRtt += SHORT_RTT_ALPHA * (rttNanos - shortRtt);
+        longRtt += LONG_RTT_ALPHA * (rttNanos - longRtt);
+        // If the load decreased enough, let the long average catch up faster so the limit can grow again
+        if (longRtt / shortRtt > 2) {
+          longRtt *= 0.95;
+        }
+      }
+
+      // The flow is not using the concurrency it already has, so there is no evidence to grow the limit from
+      if (inFlight < estimatedLimit / 2) {
+        return;
+      }
+
+      double gradient = max(0.5, min(1.0, TOLERANCE * longRtt / shortRtt));
+      double newLimit = estimatedLimit * gradient + sqrt(estimatedLimit);
+      newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+      estimatedLimit = max(minLimit, min(maxLimit, newLimit));
+
+      int previous = limit;
+      int current = (int) estimatedLimit;
+      if (current > previous) {
+        increases.increment();
+      } else if (current < previous) {
+        decreases.increment();
+      }
+      limit = current;
+    } finally {
+      sampleLock.unlock();
+    }
+  }
+
+  /**
+   * Exports the current limit and the decisions taken as metrics.
+   *
+   * @param meterProvider the provider to register the meter in.
+   * @param name          the name of the owner of the processing strategy the limit belongs to.
+   */
+  public void trackUsingMeterProvider(ArtifactMeterProvider meterProvider, String name) {
+    Meter meter = meterProvider.getMeterBuilder(ADAPTIVE_CONCURRENCY_STATISTICS_NAME)
+        .withDescription(ADAPTIVE_CONCURRENCY_STATISTICS_DESCRIPTION)
+        .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, meterProvider.getArtifactId())
+        .withMeterAttribute(PROCESSING_STRATEGY_NAME_ATTRIBUTE, name)
+        .build();
+
+    meter.upDownCounterBuilder(CONCURRENCY_LIMIT_NAME)
+        .withValueSupplier(() -> (long) limit)
+        .withDescription(CONCURRENCY_LIMIT_DESCRIPTION).build();
+
+    meter.counterBuilder(CONCURRENCY_LIMIT_INCREASES_NAME)
+        .withValueSupplier(increases::sum)
+        .withAddOperation((delta, context) -> increases.add(delta))
+        .withIncrementAndGetOperation(context -> {
+          increases.increment();
+          return increases.sum();
+        })
+        .withDescription(CONCURRENCY_LIMIT_INCREASES_DESCRIPTION).build();
+
+    meter.counterBuilder(CONCURRENCY_LIMIT_DECREASES_NAME)
+        .withValueSupplier(decreases::sum)
+        .withAddOperation((delta, context) -> decreases.add(delta))
+        .withIncrementAndGetOperation(context -> {
+          decreases.increment();
+          return decreases.sum();
+        })
+        .withDescription(CONCURRENCY_LIMIT_DECREASES_DESCRIPTION).build();
+  }
+}
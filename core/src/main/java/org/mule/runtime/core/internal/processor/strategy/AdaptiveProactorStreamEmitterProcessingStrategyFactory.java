@@ -0,0 +1,31 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+
+/**
+ * Creates a processing strategy with same behavior as {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory},
+ * except that the amount of events accepted concurrently is adjusted at runtime from their processing latency through an
+ * {@link AdaptiveConcurrencyLimit}, instead of being fixed by the {@code maxConcurrency} of the flow.
+ * <p>
+ * Events that exceed the current limit are rejected with {@link BackPressureReason#MAX_CONCURRENCY_EXCEEDED}, same as with a
+ * fixed {@code maxConcurrency}, which becomes the upper bound of the limit.
+ * <p>
+ * It may be set as the default processing strategy of the runtime through the
+ * {@code org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory} system property.
+ *
+ * @since 4.10
+ */
+public class AdaptiveProactorStreamEmitterProcessingStrategyFactory
+    extends TransactionAwareProactorStreamEmitterProcessingStrategyFactory {
+
+  @Override
+  protected boolean isAdaptiveConcurrency() {
+    return true;
+  }
+}
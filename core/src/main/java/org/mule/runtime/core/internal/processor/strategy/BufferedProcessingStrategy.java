@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+
+import java.util.Optional;
+
+/**
+ * A {@link ProcessingStrategy} that buffers the events it accepts while the schedulers it requires are busy.
+ *
+ * @since 4.10
+ */
+public interface BufferedProcessingStrategy {
+
+  /**
+   * @return the amount of events currently in the buffer.
+   */
+  int getBufferedEvents();
+
+  /**
+   * @return the maximum amount of events the buffer can hold before back-pressure is applied.
+   */
+  int getBufferCapacity();
+
+  /**
+   * Looks for the {@link BufferedProcessingStrategy} behind the given {@code processingStrategy}, going through any
+   * {@link ProcessingStrategyDecorator}.
+   *
+   * @param processingStrategy the processing strategy of a flow
+   * @return the buffered processing strategy, or an empty {@link Optional} if the flow doesn't buffer events.
+   */
+  static Optional<BufferedProcessingStrategy> getBufferedProcessingStrategy(ProcessingStrategy processingStrategy) {
+    ProcessingStrategy current = processingStrategy;
+    while (current instanceof ProcessingStrategyDecorator decorator) {
+      current = decorator.getDelegate();
+    }
+    return current instanceof BufferedProcessingStrategy buffered ? of(buffered) : empty();
+  }
+}
@@ -46,22 +46,48 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
     Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
-    return new ProactorStreamEmitterProcessingStrategy(getBufferSize(),
-                                                       getSubscriberCount(),
-                                                       cpuLightSchedulerSupplier,
-                                                       cpuLightSchedulerSupplier,
-                                                       () -> muleContext.getSchedulerService()
-                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(
-                                                                         schedulersNamePrefix + "." + BLOCKING.name())),
-                                                       () -> muleContext.getSchedulerService()
-                                                           .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(schedulersNamePrefix + "."
-                                                                   + CPU_INTENSIVE.name())),
-                                                       resolveParallelism(),
-                                                       getMaxConcurrency(),
-                                                       isMaxConcurrencyEagerCheck(),
-                                                       () -> muleContext.getConfiguration().getShutdownTimeout());
+    ProactorStreamEmitterProcessingStrategy processingStrategy =
+        new ProactorStreamEmitterProcessingStrategy(getBufferSize(),
+                                                    getSubscriberCount(),
+                                                    cpuLightSchedulerSupplier,
+                                                    cpuLightSchedulerSupplier,
+                                                    getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                    () -> muleContext.getSchedulerService()
+                                                        .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                            .withName(schedulersNamePrefix + "."
+                                                                + CPU_INTENSIVE.name())),
+                                                    resolveParallelism(),
+                                                    getMaxConcurrency(),
+                                                    isMaxConcurrencyEagerCheck(),
+                                                    () -> muleContext.getConfiguration().getShutdownTimeout());
+    if (isAdaptiveConcurrency()) {
+      processingStrategy.setConcurrencyLimit(new AdaptiveConcurrencyLimit(getMaxConcurrency()), schedulersNamePrefix);
+    }
+    return processingStrategy;
+  }
+
+  /**
+   * Provides the scheduler for running the {@link ReactiveProcessor.ProcessingType#BLOCKING} and
+   * {@link ReactiveProcessor.ProcessingType#IO_RW} processors.
+   *
+   * @param muleContext          the context of the artifact the processing strategy is for
+   * @param schedulersNamePrefix the prefix for the name of the schedulers
+   * @return the supplier of the scheduler
+   * @since 4.10
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    return () -> muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig()
+            .withName(schedulersNamePrefix + "." + BLOCKING.name()));
+  }
+
+  /**
+   * @return whether the created processing strategies adjust the amount of events they accept concurrently from their
+   *         processing latency, bounded by the configured {@code maxConcurrency}.
+   * @since 4.10
+   */
+  protected boolean isAdaptiveConcurrency() {
+    return false;
   }
 
   @Override
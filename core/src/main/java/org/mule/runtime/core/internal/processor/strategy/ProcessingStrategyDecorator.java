@@ -47,6 +47,14 @@ public abstract class ProcessingStrategyDecorator implements ProcessingStrategy,
     this.delegate = delegate;
   }
 
+  /**
+   * @return the decorated {@link ProcessingStrategy}.
+   * @since 4.10
+   */
+  public ProcessingStrategy getDelegate() {
+    return delegate;
+  }
+
   @Override
   public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor pipeline) {
     return delegate.createSink(flowConstruct, pipeline);
@@ -107,7 +107,8 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
   }
 
 
-  static class StreamEmitterProcessingStrategy extends AbstractReactorStreamProcessingStrategy {
+  static class StreamEmitterProcessingStrategy extends AbstractReactorStreamProcessingStrategy
+      implements BufferedProcessingStrategy {
 
     private static final Logger LOGGER = getLogger(StreamEmitterProcessingStrategy.class);
     private static final String NO_SUBSCRIPTIONS_ACTIVE_FOR_PROCESSOR = "No subscriptions active for processor.";
@@ -370,6 +371,16 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       return bufferSize / sinksCount;
     }
 
+    @Override
+    public int getBufferedEvents() {
+      return queuedEvents.get();
+    }
+
+    @Override
+    public int getBufferCapacity() {
+      return getBufferQueueSize();
+    }
+
     static class RoundRobinReactorSink<E> implements AbstractProcessingStrategy.ReactorSink<E> {
 
       private final List<AbstractProcessingStrategy.ReactorSink<E>> fluxSinks;
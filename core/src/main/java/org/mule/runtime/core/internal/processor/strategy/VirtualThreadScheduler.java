@@ -0,0 +1,310 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.callable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.slf4j.MDC.getCopyOfContextMap;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+/**
+ * {@link Scheduler} that runs the tasks submitted for immediate execution each on its own virtual thread, instead of on the
+ * threads of the decorated {@link Scheduler}, which is used as is for every other operation.
+ * <p>
+ * A virtual thread that blocks waiting on IO releases its carrier thread, so slow downstream systems do not exhaust a thread pool.
+ * The amount of tasks running at the same time is still bounded. Tasks exceeding that bound are rejected with a
+ * {@link RejectedExecutionException}, as a busy thread pool would, so the processing strategy applies back-pressure instead of
+ * piling up virtual threads.
+ * <p>
+ * The context classloader and the logging {@link MDC} of the submitting thread are set on the virtual thread for running the task.
+ * The tracing context of the runtime travels with the event, so it needs no propagation.
+ * <p>
+ * The tasks running on virtual threads are part of the lifecycle of this scheduler: {@link #stop()} waits for them up to the
+ * graceful shutdown timeout and then interrupts them, {@link #shutdownNow()} interrupts them right away, and the scheduler is only
+ * terminated once all of them have completed.
+ * <p>
+ * Virtual threads are only available from Java 21. {@link #isSupported()} must be checked before creating instances.
+ *
+ * @since 4.10
+ */
+public final class VirtualThreadScheduler implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadScheduler.class);
+
+  private static final boolean SUPPORTED = createVirtualThreadFactory("probe") != null;
+
+  /**
+   * @return whether the running JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return SUPPORTED;
+  }
+
+  // The runtime is built for Java 17, so the virtual threads API is accessed reflectively.
+  private static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.debug("Virtual threads are not available in this JVM", e);
+      return null;
+    }
+  }
+
+  private final Scheduler delegate;
+  private final int maxConcurrency;
+  private final long gracefulShutdownTimeoutMillis;
+  private final Semaphore permits;
+  private final ThreadFactory threadFactory;
+  private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+  private final Object terminationLock = new Object();
+  private volatile boolean stopped = false;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate                      the scheduler to decorate
+   * @param maxConcurrency                the maximum amount of tasks running at the same time
+   * @param gracefulShutdownTimeoutMillis how long {@link #stop()} waits for the running tasks before interrupting them
+   */
+  public VirtualThreadScheduler(Scheduler delegate, int maxConcurrency, long gracefulShutdownTimeoutMillis) {
+    if (!SUPPORTED) {
+      throw new IllegalStateException("Virtual threads are not available in this JVM");
+    }
+    this.delegate = delegate;
+    this.maxConcurrency = maxConcurrency;
+    this.gracefulShutdownTimeoutMillis = gracefulShutdownTimeoutMillis;
+    this.permits = new Semaphore(maxConcurrency);
+    this.threadFactory = createVirtualThreadFactory(delegate.getName() + ".virtual.");
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (stopped) {
+      throw new RejectedExecutionException("Scheduler '" + getName() + "' is stopped");
+    }
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Scheduler '" + getName() + "' is already running " + maxConcurrency
+          + " tasks on virtual threads");
+    }
+    // Checked again once the task is accounted for, so it is either rejected or awaited by the termination of the scheduler
+    if (stopped) {
+      taskCompleted();
+      throw new RejectedExecutionException("Scheduler '" + getName() + "' is stopped");
+    }
+
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    final Map<String, String> mdc = getCopyOfContextMap();
+    try {
+      Thread thread = threadFactory.newThread(() -> {
+        currentThread().setContextClassLoader(contextClassLoader);
+        if (mdc != null) {
+          MDC.setContextMap(mdc);
+        }
+        try {
+          command.run();
+        } finally {
+          MDC.clear();
+          runningThreads.remove(currentThread());
+          taskCompleted();
+        }
+      });
+      runningThreads.add(thread);
+      thread.start();
+    } catch (RuntimeException | Error e) {
+      taskCompleted();
+      throw new RejectedExecutionException("Unable to start a virtual thread for a task of scheduler '" + getName() + "'", e);
+    }
+  }
+
+  private void taskCompleted() {
+    permits.release();
+    if (stopped) {
+      synchronized (terminationLock) {
+        terminationLock.notifyAll();
+      }
+    }
+  }
+
+  private boolean isRunningTasks() {
+    return permits.availablePermits() < maxConcurrency;
+  }
+
+  private boolean awaitRunningTasks(long timeoutNanos) throws InterruptedException {
+    final long deadline = nanoTime() + timeoutNanos;
+    synchronized (terminationLock) {
+      while (isRunningTasks()) {
+        long remaining = deadline - nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        NANOSECONDS.timedWait(terminationLock, remaining);
+      }
+    }
+    return true;
+  }
+
+  private void interruptRunningTasks() {
+    runningThreads.forEach(Thread::interrupt);
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    FutureTask<T> future = new FutureTask<>(task);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    return submit(callable(task, result));
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return submit(callable(task));
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    return delegate.invokeAll(tasks);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return delegate.invokeAll(tasks, timeout, unit);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    return delegate.invokeAny(tasks);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return delegate.invokeAny(tasks, timeout, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return delegate.schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return delegate.schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delegate.scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delegate.scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+    delegate.stop();
+    try {
+      if (!awaitRunningTasks(MILLISECONDS.toNanos(gracefulShutdownTimeoutMillis))) {
+        LOGGER.warn("Scheduler '{}' still has tasks running on virtual threads after {} ms, interrupting them", getName(),
+                    gracefulShutdownTimeoutMillis);
+        interruptRunningTasks();
+      }
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      interruptRunningTasks();
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    stopped = true;
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    stopped = true;
+    // Tasks are never queued waiting for a virtual thread, so there are none to return besides the ones of the delegate
+    interruptRunningTasks();
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return stopped || delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return stopped && !isRunningTasks() && delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    if (!delegate.awaitTermination(timeout, unit)) {
+      return false;
+    }
+    return awaitRunningTasks(deadline - nanoTime());
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadScheduler{" + delegate.toString() + "}";
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Integer.getInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy with same behavior as {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory},
+ * except that {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW} processors
+ * run on virtual threads through a {@link VirtualThreadScheduler}, so that slow downstream systems do not exhaust the IO pool.
+ * <p>
+ * The amount of blocking processors running at the same time for each flow is bounded by
+ * {@link #VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY}, beyond which the flow applies back-pressure as with a busy IO pool. On
+ * JVMs without virtual threads, the IO scheduler is used as with the default processing strategy.
+ * <p>
+ * It may be set as the default processing strategy of the runtime through the
+ * {@code org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory} system property.
+ *
+ * @since 4.10
+ */
+public class VirtualThreadsProactorStreamEmitterProcessingStrategyFactory
+    extends TransactionAwareProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadsProactorStreamEmitterProcessingStrategyFactory.class);
+
+  /**
+   * The maximum amount of blocking processors of a flow running on virtual threads at the same time, defaults to 1024.
+   */
+  public static final String VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "processingStrategy.virtualThreads.maxConcurrency";
+
+  private static final int VIRTUAL_THREADS_MAX_CONCURRENCY = getInteger(VIRTUAL_THREADS_MAX_CONCURRENCY_PROPERTY, 1024);
+
+  @Override
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    Supplier<Scheduler> ioSchedulerSupplier = super.getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix);
+    if (!VirtualThreadScheduler.isSupported()) {
+      LOGGER.warn("Virtual threads are not available in this JVM, blocking processors of '{}' will run on the IO scheduler",
+                  schedulersNamePrefix);
+      return ioSchedulerSupplier;
+    }
+
+    return () -> new VirtualThreadScheduler(ioSchedulerSupplier.get(), VIRTUAL_THREADS_MAX_CONCURRENCY,
+                                            muleContext.getConfiguration().getShutdownTimeout());
+  }
+}
@@ -10,6 +10,9 @@ import static org.mule.runtime.api.config.MuleRuntimeFeature.ENABLE_PROFILING_SE
 import static org.mule.runtime.api.config.MuleRuntimeFeature.FORCE_RUNTIME_PROFILING_CONSUMERS_ENABLEMENT;
 import static org.mule.runtime.core.internal.profiling.notification.ProfilingNotification.getFullyQualifiedProfilingNotificationIdentifier;
 
+import static jdk.jfr.FlightRecorder.addListener;
+import static jdk.jfr.FlightRecorder.removeListener;
+
 import org.mule.runtime.api.config.MuleRuntimeFeature;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
@@ -25,6 +28,7 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.FeatureFlaggingRegistry;
 import org.mule.runtime.core.api.context.notification.ServerNotificationManager;
 import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.jfr.AbstractJfrProfilingDataConsumer;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotification;
 import org.mule.runtime.feature.internal.config.profiling.ProfilingFeatureFlaggingService;
 import org.mule.runtime.core.privileged.profiling.PrivilegedProfilingService;
@@ -34,6 +38,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 import jakarta.inject.Inject;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
 
 /**
  * A {@link AbstractProfilingService} that discovers available {@link ProfilingDataConsumer}
@@ -56,6 +62,15 @@ public abstract class AbstractProfilingService
   protected MuleContext muleContext;
 
   private final Set<NotificationListener<?>> addedListeners = new HashSet<>();
+  private final Set<AbstractJfrProfilingDataConsumer<?>> jfrDataConsumers = new HashSet<>();
+  private final FlightRecorderListener jfrRecordingListener = new FlightRecorderListener() {
+
+    @Override
+    public void recordingStateChanged(Recording recording) {
+      toggleJfrProfilingFeatures();
+    }
+  };
+  private boolean jfrRecordingListenerAdded;
 
   @Override
   public void initialise() throws InitialisationException {}
@@ -74,14 +89,39 @@ public abstract class AbstractProfilingService
   }
 
   private void doRegisterConsumer(ProfilingDataConsumer<?> dataConsumer) {
+    boolean forceConsumersEnablement = featureFlaggingService.isEnabled(FORCE_RUNTIME_PROFILING_CONSUMERS_ENABLEMENT);
     Set<? extends ProfilingEventType<?>> profilingEventTypes = dataConsumer.getProfilingEventTypes();
     for (ProfilingEventType<?> profilingEventType : profilingEventTypes) {
       featureFlaggingService.registerProfilingFeature(profilingEventType, dataConsumer.getClass().getName());
-      if (featureFlaggingService.isEnabled(FORCE_RUNTIME_PROFILING_CONSUMERS_ENABLEMENT)) {
+      if (forceConsumersEnablement) {
         featureFlaggingService.toggleProfilingFeature(profilingEventType, dataConsumer.getClass().getName(),
                                                       isInternalDataConsumer(dataConsumer));
       }
     }
+    if (!forceConsumersEnablement && dataConsumer instanceof AbstractJfrProfilingDataConsumer) {
+      registerJfrDataConsumer((AbstractJfrProfilingDataConsumer<?>) dataConsumer);
+    }
+  }
+
+  private synchronized void registerJfrDataConsumer(AbstractJfrProfilingDataConsumer<?> dataConsumer) {
+    // The profiling features of JFR consumers follow the recordings, so events are only produced while one enables them
+    if (!jfrRecordingListenerAdded) {
+      addListener(jfrRecordingListener);
+      jfrRecordingListenerAdded = true;
+    }
+    jfrDataConsumers.add(dataConsumer);
+    toggleJfrProfilingFeatures(dataConsumer);
+  }
+
+  private synchronized void toggleJfrProfilingFeatures() {
+    jfrDataConsumers.forEach(this::toggleJfrProfilingFeatures);
+  }
+
+  private void toggleJfrProfilingFeatures(AbstractJfrProfilingDataConsumer<?> dataConsumer) {
+    boolean enabled = dataConsumer.isEventEnabled();
+    for (ProfilingEventType<?> profilingEventType : dataConsumer.getProfilingEventTypes()) {
+      featureFlaggingService.toggleProfilingFeature(profilingEventType, dataConsumer.getClass().getName(), enabled);
+    }
   }
 
   private boolean isInternalDataConsumer(ProfilingDataConsumer<?> dataConsumer) {
@@ -122,6 +162,13 @@ public abstract class AbstractProfilingService
     if (!notificationManager.isDisposed()) {
       addedListeners.forEach(listener -> notificationManager.removeListener(listener));
     }
+    synchronized (this) {
+      if (jfrRecordingListenerAdded) {
+        removeListener(jfrRecordingListener);
+        jfrRecordingListenerAdded = false;
+      }
+      jfrDataConsumers.clear();
+    }
   }
 
   /**
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.ProfilingEventContext;
+import org.mule.runtime.api.profiling.tracing.ComponentMetadata;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentProfilingEventContext;
+
+import java.util.function.Predicate;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+/**
+ * Base {@link ProfilingDataConsumer} that emits the profiling events as JFR events.
+ * <p>
+ * The JFR event is only created and committed when a recording enables it, so these consumers can remain registered for
+ * always-on, low overhead recordings.
+ *
+ * @param <T> the {@link ProfilingEventContext} of the consumed events.
+ * @since 4.10
+ */
+public abstract class AbstractJfrProfilingDataConsumer<T extends ProfilingEventContext> implements ProfilingDataConsumer<T> {
+
+  private final EventType eventType;
+
+  protected AbstractJfrProfilingDataConsumer(Class<? extends Event> eventClass) {
+    this.eventType = EventType.getEventType(eventClass);
+  }
+
+  @Override
+  public void onProfilingEvent(ProfilingEventType<T> profilingEventType, T profilingEventContext) {
+    if (eventType.isEnabled()) {
+      commitEvent(profilingEventType, profilingEventContext);
+    }
+  }
+
+  /**
+   * @return whether a running recording enables the JFR event of this consumer.
+   */
+  public boolean isEventEnabled() {
+    return eventType.isEnabled();
+  }
+
+  /**
+   * Creates and commits the JFR event for the given profiling event. Only invoked when the JFR event is enabled.
+   *
+   * @param profilingEventType    the type of the profiling event.
+   * @param profilingEventContext the context of the profiling event.
+   */
+  protected abstract void commitEvent(ProfilingEventType<T> profilingEventType, T profilingEventContext);
+
+  @Override
+  public Predicate<T> getEventContextFilter() {
+    return profilingEventContext -> true;
+  }
+
+  static void setComponentData(MuleProfilingEvent event, ProfilingEventType<?> profilingEventType,
+                               ComponentProfilingEventContext profilingEventContext) {
+    setProfilingEventType(event, profilingEventType);
+    event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+    event.processingThread = profilingEventContext.getThreadName();
+    event.artifactId = profilingEventContext.getArtifactId();
+    event.artifactType = profilingEventContext.getArtifactType();
+    event.correlationId = profilingEventContext.getCorrelationId();
+    profilingEventContext.getLocation().ifPresent(location -> setLocation(event, location));
+  }
+
+  static void setComponentMetadata(MuleProfilingEvent event, ComponentMetadata componentMetadata) {
+    event.artifactId = componentMetadata.getArtifactId();
+    event.artifactType = componentMetadata.getArtifactType();
+    event.correlationId = componentMetadata.getCorrelationId();
+    componentMetadata.getComponentLocation().ifPresent(location -> setLocation(event, location));
+  }
+
+  static void setProfilingEventType(MuleProfilingEvent event, ProfilingEventType<?> profilingEventType) {
+    event.profilingEventType =
+        profilingEventType.getProfilingEventTypeNamespace() + ":" + profilingEventType.getProfilingEventTypeIdentifier();
+  }
+
+  private static void setLocation(MuleProfilingEvent event, ComponentLocation location) {
+    event.location = location.getLocation();
+    ComponentIdentifier identifier = location.getComponentIdentifier().getIdentifier();
+    event.componentIdentifier = identifier.getNamespace() + ":" + identifier.getName();
+  }
+}
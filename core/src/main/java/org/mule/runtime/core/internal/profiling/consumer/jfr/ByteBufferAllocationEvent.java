@@ -0,0 +1,30 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for the allocation and deallocation of memory buffers by a byte buffer provider.
+ *
+ * @since 4.10
+ */
+@Name("org.mule.runtime.ByteBufferAllocation")
+@Label("Byte Buffer Allocation")
+@Description("Allocation or deallocation of a memory buffer")
+final class ByteBufferAllocationEvent extends MuleProfilingEvent {
+
+  @Label("Byte Buffer Provider")
+  String byteBufferProviderName;
+
+  @Label("Size")
+  @DataAmount
+  long size;
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for the threads an operation is executed and released on.
+ *
+ * @since 4.10
+ */
+@Name("org.mule.runtime.ComponentThreading")
+@Label("Component Threading")
+@Description("Thread switch around the execution of an operation")
+final class ComponentThreadingEvent extends MuleProfilingEvent {
+
+  @Label("Blocked Time")
+  @Timespan(Timespan.MILLISECONDS)
+  long blockedTime;
+
+  @Label("Waited Time")
+  @Timespan(Timespan.MILLISECONDS)
+  long waitedTime;
+
+  @Label("CPU Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long cpuTime;
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_ALLOCATION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.MEMORY_BYTE_BUFFER_DEALLOCATION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ByteBufferProviderEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+/**
+ * A {@link ProfilingDataConsumer} that emits a JFR event for the allocation and deallocation of memory buffers.
+ *
+ * @since 4.10
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrByteBufferAllocationDataConsumer extends AbstractJfrProfilingDataConsumer<ByteBufferProviderEventContext> {
+
+  public JfrByteBufferAllocationDataConsumer() {
+    super(ByteBufferAllocationEvent.class);
+  }
+
+  @Override
+  protected void commitEvent(ProfilingEventType<ByteBufferProviderEventContext> profilingEventType,
+                             ByteBufferProviderEventContext profilingEventContext) {
+    ByteBufferAllocationEvent event = new ByteBufferAllocationEvent();
+    if (event.shouldCommit()) {
+      setProfilingEventType(event, profilingEventType);
+      event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+      event.byteBufferProviderName = profilingEventContext.getByteBufferProviderName();
+      event.size = profilingEventContext.size();
+      event.commit();
+    }
+  }
+
+  @Override
+  public Set<ProfilingEventType<ByteBufferProviderEventContext>> getProfilingEventTypes() {
+    return of(MEMORY_BYTE_BUFFER_ALLOCATION, MEMORY_BYTE_BUFFER_DEALLOCATION);
+  }
+}
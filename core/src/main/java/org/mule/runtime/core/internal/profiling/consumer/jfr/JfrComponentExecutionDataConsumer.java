@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.FLOW_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_FLOW_MESSAGE_PASSING;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_SCHEDULING_FLOW_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_SCHEDULING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.PS_STARTING_OPERATION_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_FLOW_EXECUTION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentProcessingStrategyProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+/**
+ * A {@link ProfilingDataConsumer} that emits a JFR event for the execution of flows and operations.
+ *
+ * @since 4.10
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrComponentExecutionDataConsumer
+    extends AbstractJfrProfilingDataConsumer<ComponentProcessingStrategyProfilingEventContext> {
+
+  public JfrComponentExecutionDataConsumer() {
+    super(ComponentExecutionEvent.class);
+  }
+
+  @Override
+  protected void commitEvent(ProfilingEventType<ComponentProcessingStrategyProfilingEventContext> profilingEventType,
+                             ComponentProcessingStrategyProfilingEventContext profilingEventContext) {
+    ComponentExecutionEvent event = new ComponentExecutionEvent();
+    if (event.shouldCommit()) {
+      setComponentData(event, profilingEventType, profilingEventContext);
+      event.commit();
+    }
+  }
+
+  @Override
+  public Set<ProfilingEventType<ComponentProcessingStrategyProfilingEventContext>> getProfilingEventTypes() {
+    return of(PS_SCHEDULING_OPERATION_EXECUTION, PS_STARTING_OPERATION_EXECUTION, PS_OPERATION_EXECUTED,
+              PS_FLOW_MESSAGE_PASSING, PS_SCHEDULING_FLOW_EXECUTION, STARTING_FLOW_EXECUTION,
+              FLOW_EXECUTED);
+  }
+}
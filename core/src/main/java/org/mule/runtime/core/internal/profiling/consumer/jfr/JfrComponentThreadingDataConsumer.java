@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_EXECUTED;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.OPERATION_THREAD_RELEASE;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_OPERATION_EXECUTION;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.threading.ThreadSnapshot;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.ComponentThreadingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+/**
+ * A {@link ProfilingDataConsumer} that emits a JFR event for the thread switches around the execution of operations.
+ *
+ * @since 4.10
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrComponentThreadingDataConsumer extends AbstractJfrProfilingDataConsumer<ComponentThreadingProfilingEventContext> {
+
+  public JfrComponentThreadingDataConsumer() {
+    super(ComponentThreadingEvent.class);
+  }
+
+  @Override
+  protected void commitEvent(ProfilingEventType<ComponentThreadingProfilingEventContext> profilingEventType,
+                             ComponentThreadingProfilingEventContext profilingEventContext) {
+    ComponentThreadingEvent event = new ComponentThreadingEvent();
+    if (event.shouldCommit()) {
+      setComponentData(event, profilingEventType, profilingEventContext);
+      if (profilingEventContext.getThreadSnapshot().isPresent()) {
+        ThreadSnapshot threadSnapshot = profilingEventContext.getThreadSnapshot().get();
+        event.blockedTime = threadSnapshot.getBlockedTime();
+        event.waitedTime = threadSnapshot.getWaitedTime();
+        event.cpuTime = threadSnapshot.getCpuTime();
+      }
+      event.commit();
+    }
+  }
+
+  @Override
+  public Set<ProfilingEventType<ComponentThreadingProfilingEventContext>> getProfilingEventTypes() {
+    return of(STARTING_OPERATION_EXECUTION, OPERATION_THREAD_RELEASE, OPERATION_EXECUTED);
+  }
+}
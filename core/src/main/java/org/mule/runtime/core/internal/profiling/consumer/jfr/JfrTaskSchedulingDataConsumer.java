@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.SCHEDULING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.STARTING_TASK_EXECUTION;
+import static org.mule.runtime.api.profiling.type.RuntimeProfilingEventTypes.TASK_EXECUTED;
+
+import static com.google.common.collect.ImmutableSet.of;
+
+import org.mule.runtime.api.profiling.ProfilingDataConsumer;
+import org.mule.runtime.api.profiling.type.ProfilingEventType;
+import org.mule.runtime.api.profiling.type.context.TaskSchedulingProfilingEventContext;
+import org.mule.runtime.core.internal.profiling.consumer.annotations.RuntimeInternalProfilingDataConsumer;
+
+import java.util.Set;
+
+/**
+ * A {@link ProfilingDataConsumer} that emits a JFR event for the scheduling and execution of tasks.
+ *
+ * @since 4.10
+ */
+@RuntimeInternalProfilingDataConsumer
+public class JfrTaskSchedulingDataConsumer extends AbstractJfrProfilingDataConsumer<TaskSchedulingProfilingEventContext> {
+
+  public JfrTaskSchedulingDataConsumer() {
+    super(TaskSchedulingEvent.class);
+  }
+
+  @Override
+  protected void commitEvent(ProfilingEventType<TaskSchedulingProfilingEventContext> profilingEventType,
+                             TaskSchedulingProfilingEventContext profilingEventContext) {
+    TaskSchedulingEvent event = new TaskSchedulingEvent();
+    if (event.shouldCommit()) {
+      setProfilingEventType(event, profilingEventType);
+      event.triggerTimestamp = profilingEventContext.getTriggerTimestamp();
+      event.processingThread = profilingEventContext.getThreadName();
+      event.taskId = profilingEventContext.getTaskId();
+      profilingEventContext.getTaskTracingContext()
+          .flatMap(executionContext -> executionContext.getCurrentComponentMetadata())
+          .ifPresent(componentMetadata -> setComponentMetadata(event, componentMetadata));
+      event.commit();
+    }
+  }
+
+  @Override
+  public Set<ProfilingEventType<TaskSchedulingProfilingEventContext>> getProfilingEventTypes() {
+    return of(SCHEDULING_TASK_EXECUTION, STARTING_TASK_EXECUTION, TASK_EXECUTED);
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * Base JFR event for the profiling events of the Mule runtime, with the data common to all of them.
+ *
+ * @since 4.10
+ */
+@Category({"Mule", "Profiling"})
+@StackTrace(false)
+abstract class MuleProfilingEvent extends Event {
+
+  @Label("Profiling Event Type")
+  String profilingEventType;
+
+  @Label("Trigger Time")
+  @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+  long triggerTimestamp;
+
+  @Label("Processing Thread")
+  String processingThread;
+
+  @Label("Artifact Id")
+  String artifactId;
+
+  @Label("Artifact Type")
+  String artifactType;
+
+  @Label("Correlation Id")
+  String correlationId;
+
+  @Label("Location")
+  String location;
+
+  @Label("Component Identifier")
+  String componentIdentifier;
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.profiling.consumer.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for the scheduling and execution of tasks in the runtime schedulers.
+ *
+ * @since 4.10
+ */
+@Name("org.mule.runtime.TaskScheduling")
+@Label("Task Scheduling")
+@Description("Scheduling, start and end of the execution of a task")
+final class TaskSchedulingEvent extends MuleProfilingEvent {
+
+  @Label("Task Id")
+  String taskId;
+}
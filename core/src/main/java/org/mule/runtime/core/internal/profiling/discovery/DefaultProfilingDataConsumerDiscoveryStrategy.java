@@ -6,7 +6,9 @@
  */
 package org.mule.runtime.core.internal.profiling.discovery;
 
-import static com.google.common.collect.ImmutableSet.of;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
 
 import org.mule.runtime.api.profiling.ProfilingDataConsumerDiscoveryStrategy;
 import org.mule.runtime.api.profiling.ProfilingDataConsumer;
@@ -17,9 +19,15 @@ import org.mule.runtime.core.internal.profiling.consumer.ComponentProcessingStra
 import org.mule.runtime.core.internal.profiling.consumer.LoggerComponentThreadingDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.TaskSchedulingLoggerDataConsumer;
 import org.mule.runtime.core.internal.profiling.consumer.TransactionLoggerDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.jfr.JfrByteBufferAllocationDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.jfr.JfrComponentExecutionDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.jfr.JfrComponentThreadingDataConsumer;
+import org.mule.runtime.core.internal.profiling.consumer.jfr.JfrTaskSchedulingDataConsumer;
 
 import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
+
 /**
  * Simple {@link ProfilingDataConsumerDiscoveryStrategy} that programmatically generates the data consumers.
  *
@@ -27,6 +35,14 @@ import java.util.Set;
  */
 public class DefaultProfilingDataConsumerDiscoveryStrategy implements ProfilingDataConsumerDiscoveryStrategy {
 
+  /**
+   * When set to {@code true}, data consumers that emit the profiling events as JFR events are also discovered and enabled. The
+   * events are only committed while a JFR recording enables them. Requires the profiling service to be enabled.
+   *
+   * @since 4.10
+   */
+  public static final String ENABLE_JFR_PROFILING_DATA_CONSUMERS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "profiling.jfr.enable";
+
   private final InternalProfilingService profilingService;
 
   public DefaultProfilingDataConsumerDiscoveryStrategy(InternalProfilingService profilingService) {
@@ -35,11 +51,26 @@ public class DefaultProfilingDataConsumerDiscoveryStrategy implements ProfilingD
 
   @Override
   public Set<ProfilingDataConsumer<?>> discover() {
-    return of(new LoggerByteBufferAllocationProfilingDataConsumer(),
-              new ComponentProcessingStrategyDataConsumer(profilingService),
-              new LoggerComponentThreadingDataConsumer(),
-              new TransactionLoggerDataConsumer(),
-              new TaskSchedulingLoggerDataConsumer());
+    ImmutableSet.Builder<ProfilingDataConsumer<?>> dataConsumers = ImmutableSet.<ProfilingDataConsumer<?>>builder()
+        .add(new LoggerByteBufferAllocationProfilingDataConsumer(),
+             new ComponentProcessingStrategyDataConsumer(profilingService),
+             new LoggerComponentThreadingDataConsumer(),
+             new TransactionLoggerDataConsumer(),
+             new TaskSchedulingLoggerDataConsumer());
+    if (isJfrProfilingDataConsumersEnabled()) {
+      dataConsumers.add(new JfrComponentExecutionDataConsumer(),
+                        new JfrComponentThreadingDataConsumer(),
+                        new JfrTaskSchedulingDataConsumer(),
+                        new JfrByteBufferAllocationDataConsumer());
+    }
+    return dataConsumers.build();
+  }
+
+  /**
+   * @return whether the JFR profiling data consumers are enabled.
+   */
+  public static boolean isJfrProfilingDataConsumersEnabled() {
+    return getBoolean(ENABLE_JFR_PROFILING_DATA_CONSUMERS_PROPERTY);
   }
 
 }
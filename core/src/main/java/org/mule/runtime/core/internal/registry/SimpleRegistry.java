@@ -17,6 +17,7 @@ import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_REGISTRY;
 import static org.mule.runtime.core.internal.util.InjectionUtils.getInjectionTarget;
 
 import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
@@ -48,12 +49,15 @@ import org.mule.runtime.core.privileged.registry.InjectProcessor;
 import org.mule.runtime.core.privileged.registry.RegistrationException;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -67,8 +71,8 @@ import jakarta.inject.Named;
  * object containers such as Spring or Guice (testing being the best example).
  * <p/>
  * The {@link #inject(Object)} operation will only consider fields annotated with {@link Inject} and will perform the injection
- * using simple, not-cached reflection. Also, initialisation lifecycle will be performed in pseudo-random order, no analysis will
- * be done to ensure that dependencies of a given object get their lifecycle before it.
+ * using simple reflection, only caching the injection points of each class. Also, initialisation lifecycle will be performed in
+ * pseudo-random order, no analysis will be done to ensure that dependencies of a given object get their lifecycle before it.
  *
  * @since 3.7.0
  */
@@ -76,6 +80,18 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
 
   private static final String REGISTRY_ID = "org.mule.runtime.core.Registry.Simple";
 
+  private static final ClassValue<List<InjectionPoint>> INJECTION_POINTS = new ClassValue<>() {
+
+    @Override
+    protected List<InjectionPoint> computeValue(Class<?> type) {
+      List<InjectionPoint> injectionPoints = new ArrayList<>();
+      collectInjectionPoints(type, Inject.class, Named.class, Named::value, injectionPoints);
+      collectInjectionPoints(type, javax.inject.Inject.class, javax.inject.Named.class, javax.inject.Named::value,
+                             injectionPoints);
+      return unmodifiableList(injectionPoints);
+    }
+  };
+
   private final boolean disableApplyObjectProcessor;
   private final RegistryMap registryMap = new RegistryMap(logger);
 
@@ -195,9 +211,8 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Collection<T> lookupObjects(Class<T> returntype) {
-    return (Collection<T>) registryMap.select(returntype::isInstance);
+    return registryMap.selectValuesByType(returntype);
   }
 
   @Override
@@ -212,28 +227,8 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Map<String, T> lookupByType(Class<T> type) {
-    final Map<String, T> results = new HashMap<>();
-    try {
-      registryMap.lockForReading();
-
-      for (Map.Entry<String, Object> entry : registryMap.entrySet()) {
-        if (entry.getValue() == null) {
-          throw new NullPointerException("SimpleRegistry - null value for entry with key '" + entry.getKey() + "' of type '"
-              + type + "'");
-        }
-
-        final Class<?> clazz = entry.getValue().getClass();
-        if (type.isAssignableFrom(clazz)) {
-          results.put(entry.getKey(), (T) entry.getValue());
-        }
-      }
-    } finally {
-      registryMap.unlockForReading();
-    }
-
-    return results;
+    return registryMap.selectByType(type);
   }
 
   /////////////////////////////////
@@ -386,31 +381,48 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
   }
 
   private <T> T injectInto(T object) {
-    doInjectInto(object, Inject.class, Named.class, Named::value);
-    doInjectInto(object, javax.inject.Inject.class, javax.inject.Named.class, javax.inject.Named::value);
+    for (InjectionPoint injectionPoint : INJECTION_POINTS.get(object.getClass())) {
+      if (injectionPoint.member instanceof Field field) {
+        injectToField(object, injectionPoint.name, field);
+      } else {
+        injectToMethod(object, injectionPoint.name, (Method) injectionPoint.member);
+      }
+    }
     return object;
   }
 
-  private <T, N extends Annotation> void doInjectInto(T object, final Class<? extends Annotation> injectAnnClass,
-                                                      final Class<N> namedAnnClass, Function<N, String> namedValue) {
-    for (Field field : getAllFields(object.getClass(), withAnnotation(injectAnnClass))) {
-      injectToField(object, namedAnnClass, namedValue, field);
+  private static <N extends Annotation> void collectInjectionPoints(Class<?> type,
+                                                                    final Class<? extends Annotation> injectAnnClass,
+                                                                    final Class<N> namedAnnClass, Function<N, String> namedValue,
+                                                                    List<InjectionPoint> injectionPoints) {
+    for (Field field : getAllFields(type, withAnnotation(injectAnnClass))) {
+      try {
+        field.setAccessible(true);
+      } catch (RuntimeException e) {
+        // Setting the field fails with the actual reason when injecting
+      }
+      injectionPoints.add(new InjectionPoint(field, namedValue(field, namedAnnClass, namedValue)));
     }
-    for (Method method : getAllMethods(object.getClass(), withAnnotation(injectAnnClass))) {
-      injectToMethod(object, namedAnnClass, namedValue, method);
+    for (Method method : getAllMethods(type, withAnnotation(injectAnnClass))) {
+      if (method.getParameters().length == 1) {
+        injectionPoints.add(new InjectionPoint(method, namedValue(method, namedAnnClass, namedValue)));
+      }
     }
   }
 
-  private <N extends Annotation, T> void injectToField(T object, final Class<N> namedAnnClass, Function<N, String> namedValue,
-                                                       Field field) {
+  private static <N extends Annotation> String namedValue(AccessibleObject member, Class<N> namedAnnClass,
+                                                          Function<N, String> namedValue) {
+    final N namedAnnotation = member.getAnnotation(namedAnnClass);
+    return namedAnnotation != null ? namedValue.apply(namedAnnotation) : null;
+  }
+
+  private <T> void injectToField(T object, String name, Field field) {
     try {
-      final N namedAnnotation = field.getAnnotation(namedAnnClass);
       Object dependency =
-          resolveTypedDependency(field.getType(), namedAnnotation != null ? namedValue.apply(namedAnnotation) : null,
+          resolveTypedDependency(field.getType(), name,
                                  () -> ((ParameterizedType) (field.getGenericType()))
                                      .getActualTypeArguments()[0]);
 
-      field.setAccessible(true);
       if (dependency != null) {
         field.set(object, dependency);
       }
@@ -421,24 +433,19 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
     }
   }
 
-  private <N extends Annotation, T> void injectToMethod(T object, final Class<N> namedAnnClass, Function<N, String> namedValue,
-                                                        Method method) {
-    if (method.getParameters().length == 1) {
-      try {
-        final N namedAnnotation = method.getAnnotation(namedAnnClass);
-        Object dependency = resolveTypedDependency(method.getParameterTypes()[0],
-                                                   namedAnnotation != null ? namedValue.apply(namedAnnotation) : null,
-                                                   () -> ((ParameterizedType) (method.getGenericParameterTypes()[0]))
-                                                       .getActualTypeArguments()[0]);
-
-        if (dependency != null) {
-          method.invoke(object, dependency);
-        }
-      } catch (Exception e) {
-        throw new RuntimeException(format("Could not inject dependency on method %s of type %s", method.getName(),
-                                          object.getClass().getName()),
-                                   e);
+  private <T> void injectToMethod(T object, String name, Method method) {
+    try {
+      Object dependency = resolveTypedDependency(method.getParameterTypes()[0], name,
+                                                 () -> ((ParameterizedType) (method.getGenericParameterTypes()[0]))
+                                                     .getActualTypeArguments()[0]);
+
+      if (dependency != null) {
+        method.invoke(object, dependency);
       }
+    } catch (Exception e) {
+      throw new RuntimeException(format("Could not inject dependency on method %s of type %s", method.getName(),
+                                        object.getClass().getName()),
+                                 e);
     }
   }
 
@@ -494,6 +501,21 @@ public class SimpleRegistry extends AbstractRegistry implements Injector {
     return dependencies;
   }
 
+  /**
+   * A field or method of a class annotated with {@link Inject}, along with the name of the object to inject if it is
+   * {@link Named}.
+   */
+  private static final class InjectionPoint {
+
+    private final AccessibleObject member;
+    private final String name;
+
+    private InjectionPoint(AccessibleObject member, String name) {
+      this.member = member;
+      this.name = name;
+    }
+  }
+
   // /////////////////////////////////////////////////////////////////////////
   // Registry Metadata
   // /////////////////////////////////////////////////////////////////////////
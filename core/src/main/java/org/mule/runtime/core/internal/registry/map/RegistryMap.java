@@ -6,16 +6,20 @@
  */
 package org.mule.runtime.core.internal.registry.map;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toList;
 
 import org.mule.runtime.api.lifecycle.Disposable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -26,10 +30,15 @@ import org.slf4j.Logger;
 /**
  * This class encapsulates the {@link HashMap} that's used for storing the objects in the transient registry and also shields
  * client code from having to deal with locking the {@link ReadWriteLock} for the exposed Map operations.
+ * <p>
+ * Objects are also indexed by type, so looking them up by type only visits the matching ones. Only the types that have been
+ * looked up are indexed, the index of each one being built on its first lookup and kept up to date from then on.
  */
 public class RegistryMap {
 
   private final Map<String, Object> registry = new HashMap<>();
+  // Built while holding the read lock, updated while holding the write lock
+  private final Map<Class<?>, Map<String, Object>> typeIndex = new ConcurrentHashMap<>();
   private final ReadWriteLock registryLock = new ReentrantReadWriteLock();
   private final Set<Object> lostObjects = new TreeSet<>(new Comparator<Object>() {
 
@@ -50,6 +59,59 @@ public class RegistryMap {
     logger = log;
   }
 
+  /**
+   * @param type the type of the objects to select
+   * @return a copy of the registered objects that are instances of {@code type}, by key
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Map<String, T> selectByType(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      return new HashMap<>((Map<String, T>) objectsOfType(type));
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * @param type the type of the objects to select
+   * @return the registered objects that are instances of {@code type}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Collection<T> selectValuesByType(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      return new ArrayList<>((Collection<T>) objectsOfType(type).values());
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private Map<String, Object> objectsOfType(Class<?> type) {
+    if (type == Object.class) {
+      // Every object matches, no need to keep a copy of the registry in the index
+      Map<String, Object> objects = new LinkedHashMap<>();
+      registry.forEach((key, object) -> {
+        if (object != null) {
+          objects.put(key, object);
+        }
+      });
+      return objects;
+    }
+
+    return typeIndex.computeIfAbsent(type, t -> {
+      Map<String, Object> objects = new LinkedHashMap<>();
+      registry.forEach((key, object) -> {
+        if (t.isInstance(object)) {
+          objects.put(key, object);
+        }
+      });
+      return objects;
+    });
+  }
+
   public Collection<?> select(Predicate predicate) {
     Lock readLock = registryLock.readLock();
     try {
@@ -68,6 +130,7 @@ public class RegistryMap {
     try {
       writeLock.lock();
       registry.clear();
+      typeIndex.clear();
       lostObjects.clear();
     } finally {
       writeLock.unlock();
@@ -80,6 +143,8 @@ public class RegistryMap {
       writeLock.lock();
 
       final Object previousObject = registry.put(key, object);
+      unindex(key, previousObject);
+      index(key, object);
       if (previousObject != null && previousObject != object) {
         if (previousObject instanceof Disposable) {
           lostObjects.add(previousObject);
@@ -100,7 +165,10 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      registry.putAll(map);
+      for (Map.Entry<String, Object> entry : map.entrySet()) {
+        unindex(entry.getKey(), registry.put(entry.getKey(), entry.getValue()));
+        index(entry.getKey(), entry.getValue());
+      }
     } finally {
       writeLock.unlock();
     }
@@ -121,14 +189,42 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      return registry.remove(key);
+      Object removed = registry.remove(key);
+      unindex(key, removed);
+      return removed;
     } finally {
       writeLock.unlock();
     }
   }
 
+  private void index(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Map.Entry<Class<?>, Map<String, Object>> indexed : typeIndex.entrySet()) {
+      if (indexed.getKey().isInstance(object)) {
+        indexed.getValue().put(key, object);
+      }
+    }
+  }
+
+  private void unindex(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Map.Entry<Class<?>, Map<String, Object>> indexed : typeIndex.entrySet()) {
+      if (indexed.getKey().isInstance(object)) {
+        indexed.getValue().remove(key);
+      }
+    }
+  }
+
+  /**
+   * @return an unmodifiable view of the registered objects, by key. Use {@link #lockForReading()} while iterating it if the
+   *         registry may be modified concurrently.
+   */
   public Set<Map.Entry<String, Object>> entrySet() {
-    return registry.entrySet();
+    return unmodifiableMap(registry).entrySet();
   }
 
   public Set<Object> getLostObjects() {
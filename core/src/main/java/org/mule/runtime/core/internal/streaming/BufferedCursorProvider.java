@@ -0,0 +1,24 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.api.streaming.CursorProvider;
+
+/**
+ * A {@link CursorProvider} that buffers the contents of its stream in memory and is able to tell how much of it it is holding.
+ *
+ * @since 4.10
+ */
+public interface BufferedCursorProvider {
+
+  /**
+   * The value is read without synchronizing with the thread filling the buffer, so it may be slightly behind.
+   *
+   * @return the amount of bytes currently buffered by this provider.
+   */
+  long getBufferedBytes();
+}
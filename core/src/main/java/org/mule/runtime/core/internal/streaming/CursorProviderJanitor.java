@@ -27,11 +27,13 @@ public class CursorProviderJanitor {
 
   private static final Logger LOGGER = getLogger(CursorProviderJanitor.class);
 
-  CursorProvider provider;
+  // Read without synchronization by the ghost buster and the cursor provider tracker
+  volatile CursorProvider provider;
   private final AtomicInteger openCursorsCount;
   private final MutableStreamingStatistics statistics;
   private final AtomicBoolean closed = new AtomicBoolean(false);
   private final AtomicBoolean released = new AtomicBoolean(false);
+  private volatile Runnable onRelease;
 
   /**
    * Creates a new instance
@@ -82,9 +84,23 @@ public class CursorProviderJanitor {
         statistics.decrementOpenCursors(openCursorsCount.get());
       }
       provider = null;
+      Runnable callback = onRelease;
+      if (callback != null) {
+        callback.run();
+      }
     }
   }
 
+  /**
+   * Sets a callback to be invoked once the resources of the underlying {@link CursorProvider} have been released.
+   *
+   * @param onRelease the callback to invoke
+   * @since 4.10
+   */
+  void onRelease(Runnable onRelease) {
+    this.onRelease = onRelease;
+  }
+
   /**
    * Releases the resources associated to the given {@code cursor}.
    *
@@ -97,7 +113,8 @@ public class CursorProviderJanitor {
       }
 
       cursor.release();
-      if (openCursorsCount.decrementAndGet() == 0 && provider != null && provider.isClosed()) {
+      CursorProvider currentProvider = provider;
+      if (openCursorsCount.decrementAndGet() == 0 && currentProvider != null && currentProvider.isClosed()) {
         releaseResources();
       }
     } catch (Exception e) {
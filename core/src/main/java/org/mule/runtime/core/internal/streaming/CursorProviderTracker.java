@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.unmodifiableCollection;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.streaming.CursorProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps an inventory of the {@link ManagedCursorProvider}s that were created and whose resources have not been released yet,
+ * along with where and when they were created.
+ * <p>
+ * Only the {@link CursorProviderJanitor} of each provider is referenced, so tracking a provider does not prevent the
+ * {@link StreamingGhostBuster} from reclaiming it when it is no longer reachable.
+ *
+ * @since 4.10
+ */
+public final class CursorProviderTracker {
+
+  /**
+   * Enables keeping the inventory of the open cursor providers of each application.
+   */
+  public static final String TRACK_CURSOR_PROVIDERS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "streaming.trackCursorProviders";
+
+  private static final String UNKNOWN_LOCATION = "unknown";
+
+  private final Set<OpenCursorProvider> openProviders = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Adds the given {@code provider} to the inventory until its resources are released.
+   *
+   * @param provider the provider to track
+   */
+  void track(ManagedCursorProvider<?> provider) {
+    CursorProviderJanitor janitor = provider.getJanitor();
+    OpenCursorProvider openProvider = new OpenCursorProvider(provider.getId(),
+                                                             provider.getOriginatingLocation()
+                                                                 .map(ComponentLocation::getLocation)
+                                                                 .orElse(UNKNOWN_LOCATION),
+                                                             currentTimeMillis(),
+                                                             currentThread().getName(),
+                                                             janitor);
+    openProviders.add(openProvider);
+    janitor.onRelease(() -> openProviders.remove(openProvider));
+    if (janitor.provider == null) {
+      // Released before the callback was set
+      openProviders.remove(openProvider);
+    }
+  }
+
+  /**
+   * @return the cursor providers that were created and whose resources have not been released yet.
+   */
+  public Collection<OpenCursorProvider> getOpenCursorProviders() {
+    return unmodifiableCollection(new ArrayList<>(openProviders));
+  }
+
+  /**
+   * A cursor provider whose resources have not been released yet.
+   */
+  public static final class OpenCursorProvider {
+
+    private final int id;
+    private final String location;
+    private final long creationTime;
+    private final String creatorThreadName;
+    private final CursorProviderJanitor janitor;
+
+    private OpenCursorProvider(int id, String location, long creationTime, String creatorThreadName,
+                               CursorProviderJanitor janitor) {
+      this.id = id;
+      this.location = location;
+      this.creationTime = creationTime;
+      this.creatorThreadName = creatorThreadName;
+      this.janitor = janitor;
+    }
+
+    /**
+     * @return the id of the provider.
+     */
+    public int getId() {
+      return id;
+    }
+
+    /**
+     * @return the location of the component that created the provider, or {@code unknown}.
+     */
+    public String getLocation() {
+      return location;
+    }
+
+    /**
+     * @return the time, in millis since the epoch, at which the provider was created.
+     */
+    public long getCreationTime() {
+      return creationTime;
+    }
+
+    /**
+     * @return the name of the thread that created the provider.
+     */
+    public String getCreatorThreadName() {
+      return creatorThreadName;
+    }
+
+    /**
+     * @return the amount of bytes buffered by the provider, or {@code -1} if it does not buffer in memory or its resources were
+     *         released concurrently.
+     */
+    public long getBufferedBytes() {
+      CursorProvider provider = janitor.provider;
+      if (provider == null) {
+        return -1;
+      }
+      CursorProvider innerDelegate = unwrap(provider);
+      return innerDelegate instanceof BufferedCursorProvider buffered ? buffered.getBufferedBytes() : -1;
+    }
+  }
+}
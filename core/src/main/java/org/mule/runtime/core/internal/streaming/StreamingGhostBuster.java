@@ -6,11 +6,16 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
+import static org.mule.runtime.core.api.config.MuleProperties.MULE_ARTIFACT_METER_PROVIDER_KEY;
 import static org.mule.runtime.core.internal.streaming.CursorManager.STREAMING_VERBOSE;
+import static org.mule.runtime.core.internal.streaming.CursorProviderTracker.TRACK_CURSOR_PROVIDERS_PROPERTY;
 import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
+import static org.mule.runtime.metrics.api.meter.MeterProperties.MULE_METER_ARTIFACT_ID_ATTRIBUTE;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.System.identityHashCode;
 import static java.lang.Thread.currentThread;
+import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import static org.slf4j.LoggerFactory.getLogger;
@@ -24,14 +29,19 @@ import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.streaming.CursorProvider;
+import org.mule.runtime.core.api.management.stats.ArtifactMeterProvider;
+import org.mule.runtime.metrics.api.MeterProvider;
+import org.mule.runtime.metrics.api.meter.Meter;
 
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 
 import org.slf4j.Logger;
 
@@ -47,21 +57,35 @@ import org.slf4j.Logger;
  * Notice that this <b>DOES NOT</b> replace the cleanup and tracking job that is performed in {@link CursorManager}. That still
  * remains the main cleanup mechanism as we cannot rely on garbage collection for releasing streaming resources. This is only a
  * mitigation for cases like described above.
+ * <p>
+ * How many providers were reclaimed this way is exported as a metric of the artifact. If enabled through
+ * {@link CursorProviderTracker#TRACK_CURSOR_PROVIDERS_PROPERTY}, this class also keeps the inventory of the providers that are
+ * still open.
  *
  * @since 4.2.0
  */
 public class StreamingGhostBuster implements Lifecycle {
 
+  public static final String STREAMING_GHOST_BUSTER_STATISTICS_NAME = "streaming-ghost-buster-statistic";
+  public static final String STREAMING_GHOST_BUSTER_STATISTICS_DESCRIPTION = "Streaming Ghost Buster Statistics";
+  public static final String RECLAIMED_CURSOR_PROVIDERS_NAME = "reclaimed-cursor-providers";
+  public static final String RECLAIMED_CURSOR_PROVIDERS_DESCRIPTION =
+      "Cursor providers whose resources were released after being garbage collected";
+
   private static final long POLL_INTERVAL = SECONDS.toMillis(5);
   private static final Logger LOGGER = getLogger(StreamingGhostBuster.class);
 
   private final ReferenceQueue<ManagedCursorProvider> referenceQueue = new ReferenceQueue<>();
   private volatile boolean stopped = false;
   private Future taskHandle;
+  private final LongAdder reclaimed = new LongAdder();
+  private final CursorProviderTracker tracker = getBoolean(TRACK_CURSOR_PROVIDERS_PROPERTY) ? new CursorProviderTracker() : null;
 
   @Inject
   private SchedulerService schedulerService;
 
+  private MeterProvider meterProvider;
+
   private Scheduler scheduler;
 
   @Override
@@ -69,6 +93,26 @@ public class StreamingGhostBuster implements Lifecycle {
     scheduler = schedulerService.customScheduler(SchedulerConfig.config()
         .withMaxConcurrentTasks(1)
         .withName("StreamingManager-CursorProviderCollector"));
+
+    if (meterProvider instanceof ArtifactMeterProvider artifactMeterProvider) {
+      trackUsingMeterProvider(artifactMeterProvider);
+    }
+  }
+
+  private void trackUsingMeterProvider(ArtifactMeterProvider meterProvider) {
+    Meter meter = meterProvider.getMeterBuilder(STREAMING_GHOST_BUSTER_STATISTICS_NAME)
+        .withDescription(STREAMING_GHOST_BUSTER_STATISTICS_DESCRIPTION)
+        .withMeterAttribute(MULE_METER_ARTIFACT_ID_ATTRIBUTE, meterProvider.getArtifactId())
+        .build();
+
+    meter.counterBuilder(RECLAIMED_CURSOR_PROVIDERS_NAME)
+        .withValueSupplier(reclaimed::sum)
+        .withAddOperation((value, context) -> reclaimed.add(value))
+        .withIncrementAndGetOperation(context -> {
+          reclaimed.increment();
+          return reclaimed.sum();
+        })
+        .withDescription(RECLAIMED_CURSOR_PROVIDERS_DESCRIPTION).build();
   }
 
   @Override
@@ -111,9 +155,35 @@ public class StreamingGhostBuster implements Lifecycle {
    * @return a {@link WeakReference} wrapping the {@code cursorProvider}
    */
   public WeakReference<ManagedCursorProvider> track(ManagedCursorProvider cursorProvider, Runnable callOnDispose) {
+    if (tracker != null) {
+      tracker.track(cursorProvider);
+    }
     return new StreamingWeakReference(cursorProvider, referenceQueue, callOnDispose);
   }
 
+  /**
+   * @return the inventory of open cursor providers, if enabled through
+   *         {@link CursorProviderTracker#TRACK_CURSOR_PROVIDERS_PROPERTY}.
+   * @since 4.10
+   */
+  public Optional<CursorProviderTracker> getCursorProviderTracker() {
+    return ofNullable(tracker);
+  }
+
+  /**
+   * @return how many cursor providers had their resources released by this class after being garbage collected.
+   * @since 4.10
+   */
+  public long getReclaimedCount() {
+    return reclaimed.sum();
+  }
+
+  @Inject
+  @Named(MULE_ARTIFACT_METER_PROVIDER_KEY)
+  public void setMeterProvider(Optional<MeterProvider> meterProvider) {
+    this.meterProvider = meterProvider.orElse(null);
+  }
+
   private void bustGhosts() {
     while (!stopped && !currentThread().isInterrupted()) {
       try {
@@ -177,6 +247,10 @@ public class StreamingGhostBuster implements Lifecycle {
     public void dispose() {
       if (!clear) {
         clear = true;
+        if (janitor.provider != null) {
+          // Only count the providers that were not released when their owning event completed
+          reclaimed.increment();
+        }
         janitor.releaseResources();
         if (callOnDispose != null) {
           callOnDispose.run();
@@ -39,7 +39,7 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
   private ByteBuffer actingBuffer;
   private final int bufferSizeIncrement;
   private final int maxBufferSize;
-  private long bufferTip = 0;
+  private volatile long bufferTip = 0;
 
   /**
    * Creates a new instance
@@ -228,4 +228,12 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
 
     return newSize <= maxBufferSize;
   }
+
+  /**
+   * @return the amount of bytes read from the stream into this buffer so far.
+   * @since 4.10
+   */
+  public long getBufferedBytes() {
+    return bufferTip;
+  }
 }
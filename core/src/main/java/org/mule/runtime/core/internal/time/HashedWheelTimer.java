@@ -0,0 +1,255 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.time;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.slf4j.Logger;
+
+/**
+ * Timer that keeps its timeouts in a wheel of buckets, advanced by a single thread on every tick.
+ * <p>
+ * Adding or cancelling a timeout is O(1) and doesn't wake up the timer thread, at the cost of timeouts firing with the
+ * resolution of a tick. Tasks are run in the timer thread, so they must only hand the actual work over to another executor.
+ * <p>
+ * The timer thread is started with the first timeout and runs until the timer is {@link #stop() stopped}.
+ *
+ * @since 4.10
+ */
+final class HashedWheelTimer {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimer.class);
+
+  private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+  private final String name;
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final long startTime = nanoTime();
+
+  private volatile Thread worker;
+  private volatile boolean stopped;
+  private long tick;
+
+  /**
+   * @param name      the name of the timer thread
+   * @param tickNanos the duration of a tick of the wheel
+   * @param wheelSize the amount of buckets in the wheel, rounded up to a power of 2
+   */
+  HashedWheelTimer(String name, long tickNanos, int wheelSize) {
+    this.name = name;
+    this.tickNanos = tickNanos;
+    int size = Integer.highestOneBit(max(wheelSize, 2) - 1) << 1;
+    this.wheel = new Bucket[size];
+    for (int i = 0; i < size; ++i) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Schedules a task to run once, after the given delay.
+   *
+   * @param task       the task to run in the timer thread
+   * @param delayNanos the delay in nanoseconds
+   * @return the handle of the scheduled task
+   */
+  Timeout newTimeout(Runnable task, long delayNanos) {
+    startIfNeeded();
+    Timeout timeout = new Timeout(task, nanoTime() - startTime + max(delayNanos, 0));
+    pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Stops the timer thread. Timeouts pending at that moment, or added afterwards, never fire.
+   */
+  void stop() {
+    synchronized (this) {
+      stopped = true;
+    }
+    Thread thread = worker;
+    if (thread != null) {
+      unpark(thread);
+    }
+    pendingTimeouts.clear();
+  }
+
+  /**
+   * @return whether the timer thread is alive
+   */
+  boolean isRunning() {
+    Thread thread = worker;
+    return thread != null && thread.isAlive();
+  }
+
+  private void startIfNeeded() {
+    if (worker == null) {
+      synchronized (this) {
+        if (worker == null && !stopped) {
+          Thread thread = new Thread(this::run, name);
+          thread.setDaemon(true);
+          // Avoid retaining the class loader of the artifact that happened to start the timer
+          thread.setContextClassLoader(HashedWheelTimer.class.getClassLoader());
+          thread.start();
+          worker = thread;
+        }
+      }
+    }
+  }
+
+  private void run() {
+    while (!stopped) {
+      long deadline = tickNanos * (tick + 1);
+      long sleepNanos = deadline - (nanoTime() - startTime);
+      while (sleepNanos > 0) {
+        parkNanos(this, sleepNanos);
+        if (stopped) {
+          return;
+        }
+        sleepNanos = deadline - (nanoTime() - startTime);
+      }
+
+      transferPendingTimeouts();
+      wheel[(int) (tick & mask)].expire();
+      ++tick;
+    }
+  }
+
+  private void transferPendingTimeouts() {
+    for (int i = 0; i < MAX_TRANSFERS_PER_TICK; ++i) {
+      Timeout timeout = pendingTimeouts.poll();
+      if (timeout == null) {
+        return;
+      }
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      long calculatedTick = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+      // Timeouts already due go to the current bucket
+      long targetTick = max(calculatedTick, tick);
+      wheel[(int) (targetTick & mask)].add(timeout);
+    }
+  }
+
+  /**
+   * Handle of a task scheduled in a {@link HashedWheelTimer}.
+   */
+  static final class Timeout {
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final Runnable task;
+    private final long deadline;
+    private volatile int state = ST_INIT;
+
+    // Only accessed by the timer thread
+    private long remainingRounds;
+    private Timeout next;
+    private Timeout prev;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task, unless it already ran. The timeout is removed from the wheel when its bucket is next visited.
+     *
+     * @return whether this call cancelled the task
+     */
+    boolean cancel() {
+      return STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED);
+    }
+
+    boolean isCancelled() {
+      return state == ST_CANCELLED;
+    }
+
+    private void expire() {
+      if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+        return;
+      }
+      try {
+        task.run();
+      } catch (Throwable t) {
+        LOGGER.warn("Exception running timer task " + task, t);
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts in a slot of the wheel. Only accessed by the timer thread.
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    private void add(Timeout timeout) {
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void expire() {
+      Timeout timeout = head;
+      while (timeout != null) {
+        Timeout next = timeout.next;
+        if (timeout.isCancelled()) {
+          remove(timeout);
+        } else if (timeout.remainingRounds <= 0) {
+          remove(timeout);
+          timeout.expire();
+        } else {
+          --timeout.remainingRounds;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(Timeout timeout) {
+      Timeout next = timeout.next;
+      if (timeout.prev != null) {
+        timeout.prev.next = next;
+      }
+      if (next != null) {
+        next.prev = timeout.prev;
+      }
+      if (timeout == head) {
+        head = next;
+      }
+      if (timeout == tail) {
+        tail = timeout.prev;
+      }
+      timeout.prev = null;
+      timeout.next = null;
+    }
+  }
+}
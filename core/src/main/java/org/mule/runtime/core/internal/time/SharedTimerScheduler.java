@@ -0,0 +1,456 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.time;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.concurrent.Executors.callable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link Scheduler} whose delayed and periodic tasks are triggered by a timer shared by the whole runtime instead of by the
+ * scheduler service. When a trigger fires, its job is dispatched to the decorated {@link Scheduler}, which is used as is for
+ * every other operation.
+ * <p>
+ * This avoids having a registration and a timer wakeup for each one of the scheduler-triggered flows and polling sources of the
+ * deployed applications. Triggers fire with the resolution of a tick of the timer, 10 millis by default.
+ * <p>
+ * The timer thread only runs while there are {@link SharedTimerScheduler}s using it. A {@link SharedTimerScheduler} stops using
+ * it when stopped, or when the decorated {@link Scheduler} is found shut down, as happens when the {@link SchedulerService}
+ * stops.
+ * <p>
+ * Unlike {@link java.util.concurrent.ScheduledExecutorService}, a periodic job that throws an exception keeps being triggered.
+ * Cron expressions are still evaluated by the decorated {@link Scheduler}, since the runtime has no evaluator of its own.
+ *
+ * @since 4.10
+ */
+public final class SharedTimerScheduler implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(SharedTimerScheduler.class);
+
+  /**
+   * Enables driving the triggers of scheduler sources and polling sources with the shared timer.
+   */
+  public static final String SHARED_TIMER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.sharedTimer";
+
+  /**
+   * Duration in millis of a tick of the shared timer.
+   */
+  public static final String SHARED_TIMER_TICK_PROPERTY = SYSTEM_PROPERTY_PREFIX + "scheduler.sharedTimer.tickMillis";
+
+  private static final int WHEEL_SIZE = 512;
+
+  private static final Object SHARED_TIMER_LOCK = new Object();
+  // Guarded by SHARED_TIMER_LOCK
+  private static HashedWheelTimer sharedTimer;
+  private static int sharedTimerUsers;
+
+  private static final Map<String, Set<TriggerStatistics>> ACTIVE_STATISTICS = new ConcurrentHashMap<>();
+
+  /**
+   * Decorates the given {@link Scheduler} so its triggers are driven by the shared timer, if enabled through
+   * {@link #SHARED_TIMER_PROPERTY}.
+   *
+   * @param dispatcher the scheduler to run the jobs when their triggers fire
+   * @param artifactId the id of the artifact the scheduler belongs to, to group the statistics of its triggers
+   * @return the decorated scheduler, or {@code dispatcher} if the shared timer is disabled
+   */
+  public static Scheduler withSharedTimer(Scheduler dispatcher, String artifactId) {
+    if (!getBoolean(SHARED_TIMER_PROPERTY)) {
+      return dispatcher;
+    }
+    return new SharedTimerScheduler(dispatcher, artifactId, acquireSharedTimer(), SharedTimerScheduler::releaseSharedTimer);
+  }
+
+  private static HashedWheelTimer acquireSharedTimer() {
+    synchronized (SHARED_TIMER_LOCK) {
+      if (sharedTimer == null) {
+        sharedTimer = new HashedWheelTimer("[MuleRuntime].sharedTimer",
+                                           MILLISECONDS.toNanos(max(getLong(SHARED_TIMER_TICK_PROPERTY, 10L), 1L)),
+                                           WHEEL_SIZE);
+      }
+      ++sharedTimerUsers;
+      return sharedTimer;
+    }
+  }
+
+  private static void releaseSharedTimer() {
+    synchronized (SHARED_TIMER_LOCK) {
+      if (--sharedTimerUsers == 0) {
+        sharedTimer.stop();
+        sharedTimer = null;
+      }
+    }
+  }
+
+  /**
+   * @return the timer currently used by the {@link SharedTimerScheduler}s, or {@code null} if none is in use.
+   */
+  static HashedWheelTimer getSharedTimer() {
+    synchronized (SHARED_TIMER_LOCK) {
+      return sharedTimer;
+    }
+  }
+
+  /**
+   * @param artifactId the id of the artifact the schedulers belong to
+   * @return the statistics of the triggers of the {@link SharedTimerScheduler}s of the artifact that have not been stopped.
+   */
+  public static Collection<TriggerStatistics> getActiveTriggerStatistics(String artifactId) {
+    return unmodifiableCollection(new ArrayList<>(ACTIVE_STATISTICS.getOrDefault(artifactId, emptySet())));
+  }
+
+  private final Scheduler delegate;
+  private final String artifactId;
+  private final HashedWheelTimer timer;
+  private final Runnable onStop;
+  private final TriggerStatistics statistics;
+  private final Set<Trigger<?>> triggers = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean stopped = new AtomicBoolean();
+
+  /**
+   * @param delegate   the scheduler to run the jobs when their triggers fire
+   * @param artifactId the id of the artifact the scheduler belongs to
+   * @param timer      the timer that drives the triggers
+   * @param onStop     called once, when this scheduler stops using the timer
+   */
+  SharedTimerScheduler(Scheduler delegate, String artifactId, HashedWheelTimer timer, Runnable onStop) {
+    this.delegate = delegate;
+    this.artifactId = artifactId;
+    this.timer = timer;
+    this.onStop = onStop;
+    this.statistics = new TriggerStatistics(delegate.getName());
+    ACTIVE_STATISTICS.compute(artifactId, (id, statisticsSet) -> {
+      Set<TriggerStatistics> artifactStatistics = statisticsSet != null ? statisticsSet : ConcurrentHashMap.newKeySet();
+      artifactStatistics.add(statistics);
+      return artifactStatistics;
+    });
+  }
+
+  /**
+   * @return the statistics of the triggers scheduled through this scheduler.
+   */
+  public TriggerStatistics getStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(callable(command), delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return start(new Trigger<>(callable, unit.toNanos(delay), 0));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("period must be greater than zero");
+    }
+    return start(new Trigger<>(callable(command), unit.toNanos(initialDelay), unit.toNanos(period)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    if (delay <= 0) {
+      throw new IllegalArgumentException("delay must be greater than zero");
+    }
+    return start(new Trigger<>(callable(command), unit.toNanos(initialDelay), -unit.toNanos(delay)));
+  }
+
+  private <V> Trigger<V> start(Trigger<V> trigger) {
+    if (stopped.get()) {
+      throw new RejectedExecutionException("Scheduler '" + getName() + "' is stopped");
+    }
+    triggers.add(trigger);
+    if (stopped.get()) {
+      // Stopped concurrently, after its triggers were cancelled
+      trigger.cancel(false);
+      throw new RejectedExecutionException("Scheduler '" + getName() + "' is stopped");
+    }
+    trigger.arm();
+    return trigger;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delegate.scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delegate.scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  @Override
+  public void stop() {
+    cancelTriggers();
+    delegate.stop();
+  }
+
+  @Override
+  public void shutdown() {
+    cancelTriggers();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    cancelTriggers();
+    return delegate.shutdownNow();
+  }
+
+  private void cancelTriggers() {
+    if (!stopped.compareAndSet(false, true)) {
+      return;
+    }
+    ACTIVE_STATISTICS.computeIfPresent(artifactId, (id, artifactStatistics) -> {
+      artifactStatistics.remove(statistics);
+      return artifactStatistics.isEmpty() ? null : artifactStatistics;
+    });
+    for (Trigger<?> trigger : triggers) {
+      trigger.cancel(false);
+    }
+    onStop.run();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    return delegate.submit(task);
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    return delegate.submit(task, result);
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return delegate.submit(task);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    return delegate.invokeAll(tasks);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return delegate.invokeAll(tasks, timeout, unit);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    return delegate.invokeAny(tasks);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return delegate.invokeAny(tasks, timeout, unit);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    delegate.execute(command);
+  }
+
+  @Override
+  public String toString() {
+    return "SharedTimerScheduler{" + delegate.toString() + "}";
+  }
+
+  /**
+   * A job scheduled in the shared timer.
+   *
+   * @param <V> the type of the result of a one-shot job
+   */
+  private final class Trigger<V> implements ScheduledFuture<V>, Runnable {
+
+    private final Callable<V> job;
+    // Greater than 0 for fixed rate, less than 0 for fixed delay, 0 for a one-shot job
+    private final long periodNanos;
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+
+    private volatile long nextRunNanos;
+    private volatile HashedWheelTimer.Timeout timeout;
+
+    private Trigger(Callable<V> job, long initialDelayNanos, long periodNanos) {
+      this.job = job;
+      this.periodNanos = periodNanos;
+      this.nextRunNanos = nanoTime() + initialDelayNanos;
+    }
+
+    private void arm() {
+      if (result.isDone()) {
+        return;
+      }
+      timeout = timer.newTimeout(this, nextRunNanos - nanoTime());
+      if (result.isDone()) {
+        // Cancelled concurrently
+        timeout.cancel();
+      }
+    }
+
+    /**
+     * Called from the timer thread when the trigger fires.
+     */
+    @Override
+    public void run() {
+      long scheduledAt = nextRunNanos;
+      if (periodNanos > 0) {
+        nextRunNanos = scheduledAt + periodNanos;
+        arm();
+      }
+
+      try {
+        delegate.execute(() -> execute(scheduledAt));
+      } catch (RejectedExecutionException e) {
+        statistics.recordRejected();
+        LOGGER.debug("Job triggered for scheduler '{}' was rejected", getName(), e);
+        if (delegate.isShutdown()) {
+          // The scheduler service has shut down the scheduler without this one being stopped first
+          if (periodNanos == 0) {
+            complete(null, e);
+          }
+          cancelTriggers();
+        } else if (periodNanos < 0) {
+          nextRunNanos = nanoTime() - periodNanos;
+          arm();
+        } else if (periodNanos == 0) {
+          complete(null, e);
+        }
+      }
+    }
+
+    private void execute(long scheduledAt) {
+      statistics.recordLag(max(nanoTime() - scheduledAt, 0));
+      try {
+        V value = job.call();
+        if (periodNanos == 0) {
+          complete(value, null);
+        }
+      } catch (Throwable t) {
+        if (periodNanos == 0) {
+          complete(null, t);
+        } else {
+          LOGGER.error("Exception running periodic job of scheduler '" + getName() + "'", t);
+        }
+      } finally {
+        if (periodNanos < 0) {
+          nextRunNanos = nanoTime() - periodNanos;
+          arm();
+        }
+      }
+    }
+
+    private void complete(V value, Throwable error) {
+      if (error == null) {
+        result.complete(value);
+      } else {
+        result.completeExceptionally(error);
+      }
+      triggers.remove(this);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = result.cancel(false);
+      HashedWheelTimer.Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
+      }
+      triggers.remove(this);
+      return cancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return result.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return result.isDone();
+    }
+
+    @Override
+    public V get() throws InterruptedException, ExecutionException {
+      return result.get();
+    }
+
+    @Override
+    public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+      return result.get(timeout, unit);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(nextRunNanos - nanoTime(), NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed o) {
+      return Long.compare(getDelay(NANOSECONDS), o.getDelay(NANOSECONDS));
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.time;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the triggers scheduled through a {@link SharedTimerScheduler}.
+ * <p>
+ * The lag of a trigger is the time between the moment it was due and the moment its job actually started running in the
+ * dispatch executor. It includes the resolution of the timer and the time the job waited for a thread.
+ *
+ * @since 4.10
+ */
+public final class TriggerStatistics {
+
+  private final String name;
+  private final LongAdder fired = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder totalLagNanos = new LongAdder();
+  private final AtomicLong maxLagNanos = new AtomicLong();
+  private volatile long lastLagNanos;
+
+  TriggerStatistics(String name) {
+    this.name = name;
+  }
+
+  void recordLag(long lagNanos) {
+    fired.increment();
+    totalLagNanos.add(lagNanos);
+    lastLagNanos = lagNanos;
+    maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+  }
+
+  void recordRejected() {
+    rejected.increment();
+  }
+
+  /**
+   * @return the name of the scheduler the triggers belong to, which identifies the flow or source.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return how many times the triggers fired and their job started running.
+   */
+  public long getFiredCount() {
+    return fired.sum();
+  }
+
+  /**
+   * @return how many times the triggers fired but the dispatch executor rejected their job.
+   */
+  public long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * @return the lag of the last execution, in the given unit.
+   */
+  public long getLastLag(TimeUnit unit) {
+    return unit.convert(lastLagNanos, NANOSECONDS);
+  }
+
+  /**
+   * @return the maximum lag observed, in the given unit.
+   */
+  public long getMaxLag(TimeUnit unit) {
+    return unit.convert(maxLagNanos.get(), NANOSECONDS);
+  }
+
+  /**
+   * @return the average lag of all the executions, in the given unit.
+   */
+  public long getAverageLag(TimeUnit unit) {
+    long count = fired.sum();
+    return count == 0 ? 0 : unit.convert(totalLagNanos.sum() / count, NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "TriggerStatistics{name=" + name + ", fired=" + getFiredCount() + ", rejected=" + getRejectedCount()
+        + ", maxLagMillis=" + getMaxLag(TimeUnit.MILLISECONDS) + "}";
+  }
+}
@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+
 import org.mule.runtime.api.util.Preconditions;
 
 import java.io.File;
@@ -31,6 +35,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  /**
+   * Makes logged operations durable by forcing the journal file to disk, grouping the operations logged concurrently in a
+   * single force.
+   *
+   * @since 4.10
+   */
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.journal.groupCommit";
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -72,10 +84,11 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile<>(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile<>(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    boolean groupCommit = getBoolean(GROUP_COMMIT_PROPERTY);
+    this.currentLogFile = new TransactionJournalFile<>(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                       clearFileMinimumSizeInBytes, groupCommit);
+    this.notCurrentLogFile = new TransactionJournalFile<>(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                          clearFileMinimumSizeInBytes, groupCommit);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +105,15 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(K journalEntry) {
-    TransactionJournalFile<T, K> logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(K journalEntry) {
+    TransactionJournalFile<T, K> logFile;
+    long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry);
+    }
+    // Wait outside of the lock, so other operations are logged meanwhile and synced along with this one
+    logFile.sync(sequence);
   }
 
   /**
@@ -104,12 +123,17 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(K journalEntry) {
-    TransactionJournalFile<T, K> logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(K journalEntry) {
+    TransactionJournalFile<T, K> logFile;
+    long sequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      sequence = logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    logFile.sync(sequence);
   }
 
   /**
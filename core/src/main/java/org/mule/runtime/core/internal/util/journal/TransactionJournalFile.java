@@ -11,6 +11,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -19,6 +20,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +35,11 @@ import org.slf4j.Logger;
 
 /**
  * Manages a transaction journal file.
+ * <p>
+ * With group commit enabled, logged entries are appended to a memory buffer instead of being written to the file right away.
+ * Callers then wait for their entries to be durable through {@link #sync(long)}: the first one to get there writes the whole
+ * buffer and forces it to disk, while the others keep appending and wait to do the same with the entries logged in the meantime.
+ * This way, concurrent transactions share a single {@link FileChannel#force(boolean) force} of the file.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -51,10 +60,20 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private final Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private final boolean groupCommit;
+  private final Object syncLock = new Object();
+
   private boolean doClear;
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  // Only used with group commit
+  private ByteArrayOutputStream pendingEntries;
+  private FileChannel logFileChannel;
+  private long loggedSequence = 0;
+  private volatile long syncedSequence = 0;
+  private IOException syncFailure;
+
   /**
    * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
    *                                     entries will get loaded from it.
@@ -63,7 +82,21 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer<T, K> journalEntrySerializer,
                                 TransactionCompletePredicate<T> transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, false);
+  }
+
+  /**
+   * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
+   *                                     entries will get loaded from it.
+   * @param journalEntrySerializer       serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommit                  whether logged entries are to be forced to disk in batches, through {@link #sync(long)}.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer<T, K> journalEntrySerializer,
+                                TransactionCompletePredicate<T> transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                boolean groupCommit) {
     this.journalFile = journalFile;
+    this.groupCommit = groupCommit;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
     if (journalFile.exists()) {
@@ -81,11 +114,67 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Adds a journal entry for an operation done over a transactional resource
    * 
    * @param journalEntry operation details
+   * @return the sequence of the entry, to wait for it to be durable with {@link #sync(long)}.
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized long logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
     journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
     journalOperations++;
+    return ++loggedSequence;
+  }
+
+  /**
+   * Waits until the entry with the given sequence, and all the ones logged before it, are forced to disk. Does nothing if group
+   * commit is not enabled.
+   * <p>
+   * Must not be called while holding the monitor of this journal file.
+   *
+   * @param sequence the sequence returned by {@link #logOperation(JournalEntry)}
+   */
+  public void sync(long sequence) {
+    if (!groupCommit || syncedSequence >= sequence) {
+      return;
+    }
+
+    synchronized (syncLock) {
+      // Whoever had the lock before may have already forced this entry along with its own
+      if (syncedSequence >= sequence) {
+        return;
+      }
+
+      byte[] batch;
+      long batchSequence;
+      FileChannel channel;
+      synchronized (this) {
+        if (syncFailure != null) {
+          throw new MuleRuntimeException(syncFailure);
+        }
+        batch = pendingEntries.toByteArray();
+        pendingEntries.reset();
+        batchSequence = loggedSequence;
+        channel = logFileChannel;
+      }
+
+      try {
+        if (batch.length > 0) {
+          ByteBuffer buffer = ByteBuffer.wrap(batch);
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          channel.force(false);
+        }
+      } catch (IOException e) {
+        synchronized (this) {
+          // If the file was cleared meanwhile, the transactions of the batch are all complete and its entries may be discarded
+          if (!(e instanceof ClosedChannelException && channel != logFileChannel)) {
+            // Part of the batch may have been written, so no more entries can be appended after it
+            syncFailure = e;
+            throw new MuleRuntimeException(e);
+          }
+        }
+      }
+      syncedSequence = batchSequence;
+    }
   }
 
   /**
@@ -126,9 +215,24 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    *
    * Will not remove the transaction context.
    */
-  public synchronized void close() {
+  public void close() {
+    long sequence;
+    synchronized (this) {
+      sequence = loggedSequence;
+    }
+    try {
+      sync(sequence);
+    } finally {
+      closeLogOutputStream();
+    }
+  }
+
+  private synchronized void closeLogOutputStream() {
     try {
       logFileOutputStream.close();
+      if (logFileChannel != null) {
+        logFileChannel.close();
+      }
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
       if (LOGGER.isDebugEnabled()) {
@@ -165,7 +269,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public synchronized void clear() {
     if (doClear) {
       if (journalFile.exists()) {
-        close();
+        // Entries not synced yet belong to complete transactions, since there are no transactions pending
+        closeLogOutputStream();
         entries.clear();
         FileUtils.deleteQuietly(journalFile);
       }
@@ -185,7 +290,15 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      FileOutputStream fileOutputStream = new FileOutputStream(journalFile, true);
+      if (groupCommit) {
+        this.logFileChannel = fileOutputStream.getChannel();
+        this.pendingEntries = new ByteArrayOutputStream();
+        this.logFileOutputStream = new DataOutputStream(pendingEntries);
+        this.syncFailure = null;
+      } else {
+        this.logFileOutputStream = new DataOutputStream(fileOutputStream);
+      }
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -257,10 +370,11 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   }
 
   /**
-   * @return the file length in bytes
+   * @return the file length in bytes, including the entries not synced yet
    */
   public long fileLength() {
-    return journalFile.length();
+    ByteArrayOutputStream pending = pendingEntries;
+    return journalFile.length() + (pending != null ? pending.size() : 0);
   }
 }
 
@@ -10,31 +10,50 @@ import static org.mule.runtime.api.util.MuleSystemProperties.MULE_FLOW_STACK_MAX
 
 import static java.lang.Integer.getInteger;
 import static java.lang.System.lineSeparator;
+import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 
 import org.mule.runtime.core.api.context.notification.FlowCallStack;
 import org.mule.runtime.core.api.context.notification.FlowStackElement;
 import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 /**
  * Keeps context information about the executing flows and its callers in order to provide augmented troubleshooting information
  * for an application developer.
+ * <p>
+ * The stack is kept as an immutable chain of {@link Frame}s. Pushing creates a new frame pointing to the current top, so copies
+ * of this stack (see {@link #clone()}) share the frames of the original one and cloning is a constant time operation. Updates are
+ * done by swapping the reference to the top frame, so no monitors are needed.
  */
 public class DefaultFlowCallStack implements FlowCallStack {
 
   private static final long serialVersionUID = -8683711977929802819L;
 
+  // Keep the serialized form of the previous deque-based implementation, so instances serialized by older versions can still be
+  // deserialized and vice versa.
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("innerStack", Deque.class)};
+
+  private static final AtomicReferenceFieldUpdater<DefaultFlowCallStack, Frame> TOP_UPDATER =
+      newUpdater(DefaultFlowCallStack.class, Frame.class, "top");
+
   // BaseEventContext.class.getName() is here for backwards compatibility, since it was the equivalent property until 4.2.x
   private static final int MAX_DEPTH =
       getInteger(MULE_FLOW_STACK_MAX_DEPTH, getInteger(BaseEventContext.class.getName() + ".maxDepth", 45));
 
-  private final Deque<FlowStackElement> innerStack;
+  private volatile Frame top;
 
   // The no-arg constructor is made public to prevent an issue with Kryo generated access classes and the module system.
   public static DefaultFlowCallStack newDefaultFlowCallStack() {
@@ -42,11 +61,11 @@ public class DefaultFlowCallStack implements FlowCallStack {
   }
 
   private DefaultFlowCallStack() {
-    this.innerStack = new ArrayDeque<>(4);
+    this.top = null;
   }
 
-  private DefaultFlowCallStack(final Deque<FlowStackElement> innerStack) {
-    this.innerStack = ((ArrayDeque) innerStack).clone();
+  private DefaultFlowCallStack(final Frame top) {
+    this.top = top;
   }
 
   /**
@@ -55,19 +74,19 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param flowStackElement the element to add
    */
   public void push(FlowStackElement flowStackElement) {
-    if (innerStack.size() >= MAX_DEPTH) {
-      StringBuilder messageBuilder = new StringBuilder();
-
-      messageBuilder.append("Too many nested child contexts.")
-          .append(lineSeparator())
-          .append(toString());
+    Frame current;
+    do {
+      current = top;
+      if (current != null && current.depth >= MAX_DEPTH) {
+        StringBuilder messageBuilder = new StringBuilder();
 
-      throw new EventContextDeepNestingException(messageBuilder.toString());
-    }
+        messageBuilder.append("Too many nested child contexts.")
+            .append(lineSeparator())
+            .append(toString());
 
-    synchronized (innerStack) {
-      innerStack.push(flowStackElement);
-    }
+        throw new EventContextDeepNestingException(messageBuilder.toString());
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, new Frame(flowStackElement, current)));
   }
 
   /**
@@ -76,12 +95,18 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param processorPath the path to mark as invoked.
    */
   public void pushCurrentProcessorPath(String processorPath) {
-    if (!innerStack.isEmpty()) {
-      synchronized (innerStack) {
-        FlowStackElement stackElement = innerStack.pop();
-        innerStack.push(new FlowStackElement(stackElement.getFlowName(), stackElement.getChainIdentifier(), processorPath));
+    Frame current;
+    Frame updated;
+    do {
+      current = top;
+      if (current == null) {
+        return;
       }
-    }
+
+      FlowStackElement stackElement = current.element;
+      updated = new Frame(new FlowStackElement(stackElement.getFlowName(), stackElement.getChainIdentifier(), processorPath),
+                          current.parent);
+    } while (!TOP_UPDATER.compareAndSet(this, current, updated));
   }
 
   /**
@@ -91,9 +116,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws NoSuchElementException if this stack is empty.
    */
   public FlowStackElement pop() {
-    synchronized (innerStack) {
-      return innerStack.pop();
-    }
+    Frame current;
+    do {
+      current = top;
+      if (current == null) {
+        throw new NoSuchElementException();
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, current.parent));
+
+    return current.element;
   }
 
   /**
@@ -103,23 +134,27 @@ public class DefaultFlowCallStack implements FlowCallStack {
    */
   @Override
   public FlowStackElement peek() {
-    synchronized (innerStack) {
-      return innerStack.peek();
-    }
+    final Frame current = top;
+    return current == null ? null : current.element;
   }
 
   @Override
   public List<FlowStackElement> getElements() {
-    synchronized (innerStack) {
-      return new ArrayList<>(innerStack);
+    final Frame current = top;
+    if (current == null) {
+      return new ArrayList<>(4);
+    }
+
+    List<FlowStackElement> elements = new ArrayList<>(current.depth);
+    for (FlowStackElement element : current) {
+      elements.add(element);
     }
+    return elements;
   }
 
   @Override
   public DefaultFlowCallStack clone() {
-    synchronized (innerStack) {
-      return new DefaultFlowCallStack(innerStack);
-    }
+    return new DefaultFlowCallStack(top);
   }
 
   @Override
@@ -138,15 +173,81 @@ public class DefaultFlowCallStack implements FlowCallStack {
   private String doToString(Function<FlowStackElement, String> toString) {
     StringBuilder stackString = new StringBuilder(256);
 
-    int i = 0;
-    synchronized (innerStack) {
-      for (FlowStackElement flowStackElement : innerStack) {
-        stackString.append("at ").append(toString.apply(flowStackElement));
-        if (++i != innerStack.size()) {
-          stackString.append(lineSeparator());
-        }
+    Frame frame = top;
+    while (frame != null) {
+      stackString.append("at ").append(toString.apply(frame.element));
+      frame = frame.parent;
+      if (frame != null) {
+        stackString.append(lineSeparator());
       }
     }
     return stackString.toString();
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    Frame current = top;
+    Deque<FlowStackElement> innerStack = new ArrayDeque<>(current == null ? 4 : current.depth);
+    if (current != null) {
+      for (FlowStackElement element : current) {
+        innerStack.addLast(element);
+      }
+    }
+
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("innerStack", innerStack);
+    out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    Deque<FlowStackElement> innerStack = (Deque<FlowStackElement>) in.readFields().get("innerStack", null);
+
+    Frame frame = null;
+    if (innerStack != null) {
+      for (Iterator<FlowStackElement> it = innerStack.descendingIterator(); it.hasNext();) {
+        frame = new Frame(it.next(), frame);
+      }
+    }
+    this.top = frame;
+  }
+
+  /**
+   * An immutable node of the stack. Frames are shared between a stack and its clones.
+   */
+  private static final class Frame implements Iterable<FlowStackElement>, Serializable {
+
+    private static final long serialVersionUID = 3414553862094016355L;
+
+    private final FlowStackElement element;
+    private final Frame parent;
+    private final int depth;
+
+    private Frame(FlowStackElement element, Frame parent) {
+      this.element = element;
+      this.parent = parent;
+      this.depth = parent == null ? 1 : parent.depth + 1;
+    }
+
+    @Override
+    public Iterator<FlowStackElement> iterator() {
+      return new Iterator<>() {
+
+        private Frame next = Frame.this;
+
+        @Override
+        public boolean hasNext() {
+          return next != null;
+        }
+
+        @Override
+        public FlowStackElement next() {
+          if (next == null) {
+            throw new NoSuchElementException();
+          }
+          FlowStackElement element = next.element;
+          next = next.parent;
+          return element;
+        }
+      };
+    }
+  }
 }
@@ -18,6 +18,10 @@ import static org.mule.runtime.module.artifact.activation.internal.classloader.m
 import static org.mule.runtime.module.artifact.activation.internal.maven.MavenUtilsForArtifact.artifactToMaven;
 import static org.mule.runtime.module.artifact.activation.internal.maven.MavenUtilsForArtifact.getPomPropertiesFolder;
 import static org.mule.runtime.module.artifact.activation.internal.maven.MavenUtilsForArtifact.mavenToArtifact;
+import static org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.computeKey;
+import static org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.declaresVersionRange;
+import static org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.isSnapshot;
+import static org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.isVersionRange;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactConstants.getApiClassifiers;
 import static org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor.MULE_PLUGIN_CLASSIFIER;
 import static org.mule.runtime.module.artifact.api.descriptor.BundleScope.SYSTEM;
@@ -50,11 +54,13 @@ import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.module.artifact.activation.api.deployable.DeployableProjectModel;
 import org.mule.runtime.module.artifact.activation.internal.deployable.AbstractDeployableProjectModelBuilder;
 import org.mule.runtime.module.artifact.activation.internal.deployable.DeployablePluginsDependenciesResolver;
+import org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.ResolvedDependencies;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptorCreateException;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDependency;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -157,6 +163,34 @@ public abstract class AbstractMavenDeployableProjectModelBuilder extends Abstrac
 
     ArtifactCoordinates deployableArtifactCoordinates = getDeployableProjectArtifactCoordinates(parser, version);
 
+    Optional<ResolvedDependenciesCache> resolvedDependenciesCache =
+        getResolvedDependenciesCacheFile().map(ResolvedDependenciesCache::new);
+    String resolvedDependenciesKey = null;
+    if (resolvedDependenciesCache.isPresent()) {
+      try {
+        Optional<List<File>> poms = getReproduciblePomHierarchy(pom, parser, activeProfiles);
+        if (poms.isPresent()) {
+          resolvedDependenciesKey = computeKey(poms.get(), isIncludeTestDependencies(), mavenConfiguration);
+        }
+      } catch (IOException | RuntimeException e) {
+        logger.debug("Unable to compute the key of the resolved dependencies: " + e.getMessage());
+      }
+      if (resolvedDependenciesKey == null) {
+        resolvedDependenciesCache = empty();
+      }
+    }
+
+    if (resolvedDependenciesCache.isPresent()) {
+      Optional<ResolvedDependencies> resolvedDependencies = resolvedDependenciesCache.get().load(resolvedDependenciesKey);
+      if (resolvedDependencies.isPresent()) {
+        logger.debug("Using previously resolved dependencies for '{}'", projectFolder);
+        deployableBundleDependencies = resolvedDependencies.get().getDeployableBundleDependencies();
+        sharedDeployableBundleDescriptors = resolvedDependencies.get().getSharedDeployableBundleDescriptors();
+        additionalPluginDependencies = resolvedDependencies.get().getAdditionalPluginDependencies();
+        return doBuild(parser, deployableArtifactCoordinates);
+      }
+    }
+
     try (MavenClient mavenClient = createMavenClient(mavenConfiguration)) {
       resolveDeployableDependencies(mavenClient, pom, parser, activeProfiles);
 
@@ -167,6 +201,13 @@ public abstract class AbstractMavenDeployableProjectModelBuilder extends Abstrac
       throw new MuleRuntimeException(createStaticMessage("Error while resolving dependencies"), e);
     }
 
+    if (resolvedDependenciesCache.isPresent()) {
+      resolvedDependenciesCache.get().store(resolvedDependenciesKey,
+                                            new ResolvedDependencies(deployableBundleDependencies,
+                                                                     sharedDeployableBundleDescriptors,
+                                                                     additionalPluginDependencies));
+    }
+
     return doBuild(parser, deployableArtifactCoordinates);
   }
 
@@ -191,6 +232,59 @@ public abstract class AbstractMavenDeployableProjectModelBuilder extends Abstrac
    */
   protected abstract boolean isIncludeTestDependencies();
 
+  /**
+   * Collects the POM of the project and its parent POMs, as found in the local repository.
+   *
+   * @return the POMs, starting with the one of the project, or {@link Optional#empty()} if any of them is a SNAPSHOT, is not in
+   *         the local repository yet, or declares a version range, in which case the resolved dependencies are not persisted.
+   */
+  private Optional<List<File>> getReproduciblePomHierarchy(File pom, MavenPomParser parser, List<String> activeProfiles)
+      throws IOException {
+    List<File> poms = new ArrayList<>();
+    File current = pom;
+    Optional<PomParentCoordinates> parent = parser.getModel().getParent();
+    while (true) {
+      if (declaresVersionRange(current)) {
+        logger.debug("'{}' declares a version range, its resolved dependencies will not be persisted", current);
+        return empty();
+      }
+      poms.add(current);
+
+      if (!parent.isPresent()) {
+        return of(poms);
+      }
+
+      PomParentCoordinates coordinates = parent.get();
+      if (isSnapshot(coordinates.getVersion()) || isVersionRange(coordinates.getVersion())) {
+        logger.debug("Parent POM of '{}' may change between resolutions, its resolved dependencies will not be persisted",
+                     current);
+        return empty();
+      }
+
+      current = new File(deployableArtifactRepositoryFolder,
+                         coordinates.getGroupId().replace('.', File.separatorChar) + File.separator
+                             + coordinates.getArtifactId() + File.separator + coordinates.getVersion() + File.separator
+                             + coordinates.getArtifactId() + "-" + coordinates.getVersion() + ".pom");
+      if (!current.isFile()) {
+        // Will be there once the dependencies are resolved, so they can be persisted on the next deployment
+        logger.debug("Parent POM '{}' not found in the local repository, resolved dependencies will not be persisted",
+                     current);
+        return empty();
+      }
+      parent = POM_PARSER_PROVIDER.createMavenPomParserClient(current.toPath(), activeProfiles).getModel().getParent();
+    }
+  }
+
+  /**
+   * The file where the dependencies resolved with Maven are persisted, so they are not resolved again when building the model
+   * for the same project. See {@link ResolvedDependenciesCache}.
+   *
+   * @return the file for the resolved dependencies, or {@link Optional#empty()} if they must not be persisted.
+   */
+  protected Optional<File> getResolvedDependenciesCacheFile() {
+    return empty();
+  }
+
   protected final List<String> getAttribute(Map<String, Object> attributes, String attribute) {
     if (attributes == null) {
       return emptyList();
@@ -7,6 +7,9 @@
 package org.mule.runtime.module.artifact.activation.internal.maven;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getAppDataFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.isStandalone;
 import static org.mule.runtime.globalconfig.api.GlobalConfigLoader.getMavenConfig;
 import static org.mule.runtime.module.artifact.activation.api.deployable.ArtifactModelResolver.applicationModelResolver;
 import static org.mule.runtime.module.artifact.activation.api.deployable.ArtifactModelResolver.domainModelResolver;
@@ -16,10 +19,12 @@ import static org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptorConstants.EXPORTED_RESOURCES;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptorConstants.INCLUDE_TEST_DEPENDENCIES;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.parseBoolean;
 import static java.nio.file.Files.find;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
+import static java.util.Optional.of;
 import static java.util.stream.Collectors.toList;
 
 import org.mule.maven.pom.parser.api.MavenPomParser;
@@ -39,6 +44,17 @@ import java.util.stream.Stream;
 
 public class LightweightDeployableProjectModelBuilder extends AbstractMavenDeployableProjectModelBuilder {
 
+  /**
+   * When set to {@code true}, the dependencies of lightweight artifacts are resolved with Maven on every deployment instead of
+   * reusing the ones resolved on a previous deployment of the same artifact.
+   *
+   * @since 4.10
+   */
+  public static final String DISABLE_RESOLVED_DEPENDENCIES_CACHE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "deployment.resolvedDependenciesCache.disable";
+
+  private static final String RESOLVED_DEPENDENCIES_CACHE_FILE = "resolved-dependencies.bin";
+
   private final boolean isDomain;
   private final Optional<MuleDeployableModel> model;
 
@@ -93,6 +109,15 @@ public class LightweightDeployableProjectModelBuilder extends AbstractMavenDeplo
                                            INCLUDE_TEST_DEPENDENCIES, "false"));
   }
 
+  @Override
+  protected Optional<File> getResolvedDependenciesCacheFile() {
+    // The resolved dependencies are kept in the working directory of the artifact, which only exists in a standalone runtime
+    if (getBoolean(DISABLE_RESOLVED_DEPENDENCIES_CACHE_PROPERTY) || !isStandalone()) {
+      return empty();
+    }
+    return of(new File(getAppDataFolder(projectFolder.getName()), RESOLVED_DEPENDENCIES_CACHE_FILE));
+  }
+
   private Supplier<MuleDeployableModel> getDeployableModelResolver() {
     return () -> model.orElseGet(() -> {
       if (isDomain) {
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.maven;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.regex.Pattern.compile;
+
+import org.mule.maven.client.api.model.MavenConfiguration;
+import org.mule.maven.client.api.model.RemoteRepository;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDependency;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.api.descriptor.BundleScope;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the dependencies resolved with Maven for a deployable project, so they don't have to be resolved again when the same
+ * project is deployed again (i.e.: on a redeployment or when the runtime is restarted).
+ * <p>
+ * Entries are keyed by a hash of the project POM, its parent POMs and the Maven settings used for the resolution (see
+ * {@link #computeKey}). Also, the size and last modification time of every dependency file are stored along with the
+ * dependencies, and checked when they are loaded, so a dependency that was changed or removed from the repository causes the
+ * dependencies to be resolved again.
+ * <p>
+ * Dependencies that may resolve differently with the same POMs and settings, that is, SNAPSHOT versions and version ranges, are
+ * not persisted.
+ * <p>
+ * Any problem reading or writing the cache is not propagated, the dependencies are resolved with Maven in that case.
+ *
+ * @since 4.10
+ */
+public class ResolvedDependenciesCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResolvedDependenciesCache.class);
+
+  private static final int MAGIC = 0x4D524443;
+  private static final int FORMAT_VERSION = 1;
+  private static final int NULL_REFERENCE = -1;
+  private static final String SNAPSHOT = "SNAPSHOT";
+  private static final Pattern VERSION_RANGE = compile("<version>\\s*[\\[(]");
+
+  private final Path cacheFile;
+
+  /**
+   * @param cacheFile the file where the resolved dependencies are persisted.
+   */
+  public ResolvedDependenciesCache(File cacheFile) {
+    this.cacheFile = cacheFile.toPath();
+  }
+
+  /**
+   * Computes the key for the dependencies resolved from a POM.
+   *
+   * @param poms                    the POM of the deployable project followed by its parent POMs.
+   * @param includeTestDependencies whether test dependencies are resolved.
+   * @param mavenConfiguration      the configuration used to resolve the dependencies. The contents of its settings files are
+   *                                part of the key.
+   * @return the key for the resolved dependencies.
+   * @throws IOException if a POM or settings file could not be read.
+   */
+  public static String computeKey(List<File> poms, boolean includeTestDependencies, MavenConfiguration mavenConfiguration)
+      throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+
+    for (File pom : poms) {
+      updateWithFile(digest, pom);
+    }
+    for (String activeProfile : mavenConfiguration.getActiveProfiles().orElse(emptyList())) {
+      updateWithString(digest, activeProfile);
+    }
+    digest.update((byte) (includeTestDependencies ? 1 : 0));
+
+    File repositoryFolder = mavenConfiguration.getLocalMavenRepositoryLocation();
+    updateWithString(digest, repositoryFolder != null ? repositoryFolder.getAbsolutePath() : "");
+    digest.update((byte) (mavenConfiguration.getOfflineMode() ? 1 : 0));
+    for (RemoteRepository remoteRepository : mavenConfiguration.getMavenRemoteRepositories()) {
+      updateWithString(digest, remoteRepository.getId());
+      updateWithString(digest, String.valueOf(remoteRepository.getUrl()));
+    }
+    // Sorted, as the order of the properties is not relevant for the resolution
+    Properties userProperties = mavenConfiguration.getUserProperties().orElse(new Properties());
+    for (Map.Entry<Object, Object> userProperty : new TreeMap<>(userProperties).entrySet()) {
+      updateWithString(digest, userProperty.getKey() + "=" + userProperty.getValue());
+    }
+    // Settings may define profiles, mirrors and repositories that change the resolution
+    updateWithOptionalFile(digest, mavenConfiguration.getGlobalSettingsLocation());
+    updateWithOptionalFile(digest, mavenConfiguration.getUserSettingsLocation());
+    updateWithOptionalFile(digest, mavenConfiguration.getSettingsSecurityLocation());
+
+    StringBuilder key = new StringBuilder();
+    for (byte b : digest.digest()) {
+      key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return key.toString();
+  }
+
+  private static void updateWithFile(MessageDigest digest, File file) throws IOException {
+    digest.update(readAllBytes(file.toPath()));
+    digest.update((byte) 0);
+  }
+
+  private static void updateWithOptionalFile(MessageDigest digest, Optional<File> file) throws IOException {
+    if (file.isPresent() && file.get().isFile()) {
+      updateWithFile(digest, file.get());
+    } else {
+      digest.update((byte) 0);
+    }
+  }
+
+  private static void updateWithString(MessageDigest digest, String string) {
+    digest.update(string.getBytes(UTF_8));
+    digest.update((byte) 0);
+  }
+
+  /**
+   * @param version a Maven version.
+   * @return whether the version is a SNAPSHOT, which may point to a different artifact on each resolution.
+   */
+  public static boolean isSnapshot(String version) {
+    return version != null && version.endsWith(SNAPSHOT);
+  }
+
+  /**
+   * @param version a Maven version.
+   * @return whether the version is a range, which may resolve to a different version on each resolution.
+   */
+  public static boolean isVersionRange(String version) {
+    return version != null && (version.startsWith("[") || version.startsWith("("));
+  }
+
+  /**
+   * @param pom a POM file.
+   * @return whether the POM declares a version range for any of its dependencies, managed dependencies or plugins.
+   * @throws IOException if the POM could not be read.
+   */
+  public static boolean declaresVersionRange(File pom) throws IOException {
+    return VERSION_RANGE.matcher(new String(readAllBytes(pom.toPath()), UTF_8)).find();
+  }
+
+  /**
+   * @param key the key of the resolved dependencies, as returned by {@link #computeKey}.
+   * @return the persisted dependencies for the given key, or {@link Optional#empty()} if there are none or they are no longer
+   *         valid.
+   */
+  public Optional<ResolvedDependencies> load(String key) {
+    if (!cacheFile.toFile().isFile()) {
+      return empty();
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(newInputStream(cacheFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(key)) {
+        LOGGER.debug("Resolved dependencies in '{}' don't match the project, resolving them again", cacheFile);
+        return empty();
+      }
+
+      int bundleFilesCount = in.readInt();
+      for (int i = 0; i < bundleFilesCount; i++) {
+        File bundleFile = new File(in.readUTF());
+        long length = in.readLong();
+        long lastModified = in.readLong();
+        if (bundleFile.length() != length || bundleFile.lastModified() != lastModified) {
+          LOGGER.debug("Dependency '{}' changed since its resolution, resolving dependencies again", bundleFile);
+          return empty();
+        }
+      }
+
+      int dependenciesCount = in.readInt();
+      List<BundleDependency> dependencies = new ArrayList<>(dependenciesCount);
+      for (int i = 0; i < dependenciesCount; i++) {
+        dependencies.add(readDependency(in, dependencies));
+      }
+
+      List<BundleDependency> deployableBundleDependencies = readDependencyList(in, dependencies);
+
+      Set<BundleDescriptor> sharedDeployableBundleDescriptors = new LinkedHashSet<>();
+      int sharedCount = in.readInt();
+      for (int i = 0; i < sharedCount; i++) {
+        sharedDeployableBundleDescriptors.add(readDescriptor(in));
+      }
+
+      Map<BundleDescriptor, List<BundleDependency>> additionalPluginDependencies = new LinkedHashMap<>();
+      int additionalCount = in.readInt();
+      for (int i = 0; i < additionalCount; i++) {
+        additionalPluginDependencies.put(readDescriptor(in), readDependencyList(in, dependencies));
+      }
+
+      return of(new ResolvedDependencies(deployableBundleDependencies, sharedDeployableBundleDescriptors,
+                                         additionalPluginDependencies));
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Could not read resolved dependencies from '{}', resolving them again", cacheFile, e);
+      return empty();
+    }
+  }
+
+  /**
+   * Persists the given dependencies, replacing the ones persisted previously.
+   *
+   * @param key          the key of the resolved dependencies, as returned by {@link #computeKey}.
+   * @param dependencies the dependencies to persist.
+   */
+  public void store(String key, ResolvedDependencies dependencies) {
+    Path tempFile = null;
+    try {
+      // Dependencies are shared between the lists (i.e.: the transitive dependencies of a plugin), so each one is written once
+      // and referenced by its index afterwards. Dependencies are indexed after their own dependencies, so they can be read in
+      // the same order.
+      Map<BundleDependency, Integer> indexes = new IdentityHashMap<>();
+      List<BundleDependency> ordered = new ArrayList<>();
+      for (BundleDependency dependency : dependencies.getDeployableBundleDependencies()) {
+        index(dependency, indexes, ordered);
+      }
+      for (List<BundleDependency> pluginDependencies : dependencies.getAdditionalPluginDependencies().values()) {
+        for (BundleDependency dependency : pluginDependencies) {
+          index(dependency, indexes, ordered);
+        }
+      }
+
+      Optional<BundleDependency> notReproducible = findNotReproducible(ordered);
+      if (notReproducible.isPresent()) {
+        LOGGER.debug("Not persisting resolved dependencies to '{}', as '{}' may resolve differently next time", cacheFile,
+                     notReproducible.get().getDescriptor());
+        deleteIfExists(cacheFile);
+        return;
+      }
+
+      createDirectories(cacheFile.getParent());
+      tempFile = createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(newOutputStream(tempFile)))) {
+        writeDependencies(out, key, dependencies, indexes, ordered);
+      }
+
+      // The file is replaced atomically so a concurrent or interrupted deployment never reads a partially written file
+      move(tempFile, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Could not persist resolved dependencies to '{}'", cacheFile, e);
+      if (tempFile != null) {
+        try {
+          deleteIfExists(tempFile);
+        } catch (IOException deleteException) {
+          LOGGER.debug("Could not delete '{}'", tempFile, deleteException);
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds a dependency that is a SNAPSHOT, or whose POM (when it is next to its file, as in a Maven repository) declares a
+   * version range.
+   */
+  private Optional<BundleDependency> findNotReproducible(List<BundleDependency> dependencies) throws IOException {
+    for (BundleDependency dependency : dependencies) {
+      BundleDescriptor descriptor = dependency.getDescriptor();
+      if (isSnapshot(descriptor.getVersion()) || isSnapshot(descriptor.getBaseVersion())) {
+        return of(dependency);
+      }
+
+      URI bundleUri = dependency.getBundleUri();
+      if (bundleUri != null && "file".equals(bundleUri.getScheme())) {
+        File pom = new File(new File(bundleUri).getParentFile(),
+                            descriptor.getArtifactId() + "-" + descriptor.getVersion() + ".pom");
+        if (pom.isFile() && declaresVersionRange(pom)) {
+          return of(dependency);
+        }
+      }
+    }
+    return empty();
+  }
+
+  private void writeDependencies(DataOutputStream out, String key, ResolvedDependencies dependencies,
+                                 Map<BundleDependency, Integer> indexes, List<BundleDependency> ordered)
+      throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeUTF(key);
+
+    Map<String, File> bundleFiles = new HashMap<>();
+    for (BundleDependency dependency : ordered) {
+      URI bundleUri = dependency.getBundleUri();
+      if (bundleUri != null && "file".equals(bundleUri.getScheme())) {
+        File bundleFile = new File(bundleUri);
+        bundleFiles.put(bundleFile.getAbsolutePath(), bundleFile);
+      }
+    }
+    out.writeInt(bundleFiles.size());
+    for (File bundleFile : bundleFiles.values()) {
+      out.writeUTF(bundleFile.getAbsolutePath());
+      out.writeLong(bundleFile.length());
+      out.writeLong(bundleFile.lastModified());
+    }
+
+    out.writeInt(ordered.size());
+    for (BundleDependency dependency : ordered) {
+      writeDependency(out, dependency, indexes);
+    }
+
+    writeDependencyList(out, dependencies.getDeployableBundleDependencies(), indexes);
+
+    out.writeInt(dependencies.getSharedDeployableBundleDescriptors().size());
+    for (BundleDescriptor descriptor : dependencies.getSharedDeployableBundleDescriptors()) {
+      writeDescriptor(out, descriptor);
+    }
+
+    out.writeInt(dependencies.getAdditionalPluginDependencies().size());
+    for (Map.Entry<BundleDescriptor, List<BundleDependency>> entry : dependencies.getAdditionalPluginDependencies().entrySet()) {
+      writeDescriptor(out, entry.getKey());
+      writeDependencyList(out, entry.getValue(), indexes);
+    }
+  }
+
+  private void index(BundleDependency dependency, Map<BundleDependency, Integer> indexes, List<BundleDependency> ordered)
+      throws IOException {
+    Integer index = indexes.get(dependency);
+    if (index != null) {
+      if (index == NULL_REFERENCE) {
+        throw new IOException("Cyclic dependency found for " + dependency.getDescriptor());
+      }
+      return;
+    }
+
+    // Marks the dependency as in progress, to detect cycles
+    indexes.put(dependency, NULL_REFERENCE);
+    for (List<BundleDependency> children : childrenOf(dependency)) {
+      for (BundleDependency child : children) {
+        index(child, indexes, ordered);
+      }
+    }
+    indexes.put(dependency, ordered.size());
+    ordered.add(dependency);
+  }
+
+  private List<List<BundleDependency>> childrenOf(BundleDependency dependency) {
+    List<List<BundleDependency>> children = new ArrayList<>(2);
+    if (dependency.getTransitiveDependenciesList() != null) {
+      children.add(dependency.getTransitiveDependenciesList());
+    }
+    if (dependency.getAdditionalDependenciesList() != null) {
+      children.add(dependency.getAdditionalDependenciesList());
+    }
+    return children;
+  }
+
+  private void writeDependency(DataOutputStream out, BundleDependency dependency, Map<BundleDependency, Integer> indexes)
+      throws IOException {
+    writeDescriptor(out, dependency.getDescriptor());
+    out.writeUTF(dependency.getScope().name());
+    writeNullableString(out, dependency.getBundleUri() != null ? dependency.getBundleUri().toString() : null);
+    writeDependencyList(out, dependency.getTransitiveDependenciesList(), indexes);
+    writeDependencyList(out, dependency.getAdditionalDependenciesList(), indexes);
+    writeStrings(out, dependency.getPackages());
+    writeStrings(out, dependency.getResources());
+  }
+
+  private BundleDependency readDependency(DataInputStream in, List<BundleDependency> dependencies) throws IOException {
+    BundleDependency.Builder builder = BundleDependency.builder()
+        .setDescriptor(readDescriptor(in))
+        .setScope(BundleScope.valueOf(in.readUTF()));
+    String bundleUri = readNullableString(in);
+    if (bundleUri != null) {
+      builder.setBundleUri(URI.create(bundleUri));
+    }
+    return builder
+        .setTransitiveDependencies(readDependencyList(in, dependencies))
+        .setAdditionalDependencies(readDependencyList(in, dependencies))
+        .setPackages(readStrings(in))
+        .setResources(readStrings(in))
+        .build();
+  }
+
+  private void writeDependencyList(DataOutputStream out, List<BundleDependency> dependencies,
+                                   Map<BundleDependency, Integer> indexes)
+      throws IOException {
+    if (dependencies == null) {
+      out.writeInt(NULL_REFERENCE);
+      return;
+    }
+
+    out.writeInt(dependencies.size());
+    for (BundleDependency dependency : dependencies) {
+      out.writeInt(indexes.get(dependency));
+    }
+  }
+
+  private List<BundleDependency> readDependencyList(DataInputStream in, List<BundleDependency> dependencies)
+      throws IOException {
+    int size = in.readInt();
+    if (size == NULL_REFERENCE) {
+      return null;
+    }
+
+    List<BundleDependency> result = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      result.add(dependencies.get(in.readInt()));
+    }
+    return result;
+  }
+
+  private void writeDescriptor(DataOutputStream out, BundleDescriptor descriptor) throws IOException {
+    out.writeUTF(descriptor.getGroupId());
+    out.writeUTF(descriptor.getArtifactId());
+    out.writeUTF(descriptor.getVersion());
+    writeNullableString(out, descriptor.getBaseVersion());
+    out.writeUTF(descriptor.getType());
+    writeNullableString(out, descriptor.getClassifier().orElse(null));
+  }
+
+  private BundleDescriptor readDescriptor(DataInputStream in) throws IOException {
+    BundleDescriptor.Builder builder = new BundleDescriptor.Builder()
+        .setGroupId(in.readUTF())
+        .setArtifactId(in.readUTF())
+        .setVersion(in.readUTF());
+    String baseVersion = readNullableString(in);
+    if (baseVersion != null) {
+      builder.setBaseVersion(baseVersion);
+    }
+    return builder
+        .setType(in.readUTF())
+        .setClassifier(readNullableString(in))
+        .build();
+  }
+
+  private void writeStrings(DataOutputStream out, Set<String> strings) throws IOException {
+    out.writeInt(strings.size());
+    for (String string : strings) {
+      out.writeUTF(string);
+    }
+  }
+
+  private Set<String> readStrings(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    Set<String> strings = new LinkedHashSet<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      strings.add(in.readUTF());
+    }
+    return strings;
+  }
+
+  private void writeNullableString(DataOutputStream out, String string) throws IOException {
+    out.writeBoolean(string != null);
+    if (string != null) {
+      out.writeUTF(string);
+    }
+  }
+
+  private String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  /**
+   * The dependencies of a deployable project, as needed to build its
+   * {@link org.mule.runtime.module.artifact.activation.api.deployable.DeployableProjectModel}.
+   */
+  public static final class ResolvedDependencies {
+
+    private final List<BundleDependency> deployableBundleDependencies;
+    private final Set<BundleDescriptor> sharedDeployableBundleDescriptors;
+    private final Map<BundleDescriptor, List<BundleDependency>> additionalPluginDependencies;
+
+    public ResolvedDependencies(List<BundleDependency> deployableBundleDependencies,
+                                Set<BundleDescriptor> sharedDeployableBundleDescriptors,
+                                Map<BundleDescriptor, List<BundleDependency>> additionalPluginDependencies) {
+      this.deployableBundleDependencies = deployableBundleDependencies;
+      this.sharedDeployableBundleDescriptors = sharedDeployableBundleDescriptors;
+      this.additionalPluginDependencies = additionalPluginDependencies;
+    }
+
+    public List<BundleDependency> getDeployableBundleDependencies() {
+      return deployableBundleDependencies;
+    }
+
+    public Set<BundleDescriptor> getSharedDeployableBundleDescriptors() {
+      return sharedDeployableBundleDescriptors;
+    }
+
+    public Map<BundleDescriptor, List<BundleDependency>> getAdditionalPluginDependencies() {
+      return additionalPluginDependencies;
+    }
+  }
+}
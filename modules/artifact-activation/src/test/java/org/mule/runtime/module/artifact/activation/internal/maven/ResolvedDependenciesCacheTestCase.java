@@ -0,0 +1,212 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.activation.internal.maven;
+
+import static org.mule.maven.client.api.model.MavenConfiguration.newMavenConfigurationBuilder;
+import static org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.computeKey;
+import static org.mule.runtime.module.artifact.api.descriptor.BundleScope.COMPILE;
+import static org.mule.test.allure.AllureConstants.DeploymentTypeFeature.DEPLOYMENT_TYPE;
+import static org.mule.test.allure.AllureConstants.DeploymentTypeFeature.DeploymentTypeStory.LIGHTWEIGHT;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.maven.client.api.model.MavenConfiguration;
+import org.mule.runtime.module.artifact.activation.internal.maven.ResolvedDependenciesCache.ResolvedDependencies;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDependency;
+import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(DEPLOYMENT_TYPE)
+@Story(LIGHTWEIGHT)
+public class ResolvedDependenciesCacheTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File pom;
+  private File parentPom;
+  private File userSettings;
+  private File jar;
+  private ResolvedDependenciesCache cache;
+
+  @Before
+  public void before() throws IOException {
+    pom = temporaryFolder.newFile("pom.xml");
+    writeStringToFile(pom, "<project/>", UTF_8);
+    parentPom = temporaryFolder.newFile("parent.pom");
+    writeStringToFile(parentPom, "<project/>", UTF_8);
+    userSettings = temporaryFolder.newFile("settings.xml");
+    writeStringToFile(userSettings, "<settings/>", UTF_8);
+    jar = temporaryFolder.newFile("library.jar");
+    writeStringToFile(jar, "library", UTF_8);
+    cache = new ResolvedDependenciesCache(new File(temporaryFolder.getRoot(), "cache/resolved-dependencies.bin"));
+  }
+
+  @Test
+  public void storedDependenciesAreLoaded() throws IOException {
+    BundleDependency library = dependency("library", null);
+    BundleDependency plugin = BundleDependency.builder(dependency("plugin", "mule-plugin"))
+        .setTransitiveDependencies(singletonList(library))
+        .build();
+    String key = key();
+
+    cache.store(key, new ResolvedDependencies(singletonList(plugin), singleton(library.getDescriptor()),
+                                              singletonMap(plugin.getDescriptor(), singletonList(library))));
+    Optional<ResolvedDependencies> loaded = cache.load(key);
+
+    assertThat(loaded.isPresent(), is(true));
+    BundleDependency loadedPlugin = loaded.get().getDeployableBundleDependencies().get(0);
+    assertThat(loadedPlugin.getDescriptor(), is(plugin.getDescriptor()));
+    assertThat(loadedPlugin.getBundleUri(), is(plugin.getBundleUri()));
+    assertThat(loadedPlugin.getScope(), is(COMPILE));
+    assertThat(loadedPlugin.getPackages(), contains("org.foo"));
+    assertThat(loadedPlugin.getResources(), contains("foo.xml"));
+    assertThat(loaded.get().getSharedDeployableBundleDescriptors(), contains(library.getDescriptor()));
+
+    // The same dependency is referenced from different places, it is loaded once
+    BundleDependency loadedLibrary = loadedPlugin.getTransitiveDependenciesList().get(0);
+    assertThat(loaded.get().getAdditionalPluginDependencies().get(plugin.getDescriptor()).get(0),
+               is(sameInstance(loadedLibrary)));
+  }
+
+  @Test
+  public void dependenciesForOtherKeyAreNotLoaded() throws IOException {
+    cache.store(key(), libraryDependencies());
+    writeStringToFile(pom, "<project><version>2</version></project>", UTF_8);
+
+    assertThat(key(), is(not(key(true))));
+    assertThat(cache.load(key()).isPresent(), is(false));
+  }
+
+  @Test
+  public void keyChangesWhenTheParentPomChanges() throws IOException {
+    String key = key();
+    writeStringToFile(parentPom, "<project><version>2</version></project>", UTF_8);
+
+    assertThat(key(), is(not(key)));
+  }
+
+  @Test
+  public void keyChangesWhenTheSettingsChange() throws IOException {
+    String key = key();
+    writeStringToFile(userSettings, "<settings><offline>true</offline></settings>", UTF_8);
+
+    assertThat(key(), is(not(key)));
+  }
+
+  @Test
+  public void snapshotDependenciesAreNotStored() throws IOException {
+    BundleDependency snapshot = BundleDependency.builder(dependency("library", null))
+        .setDescriptor(new BundleDescriptor.Builder()
+            .setGroupId("org.mule.test")
+            .setArtifactId("library")
+            .setVersion("1.0.0-20230101.000000-1")
+            .setBaseVersion("1.0.0-SNAPSHOT")
+            .build())
+        .build();
+    BundleDependency plugin = BundleDependency.builder(dependency("plugin", "mule-plugin"))
+        .setTransitiveDependencies(singletonList(snapshot))
+        .build();
+
+    cache.store(key(), new ResolvedDependencies(singletonList(plugin), emptySet(), emptyMap()));
+
+    assertThat(cache.load(key()).isPresent(), is(false));
+  }
+
+  @Test
+  public void dependenciesDeclaringVersionRangesAreNotStored() throws IOException {
+    writeStringToFile(new File(temporaryFolder.getRoot(), "library-1.0.0.pom"),
+                      "<project><dependencies><dependency><version>[1.0,2.0)</version></dependency></dependencies></project>",
+                      UTF_8);
+
+    cache.store(key(), libraryDependencies());
+
+    assertThat(cache.load(key()).isPresent(), is(false));
+  }
+
+  @Test
+  public void dependenciesAreNotLoadedWhenAJarChanged() throws IOException {
+    String key = key();
+    cache.store(key, libraryDependencies());
+    writeStringToFile(jar, "changed library", UTF_8);
+
+    assertThat(cache.load(key).isPresent(), is(false));
+  }
+
+  @Test
+  public void corruptedFileIsIgnored() throws IOException {
+    writeStringToFile(new File(temporaryFolder.getRoot(), "cache/resolved-dependencies.bin"), "corrupted", UTF_8);
+
+    assertThat(cache.load(key()).isPresent(), is(false));
+  }
+
+  private String key() throws IOException {
+    return key(false);
+  }
+
+  private String key(boolean includeTestDependencies) throws IOException {
+    return computeKey(asList(pom, parentPom), includeTestDependencies, mavenConfiguration());
+  }
+
+  private MavenConfiguration mavenConfiguration() {
+    return newMavenConfigurationBuilder()
+        .localMavenRepositoryLocation(temporaryFolder.getRoot())
+        .userSettingsLocation(userSettings)
+        .build();
+  }
+
+  private ResolvedDependencies libraryDependencies() {
+    return new ResolvedDependencies(singletonList(dependency("library", null)), singleton(descriptor("library", null)),
+                                    singletonMap(descriptor("library", null), emptyList()));
+  }
+
+  private BundleDependency dependency(String artifactId, String classifier) {
+    return BundleDependency.builder()
+        .setDescriptor(descriptor(artifactId, classifier))
+        .setBundleUri(jar.toURI())
+        .setScope(COMPILE)
+        .setPackages(singleton("org.foo"))
+        .setResources(singleton("foo.xml"))
+        .build();
+  }
+
+  private BundleDescriptor descriptor(String artifactId, String classifier) {
+    return new BundleDescriptor.Builder()
+        .setGroupId("org.mule.test")
+        .setArtifactId(artifactId)
+        .setVersion("1.0.0")
+        .setBaseVersion("1.0.0")
+        .setClassifier(classifier)
+        .build();
+  }
+}
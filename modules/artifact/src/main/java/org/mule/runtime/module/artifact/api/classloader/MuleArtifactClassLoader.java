@@ -23,19 +23,23 @@ import org.mule.module.artifact.classloader.ClassLoaderResourceReleaser;
 import org.mule.module.artifact.classloader.GroovyResourceReleaser;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
 import org.mule.runtime.module.artifact.api.descriptor.BundleDescriptor;
+import org.mule.runtime.module.artifact.internal.classloader.IndexedJarArchive;
+import org.mule.runtime.module.artifact.internal.classloader.IndexedJarArchive.IndexedEntry;
 import org.mule.runtime.module.artifact.internal.classloader.ResourceReleaserExecutor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.sql.Driver;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.jar.Manifest;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -100,8 +104,8 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
   private volatile boolean shouldReleaseGroovyReferences = false;
   private ResourceReleaser jdbcResourceReleaserInstance;
   private final ArtifactDescriptor artifactDescriptor;
-  private final Object descriptorMappingLock = new Object();
-  private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new HashMap<>();
+  private final Map<BundleDescriptor, URLClassLoader> descriptorMapping = new ConcurrentHashMap<>();
+  private volatile IndexedJarArchive indexedJarArchive;
   private final ResourceReleaserExecutor resourceReleaserExecutor = new ResourceReleaserExecutor(this::reportPossibleLeak);
   private Optional<ModuleLayerInformationSupplier> moduleLayerInformation = empty();
 
@@ -185,22 +189,41 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
           if (match.isPresent()) {
             URL url = match.get();
             BundleDescriptor matchDescriptor = toBundleDescriptor(url, groupId);
-            // We don't want class loaders in limbo
-            synchronized (descriptorMappingLock) {
-              if (descriptorMapping.get(matchDescriptor) == null) {
-                URLClassLoader urlClassLoader =
-                    new URLClassLoader(new URL[] {url}, getSystemClassLoader());;
-                descriptorMapping.put(matchDescriptor, urlClassLoader);
-              }
-            }
-            return descriptorMapping.get(matchDescriptor).findResource(normalizedResource);
+            // We don't want class loaders in limbo, computeIfAbsent creates only one for each descriptor
+            return descriptorMapping
+                .computeIfAbsent(matchDescriptor, descriptor -> new URLClassLoader(new URL[] {url}, getSystemClassLoader()))
+                .findResource(normalizedResource);
           }
         }
       }
     }
+
+    IndexedJarArchive index = indexedJarArchive;
+    if (index != null) {
+      IndexedEntry entry = index.getEntry(name);
+      return entry != null ? index.getUrl(name, entry) : null;
+    }
     return super.findResource(name);
   }
 
+  @Override
+  public InputStream getResourceAsStream(String name) {
+    IndexedJarArchive index = indexedJarArchive;
+    if (index != null) {
+      // Resources of this class loader are looked up before the parent ones, see getResource
+      IndexedEntry entry = index.getEntry(name);
+      if (entry != null) {
+        try {
+          return index.getInputStream(entry);
+        } catch (IOException e) {
+          // Same as URLClassLoader when the resource can't be read
+          return null;
+        }
+      }
+    }
+    return super.getResourceAsStream(name);
+  }
+
   private String asPath(BundleDescriptor descriptor) {
     String groupIdPath = getGroupIdPath(descriptor.getGroupId());
     String versionPath = WILDCARD.equals(descriptor.getVersion()) ? "" : descriptor.getVersion();
@@ -273,6 +296,84 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
     return clazz;
   }
 
+  @Override
+  public Class<?> findLocalClass(String name) throws ClassNotFoundException {
+    IndexedJarArchive index = indexedJarArchive;
+    if (index == null) {
+      return super.findLocalClass(name);
+    }
+
+    synchronized (getClassLoadingLock(name)) {
+      Class<?> result = findLoadedClass(name);
+      if (result != null) {
+        return result;
+      }
+
+      IndexedEntry entry = index.getClassEntry(name);
+      if (entry == null) {
+        throw new ClassNotFoundException(name);
+      }
+      byte[] classBytes;
+      try {
+        classBytes = index.getBytes(entry);
+      } catch (IOException e) {
+        throw new ClassNotFoundException(name, e);
+      }
+      definePackageIfNeeded(name, index.getManifest(entry), index.getCodeSource(entry).getLocation());
+      return defineClass(name, classBytes, 0, classBytes.length, index.getCodeSource(entry));
+    }
+  }
+
+  private void definePackageIfNeeded(String className, Manifest manifest, URL codeSourceUrl) {
+    int lastDot = className.lastIndexOf('.');
+    if (lastDot == -1) {
+      return;
+    }
+
+    String packageName = className.substring(0, lastDot);
+    if (getDefinedPackage(packageName) != null) {
+      return;
+    }
+    try {
+      if (manifest != null) {
+        definePackage(packageName, manifest, codeSourceUrl);
+      } else {
+        definePackage(packageName, null, null, null, null, null, null, null);
+      }
+    } catch (IllegalArgumentException e) {
+      // The package was defined concurrently while loading another class
+      if (getDefinedPackage(packageName) == null) {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Indexes the JARs of this class loader, so classes and resources are obtained from an {@link IndexedJarArchive} instead of
+   * looking them up in each JAR. If the JARs can't be indexed, they are looked up as usual.
+   *
+   * @since 4.10
+   */
+  protected void indexJars() {
+    closeIndex();
+    indexedJarArchive = IndexedJarArchive.create(getURLs()).orElse(null);
+  }
+
+  @Override
+  protected void addURL(URL url) {
+    // The index doesn't contain the added URL
+    closeIndex();
+    super.addURL(url);
+  }
+
+  private void closeIndex() {
+    IndexedJarArchive index = indexedJarArchive;
+    indexedJarArchive = null;
+    if (index != null) {
+      index.close();
+    }
+  }
+
   @Override
   public Class<?> loadInternalClass(String name) throws ClassNotFoundException {
     return loadClass(name);
@@ -302,6 +403,7 @@ public class MuleArtifactClassLoader extends FineGrainedControlClassLoader imple
       }
     });
     descriptorMapping.clear();
+    closeIndex();
 
     if (shouldReleaseGroovyReferences) {
       resourceReleaserExecutor.addResourceReleaser(() -> new GroovyResourceReleaser(this));
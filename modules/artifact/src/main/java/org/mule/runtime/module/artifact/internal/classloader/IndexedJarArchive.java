@@ -0,0 +1,511 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.jar.Attributes.Name.SEALED;
+import static java.util.jar.JarFile.MANIFEST_NAME;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.Manifest;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.slf4j.Logger;
+
+/**
+ * Memory mapped index of the entries of the JARs of a class loader, used to define classes and find resources without opening
+ * a {@link java.util.jar.JarFile} nor looking up each entry in every JAR of the class loader.
+ * <p>
+ * Each JAR is mapped read-only and its central directory is read once, indexing the name of each entry with the offset and
+ * compressed and uncompressed lengths of its content in the mapped JAR, along with a table of the packages that contain classes.
+ * The content of an entry is then copied from the mapping, or inflated from it for deflated entries, when requested. When more
+ * than one JAR contains an entry with the same name, the one from the first JAR is indexed, as a {@link java.net.URLClassLoader}
+ * would do.
+ * <p>
+ * JARs that can't be served from the index without changing the class loading behavior (signed, sealed or multi-release JARs)
+ * and JARs that need ZIP64 extensions are not indexed; in that case, {@link #create(URL[])} returns {@link Optional#empty()} and
+ * the class loader must look up the JARs as usual.
+ * <p>
+ * The mappings are released when the index is garbage collected, and the JARs must not be modified while they are mapped.
+ *
+ * @since 4.10
+ */
+public final class IndexedJarArchive implements Closeable {
+
+  /**
+   * When set to {@code true}, plugin class loaders index their JARs when they are created.
+   */
+  public static final String ENABLE_INDEXED_JARS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "classloader.indexedJars.enable";
+
+  private static final Logger LOGGER = getLogger(IndexedJarArchive.class);
+
+  private static final String CLASS_EXTENSION = ".class";
+  private static final String META_INF = "META-INF/";
+  private static final String MULTI_RELEASE = "Multi-Release";
+
+  // See the ZIP file format specification, https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int END_HEADER_SIGNATURE = 0x06054b50;
+  private static final int END_HEADER_SIZE = 22;
+  private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+  private static final int ENCRYPTED_FLAG = 1;
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+
+  private final URL[] urls;
+  private final ByteBuffer[] archives;
+  private final CodeSource[] codeSources;
+  private final Manifest[] manifests;
+  private final Map<String, IndexedEntry> entries;
+  private final Map<String, Integer> packages;
+  private volatile boolean closed = false;
+
+  private IndexedJarArchive(URL[] urls, ByteBuffer[] archives, Manifest[] manifests, Map<String, IndexedEntry> entries,
+                            Map<String, Integer> packages) {
+    this.urls = urls;
+    this.archives = archives;
+    this.manifests = manifests;
+    this.entries = entries;
+    this.packages = packages;
+    this.codeSources = new CodeSource[urls.length];
+    for (int i = 0; i < urls.length; i++) {
+      codeSources[i] = new CodeSource(urls[i], (CodeSigner[]) null);
+    }
+  }
+
+  /**
+   * @return whether class loaders must index their JARs.
+   */
+  public static boolean isIndexedJarsEnabled() {
+    return getBoolean(ENABLE_INDEXED_JARS_PROPERTY);
+  }
+
+  /**
+   * Maps and indexes the given JARs.
+   *
+   * @param urls the URLs of the class loader, in lookup order.
+   * @return the index, or {@link Optional#empty()} if any of the URLs can't be indexed.
+   */
+  public static Optional<IndexedJarArchive> create(URL[] urls) {
+    try {
+      File[] jars = new File[urls.length];
+      for (int i = 0; i < urls.length; i++) {
+        if (!"file".equals(urls[i].getProtocol())) {
+          return empty();
+        }
+        jars[i] = new File(urls[i].toURI());
+        if (!jars[i].isFile()) {
+          // Exploded folders are looked up directly in the file system
+          return empty();
+        }
+      }
+
+      ByteBuffer[] archives = new ByteBuffer[jars.length];
+      Manifest[] manifests = new Manifest[jars.length];
+      Map<String, IndexedEntry> entries = new HashMap<>();
+      Map<String, Integer> packages = new HashMap<>();
+      for (int i = 0; i < jars.length; i++) {
+        archives[i] = map(jars[i]);
+        if (archives[i] == null || !indexJar(jars[i], archives[i], i, entries, packages, manifests)) {
+          return empty();
+        }
+      }
+
+      LOGGER.debug("Indexed {} entries and {} packages from {} JARs", entries.size(), packages.size(), jars.length);
+      return of(new IndexedJarArchive(urls.clone(), archives, manifests, entries, packages));
+    } catch (IOException | URISyntaxException | RuntimeException e) {
+      LOGGER.debug("Unable to index JARs, they will be looked up directly", e);
+      return empty();
+    }
+  }
+
+  /**
+   * @return the read-only mapping of the JAR, or {@code null} if it is too big to be mapped at once.
+   */
+  private static ByteBuffer map(File jar) throws IOException {
+    try (FileChannel channel = FileChannel.open(jar.toPath(), READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        LOGGER.debug("JAR '{}' is too big, it can't be indexed", jar);
+        return null;
+      }
+      // The mapping remains valid after closing the channel
+      return channel.map(READ_ONLY, 0, channel.size()).order(LITTLE_ENDIAN);
+    }
+  }
+
+  /**
+   * Indexes the entries of the central directory of a JAR.
+   *
+   * @return whether the JAR could be indexed.
+   */
+  private static boolean indexJar(File jar, ByteBuffer archive, int archiveIndex, Map<String, IndexedEntry> entries,
+                                  Map<String, Integer> packages, Manifest[] manifests)
+      throws IOException {
+    int end = findEndHeader(archive);
+    if (end == -1) {
+      LOGGER.debug("JAR '{}' has no central directory, it can't be indexed", jar);
+      return false;
+    }
+    int entryCount = getUnsignedShort(archive, end + 10);
+    long centralDirectorySize = getUnsignedInt(archive, end + 12);
+    long centralDirectoryOffset = getUnsignedInt(archive, end + 16);
+    if (centralDirectoryOffset + centralDirectorySize != end) {
+      // Either ZIP64 values or data prepended to the JAR, which would shift every offset
+      LOGGER.debug("JAR '{}' has an unsupported central directory, it can't be indexed", jar);
+      return false;
+    }
+
+    IndexedEntry manifestEntry = null;
+    int position = (int) centralDirectoryOffset;
+    for (int i = 0; i < entryCount; i++) {
+      if (position + CENTRAL_HEADER_SIZE > end || archive.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+        LOGGER.debug("JAR '{}' has an invalid central directory, it can't be indexed", jar);
+        return false;
+      }
+      int flags = getUnsignedShort(archive, position + 8);
+      int method = getUnsignedShort(archive, position + 10);
+      long compressedSize = getUnsignedInt(archive, position + 20);
+      long size = getUnsignedInt(archive, position + 24);
+      int nameLength = getUnsignedShort(archive, position + 28);
+      int extraLength = getUnsignedShort(archive, position + 30);
+      int commentLength = getUnsignedShort(archive, position + 32);
+      long localHeaderOffset = getUnsignedInt(archive, position + 42);
+
+      byte[] nameBytes = new byte[nameLength];
+      archive.get(position + CENTRAL_HEADER_SIZE, nameBytes);
+      String name = new String(nameBytes, UTF_8);
+      if (isSignatureFile(name)) {
+        LOGGER.debug("JAR '{}' is signed, it can't be indexed", jar);
+        return false;
+      }
+      if ((flags & ENCRYPTED_FLAG) != 0
+          || !(method == DEFLATED || (method == STORED && compressedSize == size))
+          || size > Integer.MAX_VALUE || localHeaderOffset >= centralDirectoryOffset) {
+        LOGGER.debug("Entry '{}' of JAR '{}' can't be read from the index", name, jar);
+        return false;
+      }
+
+      IndexedEntry entry = new IndexedEntry(archiveIndex, (int) localHeaderOffset, method, (int) compressedSize, (int) size);
+      if (MANIFEST_NAME.equals(name)) {
+        manifestEntry = entry;
+      }
+      entries.putIfAbsent(name, entry);
+      if (name.endsWith(CLASS_EXTENSION)) {
+        packages.putIfAbsent(getPackageName(name), archiveIndex);
+      }
+      position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+    }
+
+    if (manifestEntry != null) {
+      Manifest manifest;
+      try (InputStream manifestStream = getInputStream(archive, manifestEntry)) {
+        manifest = new Manifest(manifestStream);
+      }
+      if (manifest.getMainAttributes().getValue(MULTI_RELEASE) != null || isSealed(manifest)) {
+        LOGGER.debug("JAR '{}' is multi-release or sealed, it can't be indexed", jar);
+        return false;
+      }
+      manifests[archiveIndex] = manifest;
+    }
+    return true;
+  }
+
+  /**
+   * @return the position of the end of central directory record, or {@code -1} if there is none.
+   */
+  private static int findEndHeader(ByteBuffer archive) {
+    int limit = max(0, archive.limit() - END_HEADER_SIZE - MAX_COMMENT_LENGTH);
+    for (int position = archive.limit() - END_HEADER_SIZE; position >= limit; position--) {
+      if (archive.getInt(position) == END_HEADER_SIGNATURE
+          && position + END_HEADER_SIZE + getUnsignedShort(archive, position + 20) == archive.limit()) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private static int getUnsignedShort(ByteBuffer archive, int position) {
+    return archive.getShort(position) & 0xFFFF;
+  }
+
+  private static long getUnsignedInt(ByteBuffer archive, int position) {
+    return archive.getInt(position) & 0xFFFFFFFFL;
+  }
+
+  private static String getPackageName(String entryName) {
+    int lastSlash = entryName.lastIndexOf('/');
+    return lastSlash == -1 ? "" : entryName.substring(0, lastSlash).replace('/', '.');
+  }
+
+  private static boolean isSealed(Manifest manifest) {
+    return manifest.getMainAttributes().get(SEALED) != null
+        || manifest.getEntries().values().stream().anyMatch(attributes -> attributes.get(SEALED) != null);
+  }
+
+  private static boolean isSignatureFile(String name) {
+    if (!name.startsWith(META_INF) || name.indexOf('/', META_INF.length()) != -1) {
+      return false;
+    }
+    return name.endsWith(".SF") || name.endsWith(".RSA") || name.endsWith(".DSA") || name.endsWith(".EC");
+  }
+
+  /**
+   * @param className the binary name of a class.
+   * @return the entry of the class, or {@code null} if none of the indexed JARs contain it.
+   */
+  public IndexedEntry getClassEntry(String className) {
+    int lastDot = className.lastIndexOf('.');
+    if (!packages.containsKey(lastDot == -1 ? "" : className.substring(0, lastDot))) {
+      // Avoids building the entry name for classes of packages from other class loaders
+      return null;
+    }
+    return entries.get(className.replace('.', '/').concat(CLASS_EXTENSION));
+  }
+
+  /**
+   * @param name the name of a resource.
+   * @return the entry of the resource, or {@code null} if none of the indexed JARs contain it. As in a
+   *         {@link java.util.jar.JarFile}, the name of a directory entry may be given without the trailing {@code /}.
+   */
+  public IndexedEntry getEntry(String name) {
+    IndexedEntry entry = entries.get(name);
+    if (entry == null && !name.isEmpty() && !name.endsWith("/")) {
+      entry = entries.get(name + "/");
+    }
+    return entry;
+  }
+
+  /**
+   * @param entry an entry of this index.
+   * @return the content of the entry.
+   * @throws IOException if the entry could not be read from its JAR.
+   */
+  public byte[] getBytes(IndexedEntry entry) throws IOException {
+    byte[] bytes = new byte[entry.size];
+    try (InputStream in = getInputStream(entry)) {
+      if (in.readNBytes(bytes, 0, bytes.length) != bytes.length) {
+        throw new EOFException("Unexpected end of entry in '" + urls[entry.archive] + "'");
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * @param entry an entry of this index.
+   * @return a stream that reads the content of the entry from the mapping of its JAR.
+   * @throws IOException if the entry could not be read from its JAR.
+   */
+  public InputStream getInputStream(IndexedEntry entry) throws IOException {
+    if (closed) {
+      throw new IOException("Unable to read an entry from '" + urls[entry.archive] + "', the index is closed");
+    }
+    return getInputStream(archives[entry.archive], entry);
+  }
+
+  private static InputStream getInputStream(ByteBuffer archive, IndexedEntry entry) throws IOException {
+    int header = entry.localHeaderOffset;
+    if (header + LOCAL_HEADER_SIZE > archive.limit() || archive.getInt(header) != LOCAL_HEADER_SIGNATURE) {
+      throw new IOException("Invalid local header at " + header);
+    }
+    // The lengths of the local header may differ from the ones in the central directory
+    int data = header + LOCAL_HEADER_SIZE + getUnsignedShort(archive, header + 26) + getUnsignedShort(archive, header + 28);
+    if (data + entry.compressedSize > archive.limit()) {
+      throw new IOException("Invalid entry length at " + header);
+    }
+    ByteBuffer content = archive.slice(data, entry.compressedSize);
+    return entry.method == STORED ? new StoredEntryInputStream(content) : new DeflatedEntryInputStream(content, entry.size);
+  }
+
+  /**
+   * @param entry an entry of this index.
+   * @return the {@link CodeSource} of the JAR containing the entry.
+   */
+  public CodeSource getCodeSource(IndexedEntry entry) {
+    return codeSources[entry.archive];
+  }
+
+  /**
+   * @param entry an entry of this index.
+   * @return the {@link Manifest} of the JAR containing the entry, or {@code null} if it has none.
+   */
+  public Manifest getManifest(IndexedEntry entry) {
+    return manifests[entry.archive];
+  }
+
+  /**
+   * @param name  the name of the entry.
+   * @param entry the entry of this index with the given name.
+   * @return the {@link URL} of the entry, as it would be returned by a {@link java.net.URLClassLoader}.
+   */
+  public URL getUrl(String name, IndexedEntry entry) {
+    try {
+      return new URL("jar:" + urls[entry.archive].toExternalForm() + "!/" + name);
+    } catch (MalformedURLException e) {
+      LOGGER.debug("Unable to create the URL for '{}'", name, e);
+      return null;
+    }
+  }
+
+  /**
+   * Closes this index. Entries can't be read afterwards.
+   */
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  /**
+   * Location of the content of an entry in the mapping of its JAR.
+   */
+  public static final class IndexedEntry {
+
+    private final int archive;
+    private final int localHeaderOffset;
+    private final int method;
+    private final int compressedSize;
+    private final int size;
+
+    private IndexedEntry(int archive, int localHeaderOffset, int method, int compressedSize, int size) {
+      this.archive = archive;
+      this.localHeaderOffset = localHeaderOffset;
+      this.method = method;
+      this.compressedSize = compressedSize;
+      this.size = size;
+    }
+  }
+
+  /**
+   * Reads the content of a stored entry straight from the mapping.
+   */
+  private static final class StoredEntryInputStream extends InputStream {
+
+    private final ByteBuffer content;
+
+    private StoredEntryInputStream(ByteBuffer content) {
+      this.content = content;
+    }
+
+    @Override
+    public int read() {
+      return content.hasRemaining() ? content.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!content.hasRemaining()) {
+        return -1;
+      }
+      int read = min(len, content.remaining());
+      content.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) min(max(n, 0), content.remaining());
+      content.position(content.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return content.remaining();
+    }
+  }
+
+  /**
+   * Inflates the content of a deflated entry from the mapping.
+   */
+  private static final class DeflatedEntryInputStream extends InputStream {
+
+    private final Inflater inflater = new Inflater(true);
+    private int remaining;
+    private boolean closed = false;
+
+    private DeflatedEntryInputStream(ByteBuffer content, int size) {
+      inflater.setInput(content);
+      remaining = size;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (closed) {
+        throw new IOException("Stream closed");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      if (remaining == 0) {
+        return -1;
+      }
+      try {
+        int read;
+        while ((read = inflater.inflate(b, off, min(len, remaining))) == 0) {
+          if (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()) {
+            throw new EOFException("Unexpected end of deflated entry");
+          }
+        }
+        remaining -= read;
+        return read;
+      } catch (DataFormatException e) {
+        throw new IOException("Invalid deflated entry", e);
+      }
+    }
+
+    @Override
+    public int available() {
+      return closed ? 0 : remaining;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        inflater.end();
+      }
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.module.artifact.internal.classloader;
 
+import static org.mule.runtime.module.artifact.internal.classloader.IndexedJarArchive.isIndexedJarsEnabled;
+
 import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
 import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
 import org.mule.runtime.module.artifact.api.descriptor.ArtifactPluginDescriptor;
@@ -38,6 +40,9 @@ public class MulePluginClassLoader extends MuleArtifactClassLoader implements Wi
   public MulePluginClassLoader(String artifactId, ArtifactPluginDescriptor artifactDescriptor, URL[] urls, ClassLoader parent,
                                ClassLoaderLookupPolicy lookupPolicy) {
     super(artifactId, artifactDescriptor, urls, parent, lookupPolicy);
+    if (isIndexedJarsEnabled()) {
+      indexJars();
+    }
   }
 
   @Override
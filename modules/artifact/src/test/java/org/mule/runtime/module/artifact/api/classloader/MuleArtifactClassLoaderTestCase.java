@@ -9,6 +9,7 @@ package org.mule.runtime.module.artifact.api.classloader;
 import static org.mule.runtime.core.api.util.ClassUtils.getResource;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 
 import static org.apache.commons.io.IOUtils.readLines;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -22,10 +23,18 @@ import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
 
+import org.junit.After;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
 
+@RunWith(Parameterized.class)
 public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
 
   private static final String API_RESOURCE_NAME = "test-api.raml";
@@ -37,6 +46,16 @@ public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
   private final URL jarLocation;
   private final URL testsJarLocation;
 
+  @Parameter
+  public boolean indexedJars;
+
+  private MuleArtifactClassLoader createdClassLoader;
+
+  @Parameters(name = "indexedJars: {0}")
+  public static Collection<Object[]> parameters() {
+    return asList(new Object[][] {{false}, {true}});
+  }
+
   public MuleArtifactClassLoaderTestCase() {
     apiLocation = getResource("com/organization/test-artifact/1.0.0/test-artifact-1.0.0-raml.zip", this.getClass());
     apiLibraryLocation =
@@ -93,10 +112,47 @@ public class MuleArtifactClassLoaderTestCase extends AbstractMuleTestCase {
     findAndValidate(classLoader, "resource::com.organization:test-artifact:*:raml:zip", API_RESOURCE_NAME, apiLocation, API_LINE);
   }
 
+  @Test
+  public void findsResourceFromTheFirstJar() throws Exception {
+    MuleArtifactClassLoader classLoader = createClassLoader();
+
+    URL resource = classLoader.findResource(JAR_RESOURCE_NAME);
+    assertThat(resource, is(equalTo(new URL("jar:" + jarLocation.toString() + "!/" + JAR_RESOURCE_NAME))));
+    try (InputStream stream = classLoader.getResourceAsStream(JAR_RESOURCE_NAME)) {
+      assertThat(readLines(stream, UTF_8).get(0), is("Hello, world!"));
+    }
+  }
+
+  @Test
+  public void findsDirectoryResource() throws Exception {
+    MuleArtifactClassLoader classLoader = createClassLoader();
+
+    assertThat(classLoader.findResource("META-INF/"), is(equalTo(new URL("jar:" + jarLocation.toString() + "!/META-INF/"))));
+  }
+
+  @Test
+  public void doesNotFindMissingResource() {
+    MuleArtifactClassLoader classLoader = createClassLoader();
+
+    assertThat(classLoader.findResource("missing.txt"), is(nullValue()));
+    assertThat(classLoader.getResourceAsStream("missing.txt"), is(nullValue()));
+  }
+
+  @After
+  public void after() {
+    if (createdClassLoader != null) {
+      createdClassLoader.dispose();
+    }
+  }
+
   private MuleArtifactClassLoader createClassLoader() {
-    return new MuleArtifactClassLoader("test", mock(ArtifactDescriptor.class),
-                                       new URL[] {apiLocation, apiLibraryLocation, jarLocation, testsJarLocation},
-                                       null, mock(ClassLoaderLookupPolicy.class));
+    createdClassLoader = new MuleArtifactClassLoader("test", mock(ArtifactDescriptor.class),
+                                                     new URL[] {apiLocation, apiLibraryLocation, jarLocation, testsJarLocation},
+                                                     null, mock(ClassLoaderLookupPolicy.class));
+    if (indexedJars) {
+      createdClassLoader.indexJars();
+    }
+    return createdClassLoader;
   }
 
   private void findAndValidate(MuleArtifactClassLoader classLoader, String request, String resourceName,
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.artifact.internal.classloader;
+
+import static org.mule.runtime.module.artifact.api.classloader.ChildOnlyLookupStrategy.CHILD_ONLY;
+import static org.mule.runtime.module.artifact.api.classloader.ParentFirstLookupStrategy.PARENT_FIRST;
+import static org.mule.test.allure.AllureConstants.ClassloadingIsolationFeature.CLASSLOADING_ISOLATION;
+import static org.mule.test.allure.AllureConstants.ClassloadingIsolationFeature.ClassloadingIsolationStory.ARTIFACT_CLASSLOADERS;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.zip.ZipEntry.STORED;
+
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.apache.commons.io.IOUtils.toString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.module.artifact.api.classloader.ClassLoaderLookupPolicy;
+import org.mule.runtime.module.artifact.api.classloader.MuleArtifactClassLoader;
+import org.mule.runtime.module.artifact.api.descriptor.ArtifactDescriptor;
+import org.mule.runtime.module.artifact.internal.classloader.IndexedJarArchive.IndexedEntry;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Optional;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(CLASSLOADING_ISOLATION)
+@Story(ARTIFACT_CLASSLOADERS)
+public class IndexedJarArchiveTestCase extends AbstractMuleTestCase {
+
+  private static final String RESOURCE_NAME = "org/foo/hello.txt";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void entriesAreIndexedFromTheFirstJar() throws IOException {
+    URL first = createJar("first.jar", RESOURCE_NAME, "first".getBytes(UTF_8));
+    URL second = createJar("second.jar", RESOURCE_NAME, "second".getBytes(UTF_8));
+
+    try (IndexedJarArchive index = IndexedJarArchive.create(new URL[] {first, second}).get()) {
+      IndexedEntry entry = index.getEntry(RESOURCE_NAME);
+
+      assertThat(toString(index.getInputStream(entry), UTF_8), is("first"));
+      assertThat(index.getUrl(RESOURCE_NAME, entry), is(new URL("jar:" + first.toExternalForm() + "!/" + RESOURCE_NAME)));
+      assertThat(index.getEntry("org/foo/missing.txt"), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void directoryEntriesAreIndexed() throws IOException {
+    URL jar = createJar("directories.jar", "org/foo/", new byte[0]);
+
+    try (IndexedJarArchive index = IndexedJarArchive.create(new URL[] {jar}).get()) {
+      assertThat(index.getUrl("org/foo/", index.getEntry("org/foo/")),
+                 is(new URL("jar:" + jar.toExternalForm() + "!/org/foo/")));
+      // As JarFile does, the entry of a directory is found without the trailing slash
+      assertThat(index.getEntry("org/foo"), is(sameInstance(index.getEntry("org/foo/"))));
+      assertThat(index.getBytes(index.getEntry("org/foo/")).length, is(0));
+    }
+  }
+
+  @Test
+  public void storedAndDeflatedEntriesAreReadFromTheMapping() throws IOException {
+    byte[] content = new byte[100_000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) (i % 7);
+    }
+    File jar = new File(temporaryFolder.getRoot(), "stored.jar");
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      JarEntry storedEntry = new JarEntry("org/foo/stored.bin");
+      storedEntry.setMethod(STORED);
+      storedEntry.setSize(content.length);
+      CRC32 crc = new CRC32();
+      crc.update(content);
+      storedEntry.setCrc(crc.getValue());
+      out.putNextEntry(storedEntry);
+      out.write(content);
+      out.closeEntry();
+      out.putNextEntry(new JarEntry("org/foo/deflated.bin"));
+      out.write(content);
+      out.closeEntry();
+    }
+
+    try (IndexedJarArchive index = IndexedJarArchive.create(new URL[] {jar.toURI().toURL()}).get()) {
+      assertThat(index.getBytes(index.getEntry("org/foo/stored.bin")), is(content));
+      assertThat(index.getBytes(index.getEntry("org/foo/deflated.bin")), is(content));
+      assertThat(toByteArray(index.getInputStream(index.getEntry("org/foo/deflated.bin"))), is(content));
+    }
+  }
+
+  @Test
+  public void classEntriesAreFoundThroughThePackages() throws IOException {
+    URL jar = createJar("packages.jar", "org/foo/Foo.class", new byte[] {1});
+
+    try (IndexedJarArchive index = IndexedJarArchive.create(new URL[] {jar}).get()) {
+      assertThat(index.getBytes(index.getClassEntry("org.foo.Foo")), is(new byte[] {1}));
+      assertThat(index.getClassEntry("org.foo.Bar"), is(nullValue()));
+      assertThat(index.getClassEntry("org.bar.Foo"), is(nullValue()));
+      assertThat(index.getClassEntry("Foo"), is(nullValue()));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void entriesCantBeReadOnceClosed() throws IOException {
+    URL jar = createJar("closed.jar", RESOURCE_NAME, "closed".getBytes(UTF_8));
+
+    IndexedJarArchive index = IndexedJarArchive.create(new URL[] {jar}).get();
+    index.close();
+    index.getBytes(index.getEntry(RESOURCE_NAME));
+  }
+
+  @Test
+  public void signedJarIsNotIndexed() throws IOException {
+    URL jar = createJar("signed.jar", "META-INF/SIGNER.SF", new byte[0]);
+
+    assertThat(IndexedJarArchive.create(new URL[] {jar}), is(Optional.empty()));
+  }
+
+  @Test
+  public void folderIsNotIndexed() throws IOException {
+    URL folder = temporaryFolder.newFolder("classes").toURI().toURL();
+
+    assertThat(IndexedJarArchive.create(new URL[] {folder}), is(Optional.empty()));
+  }
+
+  @Test
+  public void classesAndResourcesAreLoadedFromTheIndex() throws Exception {
+    String classEntry = IndexedClass.class.getName().replace('.', '/') + ".class";
+    byte[] classBytes;
+    try (InputStream classStream = IndexedJarArchiveTestCase.class.getClassLoader().getResourceAsStream(classEntry)) {
+      classBytes = toByteArray(classStream);
+    }
+    URL jar = createJar("classes.jar", classEntry, classBytes);
+
+    ClassLoaderLookupPolicy lookupPolicy = mock(ClassLoaderLookupPolicy.class);
+    when(lookupPolicy.getClassLookupStrategy(anyString())).thenReturn(PARENT_FIRST);
+    when(lookupPolicy.getClassLookupStrategy(IndexedClass.class.getName())).thenReturn(CHILD_ONLY);
+    IndexedClassLoader classLoader = new IndexedClassLoader(new URL[] {jar}, lookupPolicy);
+    try {
+      Class<?> loadedClass = classLoader.loadClass(IndexedClass.class.getName());
+
+      assertThat(loadedClass.getClassLoader(), is(sameInstance(classLoader)));
+      assertThat(loadedClass.getPackage().getName(), is(IndexedClass.class.getPackage().getName()));
+      assertThat(classLoader.findResource(classEntry), is(new URL("jar:" + jar.toExternalForm() + "!/" + classEntry)));
+    } finally {
+      classLoader.dispose();
+    }
+  }
+
+  private URL createJar(String name, String entryName, byte[] content) throws IOException {
+    File jar = new File(temporaryFolder.getRoot(), name);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(entryName));
+      out.write(content);
+      out.closeEntry();
+    }
+    return jar.toURI().toURL();
+  }
+
+  public static class IndexedClass {
+  }
+
+  private static class IndexedClassLoader extends MuleArtifactClassLoader {
+
+    private IndexedClassLoader(URL[] urls, ClassLoaderLookupPolicy lookupPolicy) {
+      super("test", mock(ArtifactDescriptor.class), urls, null, lookupPolicy);
+      indexJars();
+    }
+  }
+}
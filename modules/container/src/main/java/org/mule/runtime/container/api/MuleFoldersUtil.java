@@ -39,6 +39,16 @@ public class MuleFoldersUtil {
 
   private MuleFoldersUtil() {}
 
+  /**
+   * Whether Mule is running embedded or standalone.
+   *
+   * @return true if running standalone, that is, the mule runtime installation folder is set.
+   * @since 4.10
+   */
+  public static boolean isStandalone() {
+    return getMuleHome().isPresent();
+  }
+
   /**
    * @return the mule runtime installation folder.
    */
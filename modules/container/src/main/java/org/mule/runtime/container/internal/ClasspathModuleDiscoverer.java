@@ -8,6 +8,7 @@ package org.mule.runtime.container.internal;
 
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.container.api.MuleFoldersUtil.getModulesTempFolder;
+import static org.mule.runtime.container.internal.ModuleDiscoverySnapshot.getContainerModuleDiscoverySnapshot;
 import static org.mule.runtime.core.api.util.FileUtils.stringToFile;
 import static org.mule.runtime.core.api.util.PropertiesUtils.discoverProperties;
 
@@ -32,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -119,7 +121,7 @@ public final class ClasspathModuleDiscoverer implements ModuleDiscoverer {
     Set<String> moduleNames = new HashSet<>();
 
     try {
-      for (Properties moduleProperties : discoverProperties(this.getClass().getClassLoader(), getModulePropertiesFileName())) {
+      for (Properties moduleProperties : discoverModulesProperties()) {
         final MuleModule module = createModule(moduleProperties);
 
         if (moduleNames.contains(module.getName())) {
@@ -136,6 +138,16 @@ public final class ClasspathModuleDiscoverer implements ModuleDiscoverer {
     return modules;
   }
 
+  private List<Properties> discoverModulesProperties() throws IOException {
+    ClassLoader classLoader = this.getClass().getClassLoader();
+    Optional<ModuleDiscoverySnapshot> snapshot = getContainerModuleDiscoverySnapshot();
+    if (snapshot.isPresent()) {
+      // Modules are still created from the properties, so the service provider files are created in the modules folder
+      return snapshot.get().discoverProperties(classLoader, getModulePropertiesFileName());
+    }
+    return discoverProperties(classLoader, getModulePropertiesFileName());
+  }
+
   protected String getModulePropertiesFileName() {
     return modulePropertiesResource;
   }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.container.internal;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getExecutionFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.getMuleLibFolder;
+import static org.mule.runtime.container.api.MuleFoldersUtil.isStandalone;
+
+import static java.io.File.pathSeparator;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Arrays.sort;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.util.PropertiesUtils;
+import org.mule.runtime.core.internal.util.OrderedProperties;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+
+/**
+ * Snapshot of the module properties discovered by {@link ClasspathModuleDiscoverer}, persisted in the container's working
+ * directory so a restart of the same distribution doesn't need to look up the module properties in every JAR of the container.
+ * <p>
+ * The snapshot is only used while the fingerprint it was taken with still matches. The fingerprint covers the Java runtime, the
+ * entries of the JVM class and module paths, the URLs of the class loaders used for the discovery and the distribution folders,
+ * including the size and last modification time of every file on them. Any change on those invalidates the snapshot, which is
+ * then taken again.
+ *
+ * @since 4.10
+ */
+public final class ModuleDiscoverySnapshot {
+
+  /**
+   * When set to {@code true}, the container modules are discovered on every boot instead of using a snapshot.
+   */
+  public static final String DISABLE_MODULE_DISCOVERY_SNAPSHOT_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "container.moduleDiscoverySnapshot.disable";
+
+  private static final Logger LOGGER = getLogger(ModuleDiscoverySnapshot.class);
+
+  private static final String SNAPSHOT_FOLDER = "module-discovery";
+  private static final String SNAPSHOT_EXTENSION = ".snapshot";
+  private static final int MAGIC = 0x4D4D4453;
+  private static final int FORMAT_VERSION = 1;
+
+  private final File snapshotFolder;
+  private final List<File> distributionFolders;
+
+  /**
+   * @param snapshotFolder      the folder where the snapshots are persisted.
+   * @param distributionFolders the folders with the files of the distribution the modules are discovered from.
+   */
+  public ModuleDiscoverySnapshot(File snapshotFolder, List<File> distributionFolders) {
+    this.snapshotFolder = snapshotFolder;
+    this.distributionFolders = distributionFolders;
+  }
+
+  /**
+   * @return the snapshot for the modules of the container, or {@link Optional#empty()} if the container is not running
+   *         standalone or the snapshot is disabled.
+   */
+  public static Optional<ModuleDiscoverySnapshot> getContainerModuleDiscoverySnapshot() {
+    if (getBoolean(DISABLE_MODULE_DISCOVERY_SNAPSHOT_PROPERTY) || !isStandalone()) {
+      return empty();
+    }
+
+    return of(new ModuleDiscoverySnapshot(new File(getExecutionFolder(), SNAPSHOT_FOLDER), singletonList(getMuleLibFolder())));
+  }
+
+  /**
+   * Discovers properties files available on the given class loader, as {@link PropertiesUtils#discoverProperties} does, using
+   * the snapshot when it is still valid.
+   *
+   * @param classLoader class loader used to find properties resources.
+   * @param resource    resource to find.
+   * @return a non null list of Properties.
+   * @throws IOException when a property file cannot be processed.
+   */
+  public List<Properties> discoverProperties(ClassLoader classLoader, String resource) throws IOException {
+    Optional<String> fingerprint = computeFingerprint(classLoader, resource);
+    if (!fingerprint.isPresent()) {
+      return PropertiesUtils.discoverProperties(classLoader, resource);
+    }
+
+    Path snapshotFile = getSnapshotFile(resource);
+    Optional<List<Properties>> snapshot = load(snapshotFile, fingerprint.get());
+    if (snapshot.isPresent()) {
+      LOGGER.debug("Using module discovery snapshot from '{}'", snapshotFile);
+      return snapshot.get();
+    }
+
+    List<Properties> discovered = PropertiesUtils.discoverProperties(classLoader, resource);
+    store(snapshotFile, fingerprint.get(), discovered);
+    return discovered;
+  }
+
+  private Path getSnapshotFile(String resource) {
+    return new File(snapshotFolder, resource.replaceAll("[^A-Za-z0-9.-]", "_") + SNAPSHOT_EXTENSION).toPath();
+  }
+
+  private Optional<String> computeFingerprint(ClassLoader classLoader, String resource) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      update(digest, resource);
+      update(digest, getProperty("java.home"));
+      update(digest, getProperty("java.runtime.version"));
+
+      for (String jvmPath : new String[] {getProperty("java.class.path"), getProperty("jdk.module.path")}) {
+        if (jvmPath != null) {
+          for (String entry : jvmPath.split(pathSeparator)) {
+            if (!entry.isEmpty()) {
+              updateWithFiles(digest, new File(entry));
+            }
+          }
+        }
+      }
+
+      for (ClassLoader current = classLoader; current != null; current = current.getParent()) {
+        if (current instanceof URLClassLoader) {
+          for (URL url : ((URLClassLoader) current).getURLs()) {
+            if (!"file".equals(url.getProtocol())) {
+              LOGGER.debug("Class loader '{}' has non file URL '{}', module discovery snapshot can't be used", current, url);
+              return empty();
+            }
+            updateWithFiles(digest, new File(url.toURI()));
+          }
+        }
+      }
+
+      for (File distributionFolder : distributionFolders) {
+        updateWithFiles(digest, distributionFolder);
+      }
+
+      StringBuilder fingerprint = new StringBuilder();
+      for (byte b : digest.digest()) {
+        fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return of(fingerprint.toString());
+    } catch (NoSuchAlgorithmException | URISyntaxException | RuntimeException e) {
+      LOGGER.debug("Could not compute the module discovery fingerprint, modules will be discovered", e);
+      return empty();
+    }
+  }
+
+  private void updateWithFiles(MessageDigest digest, File file) {
+    update(digest, file.getAbsolutePath());
+    if (file.equals(snapshotFolder)) {
+      // The snapshots themselves are not an input of the discovery
+      return;
+    }
+    if (file.isDirectory()) {
+      File[] children = file.listFiles();
+      if (children != null) {
+        sort(children);
+        for (File child : children) {
+          updateWithFiles(digest, child);
+        }
+      }
+    } else {
+      update(digest, file.length() + ":" + file.lastModified());
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    if (value != null) {
+      digest.update(value.getBytes(UTF_8));
+    }
+    digest.update((byte) 0);
+  }
+
+  private Optional<List<Properties>> load(Path snapshotFile, String fingerprint) {
+    if (!snapshotFile.toFile().isFile()) {
+      return empty();
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(newInputStream(snapshotFile)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(fingerprint)) {
+        LOGGER.debug("Module discovery snapshot '{}' doesn't match the distribution, modules will be discovered", snapshotFile);
+        return empty();
+      }
+
+      int propertiesCount = in.readInt();
+      List<Properties> result = new LinkedList<>();
+      for (int i = 0; i < propertiesCount; i++) {
+        Properties properties = new OrderedProperties();
+        int entriesCount = in.readInt();
+        for (int j = 0; j < entriesCount; j++) {
+          properties.put(readString(in), readString(in));
+        }
+        result.add(properties);
+      }
+      return of(result);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Could not read module discovery snapshot '{}', modules will be discovered", snapshotFile, e);
+      return empty();
+    }
+  }
+
+  private void store(Path snapshotFile, String fingerprint, List<Properties> discovered) {
+    Path tempFile = null;
+    try {
+      createDirectories(snapshotFile.getParent());
+      tempFile = createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(), ".tmp");
+
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(newOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(fingerprint);
+        out.writeInt(discovered.size());
+        for (Properties properties : discovered) {
+          List<Entry<Object, Object>> entries = new ArrayList<>(properties.entrySet());
+          out.writeInt(entries.size());
+          for (Entry<Object, Object> entry : entries) {
+            writeString(out, (String) entry.getKey());
+            writeString(out, (String) entry.getValue());
+          }
+        }
+      }
+
+      // The file is replaced atomically so a concurrent or interrupted boot never reads a partially written file
+      move(tempFile, snapshotFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Could not persist module discovery snapshot to '{}'", snapshotFile, e);
+      if (tempFile != null) {
+        try {
+          deleteIfExists(tempFile);
+        } catch (IOException deleteException) {
+          LOGGER.debug("Could not delete '{}'", tempFile, deleteException);
+        }
+      }
+    }
+  }
+
+  // Exported packages lists may exceed the length supported by writeUTF
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.container.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class ModuleDiscoverySnapshotTestCase extends AbstractMuleTestCase {
+
+  private static final String MODULE_PROPERTIES = "META-INF/test-module.properties";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File moduleProperties;
+  private CountingClassLoader classLoader;
+  private ModuleDiscoverySnapshot snapshot;
+
+  @Before
+  public void before() throws IOException {
+    File classesFolder = temporaryFolder.newFolder("classes");
+    moduleProperties = new File(classesFolder, MODULE_PROPERTIES);
+    writeStringToFile(moduleProperties, "module.name=first", UTF_8);
+    classLoader = new CountingClassLoader(classesFolder.toURI().toURL());
+    snapshot = new ModuleDiscoverySnapshot(temporaryFolder.newFolder("snapshot"), emptyList());
+  }
+
+  @After
+  public void after() throws IOException {
+    classLoader.close();
+  }
+
+  @Test
+  public void snapshotIsUsedOnNextDiscovery() throws IOException {
+    List<Properties> discovered = snapshot.discoverProperties(classLoader, MODULE_PROPERTIES);
+    List<Properties> fromSnapshot = snapshot.discoverProperties(classLoader, MODULE_PROPERTIES);
+
+    assertThat(classLoader.lookups, is(1));
+    assertThat(fromSnapshot, hasSize(1));
+    assertThat(fromSnapshot.get(0), is(discovered.get(0)));
+    assertThat(fromSnapshot.get(0).getProperty("module.name"), is("first"));
+  }
+
+  @Test
+  public void snapshotIsNotUsedWhenAFileChanged() throws IOException {
+    snapshot.discoverProperties(classLoader, MODULE_PROPERTIES);
+    writeStringToFile(moduleProperties, "module.name=changed", UTF_8);
+
+    List<Properties> discovered = snapshot.discoverProperties(classLoader, MODULE_PROPERTIES);
+
+    assertThat(classLoader.lookups, is(2));
+    assertThat(discovered.get(0).getProperty("module.name"), is("changed"));
+  }
+
+  @Test
+  public void snapshotIsNotSharedBetweenResources() throws IOException {
+    snapshot.discoverProperties(classLoader, MODULE_PROPERTIES);
+
+    assertThat(snapshot.discoverProperties(classLoader, "META-INF/other-module.properties"), hasSize(0));
+    assertThat(classLoader.lookups, is(2));
+  }
+
+  private static final class CountingClassLoader extends URLClassLoader {
+
+    private int lookups;
+
+    private CountingClassLoader(URL url) {
+      super(new URL[] {url}, null);
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+      lookups++;
+      return super.getResources(name);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToSchedul
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.FAIL;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.core.internal.component.ComponentUtils.getFromAnnotatedObject;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.withSharedTimer;
 import static org.mule.runtime.core.privileged.event.PrivilegedEvent.setCurrentEvent;
 
 import static java.util.Collections.emptyList;
@@ -228,9 +229,10 @@ public class DefaultSchedulerMessageSource extends AbstractComponent
   }
 
   private void createScheduler() throws InitialisationException {
-    pollingExecutor = schedulerService
+    pollingExecutor = withSharedTimer(schedulerService
         .cpuLightScheduler(SchedulerConfig.config()
-            .withName(this.getClass().getName() + ".pollingExecutor - " + getLocation().getLocation()));
+            .withName(this.getClass().getName() + ".pollingExecutor - " + getLocation().getLocation())),
+                                      muleContext.getConfiguration().getId());
   }
 
   private void disposeScheduler() {
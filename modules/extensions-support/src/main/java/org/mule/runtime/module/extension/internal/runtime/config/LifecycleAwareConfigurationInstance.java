@@ -21,6 +21,7 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.time.TimeSupplier;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.connector.ConnectionManager;
@@ -81,6 +82,7 @@ public final class LifecycleAwareConfigurationInstance implements ConfigurationI
   private volatile boolean started = false;
 
   private ConnectivityTester connectivityTester;
+  private Scheduler pagingPrefetchScheduler;
 
   /**
    * Creates a new instance
@@ -161,6 +163,10 @@ public final class LifecycleAwareConfigurationInstance implements ConfigurationI
     if (started) {
       started = false;
       try {
+        if (pagingPrefetchScheduler != null) {
+          pagingPrefetchScheduler.stop();
+          pagingPrefetchScheduler = null;
+        }
         stopIfNeeded(value);
         if (connectionProvider.isPresent()) {
           if (connectivityTester == null) {
@@ -208,6 +214,19 @@ public final class LifecycleAwareConfigurationInstance implements ConfigurationI
     initialiseIfNeeded(value, true, muleContext);
   }
 
+  /**
+   * @return the IO scheduler where the paged operations executed with this configuration fetch their following pages ahead,
+   *         created the first time it is requested and stopped with this configuration.
+   * @since 4.10
+   */
+  public synchronized Scheduler getPagingPrefetchScheduler() {
+    if (pagingPrefetchScheduler == null) {
+      pagingPrefetchScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName(getName() + ".paging.prefetch"));
+    }
+    return pagingPrefetchScheduler;
+  }
+
   /**
    * {@inheritDoc}
    */
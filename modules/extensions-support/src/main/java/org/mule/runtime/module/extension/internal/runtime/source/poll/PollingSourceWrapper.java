@@ -16,6 +16,7 @@ import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedPersistent
 import static org.mule.runtime.api.store.ObjectStoreSettings.unmanagedTransient;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.withSharedTimer;
 import static org.mule.runtime.core.internal.util.ConcurrencyUtils.safeUnlock;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_HIGH;
 import static org.mule.runtime.module.extension.internal.runtime.source.poll.WatermarkStatus.ON_NEW_HIGH;
@@ -51,6 +52,7 @@ import org.mule.runtime.api.scheduler.SchedulingStrategy;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.core.api.util.func.CheckedRunnable;
@@ -127,6 +129,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
   @Inject
   private NotificationDispatcher notificationDispatcher;
 
+  @Inject
+  private MuleContext muleContext;
+
   private ObjectStore<Serializable> watermarkObjectStore;
   private ObjectStore<Serializable> inflightIdsObjectStore;
   private ObjectStore<Serializable> recentlyProcessedIds;
@@ -169,10 +174,10 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> implements R
       poll(sourceCallback);
       delegateRunnable.setDelegate(() -> poll(sourceCallback));
     } else {
-      executor = schedulerService.customScheduler(SchedulerConfig.config()
+      executor = withSharedTimer(schedulerService.customScheduler(SchedulerConfig.config()
           .withMaxConcurrentTasks(1)
           .withWaitAllowed(true)
-          .withName(formatKey("executor")));
+          .withName(formatKey("executor"))), muleContext.getConfiguration().getId());
       delegateRunnable = new DelegateRunnable(() -> poll(sourceCallback));
       scheduler.schedule(executor, delegateRunnable);
     }
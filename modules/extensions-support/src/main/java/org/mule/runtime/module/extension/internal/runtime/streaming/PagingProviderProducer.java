@@ -6,9 +6,16 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptyList;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.function.Function.identity;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.runtime.core.api.util.ExceptionUtils.extractConnectionException;
 import static org.mule.runtime.core.internal.util.FunctionalUtils.safely;
 import static org.mule.runtime.module.extension.internal.ExtensionProperties.COMPONENT_CONFIG_NAME;
@@ -25,6 +32,7 @@ import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.retry.policy.NoRetryPolicyTemplate;
@@ -34,20 +42,31 @@ import org.mule.runtime.core.api.util.func.CheckedSupplier;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
 import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContextAdapter;
+import org.mule.runtime.module.extension.internal.runtime.config.LifecycleAwareConfigurationInstance;
 import org.mule.runtime.module.extension.internal.runtime.config.MutableConfigurationStats;
 import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
+import org.slf4j.MDC;
 
 /**
  * Implementation of {@link Producer} that uses an instance of {@link PagingProvider} to get its results.
+ * <p>
+ * When a prefetch depth is set, the pages after the first one are fetched ahead on the IO scheduler of the configuration while
+ * the current one is being consumed, up to that amount of pages. Pages are still fetched one at a time and in order, so a sticky
+ * connection is never used concurrently, and with the context classloader and MDC of the operation execution. Prefetching is
+ * disabled when the operation takes part in an active transaction.
  *
  * @param <T> the type of the elements returned by the {@link PagingProvider}.
  * @since 3.5.0
@@ -60,6 +79,17 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   public static final String COULD_NOT_CREATE_A_CONNECTION_SUPPLIER =
       "Could not obtain a connection supplier for the configuration";
   public static final String COULD_NOT_EXECUTE = "Could not execute operation with connection";
+
+  /**
+   * Amount of pages to fetch ahead of the one being consumed. {@code 0}, the default, disables prefetching.
+   *
+   * @since 4.10
+   */
+  public static final String PAGING_PREFETCH_DEPTH_PROPERTY = SYSTEM_PROPERTY_PREFIX + "extensions.paging.prefetchDepth";
+
+  static final int MAX_PREFETCH_DEPTH = 16;
+  private static final int DEFAULT_PREFETCH_DEPTH = getInteger(PAGING_PREFETCH_DEPTH_PROPERTY, 0);
+
   private final ComponentTracer<CoreEvent> operationConnectionTracer;
   private PagingProvider<Object, T> delegate;
   private final ConfigurationInstance config;
@@ -72,6 +102,17 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
   private AtomicBoolean alreadyClosed = new AtomicBoolean(false);
   private final MutableConfigurationStats mutableStats;
 
+  private final int prefetchDepth;
+  private final Object delegateLock = new Object();
+  private final Deque<CompletableFuture<List<T>>> prefetchedPages = new ArrayDeque<>();
+  private CompletableFuture<List<T>> lastFetch = completedFuture(null);
+  private final Supplier<Scheduler> prefetchSchedulerSupplier;
+  private final ClassLoader executionClassLoader;
+  private final Map<String, String> executionMdc;
+  private Boolean prefetchEnabled;
+  private Scheduler prefetchScheduler;
+  private volatile boolean closed = false;
+
   public PagingProviderProducer(PagingProvider<Object, T> delegate,
                                 ConfigurationInstance config,
                                 ExecutionContextAdapter executionContext,
@@ -86,6 +127,27 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
                                 ExtensionConnectionSupplier extensionConnectionSupplier,
                                 boolean supportsOAuth,
                                 ComponentTracer<CoreEvent> operationConnectionTracer) {
+    this(delegate, config, executionContext, extensionConnectionSupplier, supportsOAuth, operationConnectionTracer,
+         DEFAULT_PREFETCH_DEPTH, () -> config instanceof LifecycleAwareConfigurationInstance
+             ? ((LifecycleAwareConfigurationInstance) config).getPagingPrefetchScheduler()
+             : null);
+  }
+
+  /**
+   * @param prefetchDepth             amount of pages to fetch ahead of the one being consumed, up to {@link #MAX_PREFETCH_DEPTH}.
+   *                                  {@code 0} disables prefetching.
+   * @param prefetchSchedulerSupplier provides the scheduler where pages are prefetched, owned by the caller. Only invoked when a
+   *                                  page is prefetched for the first time. Prefetching is disabled if it provides {@code null}.
+   * @since 4.10
+   */
+  public PagingProviderProducer(PagingProvider<Object, T> delegate,
+                                ConfigurationInstance config,
+                                ExecutionContextAdapter executionContext,
+                                ExtensionConnectionSupplier extensionConnectionSupplier,
+                                boolean supportsOAuth,
+                                ComponentTracer<CoreEvent> operationConnectionTracer,
+                                int prefetchDepth,
+                                Supplier<Scheduler> prefetchSchedulerSupplier) {
     this.delegate = new PagingProviderWrapper(delegate, executionContext.getExtensionModel());
     this.config = config;
     this.executionContext = executionContext;
@@ -95,15 +157,29 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
     connectionSupplierFactory = createConnectionSupplierFactory();
     mutableStats = getMutableConfigurationStats(executionContext);
     this.operationConnectionTracer = operationConnectionTracer;
+    this.prefetchDepth = min(max(prefetchDepth, 0), MAX_PREFETCH_DEPTH);
+    this.prefetchSchedulerSupplier = prefetchSchedulerSupplier;
+    this.executionClassLoader = currentThread().getContextClassLoader();
+    this.executionMdc = MDC.getCopyOfContextMap();
   }
 
   /**
-   * Asks the delegate for the next page
+   * Asks the delegate for the next page, or takes it from the ones already prefetched.
    */
   @Override
   public List<T> produce() {
-    List<T> page = performWithConnection(delegate::getPage);
-    isFirstPage = false;
+    if (closed) {
+      return emptyList();
+    }
+    if (isFirstPage || !isPrefetchEnabled()) {
+      List<T> page = fetchPage();
+      isFirstPage = false;
+      return page;
+    }
+
+    prefetch();
+    List<T> page = awaitPage(prefetchedPages.poll());
+    prefetch();
     return page;
   }
 
@@ -112,7 +188,87 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
    */
   @Override
   public int getSize() {
-    return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    synchronized (delegateLock) {
+      return performWithConnection(connection -> delegate.getTotalResults(connection)).orElse(-1);
+    }
+  }
+
+  private List<T> fetchPage() {
+    synchronized (delegateLock) {
+      if (closed) {
+        return emptyList();
+      }
+      return performWithConnection(delegate::getPage);
+    }
+  }
+
+  private boolean isPrefetchEnabled() {
+    if (prefetchEnabled == null) {
+      // A transactional connection is bound to the thread executing the flow
+      prefetchEnabled = prefetchDepth > 0 && !isPartOfActiveTransaction(config)
+          && (prefetchScheduler = prefetchSchedulerSupplier.get()) != null;
+    }
+    return prefetchEnabled;
+  }
+
+  /**
+   * Chains fetches for the following pages until {@link #prefetchDepth} pages are in flight or ready. Each fetch starts once the
+   * previous one completes, and no more pages are requested after an empty one.
+   */
+  private void prefetch() {
+    while (prefetchedPages.size() < prefetchDepth) {
+      lastFetch = lastFetch.thenApplyAsync(previous -> {
+        if (previous != null && previous.isEmpty()) {
+          return previous;
+        }
+        List<T> page = fetchPageWithExecutionContext();
+        return page != null ? page : emptyList();
+      }, prefetchScheduler);
+      prefetchedPages.add(lastFetch);
+    }
+  }
+
+  private List<T> awaitPage(CompletableFuture<List<T>> page) {
+    try {
+      return page.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_EXECUTE), e);
+    }
+  }
+
+  /**
+   * Fetches a page from a prefetch thread as if it was the thread that executed the operation, so the delegate sees the same
+   * context classloader and MDC with or without prefetching.
+   */
+  private List<T> fetchPageWithExecutionContext() {
+    Thread thread = currentThread();
+    ClassLoader outerClassLoader = thread.getContextClassLoader();
+    Map<String, String> outerMdc = MDC.getCopyOfContextMap();
+    setContextClassLoader(thread, outerClassLoader, executionClassLoader);
+    setMdc(executionMdc);
+    try {
+      return fetchPage();
+    } finally {
+      try {
+        setContextClassLoader(thread, executionClassLoader, outerClassLoader);
+      } finally {
+        setMdc(outerMdc);
+      }
+    }
+  }
+
+  private static void setMdc(Map<String, String> mdc) {
+    if (mdc != null) {
+      MDC.setContextMap(mdc);
+    } else {
+      MDC.clear();
+    }
   }
 
   /**
@@ -199,20 +355,27 @@ public final class PagingProviderProducer<T> implements Producer<List<T>> {
    */
   @Override
   public void close() {
-    ConnectionSupplier connectionSupplier = null;
-    try {
-      connectionSupplier = connectionSupplierFactory.getConnectionSupplier();
-      delegate.close(connectionSupplier.getConnection());
-    } catch (Exception e) {
-      throw new MuleRuntimeException(createStaticMessage(COULD_NOT_OBTAIN_A_CONNECTION), e);
-    } finally {
-      if (connectionSupplier != null) {
-        safely(connectionSupplier::close, e -> LOGGER.debug("Found exception closing the connection supplier", e));
-      }
-      if (mutableStats != null && alreadyClosed.compareAndSet(false, true)) {
-        mutableStats.discountActiveComponent();
+    closed = true;
+    prefetchedPages.forEach(page -> page.cancel(false));
+    prefetchedPages.clear();
+
+    // Waits for a fetch in progress, if any, so the delegate and the connection are not used after being closed
+    synchronized (delegateLock) {
+      ConnectionSupplier connectionSupplier = null;
+      try {
+        connectionSupplier = connectionSupplierFactory.getConnectionSupplier();
+        delegate.close(connectionSupplier.getConnection());
+      } catch (Exception e) {
+        throw new MuleRuntimeException(createStaticMessage(COULD_NOT_OBTAIN_A_CONNECTION), e);
+      } finally {
+        if (connectionSupplier != null) {
+          safely(connectionSupplier::close, e -> LOGGER.debug("Found exception closing the connection supplier", e));
+        }
+        if (mutableStats != null && alreadyClosed.compareAndSet(false, true)) {
+          mutableStats.discountActiveComponent();
+        }
+        connectionSupplierFactory.dispose();
       }
-      connectionSupplierFactory.dispose();
     }
   }
 
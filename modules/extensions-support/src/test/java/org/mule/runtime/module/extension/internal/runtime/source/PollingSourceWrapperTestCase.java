@@ -35,6 +35,7 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.scheduler.SchedulingStrategy;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.core.api.util.UUID;
 import org.mule.runtime.core.internal.logger.CustomLogger;
@@ -90,6 +91,9 @@ public class PollingSourceWrapperTestCase {
   @Mock
   private ComponentLocation componentLocationMock;
 
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private MuleContext muleContextMock;
+
   @Mock(answer = Answers.RETURNS_DEEP_STUBS)
   private SourceCallback callbackMock;
 
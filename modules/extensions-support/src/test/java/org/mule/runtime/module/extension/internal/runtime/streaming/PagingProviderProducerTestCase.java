@@ -6,17 +6,24 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.streaming;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.of;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -34,15 +41,22 @@ import org.mule.runtime.module.extension.api.runtime.privileged.ExecutionContext
 import org.mule.runtime.module.extension.internal.runtime.connectivity.ExtensionConnectionSupplier;
 import org.mule.runtime.tracer.api.component.ComponentTracer;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
+import org.mule.tck.SimpleUnitTestSupportScheduler;
 import org.mule.tck.size.SmallTest;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.slf4j.MDC;
 
 @SmallTest
 public class PagingProviderProducerTestCase {
@@ -55,6 +69,9 @@ public class PagingProviderProducerTestCase {
   private final PagingProvider<Object, String> delegate = mock(PagingProvider.class);
   private final ConfigurationInstance config = mock(ConfigurationInstance.class);
 
+  private final SimpleUnitTestSupportScheduler prefetchScheduler =
+      new SimpleUnitTestSupportScheduler(1, Thread::new, new AbortPolicy());
+
   private PagingProviderProducer<String> producer;
 
   private PagingProviderProducer<String> createProducer() {
@@ -77,6 +94,16 @@ public class PagingProviderProducerTestCase {
     when(extensionConnectionSupplier.getConnection(eq(executionContext), any())).thenReturn(handler);
   }
 
+  @After
+  public void tearDown() {
+    prefetchScheduler.shutdownNow();
+  }
+
+  private PagingProviderProducer<String> createPrefetchingProducer(int prefetchDepth) {
+    return new PagingProviderProducer<>(delegate, config, executionContext, extensionConnectionSupplier, false,
+                                        mock(ComponentTracer.class), prefetchDepth, () -> prefetchScheduler);
+  }
+
   @Test
   public void produce() throws Exception {
     List<String> page = asList("bleh");
@@ -197,4 +224,111 @@ public class PagingProviderProducerTestCase {
     verify(delegate, times(1)).close(any());
     verify(connectionHandler, times(1)).release();
   }
+
+  @Test
+  public void prefetchNextPages() throws Exception {
+    List<String> page1 = asList("a");
+    List<String> page2 = asList("b");
+    List<String> page3 = asList("c");
+    when(delegate.getPage(any())).thenReturn(page1, page2, page3, emptyList());
+    producer = createPrefetchingProducer(2);
+
+    assertThat(producer.produce(), sameInstance(page1));
+    verify(delegate, times(1)).getPage(any());
+
+    assertThat(producer.produce(), sameInstance(page2));
+    verify(delegate, timeout(5000).times(4)).getPage(any());
+
+    assertThat(producer.produce(), sameInstance(page3));
+    assertThat(producer.produce(), is(emptyList()));
+    assertThat(producer.produce(), is(emptyList()));
+    verify(delegate, times(4)).getPage(any());
+  }
+
+  @Test
+  public void prefetchWithStickyConnection() throws Exception {
+    when(delegate.useStickyConnections()).thenReturn(true);
+    when(delegate.getPage(any())).thenReturn(asList("a"), asList("b"), asList("c"), emptyList());
+    ConnectionHandler connectionHandler = mock(ConnectionHandler.class);
+    when(extensionConnectionSupplier.getConnection(any(), any())).thenReturn(connectionHandler);
+    producer = createPrefetchingProducer(3);
+
+    while (!producer.produce().isEmpty()) {
+      // consume all pages
+    }
+
+    verify(connectionHandler, times(1)).getConnection();
+    verify(connectionHandler, never()).release();
+
+    producer.close();
+    verify(connectionHandler).release();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void prefetchFailureThrownWhenPageConsumed() throws Exception {
+    when(delegate.getPage(any())).thenReturn(asList("a")).thenThrow(new IllegalArgumentException("Invalid arguments"));
+    producer = createPrefetchingProducer(1);
+
+    producer.produce();
+    producer.produce();
+  }
+
+  @Test
+  public void closeStopsPrefetching() throws Exception {
+    when(delegate.getPage(any())).thenReturn(asList("a"));
+    producer = createPrefetchingProducer(2);
+
+    producer.produce();
+    producer.produce();
+    producer.close();
+
+    verify(delegate).close(any());
+    verify(delegate, atMost(4)).getPage(any());
+    assertThat(producer.produce(), is(emptyList()));
+    assertThat(prefetchScheduler.isShutdown(), is(false));
+  }
+
+  @Test
+  public void prefetchWithExecutionContext() throws Exception {
+    ClassLoader outerClassLoader = currentThread().getContextClassLoader();
+    ClassLoader executionClassLoader = new URLClassLoader(new URL[0], outerClassLoader);
+    ClassLoader extensionClassLoader = new URLClassLoader(new URL[0], outerClassLoader);
+    when(executionContext.getExtensionModel().getModelProperty(ClassLoaderModelProperty.class))
+        .thenReturn(of(new ClassLoaderModelProperty(extensionClassLoader)));
+
+    List<ClassLoader> pageClassLoaders = new CopyOnWriteArrayList<>();
+    when(delegate.getPage(any())).thenAnswer(invocation -> {
+      pageClassLoaders.add(currentThread().getContextClassLoader());
+      return pageClassLoaders.size() < 4 ? asList("a") : emptyList();
+    });
+    List<ClassLoader> connectionClassLoaders = new CopyOnWriteArrayList<>();
+    List<String> connectionMdcValues = new CopyOnWriteArrayList<>();
+    ConnectionHandler handler = mock(ConnectionHandler.class);
+    when(handler.getConnection()).thenReturn(new Object());
+    when(extensionConnectionSupplier.getConnection(eq(executionContext), any())).thenAnswer(invocation -> {
+      connectionClassLoaders.add(currentThread().getContextClassLoader());
+      connectionMdcValues.add(MDC.get("correlationId"));
+      return handler;
+    });
+
+    currentThread().setContextClassLoader(executionClassLoader);
+    MDC.put("correlationId", "execution");
+    try {
+      producer = createPrefetchingProducer(2);
+    } finally {
+      MDC.remove("correlationId");
+      currentThread().setContextClassLoader(outerClassLoader);
+    }
+    while (!producer.produce().isEmpty()) {
+      // consume all pages
+    }
+
+    assertThat(pageClassLoaders, hasSize(4));
+    assertThat(pageClassLoaders, everyItem(sameInstance(extensionClassLoader)));
+    assertThat(connectionClassLoaders, hasSize(4));
+    assertThat(connectionClassLoaders.subList(1, 4), everyItem(sameInstance(executionClassLoader)));
+    assertThat(connectionMdcValues.subList(1, 4), everyItem(is("execution")));
+    assertThat(prefetchScheduler.submit(() -> currentThread().getContextClassLoader()).get(), sameInstance(outerClassLoader));
+    assertThat(prefetchScheduler.submit(() -> MDC.get("correlationId")).get(), is(nullValue()));
+  }
 }
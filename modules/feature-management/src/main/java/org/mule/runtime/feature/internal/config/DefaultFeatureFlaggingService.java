@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.feature.internal.config;
 
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.ENABLED;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.NOT_RESOLVED;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.getFeatureIndex;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.indexFeature;
 import static org.mule.runtime.feature.internal.togglz.MuleTogglzFeatureManagerProvider.FEATURE_PROVIDER;
 import static org.mule.runtime.feature.internal.togglz.config.MuleTogglzFeatureFlaggingUtils.addMuleTogglzRuntimeFeature;
 import static org.mule.runtime.feature.internal.togglz.config.MuleTogglzFeatureFlaggingUtils.getFeatureState;
@@ -20,6 +24,7 @@ import org.mule.runtime.feature.internal.config.profiling.ProfilingDataProducerS
 import org.mule.runtime.feature.internal.config.profiling.ProfilingFeatureFlaggingService;
 import org.mule.runtime.feature.internal.togglz.config.MuleTogglzManagedArtifactFeatures;
 import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.feature.internal.togglz.state.MuleTogglzFeatureState;
 import org.mule.runtime.feature.internal.togglz.user.MuleTogglzArtifactFeatureUser;
 import org.togglz.core.Feature;
 import org.togglz.core.context.FeatureContext;
@@ -37,11 +42,29 @@ public class DefaultFeatureFlaggingService implements ProfilingFeatureFlaggingSe
 
   private final FeatureUser featureUser;
   private final MuleTogglzManagedArtifactFeatures features;
+  private final int[] featureIndexes;
+  private final FeatureState[] featureStates;
+  private final Runnable featureStatesRefresher = this::refreshResolvedFeatures;
+  private volatile ResolvedFeatures resolvedFeatures;
 
   public DefaultFeatureFlaggingService(String artifactId, Map<org.mule.runtime.api.config.Feature, Boolean> features) {
     registerFeatures(features.keySet());
     featureUser = new MuleTogglzArtifactFeatureUser(artifactId);
     this.features = getTogglzManagedArtifactFeatures(artifactId, features);
+
+    featureIndexes = new int[features.size()];
+    featureStates = new FeatureState[features.size()];
+    int i = 0;
+    for (org.mule.runtime.api.config.Feature feature : features.keySet()) {
+      featureIndexes[i] = indexFeature(feature);
+      featureStates[i] = this.features.get(FEATURE_PROVIDER.getRuntimeTogglzFeature(feature));
+      if (featureStates[i] instanceof MuleTogglzFeatureState) {
+        // States can still change after start, for instance through the feature management service
+        ((MuleTogglzFeatureState) featureStates[i]).addStateListener(featureStatesRefresher);
+      }
+      i++;
+    }
+    resolvedFeatures = new ResolvedFeatures(featureIndexes, featureStates);
   }
 
   private void registerFeatures(Set<org.mule.runtime.api.config.Feature> features) {
@@ -52,6 +75,11 @@ public class DefaultFeatureFlaggingService implements ProfilingFeatureFlaggingSe
 
   @Override
   public boolean isEnabled(org.mule.runtime.api.config.Feature feature) {
+    int featureState = resolvedFeatures.getState(getFeatureIndex(feature));
+    if (featureState != NOT_RESOLVED) {
+      return featureState == ENABLED;
+    }
+
     Feature togglzFeature = FEATURE_PROVIDER.getRuntimeTogglzFeature(feature);
 
     // If the feature state is not precalculated for this context, it is calculated.
@@ -62,8 +90,18 @@ public class DefaultFeatureFlaggingService implements ProfilingFeatureFlaggingSe
     return features.get(togglzFeature).isEnabled();
   }
 
+  private synchronized void refreshResolvedFeatures() {
+    // Synchronized so the snapshot taken last, which sees every change made so far, is the one kept
+    resolvedFeatures = new ResolvedFeatures(featureIndexes, featureStates);
+  }
+
   @Override
   public void dispose() {
+    for (FeatureState featureState : featureStates) {
+      if (featureState instanceof MuleTogglzFeatureState) {
+        ((MuleTogglzFeatureState) featureState).removeStateListener(featureStatesRefresher);
+      }
+    }
     features.dispose();
   }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.feature.internal.config;
+
+import org.mule.runtime.api.config.Feature;
+import org.mule.runtime.api.config.MuleRuntimeFeature;
+import org.togglz.core.repository.FeatureState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable snapshot of the states of the features of an artifact, stored as two bits per feature (whether it is resolved and
+ * whether it is enabled) so checking a feature is a single bit test on one array element.
+ * <p>
+ * {@link MuleRuntimeFeature}s are indexed by their ordinal. Any other {@link Feature} gets an index after those the first time it
+ * is resolved for any artifact, shared by all the snapshots.
+ *
+ * @since 4.10
+ */
+final class ResolvedFeatures {
+
+  static final int NOT_RESOLVED = 0;
+  static final int DISABLED = 1;
+  static final int ENABLED = 3;
+
+  private static final int RUNTIME_FEATURES_COUNT = MuleRuntimeFeature.values().length;
+  private static final Map<Feature, Integer> FEATURE_INDEXES = new ConcurrentHashMap<>();
+  private static final AtomicInteger NEXT_FEATURE_INDEX = new AtomicInteger(RUNTIME_FEATURES_COUNT);
+
+  private final long[] states;
+
+  /**
+   * @param featureIndexes the indexes of the features of the artifact.
+   * @param featureStates  the states of the features of the artifact, in the same order as {@code featureIndexes}.
+   */
+  ResolvedFeatures(int[] featureIndexes, FeatureState[] featureStates) {
+    int maxIndex = -1;
+    for (int featureIndex : featureIndexes) {
+      maxIndex = Math.max(maxIndex, featureIndex);
+    }
+
+    this.states = new long[(maxIndex >> 5) + 1];
+    for (int i = 0; i < featureIndexes.length; i++) {
+      int featureIndex = featureIndexes[i];
+      long state = featureStates[i].isEnabled() ? ENABLED : DISABLED;
+      states[featureIndex >> 5] |= state << (featureIndex << 1);
+    }
+  }
+
+  /**
+   * @param feature a {@link Feature} to be resolved for an artifact.
+   * @return the index of the feature, assigning one if it didn't have it yet.
+   */
+  static int indexFeature(Feature feature) {
+    if (feature instanceof MuleRuntimeFeature) {
+      return ((MuleRuntimeFeature) feature).ordinal();
+    }
+    return FEATURE_INDEXES.computeIfAbsent(feature, f -> NEXT_FEATURE_INDEX.getAndIncrement());
+  }
+
+  /**
+   * @param feature a {@link Feature}.
+   * @return the index of the feature, or {@code -1} if it was never resolved for any artifact.
+   */
+  static int getFeatureIndex(Feature feature) {
+    if (feature instanceof MuleRuntimeFeature) {
+      return ((MuleRuntimeFeature) feature).ordinal();
+    }
+    Integer featureIndex = FEATURE_INDEXES.get(feature);
+    return featureIndex == null ? -1 : featureIndex;
+  }
+
+  /**
+   * @param featureIndex the index of a feature, as returned by {@link #getFeatureIndex(Feature)}.
+   * @return {@link #ENABLED} or {@link #DISABLED} if the feature has a state in this snapshot, {@link #NOT_RESOLVED} otherwise.
+   */
+  int getState(int featureIndex) {
+    if (featureIndex < 0 || (featureIndex >> 5) >= states.length) {
+      return NOT_RESOLVED;
+    }
+    return (int) (states[featureIndex >> 5] >>> (featureIndex << 1)) & ENABLED;
+  }
+}
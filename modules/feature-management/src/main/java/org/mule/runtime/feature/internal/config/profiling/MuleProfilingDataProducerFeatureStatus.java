@@ -9,6 +9,7 @@ package org.mule.runtime.feature.internal.config.profiling;
 import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static org.mule.runtime.feature.internal.togglz.config.MuleTogglzFeatureFlaggingUtils.getFeatureState;
 import static org.mule.runtime.feature.internal.togglz.config.MuleTogglzFeatureFlaggingUtils.withFeatureUser;
+import static org.mule.runtime.feature.internal.togglz.state.MuleTogglzFeatureState.getStatesVersion;
 
 import org.mule.runtime.api.profiling.type.ProfilingEventType;
 import org.mule.runtime.feature.internal.togglz.MuleTogglzProfilingFeature;
@@ -30,6 +31,7 @@ public class MuleProfilingDataProducerFeatureStatus implements ProfilingDataProd
   private final DefaultMuleTogglzFeatureProvider featureProvider;
   private final ProfilingEventType<?> profilingEventType;
   private final FeatureUser featureUser;
+  private volatile EnabledSnapshot enabledSnapshot;
 
   public MuleProfilingDataProducerFeatureStatus(ProfilingEventType<?> profilingEventType,
                                                 DefaultMuleTogglzFeatureProvider featureProvider,
@@ -48,15 +50,34 @@ public class MuleProfilingDataProducerFeatureStatus implements ProfilingDataProd
         profilingFeaturesStates.add(getFeatureState(feature));
       }
     });
+    enabledSnapshot = null;
   }
 
   @Override
   public boolean isEnabled() {
-    return profilingFeaturesStates.stream().anyMatch(FeatureState::isEnabled);
+    EnabledSnapshot current = enabledSnapshot;
+    long statesVersion = getStatesVersion();
+    if (current == null || current.statesVersion != statesVersion) {
+      // A profiling feature was toggled, the snapshot is swapped so the checks in between don't go through the states
+      current = new EnabledSnapshot(statesVersion, profilingFeaturesStates.stream().anyMatch(FeatureState::isEnabled));
+      enabledSnapshot = current;
+    }
+    return current.enabled;
   }
 
   @Override
   public void reset() {
     resetFeatureStates();
   }
+
+  private static final class EnabledSnapshot {
+
+    private final long statesVersion;
+    private final boolean enabled;
+
+    private EnabledSnapshot(long statesVersion, boolean enabled) {
+      this.statesVersion = statesVersion;
+      this.enabled = enabled;
+    }
+  }
 }
@@ -12,6 +12,10 @@ import org.mule.runtime.feature.internal.togglz.scope.MuleTogglzFeatureScope;
 import org.togglz.core.Feature;
 import org.togglz.core.repository.FeatureState;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * This represents a Mule Togglz Feature State.
  *
@@ -19,8 +23,11 @@ import org.togglz.core.repository.FeatureState;
  */
 public class MuleTogglzFeatureState extends FeatureState implements Disposable {
 
+  private static final AtomicLong STATES_VERSION = new AtomicLong();
+
   private final MuleTogglzFeatureStateRepository stateRepository;
   private final MuleTogglzFeatureScope scope;
+  private final List<Runnable> stateListeners = new CopyOnWriteArrayList<>();
 
   /**
    * A Mule Togglz Feature Wrapper for a {@link FeatureState}
@@ -45,6 +52,39 @@ public class MuleTogglzFeatureState extends FeatureState implements Disposable {
     this.stateRepository = stateRepository;
   }
 
+  /**
+   * @return a number that changes every time a {@link MuleTogglzFeatureState} is enabled or disabled. Used to know when a
+   *         snapshot of feature states has to be taken again.
+   */
+  public static long getStatesVersion() {
+    return STATES_VERSION.get();
+  }
+
+  /**
+   * @param stateListener called every time this state is enabled or disabled, after the change.
+   */
+  public void addStateListener(Runnable stateListener) {
+    stateListeners.add(stateListener);
+  }
+
+  /**
+   * @param stateListener a listener previously added with {@link #addStateListener(Runnable)}.
+   */
+  public void removeStateListener(Runnable stateListener) {
+    stateListeners.remove(stateListener);
+  }
+
+  @Override
+  public FeatureState setEnabled(boolean enabled) {
+    super.setEnabled(enabled);
+    // The version changes after the state, so snapshots taken before this point are refreshed
+    STATES_VERSION.incrementAndGet();
+    for (Runnable stateListener : stateListeners) {
+      stateListener.run();
+    }
+    return this;
+  }
+
   @Override
   public void dispose() {
     stateRepository.removeFeatureState(this);
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.feature.internal.config;
+
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.DISABLED;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.ENABLED;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.NOT_RESOLVED;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.getFeatureIndex;
+import static org.mule.runtime.feature.internal.config.ResolvedFeatures.indexFeature;
+import static org.mule.runtime.feature.internal.togglz.state.MuleTogglzFeatureState.getStatesVersion;
+import static org.mule.test.allure.AllureConstants.DeploymentConfiguration.DEPLOYMENT_CONFIGURATION;
+import static org.mule.test.allure.AllureConstants.DeploymentConfiguration.FeatureFlaggingStory.FEATURE_FLAGGING;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.config.Feature;
+import org.mule.runtime.api.config.MuleRuntimeFeature;
+import org.mule.runtime.feature.internal.togglz.state.MuleTogglzFeatureState;
+import org.mule.runtime.feature.internal.togglz.state.MuleTogglzFeatureStateRepository;
+
+import io.qameta.allure.Story;
+import org.junit.Test;
+import org.togglz.core.repository.FeatureState;
+
+@io.qameta.allure.Feature(DEPLOYMENT_CONFIGURATION)
+@Story(FEATURE_FLAGGING)
+public class ResolvedFeaturesTestCase {
+
+  @Test
+  public void featureStatesAreResolved() {
+    int enabledIndex = indexFeature(mock(Feature.class));
+    int disabledIndex = indexFeature(mock(Feature.class));
+    Feature notResolvedFeature = mock(Feature.class);
+    int notResolvedIndex = indexFeature(notResolvedFeature);
+
+    ResolvedFeatures resolvedFeatures =
+        new ResolvedFeatures(new int[] {enabledIndex, disabledIndex},
+                             new FeatureState[] {new FeatureState(mock(org.togglz.core.Feature.class), true),
+                                 new FeatureState(mock(org.togglz.core.Feature.class), false)});
+
+    assertThat(resolvedFeatures.getState(enabledIndex), is(ENABLED));
+    assertThat(resolvedFeatures.getState(disabledIndex), is(DISABLED));
+    assertThat(getFeatureIndex(notResolvedFeature), is(notResolvedIndex));
+    assertThat(resolvedFeatures.getState(notResolvedIndex), is(NOT_RESOLVED));
+    assertThat(resolvedFeatures.getState(getFeatureIndex(mock(Feature.class))), is(NOT_RESOLVED));
+  }
+
+  @Test
+  public void runtimeFeaturesAreIndexedByOrdinal() {
+    MuleRuntimeFeature runtimeFeature = MuleRuntimeFeature.values()[MuleRuntimeFeature.values().length - 1];
+
+    assertThat(getFeatureIndex(runtimeFeature), is(runtimeFeature.ordinal()));
+    assertThat(indexFeature(runtimeFeature), is(runtimeFeature.ordinal()));
+    assertThat(indexFeature(mock(Feature.class)), is(greaterThanOrEqualTo(MuleRuntimeFeature.values().length)));
+  }
+
+  @Test
+  public void featureIndexIsStable() {
+    Feature feature = mock(Feature.class);
+
+    assertThat(indexFeature(feature), is(indexFeature(feature)));
+    assertThat(getFeatureIndex(feature), is(indexFeature(feature)));
+  }
+
+  @Test
+  public void statesVersionChangesWhenAStateChanges() {
+    MuleTogglzFeatureState featureState = new MuleTogglzFeatureState(mock(org.togglz.core.Feature.class),
+                                                                     mock(MuleTogglzFeatureStateRepository.class), null);
+    long statesVersion = getStatesVersion();
+
+    featureState.setEnabled(true);
+
+    assertThat(getStatesVersion(), is(greaterThan(statesVersion)));
+  }
+
+  @Test
+  public void stateListenersAreNotifiedWhenAStateChanges() {
+    MuleTogglzFeatureState featureState = new MuleTogglzFeatureState(mock(org.togglz.core.Feature.class),
+                                                                     mock(MuleTogglzFeatureStateRepository.class), null);
+    Runnable stateListener = mock(Runnable.class);
+    featureState.addStateListener(stateListener);
+
+    featureState.setEnabled(true);
+    featureState.removeStateListener(stateListener);
+    featureState.setEnabled(false);
+
+    verify(stateListener, times(1)).run();
+  }
+}
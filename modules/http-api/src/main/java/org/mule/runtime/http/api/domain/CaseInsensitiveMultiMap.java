@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.http.api.domain;
 
+import static org.mule.runtime.http.api.server.HttpServerProperties.COMPACT_HEADERS_MAP;
+
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 
@@ -67,6 +69,21 @@ public class CaseInsensitiveMultiMap extends AbstractCaseInsensitiveMultiMap {
     }
   }
 
+  /**
+   * Returns a new case-insensitive-multi-map tuned for holding the headers of an HTTP message.
+   * <p>
+   * It behaves the same as one created with {@link #CaseInsensitiveMultiMap(boolean)}, but lookups and insertions of keys don't
+   * allocate lowercase copies of them, and the names of well known headers are resolved to shared constants. Its layout favors
+   * the small amount of entries HTTP messages usually have.
+   *
+   * @param optimized whether the keys are to be stored (and returned) in lowercase.
+   * @return a new case-insensitive-multi-map for HTTP headers
+   * @since 4.10
+   */
+  public static CaseInsensitiveMultiMap headersMultiMap(boolean optimized) {
+    return new CaseInsensitiveMultiMap(optimized, COMPACT_HEADERS_MAP);
+  }
+
   protected final boolean optimized;
 
   public CaseInsensitiveMultiMap() {
@@ -74,10 +91,18 @@ public class CaseInsensitiveMultiMap extends AbstractCaseInsensitiveMultiMap {
   }
 
   public CaseInsensitiveMultiMap(boolean optimized) {
+    this(optimized, false);
+  }
+
+  private CaseInsensitiveMultiMap(boolean optimized, boolean compact) {
     this.optimized = optimized;
-    this.paramsMap = optimized
-        ? new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>())
-        : new CaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    if (compact) {
+      this.paramsMap = new CompactCaseInsensitiveMap<>(!optimized);
+    } else {
+      this.paramsMap = optimized
+          ? new OptimizedCaseInsensitiveMapWrapper<>(new LinkedHashMap<>())
+          : new CaseInsensitiveMapWrapper<>(new LinkedHashMap<>());
+    }
   }
 
   public CaseInsensitiveMultiMap(MultiMap<String, String> paramsMap) {
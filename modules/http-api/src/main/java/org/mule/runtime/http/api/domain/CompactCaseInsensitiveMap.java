@@ -0,0 +1,448 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.highestOneBit;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.http.api.HttpHeaders;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Case-insensitive {@link Map} tuned for HTTP headers.
+ * <p>
+ * Entries are kept in insertion order in parallel arrays, which are scanned linearly while the map is small (the usual case for
+ * HTTP messages) and indexed by an open addressing table once it grows. Keys are compared and hashed folding their case char by
+ * char, so no lowercase copy of the key is created for lookups.
+ * <p>
+ * Unless the case of the keys is preserved, keys are returned in lowercase. The names of the well known headers from
+ * {@link HttpHeaders.Names} are resolved to a shared lowercase constant, so lowercasing them doesn't allocate either. The case
+ * the keys had when first put into the map is kept anyway, and is available through {@link #asCaseSensitiveMap()}.
+ *
+ * @param <T> The class of the values referenced in the map.
+ *
+ * @since 4.10
+ */
+final class CompactCaseInsensitiveMap<T> extends AbstractMap<String, T> implements Serializable {
+
+  private static final long serialVersionUID = 1630208843208524113L;
+
+  private static final int LINEAR_SCAN_THRESHOLD = 16;
+  private static final int INITIAL_CAPACITY = 8;
+
+  private static final String[] WELL_KNOWN_NAMES;
+  private static final int[] WELL_KNOWN_HASHES;
+
+  static {
+    List<String> names = new ArrayList<>();
+    for (Field field : HttpHeaders.Names.class.getFields()) {
+      if (isStatic(field.getModifiers()) && field.getType() == String.class) {
+        try {
+          names.add(lowerCase((String) field.get(null)));
+        } catch (IllegalAccessException e) {
+          // public constant, can't happen
+          throw new IllegalStateException(e);
+        }
+      }
+    }
+
+    WELL_KNOWN_NAMES = new String[highestOneBit(names.size()) << 2];
+    WELL_KNOWN_HASHES = new int[WELL_KNOWN_NAMES.length];
+    for (String name : names) {
+      int hash = hash(name);
+      int mask = WELL_KNOWN_NAMES.length - 1;
+      int slot = spread(hash) & mask;
+      while (WELL_KNOWN_NAMES[slot] != null && !WELL_KNOWN_NAMES[slot].equals(name)) {
+        slot = (slot + 1) & mask;
+      }
+      WELL_KNOWN_NAMES[slot] = name;
+      WELL_KNOWN_HASHES[slot] = hash;
+    }
+  }
+
+  private final boolean preserveCase;
+
+  private String[] keys = new String[INITIAL_CAPACITY];
+  // The keys with the case they had when first put into the map. Same as keys when the case is preserved.
+  private String[] originalKeys;
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private Object[] values = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  // Position + 1 of the entry for each slot, 0 meaning an empty slot. Only built when the map outgrows the linear scan.
+  private transient int[] index;
+  private transient int modCount;
+  private transient Set<Entry<String, T>> entrySet;
+
+  /**
+   * @param preserveCase whether the keys are to be returned with the case they had when first put into the map, or in lowercase.
+   */
+  CompactCaseInsensitiveMap(boolean preserveCase) {
+    this.preserveCase = preserveCase;
+    this.originalKeys = preserveCase ? keys : new String[INITIAL_CAPACITY];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return positionOf(key) >= 0;
+  }
+
+  @Override
+  public T get(Object key) {
+    int position = positionOf(key);
+    return position >= 0 ? valueAt(position) : null;
+  }
+
+  @Override
+  public T put(String key, T value) {
+    requireNonNull(key, "key cannot be null");
+    int hash = hash(key);
+    int position = positionOf(key, hash);
+    if (position >= 0) {
+      T previous = valueAt(position);
+      values[position] = value;
+      return previous;
+    }
+
+    if (size == keys.length) {
+      int capacity = size << 1;
+      keys = copyOf(keys, capacity);
+      originalKeys = preserveCase ? keys : copyOf(originalKeys, capacity);
+      hashes = copyOf(hashes, capacity);
+      values = copyOf(values, capacity);
+    }
+    keys[size] = storedKey(key, hash);
+    originalKeys[size] = key;
+    hashes[size] = hash;
+    values[size] = value;
+    ++size;
+    ++modCount;
+
+    if (index != null) {
+      if (size << 1 > index.length) {
+        rebuildIndex();
+      } else {
+        addToIndex(size - 1);
+      }
+    } else if (size > LINEAR_SCAN_THRESHOLD) {
+      rebuildIndex();
+    }
+    return null;
+  }
+
+  @Override
+  public T remove(Object key) {
+    int position = positionOf(key);
+    if (position < 0) {
+      return null;
+    }
+    T previous = valueAt(position);
+    removeAt(position);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    fill(keys, 0, size, null);
+    fill(originalKeys, 0, size, null);
+    fill(values, 0, size, null);
+    size = 0;
+    index = null;
+    ++modCount;
+  }
+
+  @Override
+  public Set<Entry<String, T>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /**
+   * Returns a copy of this map with its keys in the case they had when first put into the map, regardless of whether the case
+   * is preserved by this map.
+   *
+   * @return case-sensitive map
+   */
+  public Map<String, T> asCaseSensitiveMap() {
+    Map<String, T> caseSensitiveMap = new LinkedHashMap<>(size << 1);
+    for (int i = 0; i < size; ++i) {
+      caseSensitiveMap.put(originalKeys[i], valueAt(i));
+    }
+    return caseSensitiveMap;
+  }
+
+  private int positionOf(Object key) {
+    if (!(key instanceof String)) {
+      return -1;
+    }
+    return positionOf((String) key, hash((String) key));
+  }
+
+  private int positionOf(String key, int hash) {
+    if (size > LINEAR_SCAN_THRESHOLD) {
+      if (index == null) {
+        // Not serialized, rebuilt on first use after deserialization
+        rebuildIndex();
+      }
+      int mask = index.length - 1;
+      for (int slot = spread(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+        int position = index[slot] - 1;
+        if (hashes[position] == hash && equalsIgnoreCase(keys[position], key)) {
+          return position;
+        }
+      }
+      return -1;
+    }
+
+    for (int i = 0; i < size; ++i) {
+      if (hashes[i] == hash && equalsIgnoreCase(keys[i], key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void removeAt(int position) {
+    int moved = size - position - 1;
+    if (moved > 0) {
+      System.arraycopy(keys, position + 1, keys, position, moved);
+      if (!preserveCase) {
+        System.arraycopy(originalKeys, position + 1, originalKeys, position, moved);
+      }
+      System.arraycopy(hashes, position + 1, hashes, position, moved);
+      System.arraycopy(values, position + 1, values, position, moved);
+    }
+    --size;
+    keys[size] = null;
+    originalKeys[size] = null;
+    values[size] = null;
+    ++modCount;
+
+    // Positions have shifted, removing headers is rare enough to just rebuild the index
+    index = null;
+    if (size > LINEAR_SCAN_THRESHOLD) {
+      rebuildIndex();
+    }
+  }
+
+  private void rebuildIndex() {
+    index = new int[highestOneBit(size) << 2];
+    for (int i = 0; i < size; ++i) {
+      addToIndex(i);
+    }
+  }
+
+  private void addToIndex(int position) {
+    int mask = index.length - 1;
+    int slot = spread(hashes[position]) & mask;
+    while (index[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    index[slot] = position + 1;
+  }
+
+  private String storedKey(String key, int hash) {
+    if (preserveCase) {
+      return key;
+    }
+
+    int mask = WELL_KNOWN_NAMES.length - 1;
+    for (int slot = spread(hash) & mask; WELL_KNOWN_NAMES[slot] != null; slot = (slot + 1) & mask) {
+      if (WELL_KNOWN_HASHES[slot] == hash && equalsIgnoreCase(WELL_KNOWN_NAMES[slot], key)) {
+        return WELL_KNOWN_NAMES[slot];
+      }
+    }
+    return lowerCase(key);
+  }
+
+  private T valueAt(int position) {
+    return (T) values[position];
+  }
+
+  private static char fold(char c) {
+    if (c < 0x80) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    // Same folding as String#equalsIgnoreCase
+    return toLowerCase(toUpperCase(c));
+  }
+
+  private static int hash(String key) {
+    int hash = 0;
+    for (int i = 0; i < key.length(); ++i) {
+      hash = 31 * hash + fold(key.charAt(i));
+    }
+    return hash;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean equalsIgnoreCase(String a, String b) {
+    if (a == b) {
+      return true;
+    }
+    int length = a.length();
+    if (length != b.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; ++i) {
+      char ca = a.charAt(i);
+      char cb = b.charAt(i);
+      if (ca != cb && fold(ca) != fold(cb)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String lowerCase(String key) {
+    for (int i = 0; i < key.length(); ++i) {
+      char c = key.charAt(i);
+      if (fold(c) != c) {
+        char[] chars = key.toCharArray();
+        for (int j = i; j < chars.length; ++j) {
+          chars[j] = fold(chars[j]);
+        }
+        return new String(chars);
+      }
+    }
+    return key;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, T>> {
+
+    @Override
+    public Iterator<Entry<String, T>> iterator() {
+      return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      CompactCaseInsensitiveMap.this.clear();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<String, T>> {
+
+    private int next;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return next < size;
+    }
+
+    @Override
+    public Entry<String, T> next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (next >= size) {
+        throw new NoSuchElementException();
+      }
+      last = next++;
+      return new CompactEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(last);
+      next = last;
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class CompactEntry implements Entry<String, T> {
+
+    private final int position;
+
+    private CompactEntry(int position) {
+      this.position = position;
+    }
+
+    @Override
+    public String getKey() {
+      return keys[position];
+    }
+
+    @Override
+    public T getValue() {
+      return valueAt(position);
+    }
+
+    @Override
+    public T setValue(T value) {
+      T previous = valueAt(position);
+      values[position] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> that = (Entry<?, ?>) o;
+      return Objects.equals(getKey(), that.getKey()) && Objects.equals(getValue(), that.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
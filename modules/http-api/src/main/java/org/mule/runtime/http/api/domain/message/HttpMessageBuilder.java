@@ -8,9 +8,9 @@ package org.mule.runtime.http.api.domain.message;
 
 import static java.util.Optional.ofNullable;
 import static org.mule.runtime.api.util.Preconditions.checkNotNull;
+import static org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap.headersMultiMap;
 
 import org.mule.runtime.api.util.MultiMap;
-import org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap;
 import org.mule.runtime.http.api.domain.entity.EmptyHttpEntity;
 import org.mule.runtime.http.api.domain.entity.HttpEntity;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
@@ -41,7 +41,7 @@ public abstract class HttpMessageBuilder<B extends HttpMessageBuilder, M extends
   }
 
   protected void initHeaders() {
-    headers = new CaseInsensitiveMultiMap();
+    headers = headersMultiMap(true);
   }
 
   /**
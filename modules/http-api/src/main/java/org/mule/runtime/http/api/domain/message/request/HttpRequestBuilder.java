@@ -8,12 +8,12 @@ package org.mule.runtime.http.api.domain.message.request;
 
 import static java.util.Objects.requireNonNull;
 import static org.mule.runtime.http.api.HttpConstants.Method.GET;
+import static org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap.headersMultiMap;
 import static org.mule.runtime.http.api.domain.HttpProtocol.HTTP_1_1;
 import static org.mule.runtime.http.api.utils.UriCache.getUriFromString;
 import org.mule.runtime.api.util.MultiMap;
 import org.mule.runtime.api.util.MultiMap.StringMultiMap;
 import org.mule.runtime.http.api.HttpConstants.Method;
-import org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap;
 import org.mule.runtime.http.api.domain.HttpProtocol;
 import org.mule.runtime.http.api.domain.message.HttpMessage;
 import org.mule.runtime.http.api.domain.message.HttpMessageBuilder;
@@ -36,7 +36,7 @@ public final class HttpRequestBuilder extends HttpMessageBuilder<HttpRequestBuil
   private HttpProtocol protocol = HTTP_1_1;
 
   HttpRequestBuilder(boolean preserveHeadersCase) {
-    headers = new CaseInsensitiveMultiMap(!preserveHeadersCase);
+    headers = headersMultiMap(!preserveHeadersCase);
   }
 
   /**
@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.http.api.server;
 
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import static java.lang.Boolean.getBoolean;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.getProperty;
 
 /**
  * Contains a set of system properties that may be used to customize the behavior of the underlying HTTP transport.
@@ -24,11 +28,24 @@ public final class HttpServerProperties {
    */
   public static boolean PRESERVE_HEADER_CASE = getBoolean("org.glassfish.grizzly.http.PRESERVE_HEADER_CASE");
 
+  /**
+   * When set to {@code true}, the headers of the HTTP messages are kept in a map tuned for them, which avoids allocating lowercase
+   * copies of the header names. Disabled by default, so the general purpose case-insensitive map is used unless opted in.
+   *
+   * @since 4.10
+   */
+  public static boolean COMPACT_HEADERS_MAP = isCompactHeadersMap();
+
   private HttpServerProperties() {
     // Nothing to do
   }
 
   public static void refreshSystemProperties() {
     PRESERVE_HEADER_CASE = getBoolean("org.glassfish.grizzly.http.PRESERVE_HEADER_CASE");
+    COMPACT_HEADERS_MAP = isCompactHeadersMap();
+  }
+
+  private static boolean isCompactHeadersMap() {
+    return parseBoolean(getProperty(SYSTEM_PROPERTY_PREFIX + "http.compactHeadersMap", "false"));
   }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain;
+
+import static org.mule.runtime.http.api.AllureConstants.HttpFeature.HTTP_SERVICE;
+import static org.mule.runtime.http.api.AllureConstants.HttpFeature.HttpStory.MULTI_MAP;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.runtime.http.api.server.HttpServerProperties.COMPACT_HEADERS_MAP;
+import static org.mule.runtime.http.api.server.HttpServerProperties.refreshSystemProperties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(HTTP_SERVICE)
+@Story(MULTI_MAP)
+public class CompactCaseInsensitiveMapTestCase {
+
+  private final CompactCaseInsensitiveMap<String> map = new CompactCaseInsensitiveMap<>(false);
+
+  @Test
+  public void caseInsensitiveLookup() {
+    map.put("X-Custom", "value");
+
+    assertThat(map.get("x-custom"), is("value"));
+    assertThat(map.get("X-CUSTOM"), is("value"));
+    assertThat(map.containsKey("x-cUsToM"), is(true));
+    assertThat(map.get("X-Custom2"), is(nullValue()));
+    assertThat(map.get(1), is(nullValue()));
+  }
+
+  @Test
+  public void keysStoredInLowercase() {
+    map.put("X-Custom", "value");
+    map.put("x-CUSTOM", "other");
+
+    assertThat(map.size(), is(1));
+    assertThat(map.keySet(), contains("x-custom"));
+    assertThat(map.get("X-Custom"), is("other"));
+  }
+
+  @Test
+  public void wellKnownHeaderNameShared() {
+    map.put("CONTENT-TYPE", "text/plain");
+    CompactCaseInsensitiveMap<String> other = new CompactCaseInsensitiveMap<>(false);
+    other.put("Content-type", "text/plain");
+
+    assertThat(map.keySet().iterator().next(), is("content-type"));
+    assertThat(map.keySet().iterator().next(), is(sameInstance(other.keySet().iterator().next())));
+    assertThat(map.get(CONTENT_TYPE), is("text/plain"));
+  }
+
+  @Test
+  public void preserveCase() {
+    CompactCaseInsensitiveMap<String> preserving = new CompactCaseInsensitiveMap<>(true);
+    preserving.put("Content-Type", "text/plain");
+    preserving.put("content-type", "application/json");
+
+    assertThat(preserving.keySet(), contains("Content-Type"));
+    assertThat(preserving.get("CONTENT-TYPE"), is("application/json"));
+  }
+
+  @Test
+  public void insertionOrderKeptAcrossIndexThreshold() {
+    Map<String, String> expected = new LinkedHashMap<>();
+    for (int i = 0; i < 100; ++i) {
+      map.put("Header-" + i, "value" + i);
+      expected.put("header-" + i, "value" + i);
+    }
+
+    assertThat(map, is(expected));
+    assertThat(map.get("HEADER-57"), is("value57"));
+
+    for (int i = 0; i < 100; i += 2) {
+      assertThat(map.remove("header-" + i), is("value" + i));
+      expected.remove("header-" + i);
+    }
+
+    assertThat(map.size(), is(50));
+    assertThat(map.entrySet(), is(expected.entrySet()));
+    assertThat(map.get("HEADER-57"), is("value57"));
+    assertThat(map.get("HEADER-56"), is(nullValue()));
+  }
+
+  @Test
+  public void iteratorRemove() {
+    map.put("A", "1");
+    map.put("B", "2");
+    map.put("C", "3");
+
+    Iterator<Entry<String, String>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getKey().equals("b")) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(map.keySet(), contains("a", "c"));
+  }
+
+  @Test
+  public void entrySetValueWritesThrough() {
+    map.put("A", "1");
+    map.entrySet().iterator().next().setValue("2");
+
+    assertThat(map.get("a"), is("2"));
+  }
+
+  @Test
+  public void serialization() throws Exception {
+    for (int i = 0; i < 20; ++i) {
+      map.put("Header-" + i, "value" + i);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(map);
+    }
+    Map<String, String> deserialized;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (Map<String, String>) in.readObject();
+    }
+
+    assertThat(deserialized, is(map));
+    assertThat(deserialized.get("HEADER-19"), is("value19"));
+  }
+
+  @Test
+  public void caseSensitiveMapKeepsOriginalCase() {
+    map.put("X-Custom", "value");
+    map.put("CONTENT-TYPE", "text/plain");
+    map.put("x-CUSTOM", "other");
+    map.put("Removed", "gone");
+    map.remove("removed");
+
+    assertThat(map.keySet(), contains("x-custom", "content-type"));
+    assertThat(map.asCaseSensitiveMap().keySet(), contains("X-Custom", "CONTENT-TYPE"));
+    assertThat(map.asCaseSensitiveMap().get("X-Custom"), is("other"));
+  }
+
+  @Test
+  public void caseSensitiveMapWhenPreservingCase() {
+    CompactCaseInsensitiveMap<String> preserving = new CompactCaseInsensitiveMap<>(true);
+    for (int i = 0; i < 20; ++i) {
+      preserving.put("Header-" + i, "value" + i);
+    }
+
+    assertThat(preserving.asCaseSensitiveMap(), is(preserving));
+    assertThat(preserving.asCaseSensitiveMap().get("Header-19"), is("value19"));
+  }
+
+  @Test
+  public void compactHeadersMapDisabledByDefault() {
+    assertThat(COMPACT_HEADERS_MAP, is(false));
+  }
+
+  @Test
+  public void equalToDefaultCaseInsensitiveMultiMap() {
+    CaseInsensitiveMultiMap headers;
+    COMPACT_HEADERS_MAP = true;
+    try {
+      headers = CaseInsensitiveMultiMap.headersMultiMap(true);
+    } finally {
+      refreshSystemProperties();
+    }
+    CaseInsensitiveMultiMap defaultMap = new CaseInsensitiveMultiMap(true);
+    headers.put("Content-Type", "text/plain");
+    headers.put("X-Custom", "1");
+    headers.put("x-custom", "2");
+    defaultMap.put("Content-Type", "text/plain");
+    defaultMap.put("X-Custom", "1");
+    defaultMap.put("x-custom", "2");
+
+    assertThat(headers, is(defaultMap));
+    map.put(CONTENT_TYPE, "text/plain");
+    assertThat(headers.keySet().iterator().next(), is(sameInstance(map.keySet().iterator().next())));
+    assertThat(headers.getAll("X-CUSTOM"), contains("1", "2"));
+    assertThat(headers.toImmutableMultiMap().get("content-type"), is("text/plain"));
+  }
+}
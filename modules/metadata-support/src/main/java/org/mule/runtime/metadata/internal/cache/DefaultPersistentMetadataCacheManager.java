@@ -75,18 +75,32 @@ public class DefaultPersistentMetadataCacheManager implements MetadataCacheManag
     this.objectStoreManager = objectStoreManager;
   }
 
+  protected LockFactory getLockFactory() {
+    return lockFactory;
+  }
+
+  protected ObjectStoreManager getObjectStoreManager() {
+    return objectStoreManager;
+  }
+
   private LazyValue<ObjectStore<MetadataCache>> metadataStore;
 
   @Override
   public void start() {
-    metadataStore = new LazyValue<>(() -> {
-      ObjectStoreSettings.Builder builder = ObjectStoreSettings.builder().persistent(true);
-      getSystemProperty(MULE_METADATA_CACHE_ENTRY_TTL).map(stringValue -> toLong(stringValue))
-          .ifPresent(entryTtl -> builder.entryTtl(MINUTES.convert(entryTtl, MILLISECONDS)));
-      getSystemProperty(MULE_METADATA_CACHE_EXPIRATION_INTERVAL).map(stringValue -> toLong(stringValue))
-          .ifPresent(expirationInterval -> builder.expirationInterval(expirationInterval));
-      return objectStoreManager.getOrCreateObjectStore(PERSISTENT_METADATA_SERVICE_CACHE, builder.build());
-    });
+    metadataStore = new LazyValue<>(() -> objectStoreManager.getOrCreateObjectStore(PERSISTENT_METADATA_SERVICE_CACHE,
+                                                                                     createObjectStoreSettings()));
+  }
+
+  /**
+   * @return the settings for the persistent object stores where the caches are kept.
+   */
+  protected ObjectStoreSettings createObjectStoreSettings() {
+    ObjectStoreSettings.Builder builder = ObjectStoreSettings.builder().persistent(true);
+    getSystemProperty(MULE_METADATA_CACHE_ENTRY_TTL).map(stringValue -> toLong(stringValue))
+        .ifPresent(entryTtl -> builder.entryTtl(MINUTES.convert(entryTtl, MILLISECONDS)));
+    getSystemProperty(MULE_METADATA_CACHE_EXPIRATION_INTERVAL).map(stringValue -> toLong(stringValue))
+        .ifPresent(expirationInterval -> builder.expirationInterval(expirationInterval));
+    return builder.build();
   }
 
   private Optional<String> getSystemProperty(String propertyName) {
@@ -204,7 +218,7 @@ public class DefaultPersistentMetadataCacheManager implements MetadataCacheManag
     }
   }
 
-  private <T> T withKeyLock(String key, Function<String, T> producer) {
+  protected <T> T withKeyLock(String key, Function<String, T> producer) {
     Lock lock = lockFactory.createLock(key);
     lock.lock();
     try {
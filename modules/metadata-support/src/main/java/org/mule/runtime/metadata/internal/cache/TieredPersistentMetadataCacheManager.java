@@ -0,0 +1,366 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metadata.internal.cache;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.StringUtils.isBlank;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.String.format;
+import static java.security.MessageDigest.getInstance;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.metadata.MetadataCache;
+import org.mule.runtime.api.metadata.MetadataCacheValueResolver;
+import org.mule.runtime.api.metadata.resolving.MetadataResolvingException;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.util.LazyValue;
+
+import java.io.Serializable;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MetadataCacheManager} that keeps the metadata caches in two tiers:
+ * <ul>
+ * <li>an in-memory, size-bounded L1 holding the most recently used entries of all the caches, and</li>
+ * <li>a persistent L2 object store where each entry of each cache is stored under its own key, instead of storing the whole
+ * {@link MetadataCache} as a single value.</li>
+ * </ul>
+ * Reads are served from L1, only going to L2 for entries that are not there. Writes go to L1 and are kept pending until the cache
+ * is updated through {@link #updateCache(String, MetadataCache)}, when only the entries that changed are written to L2 in a
+ * single batch. When too many writes are pending, a batch of them is written so that only half of the max is left pending.
+ * <p>
+ * All the changes to L2 are done holding the same lock, so flushes and disposals of different or overlapping ids never run
+ * concurrently on the same entries.
+ * <p>
+ * Enabled by setting the {@link #MULE_METADATA_CACHE_TIERED} system property.
+ *
+ * @since 4.10
+ */
+public class TieredPersistentMetadataCacheManager extends DefaultPersistentMetadataCacheManager implements Stoppable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TieredPersistentMetadataCacheManager.class);
+
+  public static final String PERSISTENT_METADATA_SERVICE_CACHE_ENTRIES = "_mulePersistentMetadataServiceEntries";
+
+  /**
+   * When {@code true}, the {@link TieredPersistentMetadataCacheManager} is used instead of the
+   * {@link DefaultPersistentMetadataCacheManager}.
+   */
+  public static final String MULE_METADATA_CACHE_TIERED = SYSTEM_PROPERTY_PREFIX + "metadata.cache.tiered";
+
+  /**
+   * The max amount of entries, considering all the caches, kept in memory.
+   */
+  public static final String MULE_METADATA_CACHE_MEMORY_MAX_ENTRIES = SYSTEM_PROPERTY_PREFIX + "metadata.cache.memory.maxEntries";
+
+  /**
+   * The max amount of entries pending to be persisted before they are written without waiting for the cache to be updated.
+   */
+  public static final String MULE_METADATA_CACHE_MAX_PENDING_WRITES = SYSTEM_PROPERTY_PREFIX + "metadata.cache.maxPendingWrites";
+
+  private static final String ENTRY_SEPARATOR = "#";
+  private static final String ENTRIES_LOCK_KEY = PERSISTENT_METADATA_SERVICE_CACHE_ENTRIES;
+
+  private final Cache<EntryKey, Serializable> memoryEntries = CacheBuilder.newBuilder()
+      .maximumSize(getInteger(MULE_METADATA_CACHE_MEMORY_MAX_ENTRIES, 10_000))
+      .build();
+  private final Map<EntryKey, Serializable> pendingWrites = new ConcurrentHashMap<>();
+  private final int maxPendingWrites = getInteger(MULE_METADATA_CACHE_MAX_PENDING_WRITES, 1_000);
+  private final int pendingWritesLowWaterMark = maxPendingWrites / 2;
+
+  private LazyValue<ObjectStore<CacheEntry>> entriesStore;
+
+  /**
+   * @return whether the tiered metadata cache was enabled through {@link #MULE_METADATA_CACHE_TIERED}.
+   */
+  public static boolean isTieredMetadataCacheEnabled() {
+    return Boolean.getBoolean(MULE_METADATA_CACHE_TIERED);
+  }
+
+  @Override
+  public void start() {
+    super.start();
+    entriesStore = new LazyValue<>(() -> getObjectStoreManager()
+        .getOrCreateObjectStore(PERSISTENT_METADATA_SERVICE_CACHE_ENTRIES, createObjectStoreSettings()));
+  }
+
+  @Override
+  public void stop() {
+    flushPendingWrites(key -> true, 0);
+  }
+
+  @Override
+  public MetadataCache getOrCreateCache(String id) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Obtaining tiered cache with ID '%s'", id));
+    }
+    return new TieredMetadataCache(id);
+  }
+
+  @Override
+  public void updateCache(String id, MetadataCache cache) {
+    if (cache instanceof TieredMetadataCache) {
+      if (!((TieredMetadataCache) cache).id.equals(id)) {
+        // Copying the entries of a cache into another one is not supported in this tier
+        throw new IllegalArgumentException(format("Cache with ID '%s' can't be bound to ID '%s'",
+                                                  ((TieredMetadataCache) cache).id, id));
+      }
+    } else if (cache instanceof DefaultMetadataCache) {
+      TieredMetadataCache target = new TieredMetadataCache(id);
+      ((DefaultMetadataCache) cache).asMap().forEach(target::put);
+    } else {
+      LOGGER.warn(format("Unable to update cache with ID '%s' from a cache of type '%s'", id, cache.getClass().getName()));
+      return;
+    }
+
+    flushPendingWrites(key -> key.cacheId.equals(id), 0);
+  }
+
+  @Override
+  public void dispose(String keyHash) {
+    final String prefix = isBlank(keyHash) ? "" : keyHash;
+
+    withKeyLock(ENTRIES_LOCK_KEY, lockKey -> {
+      memoryEntries.asMap().keySet().removeIf(key -> key.cacheId.startsWith(prefix));
+      pendingWrites.keySet().removeIf(key -> key.cacheId.startsWith(prefix));
+
+      try {
+        if (prefix.isEmpty()) {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Clearing cache entries from OS");
+          }
+          entriesStore.get().clear();
+        } else {
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Removing cache entries in OS with ID prefix '%s'", prefix));
+          }
+          for (String storeKey : entriesStore.get().allKeys()) {
+            if (storeKey.startsWith(prefix)) {
+              entriesStore.get().remove(storeKey);
+            }
+          }
+        }
+      } catch (ObjectStoreException e) {
+        String msg = format("An error occurred while disposing the MetadataCache entries with ID '%s': %s",
+                            keyHash, e.getMessage());
+        LOGGER.error(msg);
+        throw new RuntimeException(msg, e);
+      }
+      return null;
+    });
+  }
+
+  private Serializable read(EntryKey key) {
+    Serializable value = memoryEntries.getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+
+    value = pendingWrites.get(key);
+    if (value != null) {
+      return value;
+    }
+
+    try {
+      String storeKey = key.storeKey();
+      if (entriesStore.get().contains(storeKey)) {
+        CacheEntry entry = entriesStore.get().retrieve(storeKey);
+        // guard against hash collisions of non-string keys
+        if (Objects.equals(entry.key, key.key)) {
+          memoryEntries.put(key, entry.value);
+          return entry.value;
+        }
+      }
+    } catch (ObjectStoreException e) {
+      LOGGER.warn(format("An error occurred while retrieving entry '%s' of the MetadataCache with ID '%s': %s",
+                         key.key, key.cacheId, e.getMessage()));
+    }
+    return null;
+  }
+
+  private void write(EntryKey key, Serializable value) {
+    memoryEntries.put(key, value);
+    pendingWrites.put(key, value);
+
+    if (pendingWrites.size() > maxPendingWrites) {
+      flushPendingWrites(pendingKey -> true, pendingWritesLowWaterMark);
+    }
+  }
+
+  /**
+   * Writes to L2 the pending entries accepted by the given {@code filter}, stopping once only {@code keepPending} entries are
+   * left pending.
+   */
+  private void flushPendingWrites(Predicate<EntryKey> filter, int keepPending) {
+    withKeyLock(ENTRIES_LOCK_KEY, lockKey -> {
+      // Collected under the lock so that entries flushed by a concurrent batch are not written again
+      List<Entry<EntryKey, Serializable>> batch = new ArrayList<>();
+      int pendingCount = pendingWrites.size();
+      for (Entry<EntryKey, Serializable> pending : pendingWrites.entrySet()) {
+        if (pendingCount - batch.size() <= keepPending) {
+          break;
+        }
+        if (filter.test(pending.getKey())) {
+          batch.add(pending);
+        }
+      }
+      if (batch.isEmpty()) {
+        return null;
+      }
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(format("Persisting %d cache entries in OS", batch.size()));
+      }
+      for (Entry<EntryKey, Serializable> pending : batch) {
+        EntryKey key = pending.getKey();
+        Serializable value = pending.getValue();
+        try {
+          String storeKey = key.storeKey();
+          if (entriesStore.get().contains(storeKey)) {
+            entriesStore.get().remove(storeKey);
+          }
+          entriesStore.get().store(storeKey, new CacheEntry(key.key, value));
+          // Only forget the pending write if it was not overwritten in the meantime
+          pendingWrites.remove(key, value);
+        } catch (ObjectStoreException e) {
+          String msg = format("An error occurred while updating entry '%s' of the MetadataCache with ID '%s': %s",
+                              key.key, key.cacheId, e.getMessage());
+          LOGGER.error(msg);
+          throw new RuntimeException(msg, e);
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * View of the entries of one cache, backed by the tiers of the enclosing manager.
+   */
+  private final class TieredMetadataCache implements MetadataCache {
+
+    private final String id;
+
+    private TieredMetadataCache(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public void put(Serializable key, Serializable value) {
+      write(new EntryKey(id, key), value);
+    }
+
+    @Override
+    public void putAll(Map<? extends Serializable, ? extends Serializable> values) {
+      values.forEach(this::put);
+    }
+
+    @Override
+    public <T extends Serializable> Optional<T> get(Serializable key) {
+      Serializable value = read(new EntryKey(id, key));
+      return value == null ? empty() : of((T) value);
+    }
+
+    @Override
+    public <T extends Serializable> T computeIfAbsent(Serializable key, MetadataCacheValueResolver mappingFunction)
+        throws MetadataResolvingException, ConnectionException {
+      EntryKey entryKey = new EntryKey(id, key);
+      Serializable value = read(entryKey);
+      if (value == null) {
+        value = mappingFunction.compute(key);
+        if (value != null) {
+          write(entryKey, value);
+        }
+      }
+
+      return (T) value;
+    }
+  }
+
+  private static final class EntryKey {
+
+    private final String cacheId;
+    private final Serializable key;
+    private final int hashCode;
+
+    private EntryKey(String cacheId, Serializable key) {
+      this.cacheId = cacheId;
+      this.key = key;
+      this.hashCode = 31 * cacheId.hashCode() + Objects.hashCode(key);
+    }
+
+    /**
+     * @return the key of this entry in the L2 object store. Prefixed by the id of the cache, so that disposing by id prefix is
+     *         possible.
+     */
+    private String storeKey() {
+      if (key instanceof String) {
+        return cacheId + ENTRY_SEPARATOR + "s:" + key;
+      }
+
+      try {
+        return cacheId + ENTRY_SEPARATOR + "h:" + HexFormat.of().formatHex(getInstance("SHA-256").digest(serialize(key)));
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof EntryKey)) {
+        return false;
+      }
+      EntryKey other = (EntryKey) obj;
+      return cacheId.equals(other.cacheId) && Objects.equals(key, other.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * The value stored in L2 for each entry, keeping the original key to tell hash collisions apart.
+   */
+  static final class CacheEntry implements Serializable {
+
+    private static final long serialVersionUID = -4461932346411738532L;
+
+    private final Serializable key;
+    private final Serializable value;
+
+    CacheEntry(Serializable key, Serializable value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
@@ -6,14 +6,16 @@
  */
 package org.mule.runtime.metadata.internal.cache.lazy;
 
+import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.lifecycle.Stoppable;
 import org.mule.runtime.api.metadata.MetadataCache;
 import org.mule.runtime.metadata.internal.cache.MetadataCacheManager;
 
 import java.util.function.Supplier;
 
-public class DelegateMetadataCacheManager implements MetadataCacheManager, Initialisable {
+public class DelegateMetadataCacheManager implements MetadataCacheManager, Initialisable, Stoppable {
 
   private final Supplier<MetadataCacheManager> metadataCacheManagerSupplier;
   private MetadataCacheManager metadataCacheManagerDelegate;
@@ -27,6 +29,13 @@ public class DelegateMetadataCacheManager implements MetadataCacheManager, Initi
     this.metadataCacheManagerDelegate = metadataCacheManagerSupplier.get();
   }
 
+  @Override
+  public void stop() throws MuleException {
+    if (metadataCacheManagerDelegate instanceof Stoppable) {
+      ((Stoppable) metadataCacheManagerDelegate).stop();
+    }
+  }
+
   @Override
   public MetadataCache getOrCreateCache(String id) {
     return metadataCacheManagerDelegate.getOrCreateCache(id);
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.metadata.internal.cache;
+
+import static org.mule.runtime.metadata.internal.cache.DefaultPersistentMetadataCacheManager.PERSISTENT_METADATA_SERVICE_CACHE;
+import static org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager.MULE_METADATA_CACHE_MAX_PENDING_WRITES;
+import static org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager.PERSISTENT_METADATA_SERVICE_CACHE_ENTRIES;
+import static org.mule.test.allure.AllureConstants.SdkToolingSupport.SDK_TOOLING_SUPPORT;
+import static org.mule.test.allure.AllureConstants.SdkToolingSupport.MetadataTypeResolutionStory.METADATA_SERVICE;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.metadata.MetadataCache;
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreManager;
+import org.mule.runtime.metadata.internal.cache.lazy.DelegateMetadataCacheManager;
+import org.mule.tck.core.util.store.InMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.util.concurrent.locks.Lock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.quality.Strictness;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(SDK_TOOLING_SUPPORT)
+@Story(METADATA_SERVICE)
+public class TieredPersistentMetadataCacheManagerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.LENIENT);
+
+  @Rule
+  public SystemProperty maxPendingWrites = new SystemProperty(MULE_METADATA_CACHE_MAX_PENDING_WRITES, "4");
+
+  private static final String SOME_KEY = "1874947571-1840879217-380895431-1745289126";
+  private static final String OTHER_KEY = "1874947571-1840879217-123123123-1745289126";
+
+  @Mock
+  private ObjectStoreManager objectStoreManager;
+
+  @Mock
+  private LockFactory lockFactory;
+
+  @Mock
+  private Lock mockLock;
+
+  private final ObjectStore entriesStore = new InMemoryObjectStore<>();
+
+  @InjectMocks
+  private TieredPersistentMetadataCacheManager cacheManager = new TieredPersistentMetadataCacheManager();
+
+  @Before
+  public void setUp() {
+    when(lockFactory.createLock(anyString())).thenReturn(mockLock);
+    when(objectStoreManager.getOrCreateObjectStore(eq(PERSISTENT_METADATA_SERVICE_CACHE), any()))
+        .thenReturn(new InMemoryObjectStore<>());
+    when(objectStoreManager.getOrCreateObjectStore(eq(PERSISTENT_METADATA_SERVICE_CACHE_ENTRIES), any()))
+        .thenReturn(entriesStore);
+
+    cacheManager.start();
+  }
+
+  @Test
+  public void entriesArePersistedOnUpdate() throws ObjectStoreException {
+    MetadataCache cache = cacheManager.getOrCreateCache(SOME_KEY);
+    cache.put("type", "string");
+    cache.put(42, "number");
+
+    assertThat(cache.get("type"), is(of("string")));
+    assertThat(entriesStore.allKeys(), hasSize(0));
+
+    cacheManager.updateCache(SOME_KEY, cache);
+    assertThat(entriesStore.allKeys(), hasSize(2));
+  }
+
+  @Test
+  public void entriesAreReadFromPersistentTier() throws Exception {
+    MetadataCache cache = cacheManager.getOrCreateCache(SOME_KEY);
+    cache.put("type", "string");
+    cache.put(42, "number");
+    cacheManager.updateCache(SOME_KEY, cache);
+
+    TieredPersistentMetadataCacheManager otherManager = new TieredPersistentMetadataCacheManager();
+    otherManager.setLockFactory(lockFactory);
+    otherManager.setObjectStoreManager(objectStoreManager);
+    otherManager.start();
+
+    MetadataCache reloaded = otherManager.getOrCreateCache(SOME_KEY);
+    assertThat(reloaded.get("type"), is(of("string")));
+    assertThat(reloaded.get(42), is(of("number")));
+    assertThat(reloaded.get("missing"), is(empty()));
+    assertThat(otherManager.getOrCreateCache(OTHER_KEY).get("type"), is(empty()));
+  }
+
+  @Test
+  public void computeIfAbsentOnlyResolvesOnce() throws Exception {
+    MetadataCache cache = cacheManager.getOrCreateCache(SOME_KEY);
+    int[] resolutions = {0};
+
+    cache.computeIfAbsent("key", k -> "value" + ++resolutions[0]);
+    String value = cache.computeIfAbsent("key", k -> "value" + ++resolutions[0]);
+
+    assertThat(value, is("value1"));
+    assertThat(resolutions[0], is(1));
+  }
+
+  @Test
+  public void disposePartialId() throws ObjectStoreException {
+    MetadataCache cache = cacheManager.getOrCreateCache(SOME_KEY);
+    cache.put("type", "string");
+    cacheManager.updateCache(SOME_KEY, cache);
+    MetadataCache otherCache = cacheManager.getOrCreateCache(OTHER_KEY);
+    otherCache.put("type", "number");
+    cacheManager.updateCache(OTHER_KEY, otherCache);
+
+    cacheManager.dispose("1874947571-1840879217");
+
+    assertThat(entriesStore.allKeys(), hasSize(0));
+    assertThat(cacheManager.getOrCreateCache(SOME_KEY).get("type"), is(empty()));
+  }
+
+  @Test
+  public void updateFromDefaultCache() throws ObjectStoreException {
+    DefaultMetadataCache cache = new DefaultMetadataCache();
+    cache.put("type", "string");
+
+    cacheManager.updateCache(SOME_KEY, cache);
+
+    assertThat(entriesStore.allKeys(), hasSize(1));
+    assertThat(cacheManager.getOrCreateCache(SOME_KEY).get("type"), is(of("string")));
+  }
+
+  @Test
+  public void pendingWritesAreFlushedDownToLowWaterMark() throws ObjectStoreException {
+    TieredPersistentMetadataCacheManager boundedManager = new TieredPersistentMetadataCacheManager();
+    boundedManager.setLockFactory(lockFactory);
+    boundedManager.setObjectStoreManager(objectStoreManager);
+    boundedManager.start();
+
+    MetadataCache cache = boundedManager.getOrCreateCache(SOME_KEY);
+    for (int i = 0; i < 4; i++) {
+      cache.put("key" + i, "value" + i);
+    }
+    assertThat(entriesStore.allKeys(), hasSize(0));
+
+    cache.put("key4", "value4");
+    assertThat(entriesStore.allKeys(), hasSize(3));
+
+    cache.put("key5", "value5");
+    assertThat(entriesStore.allKeys(), hasSize(3));
+  }
+
+  @Test
+  public void pendingWritesAreFlushedOnDelegateStop() throws Exception {
+    MetadataCache cache = cacheManager.getOrCreateCache(SOME_KEY);
+    cache.put("type", "string");
+
+    DelegateMetadataCacheManager delegateManager = new DelegateMetadataCacheManager(() -> cacheManager);
+    delegateManager.initialise();
+    delegateManager.stop();
+
+    assertThat(entriesStore.allKeys(), hasSize(1));
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.config.internal;
 
+import static java.lang.Math.max;
 import static java.util.Arrays.stream;
 import static java.util.Collections.reverse;
 import static java.util.Objects.requireNonNull;
@@ -21,8 +22,10 @@ import org.mule.runtime.core.internal.lifecycle.phases.LifecycleObjectSorter;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.jgrapht.alg.connectivity.ConnectivityInspector;
 import org.jgrapht.graph.DefaultDirectedGraph;
@@ -162,30 +165,77 @@ public class DependencyGraphLifecycleObjectSorter implements LifecycleObjectSort
    */
   @Override
   public List<Object> getSortedObjects() {
-    List<BeanWrapper> res = dependencyGraphs.stream().map(graph -> {
-
-      List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, (o1, o2) -> {
-        if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
-            .getOrDefault(o2.getName(), -1)) {
-          return -1;
-        } else {
-          return 1;
+    List<BeanWrapper> res = dependencyGraphs.stream()
+        .map(this::getSortedBucket)
+        .reduce(new ArrayList<>(), (sortedObjectList, b) -> {
+          for (BeanWrapper v : b) {
+            if (!sortedObjectList.contains(v)) {
+              sortedObjectList.add(v);
+            }
+          }
+          return sortedObjectList;
+        });
+
+    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
+
+  }
+
+  /**
+   * The objects in each graph(bucket) are put in levels based on the longest path of prerequisites they have in the bucket:
+   * objects without prerequisites go to the first level of the bucket, and every other object goes to the level right after
+   * the one of its deepest prerequisite. The levels of a bucket come after the levels of the previous buckets, and an object
+   * that is in more than one bucket is only kept in the first one, same as in {@link #getSortedObjects()}.
+   *
+   * @return the levels of objects, with the objects of each level in the same relative order as in {@link #getSortedObjects()}
+   */
+  @Override
+  public List<List<Object>> getSortedObjectLevels() {
+    List<List<Object>> levels = new ArrayList<>();
+    Set<BeanWrapper> processed = new HashSet<>();
+
+    for (DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph : dependencyGraphs) {
+      Map<BeanWrapper, Integer> bucketLevels = new HashMap<>();
+      List<List<Object>> currentBucketLevels = new ArrayList<>();
+
+      // prerequisites come before the objects depending on them, so their level is always known when needed
+      for (BeanWrapper vertex : getSortedBucket(graph)) {
+        if (processed.contains(vertex)) {
+          continue;
         }
-      }));
-      reverse(sortedObjects);
-      return sortedObjects;
-    }).reduce(new ArrayList<>(), (sortedObjectList, b) -> {
-      for (BeanWrapper v : b) {
-        if (!sortedObjectList.contains(v)) {
-          sortedObjectList.add(v);
+
+        int level = 0;
+        for (DefaultEdge edge : graph.outgoingEdgesOf(vertex)) {
+          Integer prerequisiteLevel = bucketLevels.get(graph.getEdgeTarget(edge));
+          if (prerequisiteLevel != null) {
+            level = max(level, prerequisiteLevel + 1);
+          }
+        }
+        bucketLevels.put(vertex, level);
+
+        if (level == currentBucketLevels.size()) {
+          currentBucketLevels.add(new ArrayList<>());
         }
+        currentBucketLevels.get(level).add(vertex.getWrappedObject());
       }
-      return sortedObjectList;
 
-    });
+      processed.addAll(bucketLevels.keySet());
+      levels.addAll(currentBucketLevels);
+    }
 
-    return res.stream().map(BeanWrapper::getWrappedObject).collect(toList());
+    return levels;
+  }
 
+  private List<BeanWrapper> getSortedBucket(DefaultDirectedGraph<BeanWrapper, DefaultEdge> graph) {
+    List<BeanWrapper> sortedObjects = newArrayList(new TopologicalOrderIterator<>(graph, (o1, o2) -> {
+      if (getLifeCycleObjectNameOrder().getOrDefault(o1.getName(), -1) > getLifeCycleObjectNameOrder()
+          .getOrDefault(o2.getName(), -1)) {
+        return -1;
+      } else {
+        return 1;
+      }
+    }));
+    reverse(sortedObjects);
+    return sortedObjects;
   }
 
   /**
@@ -77,6 +77,7 @@ import static org.mule.runtime.core.internal.el.function.MuleFunctionsBindingCon
 import static org.mule.runtime.feature.api.management.FeatureFlaggingManagementService.PROFILING_FEATURE_MANAGEMENT_SERVICE_KEY;
 import static org.mule.runtime.metadata.api.cache.MetadataCacheIdGeneratorFactory.METADATA_CACHE_ID_GENERATOR_KEY;
 import static org.mule.runtime.metadata.internal.cache.MetadataCacheManager.METADATA_CACHE_MANAGER_KEY;
+import static org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager.isTieredMetadataCacheEnabled;
 import static org.mule.runtime.metrics.exporter.api.MeterExporterProperties.METRIC_EXPORTER_ENABLED_PROPERTY;
 
 import static java.lang.Boolean.FALSE;
@@ -136,6 +137,7 @@ import org.mule.runtime.core.internal.util.store.MuleObjectStoreManager;
 import org.mule.runtime.core.internal.value.MuleValueProviderService;
 import org.mule.runtime.metadata.internal.MuleMetadataService;
 import org.mule.runtime.metadata.internal.cache.DefaultPersistentMetadataCacheManager;
+import org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager;
 import org.mule.runtime.metrics.api.MeterProvider;
 import org.mule.runtime.metrics.api.error.ErrorMetricsFactory;
 import org.mule.runtime.metrics.exporter.impl.OpenTelemetryMeterExporterFactory;
@@ -261,7 +263,9 @@ public class SpringMuleContextServiceConfigurator extends AbstractSpringMuleCont
       .put(VALUE_PROVIDER_SERVICE_KEY, getBeanDefinition(MuleValueProviderService.class))
       .put(SAMPLE_DATA_SERVICE_KEY, getBeanDefinition(MuleSampleDataService.class))
       .put(CONNECTIVITY_TESTING_SERVICE_KEY, getBeanDefinition(DefaultConnectivityTestingService.class))
-      .put(METADATA_CACHE_MANAGER_KEY, getBeanDefinition(DefaultPersistentMetadataCacheManager.class))
+      .put(METADATA_CACHE_MANAGER_KEY, getBeanDefinition(isTieredMetadataCacheEnabled()
+          ? TieredPersistentMetadataCacheManager.class
+          : DefaultPersistentMetadataCacheManager.class))
       .put(METADATA_CACHE_ID_GENERATOR_KEY, getBeanDefinition(ModelBasedMetadataCacheIdGeneratorFactory.class))
       .build();
 
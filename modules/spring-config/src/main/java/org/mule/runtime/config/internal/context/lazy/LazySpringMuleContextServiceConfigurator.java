@@ -22,6 +22,7 @@ import static org.mule.runtime.core.api.data.sample.SampleDataService.SAMPLE_DAT
 import static org.mule.runtime.core.internal.store.SharedPartitionedPersistentObjectStore.SHARED_PERSISTENT_OBJECT_STORE_KEY;
 import static org.mule.runtime.metadata.api.cache.MetadataCacheIdGeneratorFactory.METADATA_CACHE_ID_GENERATOR_KEY;
 import static org.mule.runtime.metadata.internal.cache.MetadataCacheManager.METADATA_CACHE_MANAGER_KEY;
+import static org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager.isTieredMetadataCacheEnabled;
 
 import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.component.ConfigurationProperties;
@@ -51,6 +52,7 @@ import org.mule.runtime.core.internal.util.store.MuleObjectStoreManager;
 import org.mule.runtime.core.internal.value.MuleValueProviderService;
 import org.mule.runtime.metadata.internal.MuleMetadataService;
 import org.mule.runtime.metadata.internal.cache.DefaultPersistentMetadataCacheManager;
+import org.mule.runtime.metadata.internal.cache.TieredPersistentMetadataCacheManager;
 import org.mule.runtime.metadata.internal.cache.lazy.DelegateMetadataCacheIdGeneratorFactory;
 import org.mule.runtime.metadata.internal.cache.lazy.DelegateMetadataCacheManager;
 import org.mule.runtime.module.extension.internal.data.sample.MuleSampleDataService;
@@ -155,7 +157,9 @@ class LazySpringMuleContextServiceConfigurator extends SpringMuleContextServiceC
 
       if (isAddToolingObjectsToRegistry()) {
         registerBeanDefinition(DEFAULT_METADATA_CACHE_MANAGER_KEY,
-                               getBeanDefinition(DefaultPersistentMetadataCacheManager.class));
+                               getBeanDefinition(isTieredMetadataCacheEnabled()
+                                   ? TieredPersistentMetadataCacheManager.class
+                                   : DefaultPersistentMetadataCacheManager.class));
         registerConstantBeanDefinition(METADATA_CACHE_MANAGER_KEY,
                                        new DelegateMetadataCacheManager(() -> {
                                          DefaultPersistentMetadataCacheManager defaultPersistentMetadataCacheManager =
@@ -7,6 +7,9 @@
 package org.mule.runtime.config.internal.registry;
 
 import static org.mule.runtime.config.internal.context.MuleArtifactContext.INNER_BEAN_PREFIX;
+import static org.mule.runtime.core.internal.lifecycle.RegistryLifecycleCallback.LIFECYCLE_PARALLELISM_PROPERTY;
+
+import static java.lang.Integer.getInteger;
 
 import org.mule.runtime.api.el.ExpressionLanguage;
 import org.mule.runtime.api.lifecycle.Disposable;
@@ -63,7 +66,7 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
 
     registerPhase(NotInLifecyclePhase.PHASE_NAME, new NotInLifecyclePhase(), new EmptyLifecycleCallback<>());
     registerPhase(Initialisable.PHASE_NAME, new SpringContextInitialisePhase(), callback);
-    registerPhase(Startable.PHASE_NAME, new MuleContextStartPhase(), callback);
+    registerPhase(Startable.PHASE_NAME, new SpringContextStartPhase(), callback);
     registerPhase(Stoppable.PHASE_NAME, new MuleContextStopPhase(), callback);
     registerPhase(Disposable.PHASE_NAME, new SpringContextDisposePhase(), callback);
   }
@@ -128,15 +131,24 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
 
     @Override
     public LifecycleObjectSorter newLifecycleObjectSorter() {
-      AutoDiscoveredDependencyResolver autoDiscoveredDependencyResolver =
-          new AutoDiscoveredDependencyResolver(getSpringRegistry());
-      DeclaredDependencyResolver declaredDependencyResolver = new DeclaredDependencyResolver(getSpringRegistry());
-      ConfigurationDependencyResolver configurationDependencyResolver =
-          getSpringRegistry().getConfigurationDependencyResolver();
-      DependencyGraphBeanDependencyResolver dependencyGraphBeanDependencyResolver =
-          new DependencyGraphBeanDependencyResolver(configurationDependencyResolver, declaredDependencyResolver,
-                                                    autoDiscoveredDependencyResolver, getSpringRegistry());
-      return new DependencyGraphLifecycleObjectSorter(dependencyGraphBeanDependencyResolver, orderedLifecycleTypes);
+      return newDependencyGraphLifecycleObjectSorter(orderedLifecycleTypes);
+    }
+  }
+
+  /**
+   * A lifecycle phase that, when the lifecycle is applied in parallel, sorts the objects to start based on their dependencies so
+   * that independent objects can be started at the same time.
+   *
+   * @see RegistryLifecycleCallback#LIFECYCLE_PARALLELISM_PROPERTY
+   */
+  class SpringContextStartPhase extends MuleContextStartPhase {
+
+    @Override
+    public LifecycleObjectSorter newLifecycleObjectSorter() {
+      if (getInteger(LIFECYCLE_PARALLELISM_PROPERTY, 1) > 1) {
+        return newDependencyGraphLifecycleObjectSorter(orderedLifecycleTypes);
+      }
+      return super.newLifecycleObjectSorter();
     }
   }
 
@@ -184,18 +196,22 @@ public class SpringRegistryLifecycleManager extends RegistryLifecycleManager {
 
     @Override
     public LifecycleObjectSorter newLifecycleObjectSorter() {
-      AutoDiscoveredDependencyResolver autoDiscoveredDependencyResolver =
-          new AutoDiscoveredDependencyResolver(getSpringRegistry());
-      DeclaredDependencyResolver declaredDependencyResolver = new DeclaredDependencyResolver(getSpringRegistry());
-      ConfigurationDependencyResolver configurationDependencyResolver =
-          getSpringRegistry().getConfigurationDependencyResolver();
-      DependencyGraphBeanDependencyResolver dependencyGraphBeanDependencyResolver =
-          new DependencyGraphBeanDependencyResolver(configurationDependencyResolver, declaredDependencyResolver,
-                                                    autoDiscoveredDependencyResolver, getSpringRegistry());
-      return new DependencyGraphLifecycleObjectSorter(dependencyGraphBeanDependencyResolver, orderedLifecycleTypes);
+      return newDependencyGraphLifecycleObjectSorter(orderedLifecycleTypes);
     }
   }
 
+  private LifecycleObjectSorter newDependencyGraphLifecycleObjectSorter(Class<?>[] orderedLifecycleTypes) {
+    AutoDiscoveredDependencyResolver autoDiscoveredDependencyResolver =
+        new AutoDiscoveredDependencyResolver(getSpringRegistry());
+    DeclaredDependencyResolver declaredDependencyResolver = new DeclaredDependencyResolver(getSpringRegistry());
+    ConfigurationDependencyResolver configurationDependencyResolver =
+        getSpringRegistry().getConfigurationDependencyResolver();
+    DependencyGraphBeanDependencyResolver dependencyGraphBeanDependencyResolver =
+        new DependencyGraphBeanDependencyResolver(configurationDependencyResolver, declaredDependencyResolver,
+                                                  autoDiscoveredDependencyResolver, getSpringRegistry());
+    return new DependencyGraphLifecycleObjectSorter(dependencyGraphBeanDependencyResolver, orderedLifecycleTypes);
+  }
+
   private AbstractSpringRegistry getSpringRegistry() {
     return (AbstractSpringRegistry) getLifecycleObject();
   }
@@ -16,8 +16,10 @@ import static java.util.Collections.emptyMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -211,6 +213,62 @@ public class DependencyGraphLifecycleObjectSorterTestCase {
                                                 containsInRelativeOrder(objectC, objectB)));
   }
 
+  @Test
+  @Description("Components sharing the same prerequisite don't depend on each other, so they go to the same level. "
+      + "A -> C, B -> C: C should be on a level before the one of A and B.")
+  public void sortComponentLevelsWithSharedChildTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, emptyList());
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfB = new LinkedHashMap<>();
+    transitiveDependenciesOfB.put(componentB, asList(componentC));
+    transitiveDependenciesOfB.put(componentC, emptyList());
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfB);
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(emptyMap());
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> levels = sorter.getSortedObjectLevels();
+    assertThat(levels.toString(), levels, hasSize(2));
+    assertThat(levels.get(0), contains(objectC));
+    assertThat(levels.get(1), containsInAnyOrder(objectA, objectB));
+  }
+
+  @Test
+  @Description("Components in a chain of dependencies go each to its own level. "
+      + "A -> C, C -> B: the levels should be B, C and A.")
+  public void sortComponentLevelsTest() {
+    BeanWrapper componentA = new BeanWrapper("objectA", objectA);
+    BeanWrapper componentB = new BeanWrapper("objectB", objectB);
+    BeanWrapper componentC = new BeanWrapper("objectC", objectC);
+
+    Map<BeanWrapper, List<BeanWrapper>> transitiveDependenciesOfA = new LinkedHashMap<>();
+    transitiveDependenciesOfA.put(componentA, asList(componentC));
+    transitiveDependenciesOfA.put(componentC, asList(componentB));
+
+    when(resolver.getTransitiveDependencies("objectA", streamingManagerGraphIndex)).thenReturn(transitiveDependenciesOfA);
+    when(resolver.getTransitiveDependencies("objectB", streamingManagerGraphIndex)).thenReturn(emptyMap());
+    when(resolver.getTransitiveDependencies("objectC", streamingManagerGraphIndex)).thenReturn(emptyMap());
+
+    sorter.addObject("objectA", objectA);
+    sorter.addObject("objectB", objectB);
+    sorter.addObject("objectC", objectC);
+
+    List<List<Object>> levels = sorter.getSortedObjectLevels();
+    assertThat(levels.toString(), levels, hasSize(3));
+    assertThat(levels.get(0), contains(objectB));
+    assertThat(levels.get(1), contains(objectC));
+    assertThat(levels.get(2), contains(objectA));
+  }
+
   @Test(expected = NullPointerException.class)
   @Description("If a null component is added to the graph, it will throw NullPointerException.")
   public void handleNullObjectTest() {
@@ -78,11 +78,14 @@ public class TlsComponentBuildingDefinitionProvider implements ComponentBuilding
             .withTypeDefinition(fromType(CustomOcspResponder.class))
             .withSetterParameterDefinition("url", fromSimpleParameter("url").build())
             .withSetterParameterDefinition("certAlias", fromSimpleParameter("certAlias").build())
+            .withSetterParameterDefinition("cacheResponses", fromSimpleParameter("cacheResponses").build())
             .build());
 
     componentBuildingDefinitions
         .add(baseDefinition.withIdentifier(TLS_CRL_FILE_ELEMENT_IDENTIFIER).withTypeDefinition(fromType(CrlFile.class))
             .withSetterParameterDefinition("path", fromSimpleParameter("path").build())
+            .withSetterParameterDefinition("indexed", fromSimpleParameter("indexed").build())
+            .withSetterParameterDefinition("reloadInterval", fromSimpleParameter("reloadInterval").build())
             .build());
 
     componentBuildingDefinitions
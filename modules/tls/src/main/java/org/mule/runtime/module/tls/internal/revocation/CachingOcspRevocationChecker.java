@@ -0,0 +1,240 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.security.cert.PKIXRevocationChecker.Option.NO_FALLBACK;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.Collections.synchronizedMap;
+
+import org.mule.runtime.module.tls.internal.revocation.OcspClient.CertId;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.PKIXParameters;
+import java.security.cert.PKIXRevocationChecker;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * Certificate path checker that queries an OCSP responder through an {@link OcspClient}, caching the responses so subsequent
+ * handshakes with the same certificates don't go online.
+ * <p>
+ * Responses, either cached or just received, are always verified by the JDK {@link PKIXRevocationChecker}, which gets them
+ * through {@link PKIXRevocationChecker#setOcspResponses(Map)}. So a cached response is only used while the JDK considers it
+ * current, and a new one is requested from the responder as soon as it isn't.
+ *
+ * @since 4.10
+ */
+final class CachingOcspRevocationChecker extends PKIXCertPathChecker {
+
+  private static final int MAX_CACHED_RESPONSES = 10_000;
+
+  private final OcspClient client;
+  private final X509Certificate responderCert;
+  private final Map<X500Principal, X509Certificate> trustedIssuers;
+  private final Map<CacheKey, byte[]> cache;
+
+  // The certificate checked right before the current one, which is the issuer of the current one when checking in reverse
+  private X509Certificate previous;
+  private CertPathValidator validator;
+
+  /**
+   * @param client         the client for the OCSP responder
+   * @param responderCert  the certificate trusted to sign the responses. If {@code null}, responses must be signed by the issuer
+   *                       of the checked certificate or by a responder certificate delegated by it.
+   * @param trustedIssuers the trust anchors, by subject, used to find the issuer of the first certificate in a path
+   */
+  CachingOcspRevocationChecker(OcspClient client, X509Certificate responderCert,
+                               Map<X500Principal, X509Certificate> trustedIssuers) {
+    this(client, responderCert, trustedIssuers, synchronizedMap(new LinkedHashMap<CacheKey, byte[]>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, byte[]> eldest) {
+        return size() > MAX_CACHED_RESPONSES;
+      }
+    }));
+  }
+
+  private CachingOcspRevocationChecker(OcspClient client, X509Certificate responderCert,
+                                       Map<X500Principal, X509Certificate> trustedIssuers, Map<CacheKey, byte[]> cache) {
+    this.client = client;
+    this.responderCert = responderCert;
+    this.trustedIssuers = trustedIssuers;
+    this.cache = cache;
+  }
+
+  @Override
+  public void init(boolean forward) throws CertPathValidatorException {
+    if (forward) {
+      throw new CertPathValidatorException("Forward checking not supported");
+    }
+    previous = null;
+  }
+
+  @Override
+  public boolean isForwardCheckingSupported() {
+    return false;
+  }
+
+  @Override
+  public Set<String> getSupportedExtensions() {
+    return emptySet();
+  }
+
+  @Override
+  public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+    if (!(cert instanceof X509Certificate)) {
+      return;
+    }
+
+    X509Certificate certificate = (X509Certificate) cert;
+    X509Certificate issuer = previous != null ? previous : trustedIssuers.get(certificate.getIssuerX500Principal());
+    previous = certificate;
+    if (issuer == null) {
+      throw new CertPathValidatorException("Unable to find the issuer of the certificate to check its revocation status",
+                                           null, null, -1, UNDETERMINED_REVOCATION_STATUS);
+    }
+
+    CertId certId;
+    try {
+      certId = CertId.of(certificate, issuer);
+    } catch (IOException e) {
+      throw new CertPathValidatorException("Unable to determine revocation status using OCSP", e, null, -1,
+                                           UNDETERMINED_REVOCATION_STATUS);
+    }
+    CacheKey key = new CacheKey(certId.getIssuerKeyHash(), certId.getSerialNumber());
+
+    byte[] cached = cache.get(key);
+    if (cached != null) {
+      try {
+        verify(certificate, issuer, cached);
+        return;
+      } catch (CertPathValidatorException e) {
+        if (e.getReason() == REVOKED) {
+          throw e;
+        }
+        // The cached response is no longer current, a new one is requested
+        cache.remove(key, cached);
+      }
+    }
+
+    byte[] response;
+    try {
+      response = client.query(certId);
+    } catch (IOException e) {
+      throw new CertPathValidatorException("Unable to determine revocation status using OCSP", e, null, -1,
+                                           UNDETERMINED_REVOCATION_STATUS);
+    }
+
+    try {
+      verify(certificate, issuer, response);
+      cache.put(key, response);
+    } catch (CertPathValidatorException e) {
+      if (e.getReason() == REVOKED) {
+        cache.put(key, response);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Verifies the given OCSP response for the certificate with the JDK revocation checker.
+   *
+   * @throws CertPathValidatorException if the certificate is revoked, or the response is not valid, not current or not about the
+   *                                    certificate.
+   */
+  private void verify(X509Certificate certificate, X509Certificate issuer, byte[] response)
+      throws CertPathValidatorException {
+    try {
+      if (validator == null) {
+        validator = CertPathValidator.getInstance("PKIX");
+      }
+
+      PKIXRevocationChecker revocationChecker = (PKIXRevocationChecker) validator.getRevocationChecker();
+      revocationChecker.setOptions(EnumSet.of(NO_FALLBACK));
+      revocationChecker.setOcspResponder(client.getResponderUri());
+      if (responderCert != null) {
+        revocationChecker.setOcspResponderCert(responderCert);
+      }
+      revocationChecker.setOcspResponses(singletonMap(certificate, response));
+
+      PKIXParameters parameters = new PKIXParameters(singleton(new TrustAnchor(issuer, null)));
+      parameters.setRevocationEnabled(false);
+      parameters.addCertPathChecker(revocationChecker);
+
+      validator.validate(CertificateFactory.getInstance("X.509").generateCertPath(singletonList(certificate)), parameters);
+    } catch (CertPathValidatorException e) {
+      // A response that is not current or not about the certificate leaves its status undetermined
+      throw new CertPathValidatorException(e.getMessage(), e.getCause() != null ? e.getCause() : e, null, -1,
+                                           e.getReason() == REVOKED ? REVOKED : UNDETERMINED_REVOCATION_STATUS);
+    } catch (GeneralSecurityException | RuntimeException e) {
+      // Any failure reading the response means its status can't be trusted
+      throw new CertPathValidatorException("Unable to determine revocation status using OCSP", e, null, -1,
+                                           UNDETERMINED_REVOCATION_STATUS);
+    }
+  }
+
+  /**
+   * @return the amount of responses currently cached
+   */
+  int getCachedCount() {
+    return cache.size();
+  }
+
+  @Override
+  public CachingOcspRevocationChecker clone() {
+    // Clones keep their own position in the path being checked but share the responses cache
+    return new CachingOcspRevocationChecker(client, responderCert, trustedIssuers, cache);
+  }
+
+  private static final class CacheKey {
+
+    private final ByteBuffer issuerKeyHash;
+    private final BigInteger serialNumber;
+
+    private CacheKey(byte[] issuerKeyHash, BigInteger serialNumber) {
+      this.issuerKeyHash = ByteBuffer.wrap(issuerKeyHash);
+      this.serialNumber = serialNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return issuerKeyHash.equals(that.issuerKeyHash) && serialNumber.equals(that.serialNumber);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * issuerKeyHash.hashCode() + serialNumber.hashCode();
+    }
+  }
+}
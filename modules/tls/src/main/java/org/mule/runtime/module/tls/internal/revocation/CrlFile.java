@@ -25,9 +25,11 @@ import java.security.cert.PKIXBuilderParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.net.ssl.CertPathTrustManagerParameters;
@@ -39,17 +41,32 @@ import javax.net.ssl.ManagerFactoryParameters;
  *
  * Note that the signer of the CRL must be the client certificate's CA, in case that's not possible consider using
  * {@link CustomOcspResponder}.
+ * <p>
+ * When {@code indexed}, the revoked serial numbers are indexed by an {@link IndexedCrlRevocationChecker} instead of having the
+ * JDK checker scan the CRLs on each handshake, and the CRL file is reloaded when it changes.
  *
  * @since 4.1
  */
 public class CrlFile extends AbstractComponent implements RevocationCheck {
 
+  private static final long DEFAULT_RELOAD_INTERVAL = 30000;
+
   private String path;
+  private Boolean indexed = false;
+  private Long reloadInterval = DEFAULT_RELOAD_INTERVAL;
 
   public void setPath(String path) {
     this.path = path;
   }
 
+  public void setIndexed(Boolean indexed) {
+    this.indexed = indexed;
+  }
+
+  public void setReloadInterval(Long reloadInterval) {
+    this.reloadInterval = reloadInterval;
+  }
+
   @Override
   public ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
     checkArgument(path != null, "tls:crl-file requires the 'path' attribute");
@@ -59,6 +76,14 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
       Set<TrustAnchor> trustAnchors = getTrustAnchorsFromKeyStore(trustStore);
       PKIXBuilderParameters pbParams = new PKIXBuilderParameters(trustAnchors, new X509CertSelector());
 
+      if (indexed) {
+        // The indexed checker replaces the JDK revocation checker
+        pbParams.setRevocationEnabled(false);
+        pbParams.addCertPathChecker(new IndexedCrlRevocationChecker(path, getTrustedCertificates(trustAnchors),
+                                                                    reloadInterval));
+        return new CertPathTrustManagerParameters(pbParams);
+      }
+
       // Make sure revocation checking is enabled (com.sun.net.ssl.checkRevocation)
       pbParams.setRevocationEnabled(true);
 
@@ -91,6 +116,14 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
     return crlList;
   }
 
+  private static List<X509Certificate> getTrustedCertificates(Set<TrustAnchor> trustAnchors) {
+    List<X509Certificate> certificates = new ArrayList<>(trustAnchors.size());
+    for (TrustAnchor trustAnchor : trustAnchors) {
+      certificates.add(trustAnchor.getTrustedCert());
+    }
+    return certificates;
+  }
+
   private static Set<TrustAnchor> getTrustAnchorsFromKeyStore(KeyStore keyStore) throws GeneralSecurityException {
     Enumeration<String> aliases = keyStore.aliases();
     HashSet<TrustAnchor> trustAnchors = new HashSet<>();
@@ -115,11 +148,20 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
 
     CrlFile crlFile = (CrlFile) o;
 
+    if (indexed != null ? !indexed.equals(crlFile.indexed) : crlFile.indexed != null) {
+      return false;
+    }
+    if (reloadInterval != null ? !reloadInterval.equals(crlFile.reloadInterval) : crlFile.reloadInterval != null) {
+      return false;
+    }
     return path != null ? path.equals(crlFile.path) : crlFile.path == null;
   }
 
   @Override
   public int hashCode() {
-    return path != null ? path.hashCode() : 0;
+    int result = path != null ? path.hashCode() : 0;
+    result = 31 * result + (indexed != null ? indexed.hashCode() : 0);
+    result = 31 * result + (reloadInterval != null ? reloadInterval.hashCode() : 0);
+    return result;
   }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.cert.CRL;
+import java.security.cert.CRLException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+/**
+ * Immutable index of the serial numbers revoked by a set of CRLs, grouped by certificate issuer, so checking whether a
+ * certificate was revoked is a hash lookup instead of a scan of the CRLs.
+ * <p>
+ * The validity period of the CRLs of each issuer is kept too, so the revocation status of a certificate is only considered
+ * known while there is a current CRL for its issuer.
+ *
+ * @since 4.10
+ */
+final class CrlIndex {
+
+  private final Map<X500Principal, Set<BigInteger>> revokedSerialsByIssuer;
+  private final Map<X500Principal, Validity> validityByIssuer;
+
+  private CrlIndex(Map<X500Principal, Set<BigInteger>> revokedSerialsByIssuer, Map<X500Principal, Validity> validityByIssuer) {
+    this.revokedSerialsByIssuer = unmodifiableMap(revokedSerialsByIssuer);
+    this.validityByIssuer = unmodifiableMap(validityByIssuer);
+  }
+
+  /**
+   * Reads the CRLs from the given stream and indexes them.
+   * <p>
+   * Each CRL must be signed by one of the given {@code issuers}, which is what the JDK checker also requires from the CRLs
+   * configured for a {@code tls:crl-file}.
+   *
+   * @param crlStream the stream with the encoded CRLs
+   * @param issuers   the certificates trusted to sign the CRLs
+   * @return the index of the revoked certificates
+   * @throws CRLException if a CRL can't be read or is not signed by a trusted issuer
+   */
+  static CrlIndex load(InputStream crlStream, Collection<X509Certificate> issuers) throws CRLException, IOException {
+    Collection<? extends CRL> crls;
+    try {
+      crls = CertificateFactory.getInstance("X.509").generateCRLs(crlStream);
+    } catch (GeneralSecurityException e) {
+      throw new CRLException(e);
+    }
+
+    Map<X500Principal, Set<BigInteger>> revoked = new HashMap<>();
+    Map<X500Principal, Validity> validity = new HashMap<>();
+    for (CRL crl : crls) {
+      X509CRL x509Crl = (X509CRL) crl;
+      verifySignature(x509Crl, issuers);
+      validity.merge(x509Crl.getIssuerX500Principal(), new Validity(x509Crl), Validity::latest);
+
+      Set<? extends X509CRLEntry> entries = x509Crl.getRevokedCertificates();
+      if (entries == null) {
+        continue;
+      }
+      for (X509CRLEntry entry : entries) {
+        // indirect CRLs may state a different issuer for the entry
+        X500Principal issuer = entry.getCertificateIssuer() != null
+            ? entry.getCertificateIssuer()
+            : x509Crl.getIssuerX500Principal();
+        revoked.computeIfAbsent(issuer, k -> new HashSet<>()).add(entry.getSerialNumber());
+        if (!issuer.equals(x509Crl.getIssuerX500Principal())) {
+          validity.merge(issuer, new Validity(x509Crl), Validity::latest);
+        }
+      }
+    }
+
+    return new CrlIndex(revoked, validity);
+  }
+
+  private static void verifySignature(X509CRL crl, Collection<X509Certificate> issuers) throws CRLException {
+    for (X509Certificate issuer : issuers) {
+      if (issuer.getSubjectX500Principal().equals(crl.getIssuerX500Principal())) {
+        try {
+          crl.verify(issuer.getPublicKey());
+          return;
+        } catch (GeneralSecurityException e) {
+          // try with the next certificate with the same subject, if any
+        }
+      }
+    }
+    throw new CRLException("CRL issued by '" + crl.getIssuerX500Principal() + "' is not signed by a trusted certificate");
+  }
+
+  /**
+   * @param certificate the certificate to check
+   * @return {@code true} if the certificate is revoked by any of the indexed CRLs
+   */
+  boolean isRevoked(X509Certificate certificate) {
+    Set<BigInteger> revokedSerials = revokedSerialsByIssuer.get(certificate.getIssuerX500Principal());
+    return revokedSerials != null && revokedSerials.contains(certificate.getSerialNumber());
+  }
+
+  /**
+   * @param certificate the certificate to check
+   * @return the time until the CRLs of the issuer of the certificate are current, or {@code null} if there is no CRL for its
+   *         issuer or the CRL doesn't state when the next one is issued.
+   */
+  Date getNextUpdate(X509Certificate certificate) {
+    Validity validity = validityByIssuer.get(certificate.getIssuerX500Principal());
+    return validity != null ? validity.nextUpdate : null;
+  }
+
+  /**
+   * @param certificate the certificate to check
+   * @param date        the date to check the CRLs validity at
+   * @return {@code true} if there is a CRL for the issuer of the certificate that is current at the given date
+   */
+  boolean isCurrent(X509Certificate certificate, Date date) {
+    Validity validity = validityByIssuer.get(certificate.getIssuerX500Principal());
+    return validity != null && validity.nextUpdate != null
+        && !validity.thisUpdate.after(date) && validity.nextUpdate.after(date);
+  }
+
+  /**
+   * @return the amount of revoked certificates in this index
+   */
+  int size() {
+    int size = 0;
+    for (Set<BigInteger> serials : revokedSerialsByIssuer.values()) {
+      size += serials.size();
+    }
+    return size;
+  }
+
+  /**
+   * The validity period of the most recent CRL of an issuer.
+   */
+  private static final class Validity {
+
+    private final Date thisUpdate;
+    private final Date nextUpdate;
+
+    private Validity(X509CRL crl) {
+      this.thisUpdate = crl.getThisUpdate();
+      this.nextUpdate = crl.getNextUpdate();
+    }
+
+    private static Validity latest(Validity a, Validity b) {
+      return b.thisUpdate.after(a.thisUpdate) ? b : a;
+    }
+  }
+}
@@ -21,21 +21,31 @@ import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
 import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import javax.net.ssl.CertPathTrustManagerParameters;
 import javax.net.ssl.ManagerFactoryParameters;
+import javax.security.auth.x500.X500Principal;
 
 /**
  * Uses a custom OCSP responder for certificate revocation checks, with a specific trusted certificate for revocating other keys.
  * This ignores extension points (additional tags for CRLDP or OCSP) present in the certificate, if any.
+ * <p>
+ * When {@code cacheResponses} is set, the responder is queried by a {@link CachingOcspRevocationChecker} that keeps the responses
+ * while the JDK revocation checker considers them current, instead of going online on each handshake.
  *
  * @since 4.1
  */
 public class CustomOcspResponder extends AbstractComponent implements RevocationCheck {
 
+  private static final int OCSP_TIMEOUT_MILLIS = 15000;
+
   private String url;
   private String certAlias;
+  private Boolean cacheResponses = false;
 
   public void setUrl(String url) {
     this.url = url;
@@ -45,12 +55,20 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
     this.certAlias = certAlias;
   }
 
+  public void setCacheResponses(Boolean cacheResponses) {
+    this.cacheResponses = cacheResponses;
+  }
+
   @Override
   public ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
     checkArgument(url != null, "tls:custom-ocsp-responder requires the 'url' attribute");
     checkArgument(trustStore != null, "tls:custom-ocsp-responder requires a trust store");
 
     try {
+      if (cacheResponses) {
+        return cachingConfigFor(trustStore);
+      }
+
       CertPathBuilder cpb = CertPathBuilder.getInstance("PKIX");
       PKIXRevocationChecker rc = (PKIXRevocationChecker) cpb.getRevocationChecker();
       rc.setOptions(EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK));
@@ -75,6 +93,35 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
     }
   }
 
+  private ManagerFactoryParameters cachingConfigFor(KeyStore trustStore) throws GeneralSecurityException, URISyntaxException {
+    X509Certificate responderCert = null;
+    if (certAlias != null) {
+      if (trustStore.isCertificateEntry(certAlias)) {
+        responderCert = (X509Certificate) trustStore.getCertificate(certAlias);
+      } else {
+        throw new IllegalStateException("Key with alias \"" + certAlias + "\" was not found");
+      }
+    }
+
+    Map<X500Principal, X509Certificate> trustedIssuers = new HashMap<>();
+    Enumeration<String> aliases = trustStore.aliases();
+    while (aliases.hasMoreElements()) {
+      String alias = aliases.nextElement();
+      if (trustStore.isCertificateEntry(alias)) {
+        X509Certificate cert = (X509Certificate) trustStore.getCertificate(alias);
+        trustedIssuers.put(cert.getSubjectX500Principal(), cert);
+      }
+    }
+
+    PKIXBuilderParameters pkixParams = new PKIXBuilderParameters(trustStore, new X509CertSelector());
+    // The caching checker replaces the JDK revocation checker
+    pkixParams.setRevocationEnabled(false);
+    pkixParams.addCertPathChecker(new CachingOcspRevocationChecker(new OcspClient(new URI(url), OCSP_TIMEOUT_MILLIS),
+                                                                   responderCert, trustedIssuers));
+
+    return new CertPathTrustManagerParameters(pkixParams);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -89,6 +136,9 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
     if (url != null ? !url.equals(that.url) : that.url != null) {
       return false;
     }
+    if (cacheResponses != null ? !cacheResponses.equals(that.cacheResponses) : that.cacheResponses != null) {
+      return false;
+    }
     return certAlias != null ? certAlias.equals(that.certAlias) : that.certAlias == null;
   }
 
@@ -96,6 +146,7 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
   public int hashCode() {
     int result = url != null ? url.hashCode() : 0;
     result = 31 * result + (certAlias != null ? certAlias.hashCode() : 0);
+    result = 31 * result + (cacheResponses != null ? cacheResponses.hashCode() : 0);
     return result;
   }
 }
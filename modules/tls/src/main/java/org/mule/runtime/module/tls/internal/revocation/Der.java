@@ -0,0 +1,190 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.util.Arrays.copyOfRange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal ASN.1 DER encoding support, enough for building OCSP requests, and decoding support for reading the key of an issuer
+ * certificate.
+ * <p>
+ * Malformed input is always reported as an {@link IOException}. OCSP responses are not decoded here, the JDK verifies them.
+ *
+ * @since 4.10
+ */
+final class Der {
+
+  static final int TAG_INTEGER = 0x02;
+  static final int TAG_BIT_STRING = 0x03;
+  static final int TAG_OCTET_STRING = 0x04;
+  static final int TAG_NULL = 0x05;
+  static final int TAG_OID = 0x06;
+  static final int TAG_SEQUENCE = 0x30;
+
+  private Der() {}
+
+  static byte[] encode(int tag, byte[]... contents) {
+    int length = 0;
+    for (byte[] content : contents) {
+      length += content.length;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length + 6);
+    out.write(tag);
+    if (length < 0x80) {
+      out.write(length);
+    } else {
+      byte[] lengthBytes = BigInteger.valueOf(length).toByteArray();
+      int offset = lengthBytes[0] == 0 ? 1 : 0;
+      out.write(0x80 | (lengthBytes.length - offset));
+      out.write(lengthBytes, offset, lengthBytes.length - offset);
+    }
+    for (byte[] content : contents) {
+      out.write(content, 0, content.length);
+    }
+    return out.toByteArray();
+  }
+
+  static byte[] sequence(byte[]... contents) {
+    return encode(TAG_SEQUENCE, contents);
+  }
+
+  static byte[] octetString(byte[] value) {
+    return encode(TAG_OCTET_STRING, value);
+  }
+
+  static byte[] integer(BigInteger value) {
+    return encode(TAG_INTEGER, value.toByteArray());
+  }
+
+  static byte[] nullValue() {
+    return encode(TAG_NULL);
+  }
+
+  static byte[] oid(String dotted) {
+    String[] parts = dotted.split("\\.");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(Integer.parseInt(parts[0]) * 40 + Integer.parseInt(parts[1]));
+    for (int i = 2; i < parts.length; ++i) {
+      long value = Long.parseLong(parts[i]);
+      byte[] buffer = new byte[10];
+      int pos = buffer.length;
+      buffer[--pos] = (byte) (value & 0x7F);
+      value >>>= 7;
+      while (value > 0) {
+        buffer[--pos] = (byte) (0x80 | (value & 0x7F));
+        value >>>= 7;
+      }
+      out.write(buffer, pos, buffer.length - pos);
+    }
+    return encode(TAG_OID, out.toByteArray());
+  }
+
+  static Element parse(byte[] encoded) throws IOException {
+    Element element = parse(encoded, 0, encoded.length);
+    if (element.end() != encoded.length) {
+      throw new IOException("Unexpected trailing data after DER element");
+    }
+    return element;
+  }
+
+  private static Element parse(byte[] data, int offset, int limit) throws IOException {
+    if (offset + 2 > limit) {
+      throw new IOException("Truncated DER element");
+    }
+    int tag = data[offset] & 0xFF;
+    if ((tag & 0x1F) == 0x1F) {
+      throw new IOException("High tag numbers are not supported");
+    }
+
+    int pos = offset + 1;
+    int length = data[pos++] & 0xFF;
+    if (length >= 0x80) {
+      int lengthBytes = length & 0x7F;
+      if (lengthBytes == 0 || lengthBytes > 4 || pos + lengthBytes > limit) {
+        throw new IOException("Unsupported DER length encoding");
+      }
+      length = 0;
+      for (int i = 0; i < lengthBytes; ++i) {
+        length = (length << 8) | (data[pos++] & 0xFF);
+      }
+      if (length < 0) {
+        throw new IOException("Unsupported DER length encoding");
+      }
+    }
+    if (length > limit - pos) {
+      throw new IOException("Truncated DER element");
+    }
+    return new Element(data, tag, pos, length);
+  }
+
+  /**
+   * A decoded DER element, referencing the bytes of the structure it was read from.
+   */
+  static final class Element {
+
+    private final byte[] data;
+    private final int tag;
+    private final int valueOffset;
+    private final int length;
+
+    private Element(byte[] data, int tag, int valueOffset, int length) {
+      this.data = data;
+      this.tag = tag;
+      this.valueOffset = valueOffset;
+      this.length = length;
+    }
+
+    int tag() {
+      return tag;
+    }
+
+    private int end() {
+      return valueOffset + length;
+    }
+
+    /**
+     * @return the elements contained in this constructed element.
+     */
+    List<Element> children() throws IOException {
+      if ((tag & 0x20) == 0) {
+        throw new IOException(String.format("DER element with tag 0x%02X is not constructed", tag));
+      }
+      List<Element> children = new ArrayList<>();
+      int pos = valueOffset;
+      while (pos < end()) {
+        Element child = parse(data, pos, end());
+        children.add(child);
+        pos = child.end();
+      }
+      return children;
+    }
+
+    /**
+     * @return the bytes of a bit string, ignoring the unused bits indicator.
+     */
+    byte[] bitStringValue() throws IOException {
+      expectTag(TAG_BIT_STRING);
+      if (length < 1) {
+        throw new IOException("Empty DER bit string");
+      }
+      return copyOfRange(data, valueOffset + 1, end());
+    }
+
+    void expectTag(int expected) throws IOException {
+      if (tag != expected) {
+        throw new IOException(String.format("Expected DER tag 0x%02X but found 0x%02X", expected, tag));
+      }
+    }
+  }
+}
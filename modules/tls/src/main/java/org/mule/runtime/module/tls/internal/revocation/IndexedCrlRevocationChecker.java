@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.security.cert.CRLReason.UNSPECIFIED;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.emptySet;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.util.IOUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.cert.CRLException;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateRevokedException;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+/**
+ * Certificate path checker that rejects certificates revoked by a local CRL file, looking them up in a {@link CrlIndex}.
+ * <p>
+ * Like the JDK revocation checker, it fails closed: a certificate is also rejected when the CRL file has no CRL for its issuer,
+ * or when the CRL of its issuer is past its {@code nextUpdate}, since its revocation status can't be determined then.
+ * <p>
+ * When the CRL is a file in the file system, its modification time is checked at most once per {@code reloadInterval} and the
+ * index is rebuilt when it changes, so updated CRLs are picked up without redeploying. If the updated file can't be loaded, the
+ * previous index is kept.
+ *
+ * @since 4.10
+ */
+final class IndexedCrlRevocationChecker extends PKIXCertPathChecker {
+
+  private static final Logger LOGGER = getLogger(IndexedCrlRevocationChecker.class);
+
+  private final CrlSource source;
+
+  /**
+   * @param path           the path of the CRL file, either in the file system or the classpath
+   * @param issuers        the certificates trusted to sign the CRLs
+   * @param reloadInterval min time in millis between checks for changes in the CRL file. {@code 0} disables reloading.
+   * @throws CRLException if the CRL file can't be loaded
+   */
+  IndexedCrlRevocationChecker(String path, Collection<X509Certificate> issuers, long reloadInterval)
+      throws CRLException, IOException {
+    this.source = new CrlSource(path, issuers, reloadInterval);
+  }
+
+  /**
+   * Instances are cloned for each validation, all sharing the same {@link CrlSource}.
+   */
+  private IndexedCrlRevocationChecker(CrlSource source) {
+    this.source = source;
+  }
+
+  @Override
+  public void init(boolean forward) {
+    // Stateless, certificates may be checked in any order
+  }
+
+  @Override
+  public boolean isForwardCheckingSupported() {
+    return true;
+  }
+
+  @Override
+  public Set<String> getSupportedExtensions() {
+    return emptySet();
+  }
+
+  @Override
+  public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+    if (!(cert instanceof X509Certificate)) {
+      return;
+    }
+
+    X509Certificate certificate = (X509Certificate) cert;
+    CrlIndex index = source.current();
+    if (index.isRevoked(certificate)) {
+      throw new CertPathValidatorException("Certificate has been revoked",
+                                           new CertificateRevokedException(new Date(), UNSPECIFIED,
+                                                                           certificate.getIssuerX500Principal(),
+                                                                           new HashMap<>()),
+                                           null, -1, REVOKED);
+    }
+
+    if (!index.isCurrent(certificate, new Date())) {
+      throw new CertPathValidatorException("No current CRL found for issuer '" + certificate.getIssuerX500Principal()
+          + "' (next update: " + index.getNextUpdate(certificate) + ")", null, null, -1, UNDETERMINED_REVOCATION_STATUS);
+    }
+  }
+
+  @Override
+  public IndexedCrlRevocationChecker clone() {
+    return new IndexedCrlRevocationChecker(source);
+  }
+
+  private static final class CrlSource {
+
+    private final String path;
+    private final File file;
+    private final Collection<X509Certificate> issuers;
+    private final long reloadInterval;
+
+    private volatile CrlIndex index;
+    private volatile long lastModified;
+    private volatile long nextReloadCheck;
+
+    private CrlSource(String path, Collection<X509Certificate> issuers, long reloadInterval) throws CRLException, IOException {
+      this.path = path;
+      File candidate = new File(path);
+      this.file = candidate.isFile() ? candidate : null;
+      this.issuers = issuers;
+      this.reloadInterval = reloadInterval;
+
+      this.lastModified = file != null ? file.lastModified() : 0;
+      this.index = load();
+      this.nextReloadCheck = currentTimeMillis() + reloadInterval;
+    }
+
+    private CrlIndex load() throws CRLException, IOException {
+      try (InputStream in = file != null ? new FileInputStream(file) : IOUtils.getResourceAsStream(path, getClass())) {
+        if (in == null) {
+          throw new IOException("CRL file not found: " + path);
+        }
+        return CrlIndex.load(in, issuers);
+      }
+    }
+
+    private CrlIndex current() {
+      if (file != null && reloadInterval > 0) {
+        long now = currentTimeMillis();
+        if (now >= nextReloadCheck) {
+          reloadIfModified(now);
+        }
+      }
+      return index;
+    }
+
+    private synchronized void reloadIfModified(long now) {
+      if (now < nextReloadCheck) {
+        // another thread already checked
+        return;
+      }
+      nextReloadCheck = now + reloadInterval;
+
+      long modified = file.lastModified();
+      if (modified == lastModified) {
+        return;
+      }
+
+      try {
+        CrlIndex reloaded = load();
+        index = reloaded;
+        lastModified = modified;
+        LOGGER.info("Reloaded CRL file '{}' with {} revoked certificates", path, reloaded.size());
+      } catch (CRLException | IOException e) {
+        LOGGER.warn("Unable to reload CRL file '" + path + "', keeping the previously loaded one", e);
+      }
+    }
+  }
+}
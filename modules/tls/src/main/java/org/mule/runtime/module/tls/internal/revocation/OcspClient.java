@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static org.mule.runtime.module.tls.internal.revocation.Der.TAG_SEQUENCE;
+import static org.mule.runtime.module.tls.internal.revocation.Der.integer;
+import static org.mule.runtime.module.tls.internal.revocation.Der.nullValue;
+import static org.mule.runtime.module.tls.internal.revocation.Der.octetString;
+import static org.mule.runtime.module.tls.internal.revocation.Der.oid;
+import static org.mule.runtime.module.tls.internal.revocation.Der.parse;
+import static org.mule.runtime.module.tls.internal.revocation.Der.sequence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.List;
+
+/**
+ * Minimal OCSP (RFC 6960) client: builds a request for a single certificate and sends it to a responder over HTTP.
+ * <p>
+ * The responses are returned as sent by the responder. Parsing and verifying them is left to the JDK revocation checker, see
+ * {@link CachingOcspRevocationChecker}.
+ *
+ * @since 4.10
+ */
+final class OcspClient {
+
+  static final String OID_SHA1 = "1.3.14.3.2.26";
+
+  private static final int MAX_RESPONSE_SIZE = 1024 * 1024;
+
+  private final URI responderUri;
+  private final int timeoutMillis;
+
+  /**
+   * @param responderUri  the URI of the OCSP responder
+   * @param timeoutMillis connect and read timeout for the requests to the responder
+   */
+  OcspClient(URI responderUri, int timeoutMillis) {
+    this.responderUri = responderUri;
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  /**
+   * @return the URI of the OCSP responder
+   */
+  URI getResponderUri() {
+    return responderUri;
+  }
+
+  /**
+   * Queries the responder for the status of the given certificate.
+   *
+   * @param certId the id of the certificate to check
+   * @return the encoded response, not verified
+   * @throws IOException if the responder can't be reached or doesn't respond successfully
+   */
+  byte[] query(CertId certId) throws IOException {
+    return send(buildRequest(certId));
+  }
+
+  static byte[] buildRequest(CertId certId) {
+    byte[] request = sequence(certId.encode());
+    byte[] tbsRequest = sequence(sequence(request));
+    return sequence(tbsRequest);
+  }
+
+  private byte[] send(byte[] request) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) responderUri.toURL().openConnection();
+    try {
+      connection.setConnectTimeout(timeoutMillis);
+      connection.setReadTimeout(timeoutMillis);
+      connection.setDoOutput(true);
+      connection.setRequestMethod("POST");
+      connection.setRequestProperty("Content-Type", "application/ocsp-request");
+      connection.setRequestProperty("Accept", "application/ocsp-response");
+      connection.setFixedLengthStreamingMode(request.length);
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(request);
+      }
+
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        throw new IOException("OCSP responder " + responderUri + " returned HTTP status " + connection.getResponseCode());
+      }
+      try (InputStream in = connection.getInputStream()) {
+        byte[] response = in.readNBytes(MAX_RESPONSE_SIZE + 1);
+        if (response.length > MAX_RESPONSE_SIZE) {
+          throw new IOException("OCSP response from " + responderUri + " exceeds " + MAX_RESPONSE_SIZE + " bytes");
+        }
+        return response;
+      }
+    } finally {
+      connection.disconnect();
+    }
+  }
+
+  /**
+   * Identifies a certificate in OCSP requests, by the SHA-1 hashes of its issuer name and key and its serial number, as the JDK
+   * revocation checker expects to find it in the responses.
+   */
+  static final class CertId {
+
+    private final byte[] issuerNameHash;
+    private final byte[] issuerKeyHash;
+    private final BigInteger serialNumber;
+
+    CertId(byte[] issuerNameHash, byte[] issuerKeyHash, BigInteger serialNumber) {
+      this.issuerNameHash = issuerNameHash;
+      this.issuerKeyHash = issuerKeyHash;
+      this.serialNumber = serialNumber;
+    }
+
+    static CertId of(X509Certificate certificate, X509Certificate issuer) throws IOException {
+      try {
+        MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+        byte[] nameHash = sha1.digest(issuer.getSubjectX500Principal().getEncoded());
+        // the key hash is over the value of the subjectPublicKey BIT STRING of the SubjectPublicKeyInfo
+        Der.Element subjectPublicKeyInfo = parse(issuer.getPublicKey().getEncoded());
+        subjectPublicKeyInfo.expectTag(TAG_SEQUENCE);
+        List<Der.Element> fields = subjectPublicKeyInfo.children();
+        if (fields.size() != 2) {
+          throw new IOException("Malformed SubjectPublicKeyInfo of certificate '" + issuer.getSubjectX500Principal() + "'");
+        }
+        byte[] keyHash = sha1.digest(fields.get(1).bitStringValue());
+        return new CertId(nameHash, keyHash, certificate.getSerialNumber());
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    byte[] getIssuerKeyHash() {
+      return issuerKeyHash;
+    }
+
+    BigInteger getSerialNumber() {
+      return serialNumber;
+    }
+
+    byte[] encode() {
+      return sequence(sequence(oid(OID_SHA1), nullValue()),
+                      octetString(issuerNameHash),
+                      octetString(issuerKeyHash),
+                      integer(serialNumber));
+    }
+  }
+}
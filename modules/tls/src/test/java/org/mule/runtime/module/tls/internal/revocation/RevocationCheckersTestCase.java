@@ -0,0 +1,403 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static org.mule.runtime.module.tls.internal.revocation.Der.TAG_BIT_STRING;
+import static org.mule.runtime.module.tls.internal.revocation.Der.encode;
+import static org.mule.runtime.module.tls.internal.revocation.Der.integer;
+import static org.mule.runtime.module.tls.internal.revocation.Der.nullValue;
+import static org.mule.runtime.module.tls.internal.revocation.Der.octetString;
+import static org.mule.runtime.module.tls.internal.revocation.Der.oid;
+import static org.mule.runtime.module.tls.internal.revocation.Der.sequence;
+
+import static java.lang.System.currentTimeMillis;
+import static java.net.InetAddress.getLoopbackAddress;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.TimeZone.getTimeZone;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.CRLException;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.CertPathValidatorException.Reason;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.X509Certificate;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RevocationCheckersTestCase extends AbstractMuleTestCase {
+
+  private static final char[] PASSWORD = "mulepassword".toCharArray();
+  private static final String SHA256_WITH_RSA = "1.2.840.113549.1.1.11";
+  private static final String OID_OCSP_BASIC = "1.3.6.1.5.5.7.48.1.1";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private X509Certificate ca;
+  private PrivateKey caKey;
+  private X509Certificate certificate;
+  private PrivateKey certificateKey;
+  private Certificate[] certificateChain;
+  private KeyStore trustStore;
+
+  private HttpServer ocspServer;
+  private final AtomicInteger ocspRequests = new AtomicInteger();
+  private volatile byte[] ocspResponse;
+
+  private final ExecutorService tlsServerExecutor = newSingleThreadExecutor();
+
+  @Before
+  public void before() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    try (InputStream is = IOUtils.getResourceAsStream("revocationKeystore.p12", getClass())) {
+      keyStore.load(is, PASSWORD);
+    }
+    ca = (X509Certificate) keyStore.getCertificate("ca");
+    caKey = (PrivateKey) keyStore.getKey("ca", PASSWORD);
+    certificate = (X509Certificate) keyStore.getCertificate("server");
+    certificateKey = (PrivateKey) keyStore.getKey("server", PASSWORD);
+    certificateChain = keyStore.getCertificateChain("server");
+
+    trustStore = KeyStore.getInstance("PKCS12");
+    trustStore.load(null, null);
+    trustStore.setCertificateEntry("ca", ca);
+  }
+
+  @After
+  public void after() {
+    if (ocspServer != null) {
+      ocspServer.stop(0);
+    }
+    tlsServerExecutor.shutdownNow();
+  }
+
+  @Test
+  public void crlIndex() throws Exception {
+    CrlIndex index = CrlIndex.load(new ByteArrayInputStream(currentCrl(certificate.getSerialNumber())), singletonList(ca));
+
+    assertThat(index.size(), is(1));
+    assertThat(index.isRevoked(certificate), is(true));
+    assertThat(index.isRevoked(ca), is(false));
+    assertThat(index.isCurrent(certificate, new Date()), is(true));
+    assertThat(index.isCurrent(certificate, new Date(currentTimeMillis() + DAYS.toMillis(1))), is(false));
+  }
+
+  @Test(expected = CRLException.class)
+  public void crlNotSignedByTrustedIssuer() throws Exception {
+    CrlIndex.load(new ByteArrayInputStream(currentCrl(certificate.getSerialNumber())), singletonList(certificate));
+  }
+
+  @Test
+  public void crlHotReload() throws Exception {
+    File crlFile = temporaryFolder.newFile("revoked.crl");
+    Files.write(crlFile.toPath(), currentCrl(BigInteger.TEN));
+
+    IndexedCrlRevocationChecker checker = new IndexedCrlRevocationChecker(crlFile.getAbsolutePath(), singletonList(ca), 1);
+    checker.check(certificate, emptySet());
+
+    Files.write(crlFile.toPath(), currentCrl(BigInteger.TEN, certificate.getSerialNumber()));
+    crlFile.setLastModified(crlFile.lastModified() + 2000);
+    Thread.sleep(10);
+
+    assertRejected(checker.clone(), certificate, REVOKED);
+  }
+
+  @Test
+  public void crlPastNextUpdate() throws Exception {
+    File crlFile = temporaryFolder.newFile("stale.crl");
+    Files.write(crlFile.toPath(), staleCrl());
+
+    assertRejected(new IndexedCrlRevocationChecker(crlFile.getAbsolutePath(), singletonList(ca), 0), certificate,
+                   UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  @Test
+  public void certificateWithoutCrlForIssuer() throws Exception {
+    File crlFile = temporaryFolder.newFile("other.crl");
+    Files.write(crlFile.toPath(), currentCrl(BigInteger.TEN));
+
+    X509Certificate otherIssuerCertificate;
+    try (InputStream is = IOUtils.getResourceAsStream("muleclient.cer", getClass())) {
+      otherIssuerCertificate = (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(is);
+    }
+
+    assertRejected(new IndexedCrlRevocationChecker(crlFile.getAbsolutePath(), singletonList(ca), 0), otherIssuerCertificate,
+                   UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  @Test
+  public void handshakeWithCurrentCrl() throws Exception {
+    handshake(indexedCrlFile(currentCrl(BigInteger.TEN)));
+  }
+
+  @Test
+  public void handshakeWithRevokedCertificate() throws Exception {
+    assertHandshakeRejected(indexedCrlFile(currentCrl(certificate.getSerialNumber())), REVOKED);
+  }
+
+  @Test
+  public void handshakeWithStaleCrl() throws Exception {
+    assertHandshakeRejected(indexedCrlFile(staleCrl()), UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  @Test
+  public void ocspResponseCached() throws Exception {
+    ocspResponse = ocspResponse(certificate.getSerialNumber(), false, new Date(currentTimeMillis() + HOURS.toMillis(1)));
+    CachingOcspRevocationChecker checker = ocspChecker();
+
+    checker.init(false);
+    checker.check(certificate, emptySet());
+    CachingOcspRevocationChecker clone = checker.clone();
+    clone.init(false);
+    clone.check(certificate, emptySet());
+
+    assertThat(ocspRequests.get(), is(1));
+    assertThat(checker.getCachedCount(), is(1));
+  }
+
+  @Test
+  public void ocspRevoked() throws Exception {
+    ocspResponse = ocspResponse(certificate.getSerialNumber(), true, new Date(currentTimeMillis() + HOURS.toMillis(1)));
+    CachingOcspRevocationChecker checker = ocspChecker();
+
+    checker.init(false);
+    assertRejected(checker, certificate, REVOKED);
+  }
+
+  @Test
+  public void staleOcspResponseNotCached() throws Exception {
+    ocspResponse = ocspResponse(certificate.getSerialNumber(), false, new Date(currentTimeMillis() - DAYS.toMillis(1)));
+    CachingOcspRevocationChecker checker = ocspChecker();
+
+    checker.init(false);
+    assertRejected(checker, certificate, UNDETERMINED_REVOCATION_STATUS);
+    assertThat(checker.getCachedCount(), is(0));
+  }
+
+  @Test
+  public void ocspResponseForOtherCertificate() throws Exception {
+    ocspResponse = ocspResponse(BigInteger.TEN, false, new Date(currentTimeMillis() + HOURS.toMillis(1)));
+    CachingOcspRevocationChecker checker = ocspChecker();
+
+    checker.init(false);
+    assertRejected(checker, certificate, UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  @Test
+  public void malformedOcspResponse() throws Exception {
+    ocspResponse = sequence(encode(0x0A, new byte[] {0}), encode(0xA0, sequence(oid(OID_OCSP_BASIC))));
+    CachingOcspRevocationChecker checker = ocspChecker();
+
+    checker.init(false);
+    assertRejected(checker, certificate, UNDETERMINED_REVOCATION_STATUS);
+  }
+
+  private void assertRejected(PKIXCertPathChecker checker, X509Certificate certificate, Reason reason) {
+    try {
+      checker.check(certificate, emptySet());
+      fail("Certificate should have been rejected");
+    } catch (CertPathValidatorException e) {
+      assertThat(e.getReason(), is(reason));
+    }
+  }
+
+  private void assertHandshakeRejected(RevocationCheck revocationCheck, Reason reason) throws Exception {
+    try {
+      handshake(revocationCheck);
+      fail("Handshake should have failed");
+    } catch (SSLHandshakeException e) {
+      Throwable cause = e;
+      while (cause != null && !(cause instanceof CertPathValidatorException)) {
+        cause = cause.getCause();
+      }
+      assertThat(cause, notNullValue());
+      assertThat(((CertPathValidatorException) cause).getReason(), is(reason));
+    }
+  }
+
+  private CrlFile indexedCrlFile(byte[] crl) throws IOException {
+    File crlFile = temporaryFolder.newFile();
+    Files.write(crlFile.toPath(), crl);
+
+    CrlFile crlFileCheck = new CrlFile();
+    crlFileCheck.setPath(crlFile.getAbsolutePath());
+    crlFileCheck.setIndexed(true);
+    return crlFileCheck;
+  }
+
+  /**
+   * Connects a client trusting the CA with the given revocation check to a server using the certificate issued by the CA.
+   */
+  private void handshake(RevocationCheck revocationCheck) throws Exception {
+    KeyStore serverKeyStore = KeyStore.getInstance("PKCS12");
+    serverKeyStore.load(null, null);
+    serverKeyStore.setKeyEntry("server", certificateKey, PASSWORD, certificateChain);
+    KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    keyManagerFactory.init(serverKeyStore, PASSWORD);
+    SSLContext serverContext = SSLContext.getInstance("TLS");
+    serverContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+    TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance("PKIX");
+    trustManagerFactory.init(revocationCheck.configFor(trustStore, emptySet()));
+    SSLContext clientContext = SSLContext.getInstance("TLS");
+    clientContext.init(null, trustManagerFactory.getTrustManagers(), null);
+
+    try (SSLServerSocket serverSocket =
+        (SSLServerSocket) serverContext.getServerSocketFactory().createServerSocket(0, 1, getLoopbackAddress())) {
+      tlsServerExecutor.submit(() -> {
+        try (SSLSocket socket = (SSLSocket) serverSocket.accept()) {
+          socket.setSoTimeout((int) MINUTES.toMillis(1));
+          socket.startHandshake();
+          socket.getInputStream().read();
+        }
+        return null;
+      });
+
+      try (SSLSocket client =
+          (SSLSocket) clientContext.getSocketFactory().createSocket(getLoopbackAddress(), serverSocket.getLocalPort())) {
+        client.startHandshake();
+      }
+    }
+  }
+
+  private CachingOcspRevocationChecker ocspChecker() throws Exception {
+    ocspServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    ocspServer.createContext("/ocsp", exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      ocspRequests.incrementAndGet();
+      exchange.sendResponseHeaders(200, ocspResponse.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(ocspResponse);
+      }
+    });
+    ocspServer.start();
+
+    URI uri = new URI("http://localhost:" + ocspServer.getAddress().getPort() + "/ocsp");
+    return new CachingOcspRevocationChecker(new OcspClient(uri, 5000), null, singletonMap(ca.getSubjectX500Principal(), ca));
+  }
+
+  private byte[] currentCrl(BigInteger... revokedSerials) throws Exception {
+    return crl(new Date(currentTimeMillis() - MINUTES.toMillis(1)), new Date(currentTimeMillis() + HOURS.toMillis(1)),
+               revokedSerials);
+  }
+
+  private byte[] staleCrl() throws Exception {
+    return crl(new Date(currentTimeMillis() - DAYS.toMillis(2)), new Date(currentTimeMillis() - DAYS.toMillis(1)));
+  }
+
+  private byte[] crl(Date thisUpdate, Date nextUpdate, BigInteger... revokedSerials) throws Exception {
+    byte[][] entries = new byte[revokedSerials.length][];
+    for (int i = 0; i < revokedSerials.length; ++i) {
+      entries[i] = sequence(integer(revokedSerials[i]), utcTime(thisUpdate));
+    }
+
+    byte[] tbsCertList = revokedSerials.length > 0
+        ? sequence(integer(BigInteger.ONE), signatureAlgorithm(), ca.getSubjectX500Principal().getEncoded(),
+                   utcTime(thisUpdate), utcTime(nextUpdate), sequence(entries))
+        : sequence(integer(BigInteger.ONE), signatureAlgorithm(), ca.getSubjectX500Principal().getEncoded(),
+                   utcTime(thisUpdate), utcTime(nextUpdate));
+    return sequence(tbsCertList, signatureAlgorithm(), sign(tbsCertList));
+  }
+
+  /**
+   * Builds a successful basic OCSP response, signed by the CA, for the certificate with the given serial number.
+   */
+  private byte[] ocspResponse(BigInteger serialNumber, boolean revoked, Date nextUpdate) throws Exception {
+    Date thisUpdate = new Date(currentTimeMillis() - MINUTES.toMillis(1));
+    OcspClient.CertId respondedCertId =
+        new OcspClient.CertId(MessageDigest.getInstance("SHA-1").digest(ca.getSubjectX500Principal().getEncoded()),
+                              OcspClient.CertId.of(certificate, ca).getIssuerKeyHash(), serialNumber);
+    // [0] IMPLICIT NULL for good, [1] IMPLICIT RevokedInfo for revoked
+    byte[] certStatus = revoked ? encode(0xA1, generalizedTime(thisUpdate)) : encode(0x80);
+    byte[] singleResponse = sequence(respondedCertId.encode(), certStatus, generalizedTime(thisUpdate),
+                                     encode(0xA0, generalizedTime(nextUpdate)));
+
+    byte[] responseData = sequence(encode(0xA1, ca.getSubjectX500Principal().getEncoded()),
+                                   generalizedTime(new Date()),
+                                   sequence(singleResponse));
+    byte[] basicResponse = sequence(responseData, signatureAlgorithm(), sign(responseData));
+
+    return sequence(encode(0x0A, new byte[] {0}),
+                    encode(0xA0, sequence(oid(OID_OCSP_BASIC), octetString(basicResponse))));
+  }
+
+  private byte[] signatureAlgorithm() {
+    return sequence(oid(SHA256_WITH_RSA), nullValue());
+  }
+
+  private byte[] sign(byte[] data) throws Exception {
+    Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(caKey);
+    signature.update(data);
+    byte[] signed = signature.sign();
+
+    byte[] bitString = new byte[signed.length + 1];
+    System.arraycopy(signed, 0, bitString, 1, signed.length);
+    return encode(TAG_BIT_STRING, bitString);
+  }
+
+  private static byte[] utcTime(Date date) {
+    return encode(0x17, format("yyMMddHHmmss'Z'", date));
+  }
+
+  private static byte[] generalizedTime(Date date) {
+    return encode(0x18, format("yyyyMMddHHmmss'Z'", date));
+  }
+
+  private static byte[] format(String pattern, Date date) {
+    SimpleDateFormat format = new SimpleDateFormat(pattern);
+    format.setTimeZone(getTimeZone("UTC"));
+    return format.format(date).getBytes(US_ASCII);
+  }
+}
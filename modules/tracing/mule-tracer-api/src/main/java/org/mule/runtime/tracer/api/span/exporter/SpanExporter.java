@@ -125,4 +125,16 @@ public interface SpanExporter {
    * @return a {@link SpanIdentifier} based on the export.
    */
   SpanIdentifier getSpanIdentifier();
+
+  /**
+   * Indicates whether the {@link Span} may be exported according to the sampling decision of its trace. As the decision is taken
+   * for the whole trace, a {@link Span} that is not sampled will not have sampled children either.
+   *
+   * @return {@code false} if a sampling decision was taken and the span is not going to be exported, {@code true} otherwise.
+   *
+   * @since 4.10
+   */
+  default boolean isSampled() {
+    return true;
+  }
 }
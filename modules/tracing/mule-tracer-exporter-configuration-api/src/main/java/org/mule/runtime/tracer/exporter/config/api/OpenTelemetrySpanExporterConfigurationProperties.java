@@ -80,6 +80,34 @@ public class OpenTelemetrySpanExporterConfigurationProperties {
   public static final String MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY =
       MULE_OPEN_TELEMETRY_EXPORTER + ".metricsLogFrequency";
 
+  // Tail sampling
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.enabled";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.latencyThreshold";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_PROBABILITY =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.probability";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.maxBufferedSpans";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".tailSampling.decisionWait";
+
+  // Disk buffer
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_ENABLED =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".diskBuffer.enabled";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_DIRECTORY =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".diskBuffer.directory";
+
+  public static final String MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_MAX_SIZE =
+      MULE_OPEN_TELEMETRY_EXPORTER + ".diskBuffer.maxSize";
+
   // Sampling
 
   public static final String PARENTBASED_ALWAYS_ON_SAMPLER = "parentbased_always_on";
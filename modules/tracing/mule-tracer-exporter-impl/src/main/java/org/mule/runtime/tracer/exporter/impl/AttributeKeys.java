@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.opentelemetry.api.common.AttributeKey;
+
+/**
+ * Cache of the {@link AttributeKey}s used to export the span attributes.
+ * <p>
+ * The same attribute names (i.e.: location, correlation id) are exported for every span, so the keys are created once and shared
+ * instead of being created for every attribute of every exported span. The amount of cached keys is bounded, in case attribute
+ * names are generated dynamically.
+ *
+ * @since 4.10
+ */
+public final class AttributeKeys {
+
+  private static final int MAX_CACHED_KEYS = 1024;
+
+  private static final Map<String, AttributeKey<String>> STRING_KEYS = new ConcurrentHashMap<>();
+
+  private AttributeKeys() {}
+
+  /**
+   * @param key the name of the attribute.
+   * @return the {@link AttributeKey} for a string attribute with the given name.
+   */
+  public static AttributeKey<String> stringKey(String key) {
+    AttributeKey<String> attributeKey = STRING_KEYS.get(key);
+    if (attributeKey != null) {
+      return attributeKey;
+    }
+
+    attributeKey = AttributeKey.stringKey(key);
+    if (STRING_KEYS.size() < MAX_CACHED_KEYS) {
+      AttributeKey<String> previous = STRING_KEYS.putIfAbsent(key, attributeKey);
+      if (previous != null) {
+        return previous;
+      }
+    }
+    return attributeKey;
+  }
+}
@@ -8,6 +8,7 @@ package org.mule.runtime.tracer.exporter.impl;
 
 import static org.mule.runtime.api.profiling.tracing.SpanIdentifier.INVALID_SPAN_IDENTIFIER;
 import static org.mule.runtime.tracer.api.span.error.InternalSpanError.getInternalSpanError;
+import static org.mule.runtime.tracer.exporter.impl.AttributeKeys.stringKey;
 import static org.mule.runtime.tracer.exporter.impl.MutableMuleTraceState.getMutableMuleTraceStateFrom;
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.ARTIFACT_ID;
 import static org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils.ARTIFACT_TYPE;
@@ -29,7 +30,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
-import static io.opentelemetry.api.common.AttributeKey.stringKey;
+import static io.opentelemetry.api.common.AttributeType.STRING;
 import static io.opentelemetry.api.common.Attributes.of;
 import static io.opentelemetry.api.trace.SpanContext.getInvalid;
 import static io.opentelemetry.api.trace.SpanKind.INTERNAL;
@@ -48,6 +49,7 @@ import org.mule.runtime.tracer.api.span.exporter.SpanExporter;
 import org.mule.runtime.tracer.api.span.info.InitialExportInfo;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
 import org.mule.runtime.tracer.impl.span.InternalSpan;
+import org.mule.runtime.tracer.impl.span.SpanAttributes;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -97,7 +99,7 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
   private final InternalSpan internalSpan;
   private final String artifactId;
   private final String artifactType;
-  private final Map<String, String> rootAttributes = new HashMap<>();
+  private final SpanAttributes rootAttributes = new SpanAttributes();
   private final SpanProcessor spanProcessor;
   private final Resource resource;
   private final boolean enableMuleAncestorIdManagement;
@@ -149,8 +151,28 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <T> T get(AttributeKey<T> attributeKey) {
-    throw new UnsupportedOperationException();
+    if (attributeKey == null || attributeKey.getType() != STRING) {
+      return null;
+    }
+
+    String key = attributeKey.getKey();
+    if (key.equals(ARTIFACT_ID.getKey())) {
+      return (T) artifactId;
+    } else if (key.equals(ARTIFACT_TYPE.getKey())) {
+      return (T) artifactType;
+    } else if (key.equals(THREAD_END_NAME_KEY.getKey())) {
+      return (T) endThreadNameValue;
+    }
+
+    String[] value = new String[1];
+    internalSpan.forEachAttribute((attributeName, attributeValue) -> {
+      if (attributeName.equals(key)) {
+        value[0] = attributeValue;
+      }
+    });
+    return (T) value[0];
   }
 
   @Override
@@ -174,7 +196,7 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
 
   @Override
   public Map<AttributeKey<?>, Object> asMap() {
-    Map<AttributeKey<?>, Object> attributes = new HashMap<>();
+    Map<AttributeKey<?>, Object> attributes = new HashMap<>(size() * 4 / 3 + 1);
     forEach(attributes::put);
     return attributes;
   }
@@ -192,6 +214,12 @@ public class OpenTelemetrySpanExporter implements SpanExporter, SpanData, Readab
     }
   }
 
+  @Override
+  public boolean isSampled() {
+    // Until the span context is created, no sampling decision was taken
+    return !spanContext.isValid() || spanContext.isSampled();
+  }
+
   @Override
   public void updateNameForExport(String newName) {
     if (rootSpanExporter != this) {
@@ -20,6 +20,7 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.profiling.tracing.Span;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.tracer.api.sniffer.ExportedSpanSniffer;
 import org.mule.runtime.tracer.api.sniffer.SpanSnifferManager;
@@ -68,6 +69,7 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
   private String artifactId;
   private String artifactType;
   private boolean addMuleAncestorSpanId;
+  private Scheduler replayScheduler;
 
   public OpenTelemetrySpanExporterFactory() {}
 
@@ -119,7 +121,18 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
   }
 
   protected io.opentelemetry.sdk.trace.export.SpanExporter resolveOpenTelemetrySpanExporter() {
-    return OpenTelemetryResources.resolveOpenTelemetrySpanExporter(configuration);
+    return OpenTelemetryResources.resolveOpenTelemetrySpanExporter(configuration, artifactId,
+                                                                   muleContext.getConfiguration().getWorkingDirectory(),
+                                                                   this::getReplayScheduler);
+  }
+
+  // Shared by the exporters created on each configuration change, so that the replay of the spilled spans outlives them
+  private synchronized Scheduler getReplayScheduler() {
+    if (replayScheduler == null) {
+      replayScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig().withName("span-export-replay"));
+    }
+    return replayScheduler;
   }
 
   @Override
@@ -160,6 +173,12 @@ public class OpenTelemetrySpanExporterFactory implements SpanExporterFactory, Di
   @Override
   public void dispose() {
     silentlyShutdown(spanProcessor);
+    synchronized (this) {
+      if (replayScheduler != null) {
+        replayScheduler.stop();
+        replayScheduler = null;
+      }
+    }
   }
 
   protected Sampler resolveSampler() {
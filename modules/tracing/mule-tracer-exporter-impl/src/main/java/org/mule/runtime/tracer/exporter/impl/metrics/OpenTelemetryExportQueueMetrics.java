@@ -6,6 +6,10 @@
  */
 package org.mule.runtime.tracer.exporter.impl.metrics;
 
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.DiskBufferedSpanExporter.DROPPED_SPILLED_SPANS;
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.DiskBufferedSpanExporter.REPLAYED_SPANS;
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.DiskBufferedSpanExporter.SPILLED_SPANS;
+
 import static io.opentelemetry.sdk.metrics.data.AggregationTemporality.CUMULATIVE;
 
 import java.util.Collection;
@@ -24,7 +28,8 @@ import org.slf4j.LoggerFactory;
 /**
  * Metric exporter that will log information about the Open Telemetry export queue (currently backed by a
  * {@link io.opentelemetry.sdk.trace.export.BatchSpanProcessor}. Information about dropped spans will be logged as part of the
- * application logs in order to facilitate troubleshooting.
+ * application logs in order to facilitate troubleshooting. The same applies to the spans written to and exported from the disk
+ * buffer, if enabled.
  *
  * @since 4.5.1
  *
@@ -36,17 +41,55 @@ public class OpenTelemetryExportQueueMetrics implements MetricExporter {
   public static final String PROCESSED_SPANS = "processedSpans";
 
   private Long loggedDroppedSpans = 0L;
+  private long loggedSpilledSpans = 0L;
+  private long loggedReplayedSpans = 0L;
+  private long loggedDroppedSpilledSpans = 0L;
 
   @Override
   public CompletableResultCode export(Collection<MetricData> metrics) {
     metrics.forEach(metricData -> {
-      if (metricData.getName().equals(PROCESSED_SPANS)) {
-        checkForDroppedSpans(metricData);
+      switch (metricData.getName()) {
+        case PROCESSED_SPANS:
+          checkForDroppedSpans(metricData);
+          break;
+        case SPILLED_SPANS:
+          long spilledSpans = getSum(metricData);
+          if (spilledSpans > loggedSpilledSpans) {
+            METRICS_LOGGER.warn("Export failed: {} spans have been written to the disk buffer. Total spans written: {}",
+                                spilledSpans - loggedSpilledSpans, spilledSpans);
+            loggedSpilledSpans = spilledSpans;
+          }
+          break;
+        case REPLAYED_SPANS:
+          long replayedSpans = getSum(metricData);
+          if (replayedSpans > loggedReplayedSpans) {
+            METRICS_LOGGER.info("Export recovered: {} spans have been exported from the disk buffer. Total spans exported: {}",
+                                replayedSpans - loggedReplayedSpans, replayedSpans);
+            loggedReplayedSpans = replayedSpans;
+          }
+          break;
+        case DROPPED_SPILLED_SPANS:
+          long droppedSpilledSpans = getSum(metricData);
+          if (droppedSpilledSpans > loggedDroppedSpilledSpans) {
+            METRICS_LOGGER.warn("Disk buffer overflow: {} spans have been dropped. Total spans dropped: {}",
+                                droppedSpilledSpans - loggedDroppedSpilledSpans, droppedSpilledSpans);
+            loggedDroppedSpilledSpans = droppedSpilledSpans;
+          }
+          break;
+        default:
       }
     });
     return CompletableResultCode.ofSuccess();
   }
 
+  /**
+   * @param metricData Metric data of a counter.
+   * @return The value of the counter.
+   */
+  private long getSum(MetricData metricData) {
+    return metricData.getLongSumData().getPoints().stream().mapToLong(LongPointData::getValue).sum();
+  }
+
   /**
    * Logs a warning message if the amount of dropped spans has increased since the last call to this method.
    * 
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.buffer;
+
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.SpanDataSerializer.deserialize;
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.SpanDataSerializer.serialize;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SpanExporter} that spills to a {@link MappedRingFile} the batches that its delegate fails to export, and replays them
+ * once the delegate can export again.
+ * <p>
+ * This keeps the spans generated while the collector is slow or down out of the heap. While there are spilled batches and the
+ * delegate keeps failing, new batches are spilled right away instead of waiting for the delegate to time out, so that the export
+ * queue does not fill up and drop spans. The spilled batches are replayed in order, one replay at a time, with an exponential
+ * backoff between failed attempts.
+ * <p>
+ * Batches that do not fit in the file are dropped.
+ *
+ * @since 4.10
+ */
+public class DiskBufferedSpanExporter implements SpanExporter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiskBufferedSpanExporter.class);
+
+  public static final String SPILLED_SPANS = "spilledSpans";
+  public static final String REPLAYED_SPANS = "replayedSpans";
+  public static final String DROPPED_SPILLED_SPANS = "droppedSpilledSpans";
+
+  private final SpanExporter delegate;
+  private final MappedRingFile ringFile;
+  private final long exportTimeoutMillis;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+  private final ScheduledExecutorService replayScheduler;
+
+  private final AtomicBoolean replayScheduled = new AtomicBoolean();
+  private final LongAdder spilledSpans = new LongAdder();
+  private final LongAdder replayedSpans = new LongAdder();
+  private final LongAdder droppedSpans = new LongAdder();
+
+  private volatile boolean delegateAvailable = true;
+  private volatile boolean shutdown;
+  private volatile long backoffMillis;
+  private volatile ScheduledFuture<?> replayTask;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate             the exporter that sends the spans to the collector.
+   * @param ringFile             the file to spill the batches to. It is released when this exporter is shut down.
+   * @param exportTimeoutMillis  the time to wait for the delegate to export a replayed batch.
+   * @param initialBackoffMillis the time to wait before replaying after the first failure.
+   * @param maxBackoffMillis     the maximum time to wait before replaying.
+   * @param replayScheduler      the scheduler to replay the spilled batches on. It is not stopped by this exporter, as it may be
+   *                             shared with the exporters that replace this one.
+   */
+  public DiskBufferedSpanExporter(SpanExporter delegate, MappedRingFile ringFile, long exportTimeoutMillis,
+                                  long initialBackoffMillis, long maxBackoffMillis,
+                                  ScheduledExecutorService replayScheduler) {
+    this.delegate = delegate;
+    this.ringFile = ringFile;
+    this.exportTimeoutMillis = exportTimeoutMillis;
+    this.initialBackoffMillis = max(initialBackoffMillis, 1);
+    this.maxBackoffMillis = max(maxBackoffMillis, this.initialBackoffMillis);
+    this.backoffMillis = this.initialBackoffMillis;
+    this.replayScheduler = replayScheduler;
+
+    // Batches spilled before a restart or by a previous exporter on the same file
+    if (!ringFile.isEmpty()) {
+      scheduleReplay(0);
+    }
+  }
+
+  @Override
+  public CompletableResultCode export(Collection<SpanData> spans) {
+    if (!delegateAvailable) {
+      spill(spans);
+      return CompletableResultCode.ofSuccess();
+    }
+
+    CompletableResultCode result = new CompletableResultCode();
+    CompletableResultCode exportResult = delegate.export(spans);
+    exportResult.whenComplete(() -> {
+      if (!exportResult.isSuccess()) {
+        delegateAvailable = false;
+        spill(spans);
+      }
+      result.succeed();
+    });
+    return result;
+  }
+
+  @Override
+  public CompletableResultCode flush() {
+    return delegate.flush();
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    shutdown = true;
+    ScheduledFuture<?> task = replayTask;
+    if (task != null) {
+      task.cancel(true);
+    }
+    ringFile.release();
+    return delegate.shutdown();
+  }
+
+  /**
+   * Registers the counters of spilled, replayed and dropped spans in the given meter.
+   *
+   * @param meter the meter to register the counters in.
+   */
+  public void registerMetrics(Meter meter) {
+    meter.counterBuilder(SPILLED_SPANS).buildWithCallback(measurement -> measurement.record(spilledSpans.sum()));
+    meter.counterBuilder(REPLAYED_SPANS).buildWithCallback(measurement -> measurement.record(replayedSpans.sum()));
+    meter.counterBuilder(DROPPED_SPILLED_SPANS).buildWithCallback(measurement -> measurement.record(droppedSpans.sum()));
+  }
+
+  /**
+   * @return the amount of spans that were written to the file.
+   */
+  public long getSpilledSpans() {
+    return spilledSpans.sum();
+  }
+
+  /**
+   * @return the amount of spans read from the file that were exported.
+   */
+  public long getReplayedSpans() {
+    return replayedSpans.sum();
+  }
+
+  /**
+   * @return the amount of spans that could not be exported nor written to the file.
+   */
+  public long getDroppedSpans() {
+    return droppedSpans.sum();
+  }
+
+  private void spill(Collection<SpanData> spans) {
+    if (shutdown) {
+      droppedSpans.add(spans.size());
+      return;
+    }
+
+    try {
+      if (ringFile.offer(serialize(spans))) {
+        spilledSpans.add(spans.size());
+      } else {
+        droppedSpans.add(spans.size());
+        LOGGER.debug("Span export buffer file is full, dropping {} spans", spans.size());
+      }
+    } catch (RuntimeException e) {
+      droppedSpans.add(spans.size());
+      LOGGER.warn("Could not write spans to the export buffer file", e);
+    }
+
+    scheduleReplay(backoffMillis);
+  }
+
+  private void scheduleReplay(long delayMillis) {
+    if (!shutdown && replayScheduled.compareAndSet(false, true)) {
+      rescheduleReplay(delayMillis);
+    }
+  }
+
+  private void replay() {
+    // The task may have been scheduled right before being cancelled, and the file is already released
+    if (shutdown) {
+      return;
+    }
+
+    ReentrantLock consumerLock = ringFile.getConsumerLock();
+    // Another exporter on the same file (i.e.: the one being replaced after a configuration change) is replaying
+    if (!consumerLock.tryLock()) {
+      rescheduleReplay(backoffMillis);
+      return;
+    }
+
+    try {
+      byte[] batch;
+      while (!shutdown && (batch = ringFile.peek()) != null) {
+        List<SpanData> spans;
+        try {
+          spans = deserialize(batch);
+        } catch (IOException e) {
+          LOGGER.warn("Discarding corrupted batch from the span export buffer file", e);
+          ringFile.remove();
+          continue;
+        }
+
+        CompletableResultCode result = delegate.export(spans).join(exportTimeoutMillis, MILLISECONDS);
+        if (!result.isSuccess()) {
+          delegateAvailable = false;
+          backoffMillis = min(backoffMillis * 2, maxBackoffMillis);
+          rescheduleReplay(backoffMillis);
+          return;
+        }
+
+        ringFile.remove();
+        replayedSpans.add(spans.size());
+        delegateAvailable = true;
+        backoffMillis = initialBackoffMillis;
+      }
+    } catch (RuntimeException e) {
+      LOGGER.warn("Error replaying spans from the export buffer file", e);
+      rescheduleReplay(backoffMillis);
+      return;
+    } finally {
+      consumerLock.unlock();
+    }
+
+    // Nothing left to replay, so new batches go to the delegate first
+    delegateAvailable = true;
+    replayScheduled.set(false);
+    // A batch may have been spilled while the flag was still set
+    if (!ringFile.isEmpty()) {
+      scheduleReplay(backoffMillis);
+    }
+  }
+
+  private void rescheduleReplay(long delayMillis) {
+    try {
+      replayTask = replayScheduler.schedule(this::replay, delayMillis, MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // The scheduler was stopped, the spilled batches will be replayed by the next exporter using the file
+      LOGGER.debug("Span export replay not scheduled as the exporter is shut down");
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.buffer;
+
+import static java.lang.Math.min;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded queue of byte records stored in a memory mapped file, used as a ring buffer.
+ * <p>
+ * The positions of the queue are kept in a header at the beginning of the file, so the records that were not consumed are still
+ * available when the file is opened again (for example, after a restart). Records that do not fit in the free space are rejected.
+ * <p>
+ * Instances are shared by every user of the same file (see {@link #open(Path, int)}), so that a new exporter created on a
+ * configuration change and the one it replaces do not write to the same file through different mappings.
+ *
+ * @since 4.10
+ */
+public final class MappedRingFile {
+
+  private static final int MAGIC = 0x4D524246;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int READ_POSITION_OFFSET = 4;
+  private static final int WRITE_POSITION_OFFSET = 8;
+  private static final int RECORDS_OFFSET = 12;
+  static final int HEADER_SIZE = 16;
+
+  private static final int LENGTH_SIZE = 4;
+  // Marks that the next record starts at the beginning of the data region.
+  private static final int WRAP = -1;
+
+  private static final Map<Path, MappedRingFile> OPEN_FILES = new HashMap<>();
+
+  /**
+   * Opens the ring file at the given path, creating it if needed, or returns the instance already open for it.
+   * <p>
+   * Every call must be matched by a call to {@link #release()}.
+   *
+   * @param path     the location of the file.
+   * @param capacity the size of the file, in bytes. Ignored if the file is already open.
+   * @return the ring file.
+   * @throws IOException if the file could not be created or mapped.
+   */
+  public static MappedRingFile open(Path path, int capacity) throws IOException {
+    Path normalizedPath = path.toAbsolutePath().normalize();
+    synchronized (OPEN_FILES) {
+      MappedRingFile ringFile = OPEN_FILES.get(normalizedPath);
+      if (ringFile == null) {
+        ringFile = new MappedRingFile(normalizedPath, capacity);
+        OPEN_FILES.put(normalizedPath, ringFile);
+      }
+      ringFile.references++;
+      return ringFile;
+    }
+  }
+
+  private final Path path;
+  private final int capacity;
+  private final MappedByteBuffer buffer;
+  private final ReentrantLock consumerLock = new ReentrantLock();
+  private int references;
+
+  private int readPosition;
+  private int writePosition;
+  private int records;
+
+  private MappedRingFile(Path path, int capacity) throws IOException {
+    if (capacity <= HEADER_SIZE + LENGTH_SIZE) {
+      throw new IllegalArgumentException("The capacity of the ring file must be greater than " + (HEADER_SIZE + LENGTH_SIZE));
+    }
+    if (path.getParent() != null) {
+      createDirectories(path.getParent());
+    }
+
+    this.path = path;
+    try (FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE)) {
+      // The mapping remains valid after the channel is closed
+      int existingCapacity = (int) min(channel.size(), Integer.MAX_VALUE);
+      this.capacity = isValid(channel, existingCapacity) ? existingCapacity : capacity;
+      this.buffer = channel.map(READ_WRITE, 0, this.capacity);
+    }
+
+    if (buffer.getInt(MAGIC_OFFSET) == MAGIC) {
+      readPosition = buffer.getInt(READ_POSITION_OFFSET);
+      writePosition = buffer.getInt(WRITE_POSITION_OFFSET);
+      records = buffer.getInt(RECORDS_OFFSET);
+    } else {
+      clear();
+    }
+  }
+
+  private static boolean isValid(FileChannel channel, int existingCapacity) throws IOException {
+    if (existingCapacity <= HEADER_SIZE) {
+      return false;
+    }
+    MappedByteBuffer header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+    int read = header.getInt(READ_POSITION_OFFSET);
+    int write = header.getInt(WRITE_POSITION_OFFSET);
+    return header.getInt(MAGIC_OFFSET) == MAGIC
+        && read >= HEADER_SIZE && read <= existingCapacity
+        && write >= HEADER_SIZE && write <= existingCapacity
+        && header.getInt(RECORDS_OFFSET) >= 0;
+  }
+
+  /**
+   * Appends a record to the queue.
+   *
+   * @param record the record to append.
+   * @return whether there was room for the record.
+   */
+  public synchronized boolean offer(byte[] record) {
+    int required = LENGTH_SIZE + record.length;
+    if (records == 0) {
+      readPosition = HEADER_SIZE;
+      writePosition = HEADER_SIZE;
+    }
+
+    int position;
+    if (records > 0 && writePosition == readPosition) {
+      return false;
+    } else if (writePosition >= readPosition) {
+      if (capacity - writePosition >= required) {
+        position = writePosition;
+      } else if (readPosition - HEADER_SIZE >= required) {
+        if (capacity - writePosition >= LENGTH_SIZE) {
+          buffer.putInt(writePosition, WRAP);
+        }
+        position = HEADER_SIZE;
+      } else {
+        return false;
+      }
+    } else if (readPosition - writePosition >= required) {
+      position = writePosition;
+    } else {
+      return false;
+    }
+
+    buffer.putInt(position, record.length);
+    buffer.put(position + LENGTH_SIZE, record);
+    writePosition = position + required;
+    records++;
+    writeHeader();
+    return true;
+  }
+
+  /**
+   * @return the oldest record in the queue without removing it, or {@code null} if the queue is empty.
+   */
+  public synchronized byte[] peek() {
+    if (records == 0) {
+      return null;
+    }
+
+    int position = resolveReadPosition();
+    int length = buffer.getInt(position);
+    if (length < 0 || length > capacity - position - LENGTH_SIZE) {
+      // The file was corrupted (i.e.: the process died while writing the header), so its records cannot be trusted
+      clear();
+      return null;
+    }
+
+    byte[] record = new byte[length];
+    buffer.get(position + LENGTH_SIZE, record);
+    return record;
+  }
+
+  /**
+   * Removes the oldest record from the queue, if any.
+   */
+  public synchronized void remove() {
+    if (records == 0) {
+      return;
+    }
+
+    int position = resolveReadPosition();
+    readPosition = position + LENGTH_SIZE + buffer.getInt(position);
+    records--;
+    if (records == 0) {
+      readPosition = HEADER_SIZE;
+      writePosition = HEADER_SIZE;
+    }
+    writeHeader();
+  }
+
+  /**
+   * @return whether the queue has no records.
+   */
+  public synchronized boolean isEmpty() {
+    return records == 0;
+  }
+
+  /**
+   * @return the amount of records in the queue.
+   */
+  public synchronized int size() {
+    return records;
+  }
+
+  /**
+   * The lock that the consumers of the queue have to hold while a record is being {@link #peek() peeked} and
+   * {@link #remove() removed}, so that two consumers do not process the same record.
+   *
+   * @return the consumer lock.
+   */
+  public ReentrantLock getConsumerLock() {
+    return consumerLock;
+  }
+
+  /**
+   * Releases this file. Once every user of the file has released it, the file is flushed and it can be opened again.
+   */
+  public void release() {
+    synchronized (OPEN_FILES) {
+      if (--references == 0) {
+        OPEN_FILES.remove(path);
+        synchronized (this) {
+          buffer.force();
+        }
+      }
+    }
+  }
+
+  private int resolveReadPosition() {
+    int position = readPosition;
+    if (capacity - position < LENGTH_SIZE || buffer.getInt(position) == WRAP) {
+      position = HEADER_SIZE;
+    }
+    return position;
+  }
+
+  private void clear() {
+    readPosition = HEADER_SIZE;
+    writePosition = HEADER_SIZE;
+    records = 0;
+    buffer.putInt(MAGIC_OFFSET, MAGIC);
+    writeHeader();
+  }
+
+  private void writeHeader() {
+    buffer.putInt(READ_POSITION_OFFSET, readPosition);
+    buffer.putInt(WRITE_POSITION_OFFSET, writePosition);
+    buffer.putInt(RECORDS_OFFSET, records);
+  }
+}
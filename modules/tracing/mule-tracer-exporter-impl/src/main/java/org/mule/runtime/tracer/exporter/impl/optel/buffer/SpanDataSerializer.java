@@ -0,0 +1,522 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.buffer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static io.opentelemetry.api.common.AttributeKey.booleanArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.booleanKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.doubleKey;
+import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.longKey;
+import static io.opentelemetry.api.common.AttributeKey.stringArrayKey;
+import static io.opentelemetry.api.common.AttributeKey.stringKey;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.AttributeType;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.TraceStateBuilder;
+import io.opentelemetry.sdk.common.InstrumentationLibraryInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfoBuilder;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+
+/**
+ * Serializes batches of {@link SpanData} to a compact binary representation, so that they can be buffered out of the heap and
+ * exported later.
+ * <p>
+ * The deserialized spans are immutable copies that keep every field the exporters send.
+ *
+ * @since 4.10
+ */
+public final class SpanDataSerializer {
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final AttributeType[] ATTRIBUTE_TYPES = AttributeType.values();
+  private static final SpanKind[] SPAN_KINDS = SpanKind.values();
+  private static final StatusCode[] STATUS_CODES = StatusCode.values();
+
+  private SpanDataSerializer() {}
+
+  /**
+   * @param spans the spans to serialize.
+   * @return the serialized spans.
+   */
+  public static byte[] serialize(Collection<SpanData> spans) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(512 * spans.size());
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeByte(FORMAT_VERSION);
+      output.writeInt(spans.size());
+      for (SpanData span : spans) {
+        writeSpan(output, span);
+      }
+    } catch (IOException e) {
+      // Writing to memory does not fail
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @param serializedSpans spans serialized with {@link #serialize(Collection)}.
+   * @return the deserialized spans.
+   * @throws IOException if the spans could not be deserialized.
+   */
+  public static List<SpanData> deserialize(byte[] serializedSpans) throws IOException {
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(serializedSpans))) {
+      byte version = input.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported serialized spans version: " + version);
+      }
+
+      int count = readSize(input);
+      List<SpanData> spans = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        spans.add(readSpan(input));
+      }
+      return spans;
+    } catch (RuntimeException e) {
+      throw new IOException("Serialized spans are corrupted", e);
+    }
+  }
+
+  private static void writeSpan(DataOutputStream output, SpanData span) throws IOException {
+    writeString(output, span.getName());
+    output.writeByte(span.getKind().ordinal());
+    writeSpanContext(output, span.getSpanContext());
+    writeSpanContext(output, span.getParentSpanContext());
+    output.writeByte(span.getStatus().getStatusCode().ordinal());
+    writeNullableString(output, span.getStatus().getDescription());
+    output.writeLong(span.getStartEpochNanos());
+    output.writeLong(span.getEndEpochNanos());
+    writeAttributes(output, span.getAttributes());
+    output.writeInt(span.getTotalAttributeCount());
+
+    List<EventData> events = span.getEvents();
+    output.writeInt(events.size());
+    for (EventData event : events) {
+      writeString(output, event.getName());
+      output.writeLong(event.getEpochNanos());
+      writeAttributes(output, event.getAttributes());
+      output.writeInt(event.getTotalAttributeCount());
+    }
+    output.writeInt(span.getTotalRecordedEvents());
+
+    List<LinkData> links = span.getLinks();
+    output.writeInt(links.size());
+    for (LinkData link : links) {
+      writeSpanContext(output, link.getSpanContext());
+      writeAttributes(output, link.getAttributes());
+      output.writeInt(link.getTotalAttributeCount());
+    }
+    output.writeInt(span.getTotalRecordedLinks());
+
+    writeNullableString(output, span.getResource().getSchemaUrl());
+    writeAttributes(output, span.getResource().getAttributes());
+
+    InstrumentationScopeInfo scope = span.getInstrumentationScopeInfo();
+    writeString(output, scope.getName());
+    writeNullableString(output, scope.getVersion());
+    writeNullableString(output, scope.getSchemaUrl());
+    writeAttributes(output, scope.getAttributes());
+  }
+
+  private static SpanData readSpan(DataInputStream input) throws IOException {
+    String name = readString(input);
+    SpanKind kind = SPAN_KINDS[input.readByte()];
+    SpanContext spanContext = readSpanContext(input);
+    SpanContext parentSpanContext = readSpanContext(input);
+    StatusData status = StatusData.create(STATUS_CODES[input.readByte()], readNullableString(input));
+    long startEpochNanos = input.readLong();
+    long endEpochNanos = input.readLong();
+    Attributes attributes = readAttributes(input);
+    int totalAttributeCount = input.readInt();
+
+    int eventCount = readSize(input);
+    List<EventData> events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; i++) {
+      String eventName = readString(input);
+      long epochNanos = input.readLong();
+      events.add(EventData.create(epochNanos, eventName, readAttributes(input), input.readInt()));
+    }
+    int totalRecordedEvents = input.readInt();
+
+    int linkCount = readSize(input);
+    List<LinkData> links = new ArrayList<>(linkCount);
+    for (int i = 0; i < linkCount; i++) {
+      SpanContext linkContext = readSpanContext(input);
+      links.add(LinkData.create(linkContext, readAttributes(input), input.readInt()));
+    }
+    int totalRecordedLinks = input.readInt();
+
+    String schemaUrl = readNullableString(input);
+    Resource resource = Resource.create(readAttributes(input), schemaUrl);
+
+    InstrumentationScopeInfoBuilder scopeBuilder = InstrumentationScopeInfo.builder(readString(input));
+    String scopeVersion = readNullableString(input);
+    if (scopeVersion != null) {
+      scopeBuilder.setVersion(scopeVersion);
+    }
+    String scopeSchemaUrl = readNullableString(input);
+    if (scopeSchemaUrl != null) {
+      scopeBuilder.setSchemaUrl(scopeSchemaUrl);
+    }
+    InstrumentationScopeInfo scope = scopeBuilder.setAttributes(readAttributes(input)).build();
+
+    return new DeserializedSpanData(name, kind, spanContext, parentSpanContext, status, startEpochNanos, endEpochNanos,
+                                    attributes, totalAttributeCount, events, totalRecordedEvents, links, totalRecordedLinks,
+                                    resource, scope);
+  }
+
+  private static void writeSpanContext(DataOutputStream output, SpanContext spanContext) throws IOException {
+    output.writeBoolean(spanContext.isValid());
+    if (!spanContext.isValid()) {
+      return;
+    }
+
+    writeString(output, spanContext.getTraceId());
+    writeString(output, spanContext.getSpanId());
+    output.writeByte(spanContext.getTraceFlags().asByte());
+    output.writeBoolean(spanContext.isRemote());
+
+    Map<String, String> traceState = spanContext.getTraceState().asMap();
+    output.writeInt(traceState.size());
+    for (Map.Entry<String, String> entry : traceState.entrySet()) {
+      writeString(output, entry.getKey());
+      writeString(output, entry.getValue());
+    }
+  }
+
+  private static SpanContext readSpanContext(DataInputStream input) throws IOException {
+    if (!input.readBoolean()) {
+      return SpanContext.getInvalid();
+    }
+
+    String traceId = readString(input);
+    String spanId = readString(input);
+    TraceFlags traceFlags = TraceFlags.fromByte(input.readByte());
+    boolean remote = input.readBoolean();
+
+    int traceStateSize = readSize(input);
+    TraceStateBuilder traceStateBuilder = TraceState.builder();
+    for (int i = 0; i < traceStateSize; i++) {
+      traceStateBuilder.put(readString(input), readString(input));
+    }
+    TraceState traceState = traceStateBuilder.build();
+
+    return remote ? SpanContext.createFromRemoteParent(traceId, spanId, traceFlags, traceState)
+        : SpanContext.create(traceId, spanId, traceFlags, traceState);
+  }
+
+  private static void writeAttributes(DataOutputStream output, Attributes attributes) throws IOException {
+    output.writeInt(attributes.size());
+    try {
+      attributes.forEach((key, value) -> {
+        try {
+          writeString(output, key.getKey());
+          output.writeByte(key.getType().ordinal());
+          writeAttributeValue(output, key.getType(), value);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void writeAttributeValue(DataOutputStream output, AttributeType type, Object value) throws IOException {
+    switch (type) {
+      case STRING:
+        writeString(output, (String) value);
+        break;
+      case BOOLEAN:
+        output.writeBoolean((Boolean) value);
+        break;
+      case LONG:
+        output.writeLong((Long) value);
+        break;
+      case DOUBLE:
+        output.writeDouble((Double) value);
+        break;
+      default:
+        // Array types
+        List<?> values = (List<?>) value;
+        output.writeInt(values.size());
+        for (Object element : values) {
+          writeAttributeValue(output, getElementType(type), element);
+        }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Attributes readAttributes(DataInputStream input) throws IOException {
+    int size = readSize(input);
+    if (size == 0) {
+      return Attributes.empty();
+    }
+
+    AttributesBuilder builder = Attributes.builder();
+    for (int i = 0; i < size; i++) {
+      String key = readString(input);
+      AttributeType type = ATTRIBUTE_TYPES[input.readByte()];
+      switch (type) {
+        case STRING:
+          builder.put(stringKey(key), readString(input));
+          break;
+        case BOOLEAN:
+          builder.put(booleanKey(key), input.readBoolean());
+          break;
+        case LONG:
+          builder.put(longKey(key), input.readLong());
+          break;
+        case DOUBLE:
+          builder.put(doubleKey(key), input.readDouble());
+          break;
+        default:
+          builder.put((AttributeKey<List<Object>>) arrayKey(type, key), readArray(input, getElementType(type)));
+      }
+    }
+    return builder.build();
+  }
+
+  private static List<Object> readArray(DataInputStream input, AttributeType elementType) throws IOException {
+    int size = readSize(input);
+    List<Object> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      switch (elementType) {
+        case STRING:
+          values.add(readString(input));
+          break;
+        case BOOLEAN:
+          values.add(input.readBoolean());
+          break;
+        case LONG:
+          values.add(input.readLong());
+          break;
+        default:
+          values.add(input.readDouble());
+      }
+    }
+    return values;
+  }
+
+  private static AttributeKey<?> arrayKey(AttributeType type, String key) {
+    switch (type) {
+      case STRING_ARRAY:
+        return stringArrayKey(key);
+      case BOOLEAN_ARRAY:
+        return booleanArrayKey(key);
+      case LONG_ARRAY:
+        return longArrayKey(key);
+      default:
+        return doubleArrayKey(key);
+    }
+  }
+
+  private static AttributeType getElementType(AttributeType arrayType) {
+    switch (arrayType) {
+      case STRING_ARRAY:
+        return AttributeType.STRING;
+      case BOOLEAN_ARRAY:
+        return AttributeType.BOOLEAN;
+      case LONG_ARRAY:
+        return AttributeType.LONG;
+      default:
+        return AttributeType.DOUBLE;
+    }
+  }
+
+  // Not using writeUTF, as it is limited to 64k bytes and attributes such as stack traces may exceed it
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static String readString(DataInputStream input) throws IOException {
+    byte[] bytes = new byte[readSize(input)];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Reads the size of a string or collection, checking it against the bytes left in the record, as each of its bytes or elements
+   * takes at least one byte. This prevents a corrupted size from causing a huge allocation.
+   */
+  private static int readSize(DataInputStream input) throws IOException {
+    int size = input.readInt();
+    if (size < 0 || size > input.available()) {
+      throw new IOException("Serialized spans are corrupted, size " + size + " exceeds the " + input.available()
+          + " remaining bytes");
+    }
+    return size;
+  }
+
+  private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      writeString(output, value);
+    }
+  }
+
+  private static String readNullableString(DataInputStream input) throws IOException {
+    return input.readBoolean() ? readString(input) : null;
+  }
+
+  /**
+   * An immutable {@link SpanData} read from its serialized form.
+   */
+  private static final class DeserializedSpanData implements SpanData {
+
+    private final String name;
+    private final SpanKind kind;
+    private final SpanContext spanContext;
+    private final SpanContext parentSpanContext;
+    private final StatusData status;
+    private final long startEpochNanos;
+    private final long endEpochNanos;
+    private final Attributes attributes;
+    private final int totalAttributeCount;
+    private final List<EventData> events;
+    private final int totalRecordedEvents;
+    private final List<LinkData> links;
+    private final int totalRecordedLinks;
+    private final Resource resource;
+    private final InstrumentationScopeInfo instrumentationScopeInfo;
+
+    private DeserializedSpanData(String name, SpanKind kind, SpanContext spanContext, SpanContext parentSpanContext,
+                                 StatusData status, long startEpochNanos, long endEpochNanos, Attributes attributes,
+                                 int totalAttributeCount, List<EventData> events, int totalRecordedEvents, List<LinkData> links,
+                                 int totalRecordedLinks, Resource resource, InstrumentationScopeInfo instrumentationScopeInfo) {
+      this.name = name;
+      this.kind = kind;
+      this.spanContext = spanContext;
+      this.parentSpanContext = parentSpanContext;
+      this.status = status;
+      this.startEpochNanos = startEpochNanos;
+      this.endEpochNanos = endEpochNanos;
+      this.attributes = attributes;
+      this.totalAttributeCount = totalAttributeCount;
+      this.events = events;
+      this.totalRecordedEvents = totalRecordedEvents;
+      this.links = links;
+      this.totalRecordedLinks = totalRecordedLinks;
+      this.resource = resource;
+      this.instrumentationScopeInfo = instrumentationScopeInfo;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public SpanKind getKind() {
+      return kind;
+    }
+
+    @Override
+    public SpanContext getSpanContext() {
+      return spanContext;
+    }
+
+    @Override
+    public SpanContext getParentSpanContext() {
+      return parentSpanContext;
+    }
+
+    @Override
+    public StatusData getStatus() {
+      return status;
+    }
+
+    @Override
+    public long getStartEpochNanos() {
+      return startEpochNanos;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return attributes;
+    }
+
+    @Override
+    public List<EventData> getEvents() {
+      return events;
+    }
+
+    @Override
+    public List<LinkData> getLinks() {
+      return links;
+    }
+
+    @Override
+    public long getEndEpochNanos() {
+      return endEpochNanos;
+    }
+
+    @Override
+    public boolean hasEnded() {
+      return true;
+    }
+
+    @Override
+    public int getTotalRecordedEvents() {
+      return totalRecordedEvents;
+    }
+
+    @Override
+    public int getTotalRecordedLinks() {
+      return totalRecordedLinks;
+    }
+
+    @Override
+    public int getTotalAttributeCount() {
+      return totalAttributeCount;
+    }
+
+    @Override
+    public InstrumentationLibraryInfo getInstrumentationLibraryInfo() {
+      return InstrumentationLibraryInfo.create(instrumentationScopeInfo.getName(), instrumentationScopeInfo.getVersion(),
+                                               instrumentationScopeInfo.getSchemaUrl());
+    }
+
+    @Override
+    public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+      return instrumentationScopeInfo;
+    }
+
+    @Override
+    public Resource getResource() {
+      return resource;
+    }
+  }
+}
@@ -11,12 +11,19 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_BACKOFF_MULTIPLIER;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_MAX_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENABLED;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENDPOINT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_INITIAL_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_PROBABILITY;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
@@ -66,6 +73,15 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
   private static final String DEFAULT_SAMPLER = PARENTBASED_TRACEIDRATIO_SAMPLER;
   private static final String DEFAULT_SAMPLER_ARG = "0.1";
 
+  private static final String DEFAULT_TAIL_SAMPLING_ENABLED = "false";
+  private static final String DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD = "1000";
+  private static final String DEFAULT_TAIL_SAMPLING_PROBABILITY = "0.01";
+  private static final String DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS = "16384";
+  private static final String DEFAULT_TAIL_SAMPLING_DECISION_WAIT = "30000";
+
+  private static final String DEFAULT_DISK_BUFFER_ENABLED = "false";
+  private static final String DEFAULT_DISK_BUFFER_MAX_SIZE = "67108864";
+
   private SpanExporterConfiguration delegate;
   private final Map<String, String> defaultConfigurationValues = new HashMap<>();
   private final List<Runnable> runnablesOnChange = synchronizedList(new ArrayList<>());
@@ -114,6 +130,15 @@ public class OpenTelemetryAutoConfigurableSpanExporterConfiguration implements S
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY, DEFAULT_SCHEDULED_DELAY);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER, DEFAULT_SAMPLER);
     defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG, DEFAULT_SAMPLER_ARG);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED, DEFAULT_TAIL_SAMPLING_ENABLED);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD,
+                                   DEFAULT_TAIL_SAMPLING_LATENCY_THRESHOLD);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_PROBABILITY, DEFAULT_TAIL_SAMPLING_PROBABILITY);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS,
+                                   DEFAULT_TAIL_SAMPLING_MAX_BUFFERED_SPANS);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT, DEFAULT_TAIL_SAMPLING_DECISION_WAIT);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_ENABLED, DEFAULT_DISK_BUFFER_ENABLED);
+    defaultConfigurationValues.put(MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_MAX_SIZE, DEFAULT_DISK_BUFFER_MAX_SIZE);
   }
 
   @Override
@@ -8,9 +8,20 @@ package org.mule.runtime.tracer.exporter.impl.optel.resources;
 
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_DIRECTORY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_MAX_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_ENDPOINT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_INITIAL_BACKOFF;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BACKOFF;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_MAX_BATCH_SIZE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_PROBABILITY;
+import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_EXPORTER_TYPE;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER;
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterConfigurationProperties.MULE_OPEN_TELEMETRY_OTEL_TRACES_SAMPLER_ARG;
@@ -18,10 +29,13 @@ import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExpor
 import static org.mule.runtime.tracer.exporter.config.api.OpenTelemetrySpanExporterEnvProperties.OTEL_TRACES_SAMPLER_ENV;
 import static org.mule.runtime.tracer.exporter.impl.config.type.OpenTelemetryExporterTransport.valueOf;
 
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Double.parseDouble;
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
 import static java.time.Duration.ofMillis;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import static io.opentelemetry.api.common.AttributeKey.stringKey;
 import static io.opentelemetry.context.propagation.ContextPropagators.create;
@@ -31,8 +45,15 @@ import static io.opentelemetry.sdk.trace.export.BatchSpanProcessor.builder;
 import org.mule.runtime.tracer.exporter.config.api.SpanExporterConfiguration;
 import org.mule.runtime.tracer.exporter.impl.OpenTelemetrySpanExporterUtils;
 import org.mule.runtime.tracer.exporter.impl.metrics.OpenTelemetryExportQueueMetrics;
+import org.mule.runtime.tracer.exporter.impl.optel.buffer.DiskBufferedSpanExporter;
+import org.mule.runtime.tracer.exporter.impl.optel.buffer.MappedRingFile;
+import org.mule.runtime.tracer.exporter.impl.optel.sampling.TailSamplingSpanProcessor;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collection;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
@@ -61,6 +82,9 @@ public class OpenTelemetryResources {
 
   private OpenTelemetryResources() {}
 
+  private static final String DISK_BUFFER_METER_NAME = "mule-span-export-disk-buffer";
+  private static final String DISK_BUFFER_FILE_SUFFIX = "-span-export-buffer";
+
   private static final ContextPropagators PROPAGATOR = create(W3CTraceContextPropagator.getInstance());
 
   // This is only defined in the semconv artifact which is in alpha state and is only needed for this.
@@ -70,13 +94,18 @@ public class OpenTelemetryResources {
   // https://github.com/open-telemetry/opentelemetry-specification/blob/main/specification/resource/semantic_conventions/README.md#semantic-attributes-with-dedicated-environment-variable
   public static final AttributeKey<String> SERVICE_NAME_KEY = stringKey("service.name");
 
-  private static SdkMeterProvider getMeterProvider(SpanExporterConfiguration spanExporterConfiguration) {
+  private static SdkMeterProvider getMeterProvider(SpanExporterConfiguration spanExporterConfiguration,
+                                                   SpanExporter spanExporter) {
     MetricReader periodicReader =
         PeriodicMetricReader.builder(new OpenTelemetryExportQueueMetrics())
             .setInterval(ofMillis(parseLong(spanExporterConfiguration
                 .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_METRICS_LOG_FREQUENCY))))
             .build();
-    return SdkMeterProvider.builder().registerMetricReader(periodicReader).build();
+    SdkMeterProvider meterProvider = SdkMeterProvider.builder().registerMetricReader(periodicReader).build();
+    if (spanExporter instanceof DiskBufferedSpanExporter) {
+      ((DiskBufferedSpanExporter) spanExporter).registerMetrics(meterProvider.get(DISK_BUFFER_METER_NAME));
+    }
+    return meterProvider;
   }
 
   public static Resource getResource(String serviceName) {
@@ -106,12 +135,38 @@ public class OpenTelemetryResources {
     int batchQueueSize =
         parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_QUEUE_SIZE));
 
-    return builder(spanExporter)
+    SpanProcessor batchSpanProcessor = builder(spanExporter)
         .setMaxQueueSize(batchQueueSize)
-        .setMeterProvider(getMeterProvider(spanExporterConfiguration))
+        .setMeterProvider(getMeterProvider(spanExporterConfiguration, spanExporter))
         .setScheduleDelay(parseLong(privilegedSpanExporterConfiguration
             .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_BATCH_SCHEDULED_DELAY)), MILLISECONDS)
         .setMaxExportBatchSize(maxBatchSize).build();
+
+    if (parseBoolean(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_ENABLED))) {
+      return resolveTailSamplingSpanProcessor(spanExporterConfiguration, batchSpanProcessor);
+    }
+
+    return batchSpanProcessor;
+  }
+
+  private static SpanProcessor resolveTailSamplingSpanProcessor(SpanExporterConfiguration spanExporterConfiguration,
+                                                                SpanProcessor delegate)
+      throws SpanExporterConfiguratorException {
+    long latencyThreshold =
+        parseLong(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_LATENCY_THRESHOLD));
+    double probability =
+        parseDouble(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_PROBABILITY));
+    int maxBufferedSpans =
+        parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_MAX_BUFFERED_SPANS));
+    long decisionWait =
+        parseLong(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TAIL_SAMPLING_DECISION_WAIT));
+
+    if (probability < 0 || probability > 1) {
+      throw new SpanExporterConfiguratorException("The tail sampling probability must be between 0 and 1");
+    }
+
+    LOGGER.info("Mule Open Telemetry Tracer Exporter tail sampling is enabled.");
+    return new TailSamplingSpanProcessor(delegate, latencyThreshold, probability, maxBufferedSpans, decisionWait);
   }
 
   public static SpanExporter resolveOpenTelemetrySpanExporter(SpanExporterConfiguration spanExporterConfiguration)
@@ -130,6 +185,49 @@ public class OpenTelemetryResources {
     }
   }
 
+  /**
+   * Resolves the {@link SpanExporter} and, if the disk buffer is enabled, wraps it in a {@link DiskBufferedSpanExporter}.
+   *
+   * @param spanExporterConfiguration the spanExporterConfiguration.
+   * @param artifactId                the id of the artifact the spans belong to, used to name the buffer file.
+   * @param defaultBufferDirectory    the directory of the buffer file if none is configured.
+   * @param replaySchedulerSupplier   provides the scheduler to replay the spilled spans on, only requested if the disk buffer is
+   *                                  enabled.
+   *
+   * @return the {@link SpanExporter}.
+   */
+  public static SpanExporter resolveOpenTelemetrySpanExporter(SpanExporterConfiguration spanExporterConfiguration,
+                                                              String artifactId, String defaultBufferDirectory,
+                                                              Supplier<ScheduledExecutorService> replaySchedulerSupplier)
+      throws SpanExporterConfiguratorException {
+    SpanExporter spanExporter = resolveOpenTelemetrySpanExporter(spanExporterConfiguration);
+
+    if (!parseBoolean(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_ENABLED))) {
+      return spanExporter;
+    }
+
+    String bufferDirectory = spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_DIRECTORY);
+    File bufferFile = new File(bufferDirectory != null ? bufferDirectory : defaultBufferDirectory,
+                               artifactId + DISK_BUFFER_FILE_SUFFIX);
+    int maxSize = parseInt(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_DISK_BUFFER_MAX_SIZE));
+
+    MappedRingFile ringFile;
+    try {
+      ringFile = MappedRingFile.open(bufferFile.toPath(), maxSize);
+    } catch (IOException | RuntimeException e) {
+      throw new SpanExporterConfiguratorException(e);
+    }
+
+    LOGGER.info("Mule Open Telemetry Tracer Exporter disk buffer is enabled, using file {}", bufferFile);
+    return new DiskBufferedSpanExporter(spanExporter, ringFile,
+                                        parseLong(spanExporterConfiguration.getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_TIMEOUT)),
+                                        SECONDS.toMillis(parseLong(spanExporterConfiguration
+                                            .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_INITIAL_BACKOFF))),
+                                        SECONDS.toMillis(parseLong(spanExporterConfiguration
+                                            .getStringValue(MULE_OPEN_TELEMETRY_EXPORTER_MAX_BACKOFF))),
+                                        replaySchedulerSupplier.get());
+  }
+
   /**
    * @param spanExporterConfiguration the spanExporterConfiguration.
    *
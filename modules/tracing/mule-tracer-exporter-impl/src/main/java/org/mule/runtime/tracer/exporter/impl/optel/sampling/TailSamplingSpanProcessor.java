@@ -0,0 +1,264 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.sampling;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SpanProcessor} that decides whether a trace is exported once it has ended, instead of when it starts.
+ * <p>
+ * The spans that end are buffered per trace id until the local root span of the trace (the one without a parent or with a remote
+ * parent) ends. At that moment, the whole trace is passed to the delegate {@link SpanProcessor} if any of its spans has an error
+ * status, if the root span took longer than the latency threshold, or with the configured probability. Otherwise, the trace is
+ * discarded.
+ * <p>
+ * The spans are already in memory until they are exported, so only references to them are buffered. The amount of buffered spans
+ * is bounded: once the limit is reached, new spans are dropped. Traces whose root span did not end within the decision wait (for
+ * example, because some spans ended after their root) are decided with the spans buffered so far.
+ * <p>
+ * Only the spans sampled by the head sampler reach this processor, so it should be used along with a sampler that samples all the
+ * traces.
+ *
+ * @since 4.10
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TailSamplingSpanProcessor.class);
+
+  private final SpanProcessor delegate;
+  private final long latencyThresholdNanos;
+  private final double probability;
+  private final int maxBufferedSpans;
+  private final long decisionWaitNanos;
+  private final LongSupplier nanoTime;
+
+  private final Map<String, BufferedTrace> bufferedTraces = new ConcurrentHashMap<>();
+  private final AtomicInteger bufferedSpans = new AtomicInteger();
+  private final AtomicLong nextExpirationCheck;
+
+  private final LongAdder keptTraces = new LongAdder();
+  private final LongAdder discardedTraces = new LongAdder();
+  private final LongAdder droppedSpans = new LongAdder();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate               the {@link SpanProcessor} to pass the kept traces to.
+   * @param latencyThresholdMillis the duration of the root span from which traces are kept.
+   * @param probability            the probability with which traces that did not fail nor exceeded the latency threshold are kept.
+   * @param maxBufferedSpans       the maximum amount of spans waiting for the decision on their trace.
+   * @param decisionWaitMillis     the time to wait for the root span of a trace before deciding on it.
+   */
+  public TailSamplingSpanProcessor(SpanProcessor delegate, long latencyThresholdMillis, double probability, int maxBufferedSpans,
+                                   long decisionWaitMillis) {
+    this(delegate, latencyThresholdMillis, probability, maxBufferedSpans, decisionWaitMillis, System::nanoTime);
+  }
+
+  TailSamplingSpanProcessor(SpanProcessor delegate, long latencyThresholdMillis, double probability, int maxBufferedSpans,
+                            long decisionWaitMillis, LongSupplier nanoTime) {
+    this.delegate = delegate;
+    this.latencyThresholdNanos = MILLISECONDS.toNanos(latencyThresholdMillis);
+    this.probability = probability;
+    this.maxBufferedSpans = maxBufferedSpans;
+    this.decisionWaitNanos = MILLISECONDS.toNanos(decisionWaitMillis);
+    this.nanoTime = nanoTime;
+    this.nextExpirationCheck = new AtomicLong(nanoTime.getAsLong() + decisionWaitNanos);
+  }
+
+  @Override
+  public void onStart(Context parentContext, ReadWriteSpan span) {
+    // Nothing to do.
+  }
+
+  @Override
+  public boolean isStartRequired() {
+    return false;
+  }
+
+  @Override
+  public void onEnd(ReadableSpan span) {
+    long now = nanoTime.getAsLong();
+    String traceId = span.getSpanContext().getTraceId();
+
+    if (isLocalRoot(span)) {
+      BufferedTrace trace = bufferedTraces.remove(traceId);
+      List<ReadableSpan> spans = trace == null ? new ArrayList<>(1) : trace.close();
+      spans.add(span);
+      decide(spans, isError(span) || (trace != null && trace.hasErrors()), getDuration(span));
+    } else {
+      bufferSpan(traceId, span, now);
+    }
+
+    expireTracesIfNeeded(now);
+  }
+
+  @Override
+  public boolean isEndRequired() {
+    return true;
+  }
+
+  @Override
+  public CompletableResultCode shutdown() {
+    // The root spans of the buffered traces will not end, so decide on the spans that ended so far
+    for (String traceId : bufferedTraces.keySet()) {
+      expire(traceId);
+    }
+    return delegate.shutdown();
+  }
+
+  @Override
+  public CompletableResultCode forceFlush() {
+    return delegate.forceFlush();
+  }
+
+  /**
+   * @return the amount of traces that were passed to the delegate {@link SpanProcessor}.
+   */
+  public long getKeptTraces() {
+    return keptTraces.sum();
+  }
+
+  /**
+   * @return the amount of traces that were discarded.
+   */
+  public long getDiscardedTraces() {
+    return discardedTraces.sum();
+  }
+
+  /**
+   * @return the amount of spans that were dropped because the buffer was full.
+   */
+  public long getDroppedSpans() {
+    return droppedSpans.sum();
+  }
+
+  private void bufferSpan(String traceId, ReadableSpan span, long now) {
+    if (bufferedSpans.incrementAndGet() > maxBufferedSpans) {
+      bufferedSpans.decrementAndGet();
+      droppedSpans.increment();
+      LOGGER.debug("Tail sampling buffer is full, dropping span of trace {}", traceId);
+      return;
+    }
+
+    // The trace may be closed concurrently by its root span, in which case a new one is started for this span
+    while (!bufferedTraces.computeIfAbsent(traceId, id -> new BufferedTrace(now)).add(span)) {
+      // Retry with the new trace
+    }
+  }
+
+  private void expireTracesIfNeeded(long now) {
+    long nextCheck = nextExpirationCheck.get();
+    if (now - nextCheck < 0 || !nextExpirationCheck.compareAndSet(nextCheck, now + decisionWaitNanos)) {
+      return;
+    }
+
+    for (Map.Entry<String, BufferedTrace> entry : bufferedTraces.entrySet()) {
+      if (now - entry.getValue().getBufferedSince() >= decisionWaitNanos) {
+        expire(entry.getKey());
+      }
+    }
+  }
+
+  private void expire(String traceId) {
+    BufferedTrace trace = bufferedTraces.remove(traceId);
+    if (trace != null) {
+      List<ReadableSpan> spans = trace.close();
+      decide(spans, trace.hasErrors(), trace.getMaxDuration());
+    }
+  }
+
+  private void decide(List<ReadableSpan> spans, boolean hasErrors, long durationNanos) {
+    if (hasErrors || durationNanos >= latencyThresholdNanos || ThreadLocalRandom.current().nextDouble() < probability) {
+      keptTraces.increment();
+      spans.forEach(delegate::onEnd);
+    } else {
+      discardedTraces.increment();
+    }
+  }
+
+  private static boolean isLocalRoot(ReadableSpan span) {
+    SpanContext parentSpanContext = span.getParentSpanContext();
+    return !parentSpanContext.isValid() || parentSpanContext.isRemote();
+  }
+
+  private static boolean isError(ReadableSpan span) {
+    return span.toSpanData().getStatus().getStatusCode() == ERROR;
+  }
+
+  private static long getDuration(ReadableSpan span) {
+    SpanData spanData = span.toSpanData();
+    return spanData.getEndEpochNanos() - spanData.getStartEpochNanos();
+  }
+
+  /**
+   * The spans of a trace that ended before its root span.
+   */
+  private final class BufferedTrace {
+
+    private final long bufferedSince;
+    private final List<ReadableSpan> spans = new ArrayList<>();
+    private boolean hasErrors;
+    private long maxDuration;
+    private boolean closed;
+
+    private BufferedTrace(long bufferedSince) {
+      this.bufferedSince = bufferedSince;
+    }
+
+    private synchronized boolean add(ReadableSpan span) {
+      if (closed) {
+        return false;
+      }
+
+      spans.add(span);
+      hasErrors |= isError(span);
+      maxDuration = max(maxDuration, getDuration(span));
+      return true;
+    }
+
+    private synchronized List<ReadableSpan> close() {
+      closed = true;
+      bufferedSpans.addAndGet(-spans.size());
+      return spans;
+    }
+
+    private long getBufferedSince() {
+      return bufferedSince;
+    }
+
+    private synchronized boolean hasErrors() {
+      return hasErrors;
+    }
+
+    private synchronized long getMaxDuration() {
+      return maxDuration;
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.buffer;
+
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.MappedRingFile.HEADER_SIZE;
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.SpanDataSerializer.deserialize;
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.SpanDataSerializer.serialize;
+import static org.mule.tck.probe.PollingProber.DEFAULT_POLLING_INTERVAL;
+import static org.mule.tck.probe.PollingProber.probe;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+import static io.opentelemetry.api.common.AttributeKey.longArrayKey;
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofFailure;
+import static io.opentelemetry.sdk.common.CompletableResultCode.ofSuccess;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class DiskBufferedSpanExporterTestCase {
+
+  private static final int CAPACITY = 1024 * 1024;
+  private static final long TIMEOUT_MILLIS = 5000;
+  private static final long BACKOFF_MILLIS = 10;
+  private static final long NO_REPLAY_BACKOFF_MILLIS = 60000;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Tracer tracer = SdkTracerProvider.builder().build().get("test");
+  private final SpanExporter delegate = mock(SpanExporter.class);
+  private final List<DiskBufferedSpanExporter> exporters = new ArrayList<>();
+  private final SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+  private Scheduler replayScheduler;
+  private Path path;
+
+  @Before
+  public void setUp() {
+    path = temporaryFolder.getRoot().toPath().resolve("spans");
+    replayScheduler = schedulerService.ioScheduler();
+  }
+
+  @After
+  public void tearDown() throws MuleException {
+    exporters.forEach(DiskBufferedSpanExporter::shutdown);
+    replayScheduler.stop();
+    schedulerService.stop();
+  }
+
+  @Test
+  public void failedBatchIsReplayed() throws IOException {
+    when(delegate.export(any())).thenReturn(ofFailure()).thenReturn(ofSuccess());
+    DiskBufferedSpanExporter exporter = createExporter(CAPACITY, BACKOFF_MILLIS);
+
+    exporter.export(singletonList(span("failed")));
+
+    probe(TIMEOUT_MILLIS, DEFAULT_POLLING_INTERVAL, () -> exporter.getReplayedSpans() == 1);
+    assertThat(exporter.getSpilledSpans(), is(1L));
+    verify(delegate, times(2)).export(any());
+  }
+
+  @Test
+  public void batchesAreSpilledWithoutExportingWhileTheDelegateFails() throws IOException {
+    when(delegate.export(any())).thenReturn(ofFailure());
+    DiskBufferedSpanExporter exporter = createExporter(CAPACITY, NO_REPLAY_BACKOFF_MILLIS);
+
+    exporter.export(singletonList(span("first")));
+    exporter.export(asList(span("second"), span("third")));
+
+    assertThat(exporter.getSpilledSpans(), is(3L));
+    verify(delegate).export(any());
+  }
+
+  @Test
+  public void spilledBatchesAreReplayedByTheNextExporter() throws IOException {
+    when(delegate.export(any())).thenReturn(ofFailure());
+    DiskBufferedSpanExporter exporter = createExporter(CAPACITY, NO_REPLAY_BACKOFF_MILLIS);
+    exporter.export(singletonList(span("spilled")));
+    exporter.shutdown();
+    exporters.remove(exporter);
+
+    when(delegate.export(any())).thenReturn(ofSuccess());
+    DiskBufferedSpanExporter nextExporter = createExporter(CAPACITY, NO_REPLAY_BACKOFF_MILLIS);
+
+    probe(TIMEOUT_MILLIS, DEFAULT_POLLING_INTERVAL, () -> nextExporter.getReplayedSpans() == 1);
+    assertThat(replayScheduler.isShutdown(), is(false));
+  }
+
+  @Test
+  public void corruptedBatchIsSkipped() throws IOException {
+    MappedRingFile ringFile = MappedRingFile.open(path, CAPACITY);
+    ringFile.offer(corruptedSize(serialize(singletonList(span("corrupted")))));
+    ringFile.offer(serialize(singletonList(span("valid"))));
+    ringFile.release();
+
+    when(delegate.export(any())).thenReturn(ofSuccess());
+    DiskBufferedSpanExporter exporter = createExporter(CAPACITY, NO_REPLAY_BACKOFF_MILLIS);
+
+    probe(TIMEOUT_MILLIS, DEFAULT_POLLING_INTERVAL, () -> exporter.getReplayedSpans() == 1);
+    verify(delegate).export(any());
+  }
+
+  @Test
+  public void batchesThatDoNotFitAreDropped() throws IOException {
+    when(delegate.export(any())).thenReturn(ofFailure());
+    DiskBufferedSpanExporter exporter = createExporter(HEADER_SIZE + 8, NO_REPLAY_BACKOFF_MILLIS);
+
+    exporter.export(singletonList(span("dropped")));
+
+    assertThat(exporter.getSpilledSpans(), is(0L));
+    assertThat(exporter.getDroppedSpans(), is(1L));
+  }
+
+  @Test
+  public void spansAreDeserializedAsSerialized() throws IOException {
+    Tracer versionedTracer = SdkTracerProvider.builder().build().tracerBuilder("versioned")
+        .setInstrumentationVersion("1.0.0")
+        .setSchemaUrl("https://opentelemetry.io/schemas/1.21.0")
+        .build();
+    Span span = versionedTracer.spanBuilder("serialized").startSpan();
+    span.setAttribute("string", "value");
+    span.setAttribute("long", 1L);
+    span.setAttribute(longArrayKey("array"), asList(1L, 2L));
+    span.addEvent("event", Attributes.builder().put("escaped", true).build());
+    span.setStatus(ERROR, "failed");
+    span.end();
+    SpanData original = ((ReadableSpan) span).toSpanData();
+
+    List<SpanData> deserialized = deserialize(serialize(singletonList(original)));
+
+    assertThat(deserialized, hasSize(1));
+    SpanData copy = deserialized.get(0);
+    assertThat(copy.getName(), is(original.getName()));
+    assertThat(copy.getKind(), is(original.getKind()));
+    assertThat(copy.getSpanContext(), is(original.getSpanContext()));
+    assertThat(copy.getParentSpanContext(), is(original.getParentSpanContext()));
+    assertThat(copy.getStatus(), is(original.getStatus()));
+    assertThat(copy.getStartEpochNanos(), is(original.getStartEpochNanos()));
+    assertThat(copy.getEndEpochNanos(), is(original.getEndEpochNanos()));
+    assertThat(copy.getAttributes(), is(original.getAttributes()));
+    assertThat(copy.getEvents(), is(original.getEvents()));
+    assertThat(copy.getResource(), is(original.getResource()));
+    assertThat(copy.getInstrumentationScopeInfo(), is(original.getInstrumentationScopeInfo()));
+    assertThat(copy.getInstrumentationLibraryInfo(), is(original.getInstrumentationLibraryInfo()));
+  }
+
+  @Test
+  public void corruptedSizeIsNotAllocated() {
+    byte[] serialized = corruptedSize(serialize(singletonList(span("corrupted"))));
+
+    assertThrows(IOException.class, () -> deserialize(serialized));
+  }
+
+  private DiskBufferedSpanExporter createExporter(int capacity, long backoffMillis) throws IOException {
+    DiskBufferedSpanExporter exporter =
+        new DiskBufferedSpanExporter(delegate, MappedRingFile.open(path, capacity), TIMEOUT_MILLIS, backoffMillis,
+                                     backoffMillis, replayScheduler);
+    exporters.add(exporter);
+    return exporter;
+  }
+
+  // Makes the length of the name of the first span way larger than the batch
+  private static byte[] corruptedSize(byte[] serialized) {
+    // version byte and span count
+    ByteBuffer.wrap(serialized).putInt(Byte.BYTES + Integer.BYTES, Integer.MAX_VALUE);
+    return serialized;
+  }
+
+  private SpanData span(String name) {
+    Span span = tracer.spanBuilder(name).startSpan();
+    span.end();
+    return ((ReadableSpan) span).toSpanData();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.buffer;
+
+import static org.mule.runtime.tracer.exporter.impl.optel.buffer.MappedRingFile.HEADER_SIZE;
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class MappedRingFileTestCase {
+
+  // Room for three records of 4 bytes, each one taking 8 bytes with its length.
+  private static final int CAPACITY = HEADER_SIZE + 24;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Path path;
+  private MappedRingFile ringFile;
+
+  @Before
+  public void setUp() throws IOException {
+    path = temporaryFolder.getRoot().toPath().resolve("ring");
+    ringFile = MappedRingFile.open(path, CAPACITY);
+  }
+
+  @After
+  public void tearDown() {
+    ringFile.release();
+  }
+
+  @Test
+  public void recordsAreReadInOrder() {
+    assertThat(ringFile.offer(record(1)), is(true));
+    assertThat(ringFile.offer(record(2)), is(true));
+
+    assertThat(ringFile.peek(), is(record(1)));
+    ringFile.remove();
+    assertThat(ringFile.peek(), is(record(2)));
+    ringFile.remove();
+    assertThat(ringFile.peek(), is(nullValue()));
+    assertThat(ringFile.isEmpty(), is(true));
+  }
+
+  @Test
+  public void recordsThatDoNotFitAreRejected() {
+    assertThat(ringFile.offer(record(1)), is(true));
+    assertThat(ringFile.offer(record(2)), is(true));
+    assertThat(ringFile.offer(record(3)), is(true));
+    assertThat(ringFile.offer(record(4)), is(false));
+    assertThat(ringFile.offer(new byte[CAPACITY]), is(false));
+
+    assertThat(ringFile.size(), is(3));
+  }
+
+  @Test
+  public void writesWrapAroundTheEndOfTheFile() {
+    ringFile.offer(record(1));
+    ringFile.offer(record(2));
+    ringFile.offer(record(3));
+    ringFile.remove();
+
+    assertThat(ringFile.offer(record(4)), is(true));
+
+    assertThat(ringFile.peek(), is(record(2)));
+    ringFile.remove();
+    assertThat(ringFile.peek(), is(record(3)));
+    ringFile.remove();
+    assertThat(ringFile.peek(), is(record(4)));
+  }
+
+  @Test
+  public void recordsArePreservedWhenTheFileIsOpenedAgain() throws IOException {
+    ringFile.offer(record(1));
+    ringFile.offer(record(2));
+    ringFile.remove();
+    ringFile.release();
+
+    ringFile = MappedRingFile.open(path, CAPACITY);
+
+    assertThat(ringFile.size(), is(1));
+    assertThat(ringFile.peek(), is(record(2)));
+  }
+
+  @Test
+  public void sameFileIsShared() throws IOException {
+    MappedRingFile other = MappedRingFile.open(path, CAPACITY);
+    try {
+      ringFile.offer(record(1));
+
+      assertThat(other.peek(), is(record(1)));
+    } finally {
+      other.release();
+    }
+  }
+
+  private static byte[] record(int value) {
+    return new byte[] {(byte) value, (byte) value, (byte) value, (byte) value};
+  }
+}
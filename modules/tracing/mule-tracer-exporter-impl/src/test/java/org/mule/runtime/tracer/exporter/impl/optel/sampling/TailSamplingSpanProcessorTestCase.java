@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.exporter.impl.optel.sampling;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.OPEN_TELEMETRY_EXPORTER;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static io.opentelemetry.api.trace.SpanContext.getInvalid;
+import static io.opentelemetry.api.trace.StatusCode.ERROR;
+import static io.opentelemetry.sdk.trace.data.StatusData.create;
+import static io.opentelemetry.sdk.trace.data.StatusData.unset;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Before;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(OPEN_TELEMETRY_EXPORTER)
+public class TailSamplingSpanProcessorTestCase {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String ROOT_SPAN_ID = "b7ad6b7169203331";
+  private static final String CHILD_SPAN_ID = "00f067aa0ba902b7";
+  private static final long LATENCY_THRESHOLD_MILLIS = 100;
+  private static final long DECISION_WAIT_MILLIS = 1000;
+
+  private final SpanProcessor delegate = mock(SpanProcessor.class);
+  private long now;
+  private TailSamplingSpanProcessor processor;
+
+  @Before
+  public void setUp() {
+    processor = new TailSamplingSpanProcessor(delegate, LATENCY_THRESHOLD_MILLIS, 0, 2, DECISION_WAIT_MILLIS, () -> now);
+  }
+
+  @Test
+  public void fastTraceWithoutErrorsIsDiscarded() {
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), 1, false);
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), 10, false);
+
+    processor.onEnd(child);
+    processor.onEnd(root);
+
+    verify(delegate, never()).onEnd(any());
+    assertThat(processor.getDiscardedTraces(), is(1L));
+    assertThat(processor.getKeptTraces(), is(0L));
+  }
+
+  @Test
+  public void traceWithErrorInChildIsKept() {
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), 1, true);
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), 10, false);
+
+    processor.onEnd(child);
+    verify(delegate, never()).onEnd(any());
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(child);
+    verify(delegate).onEnd(root);
+    assertThat(processor.getKeptTraces(), is(1L));
+  }
+
+  @Test
+  public void slowTraceIsKept() {
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), 1, false);
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), LATENCY_THRESHOLD_MILLIS, false);
+
+    processor.onEnd(child);
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(child);
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void alwaysKeptWithProbabilityOne() {
+    processor = new TailSamplingSpanProcessor(delegate, LATENCY_THRESHOLD_MILLIS, 1, 2, DECISION_WAIT_MILLIS, () -> now);
+    ReadableSpan root = span(ROOT_SPAN_ID, getInvalid(), 1, false);
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void rootWithRemoteParentEndsTheTrace() {
+    ReadableSpan root = span(ROOT_SPAN_ID, SpanContext.createFromRemoteParent(TRACE_ID, CHILD_SPAN_ID, TraceFlags.getSampled(),
+                                                                              TraceState.getDefault()),
+                             1, true);
+
+    processor.onEnd(root);
+
+    verify(delegate).onEnd(root);
+  }
+
+  @Test
+  public void spansOverTheLimitAreDropped() {
+    processor.onEnd(span(CHILD_SPAN_ID, rootContext(), 1, false));
+    processor.onEnd(span(CHILD_SPAN_ID, rootContext(), 1, false));
+    processor.onEnd(span(CHILD_SPAN_ID, rootContext(), 1, true));
+
+    assertThat(processor.getDroppedSpans(), is(1L));
+  }
+
+  @Test
+  public void traceWithoutRootIsDecidedAfterTheDecisionWait() {
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), 1, true);
+
+    processor.onEnd(child);
+    now += MILLISECONDS.toNanos(DECISION_WAIT_MILLIS);
+    verify(delegate, never()).onEnd(any());
+
+    processor.onEnd(span(CHILD_SPAN_ID, SpanContext.create("11111111111111111111111111111111", ROOT_SPAN_ID,
+                                                           TraceFlags.getSampled(), TraceState.getDefault()),
+                         1, false));
+
+    verify(delegate).onEnd(child);
+  }
+
+  @Test
+  public void bufferedTracesAreDecidedOnShutdown() {
+    ReadableSpan child = span(CHILD_SPAN_ID, rootContext(), 1, true);
+
+    processor.onEnd(child);
+    processor.shutdown();
+
+    verify(delegate).onEnd(child);
+    verify(delegate).shutdown();
+  }
+
+  private static SpanContext rootContext() {
+    return SpanContext.create(TRACE_ID, ROOT_SPAN_ID, TraceFlags.getSampled(), TraceState.getDefault());
+  }
+
+  private static ReadableSpan span(String spanId, SpanContext parentSpanContext, long durationMillis, boolean error) {
+    String traceId = parentSpanContext.isValid() ? parentSpanContext.getTraceId() : TRACE_ID;
+    SpanData spanData = mock(SpanData.class);
+    when(spanData.getStatus()).thenReturn(error ? create(ERROR, "error") : unset());
+    when(spanData.getStartEpochNanos()).thenReturn(0L);
+    when(spanData.getEndEpochNanos()).thenReturn(MILLISECONDS.toNanos(durationMillis));
+
+    ReadableSpan span = mock(ReadableSpan.class);
+    when(span.getSpanContext())
+        .thenReturn(SpanContext.create(traceId, spanId, TraceFlags.getSampled(), TraceState.getDefault()));
+    when(span.getParentSpanContext()).thenReturn(parentSpanContext);
+    when(span.toSpanData()).thenReturn(spanData);
+    return span;
+  }
+}
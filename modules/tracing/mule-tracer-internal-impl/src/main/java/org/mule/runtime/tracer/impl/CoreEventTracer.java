@@ -10,6 +10,7 @@ import static org.mule.runtime.api.config.MuleRuntimeFeature.PUT_TRACE_ID_AND_SP
 import static org.mule.runtime.api.util.MuleSystemProperties.ENABLE_PROPAGATION_OF_EXCEPTIONS_IN_TRACING;
 import static org.mule.runtime.tracer.api.span.validation.Assertion.SUCCESSFUL_ASSERTION;
 import static org.mule.runtime.tracer.impl.SpanInfoUtils.enrichInitialSpanInfo;
+import static org.mule.runtime.tracer.impl.span.UnsampledSpan.getUnsampledSpan;
 import static org.mule.runtime.tracer.impl.span.command.EventContextAddAttributeCommand.getEventContextAddAttributeCommand;
 import static org.mule.runtime.tracer.impl.span.command.EventContextAddAttributesCommand.getEventContextAddAttributesCommand;
 import static org.mule.runtime.tracer.impl.span.command.EventContextEndSpanCommand.getEventContextEndSpanCommandFrom;
@@ -18,8 +19,11 @@ import static org.mule.runtime.tracer.impl.span.command.EventContextInjectDistri
 import static org.mule.runtime.tracer.impl.span.command.EventContextRecordErrorCommand.getEventContextRecordErrorCommand;
 import static org.mule.runtime.tracer.impl.span.command.EventContextSetCurrentSpanNameCommand.getEventContextSetCurrentSpanNameCommand;
 import static org.mule.runtime.tracer.impl.span.command.EventContextStartSpanCommand.getEventContextStartSpanCommandFrom;
+import static org.mule.runtime.tracer.impl.span.command.SpanMDCUtils.setCurrentTracingInformationToMdc;
 
 import static java.lang.Boolean.getBoolean;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -31,10 +35,12 @@ import org.mule.runtime.api.message.Error;
 import org.mule.runtime.api.profiling.tracing.Span;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.tracer.api.sniffer.SpanSnifferManager;
+import org.mule.runtime.tracer.api.context.SpanContextAware;
 import org.mule.runtime.tracer.api.context.getter.DistributedTraceContextGetter;
 import org.mule.runtime.tracer.api.EventTracer;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
 import org.mule.runtime.tracer.api.span.validation.Assertion;
+import org.mule.runtime.tracer.impl.context.EventSpanContext;
 import org.mule.runtime.tracer.impl.span.command.EventContextAddAttributeCommand;
 import org.mule.runtime.tracer.impl.span.command.EventContextAddAttributesCommand;
 import org.mule.runtime.tracer.impl.span.command.EventContextEndSpanCommand;
@@ -43,16 +49,22 @@ import org.mule.runtime.tracer.impl.span.command.EventContextInjectDistributedTr
 import org.mule.runtime.tracer.impl.span.command.EventContextRecordErrorCommand;
 import org.mule.runtime.tracer.impl.span.command.EventContextSetCurrentSpanNameCommand;
 import org.mule.runtime.tracer.impl.span.command.EventContextStartSpanCommand;
+import org.mule.runtime.tracer.impl.span.command.FailsafeTriCommandExecutor;
 import org.mule.runtime.tracer.impl.span.factory.EventSpanFactory;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import org.apache.commons.lang3.function.TriFunction;
 import org.slf4j.Logger;
 
 /**
  * A default implementation for a {@link CoreEventTracer}.
+ * <p>
+ * The sampling decision is taken when the first exported span of a trace is created. From then on, spans started for an event
+ * whose trace was not sampled are not created, and a shared {@link org.mule.runtime.tracer.impl.span.UnsampledSpan} is returned
+ * for them instead, so that the components it goes through do not pay for tracing.
  *
  * @since 4.5.0
  */
@@ -77,11 +89,23 @@ public class CoreEventTracer implements EventTracer<CoreEvent>, Initialisable {
       "Error on executing core event set current span command";
   public static final String ERROR_ON_EXECUTING_CORE_EVENT_GET_DISTRIBUTED_CONTEXT_SPAN_COMMAND_MESSAGE =
       "Error on executing core event get distributed context span command";
+  private static final Optional<Span> UNSAMPLED_SPAN = of(getUnsampledSpan());
+
+  // Returns null when the span has to be created, since its trace is sampled
+  private static final TriFunction<EventSpanContext, InitialSpanInfo, Assertion, Optional<Span>> START_UNSAMPLED_SPAN =
+      (eventSpanContext, initialSpanInfo, assertion) -> eventSpanContext.startUnsampledSpan(initialSpanInfo.getName(), assertion)
+          ? UNSAMPLED_SPAN
+          : null;
+
   private final FeatureFlaggingService featureFlaggingService;
   private final EventSpanFactory eventSpanFactory;
 
+  private boolean enablePutTraceIdAndSpanIdInMdc;
+
   private EventContextStartSpanCommand startCommand;
 
+  private FailsafeTriCommandExecutor<Optional<Span>, EventSpanContext, InitialSpanInfo, Assertion> startUnsampledSpanExecutor;
+
   private EventContextEndSpanCommand endCommand;
 
   private EventContextInjectDistributedTraceContextCommand injectDistributedTraceContextCommand;
@@ -109,6 +133,18 @@ public class CoreEventTracer implements EventTracer<CoreEvent>, Initialisable {
 
   @Override
   public Optional<Span> startSpan(CoreEvent coreEvent, InitialSpanInfo initialSpanInfo, Assertion assertion) {
+    if (coreEvent.getContext() instanceof SpanContextAware spanContextAware
+        && spanContextAware.getSpanContext() instanceof EventSpanContext eventSpanContext) {
+      Optional<Span> unsampledSpan =
+          startUnsampledSpanExecutor.execute(START_UNSAMPLED_SPAN, eventSpanContext, initialSpanInfo, assertion);
+      if (unsampledSpan != null) {
+        if (enablePutTraceIdAndSpanIdInMdc && unsampledSpan.isPresent()) {
+          eventSpanContext.getSpan().ifPresent(span -> setCurrentTracingInformationToMdc(span));
+        }
+        return unsampledSpan;
+      }
+    }
+
     return startCommand.execute(coreEvent.getContext(), enrichInitialSpanInfo(initialSpanInfo, coreEvent), assertion);
   }
 
@@ -162,10 +198,13 @@ public class CoreEventTracer implements EventTracer<CoreEvent>, Initialisable {
 
   @Override
   public void initialise() throws InitialisationException {
-    boolean enablePutTraceIdAndSpanIdInMdc = featureFlaggingService.isEnabled(PUT_TRACE_ID_AND_SPAN_ID_IN_MDC);
+    enablePutTraceIdAndSpanIdInMdc = featureFlaggingService.isEnabled(PUT_TRACE_ID_AND_SPAN_ID_IN_MDC);
     startCommand = getEventContextStartSpanCommandFrom(LOGGER, ERROR_ON_EXECUTING_CORE_EVENT_TRACER_START_COMMAND_MESSAGE,
                                                        propagateTracingExceptions, eventSpanFactory,
                                                        enablePutTraceIdAndSpanIdInMdc);
+    startUnsampledSpanExecutor =
+        new FailsafeTriCommandExecutor<>(LOGGER, ERROR_ON_EXECUTING_CORE_EVENT_TRACER_START_COMMAND_MESSAGE,
+                                         propagateTracingExceptions, empty());
     endCommand = getEventContextEndSpanCommandFrom(LOGGER, ERROR_ON_EXECUTING_CORE_EVENT_TRACER_END_COMMAND_MESSAGE,
                                                    propagateTracingExceptions, enablePutTraceIdAndSpanIdInMdc);
     injectDistributedTraceContextCommand = getEventContextInjectDistributedTraceContextCommand(LOGGER,
@@ -83,6 +83,11 @@ public class DeferredEndSpanWrapper implements InternalSpan {
     return delegate.onChild(child);
   }
 
+  @Override
+  public boolean isSampled() {
+    return delegate.isSampled();
+  }
+
   @Override
   public Span getParent() {
     return delegate.getParent();
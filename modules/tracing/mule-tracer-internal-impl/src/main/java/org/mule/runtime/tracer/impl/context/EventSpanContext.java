@@ -8,6 +8,7 @@ package org.mule.runtime.tracer.impl.context;
 
 import static org.mule.runtime.tracer.impl.span.InternalSpan.getAsInternalSpan;
 import static org.mule.runtime.tracer.impl.span.DeserializedSpan.getDeserializedRootSpan;
+import static org.mule.runtime.tracer.impl.span.UnsampledSpan.getUnsampledSpan;
 
 import static java.util.Optional.ofNullable;
 
@@ -19,12 +20,18 @@ import org.mule.runtime.tracer.api.span.error.InternalSpanError;
 import org.mule.runtime.tracer.api.span.validation.Assertion;
 import org.mule.runtime.tracer.api.span.validation.AssertionFailedException;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 
 /**
  * A {@link SpanContext} associated to an event. A {@link org.mule.runtime.core.api.event.CoreEvent} is the component that travels
  * through the execution of a flow. For tracing purposes the {@link org.mule.runtime.api.event.EventContext} has a
  * {@link SpanContext} that has information that may be propagated through runtime boundaries for distributed tracing purposes.
+ * <p>
+ * Once the current span belongs to a trace that was not sampled, the spans started on top of it are not created. Only their names
+ * are kept, so that they can be ended and asserted on, and the current span remains the one that carries the sampling decision
+ * to the distributed trace context.
  *
  * @since 4.5.0
  */
@@ -32,6 +39,8 @@ public class EventSpanContext implements SpanContext {
 
   private final boolean propagateTracingExceptions;
   private InternalSpan currentSpan;
+  // Spans started on top of the current one that were not created because its trace was not sampled, the innermost first
+  private Deque<InternalSpan> unsampledSpans;
 
   public static EventSpanContextBuilder builder() {
     return new EventSpanContextBuilder();
@@ -45,11 +54,21 @@ public class EventSpanContext implements SpanContext {
 
   @Override
   public SpanContext copy() {
-    return new EventSpanContext(currentSpan, propagateTracingExceptions);
+    EventSpanContext copy = new EventSpanContext(currentSpan, propagateTracingExceptions);
+    if (hasUnsampledSpans()) {
+      copy.unsampledSpans = new ArrayDeque<>(unsampledSpans);
+    }
+    return copy;
   }
 
   @Override
   public void endSpan(Assertion assertion) {
+    if (hasUnsampledSpans()) {
+      assertion.assertOnSpan(unsampledSpans.peek());
+      unsampledSpans.pop();
+      return;
+    }
+
     assertion.assertOnSpan(currentSpan);
     currentSpan.end();
     currentSpan = resolveParentAsInternalSpan();
@@ -57,7 +76,40 @@ public class EventSpanContext implements SpanContext {
 
   @Override
   public void recordErrorAtSpan(InternalSpanError error) {
-    currentSpan.addError(error);
+    if (!hasUnsampledSpans()) {
+      currentSpan.addError(error);
+    }
+  }
+
+  /**
+   * Starts a span without creating it, in case the current span belongs to a trace that was not sampled.
+   *
+   * @param name      the name of the span to start.
+   * @param assertion the assertion on the parent of the span, as for {@link #setSpan(Span, Assertion)}.
+   * @return {@code true} if the span was started this way, {@code false} if it has to be created.
+   * @throws AssertionFailedException if the span was not started because the assertion on its parent failed.
+   *
+   * @since 4.10
+   */
+  public boolean startUnsampledSpan(String name, Assertion assertion) throws AssertionFailedException {
+    if (currentSpan == null || currentSpan.isSampled()) {
+      return false;
+    }
+
+    if (hasUnsampledSpans()) {
+      assertion.assertOnSpan(unsampledSpans.peek());
+    } else {
+      assertion.assertOnSpan(currentSpan);
+      if (unsampledSpans == null) {
+        unsampledSpans = new ArrayDeque<>();
+      }
+    }
+    unsampledSpans.push(getUnsampledSpan(name));
+    return true;
+  }
+
+  private boolean hasUnsampledSpans() {
+    return unsampledSpans != null && !unsampledSpans.isEmpty();
   }
 
   private InternalSpan resolveParentAsInternalSpan() {
@@ -68,6 +120,10 @@ public class EventSpanContext implements SpanContext {
   public void setSpan(Span span, Assertion assertion) throws AssertionFailedException {
     assertion.assertOnSpan(currentSpan);
     this.currentSpan = getAsInternalSpan(span);
+    // The spans that were not created were started on top of the replaced span
+    if (unsampledSpans != null) {
+      unsampledSpans.clear();
+    }
   }
 
   @Override
@@ -21,7 +21,6 @@ import org.mule.runtime.tracer.api.span.exporter.SpanExporter;
 import org.mule.runtime.tracer.api.span.info.InitialSpanInfo;
 import org.mule.runtime.tracer.exporter.api.SpanExporterFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -41,7 +40,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   private final InternalSpan parent;
   private final Long startTime;
   private Long endTime;
-  private final Map<String, String> additionalAttributes = new HashMap<>();
+  private final SpanAttributes additionalAttributes = new SpanAttributes();
 
   private ExportOnEndExecutionSpan(SpanExporterFactory spanExporterFactory, InitialSpanInfo initialSpanInfo, Long startTime,
                                    InternalSpan parent) {
@@ -73,6 +72,11 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
     return child;
   }
 
+  @Override
+  public boolean isSampled() {
+    return spanExporter.isSampled();
+  }
+
   @Override
   public void updateRootName(String name) {
     spanExporter.setRootName(name);
@@ -103,9 +107,7 @@ public class ExportOnEndExecutionSpan implements InternalSpan {
   @Override
   public void forEachAttribute(BiConsumer<String, String> biConsumer) {
     initialSpanInfo.forEachAttribute(biConsumer);
-    if (!additionalAttributes.isEmpty()) {
-      additionalAttributes.forEach(biConsumer);
-    }
+    additionalAttributes.forEach(biConsumer);
   }
 
   @Override
@@ -124,6 +124,15 @@ public interface InternalSpan extends Span {
    */
   InternalSpan onChild(InternalSpan child);
 
+  /**
+   * @return {@code false} if the trace of this span was not sampled, so that neither this span nor its children will be exported.
+   *
+   * @since 4.10
+   */
+  default boolean isSampled() {
+    return true;
+  }
+
   /**
    * A wrapper as InternalSpan for other type of {@link Span}
    */
@@ -15,7 +15,6 @@ import org.mule.runtime.api.profiling.tracing.SpanIdentifier;
 import org.mule.runtime.tracer.api.span.error.InternalSpanError;
 import org.mule.runtime.tracer.impl.context.DeferredEndSpanWrapper;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -27,7 +26,7 @@ public class RootInternalSpan implements InternalSpan {
   public static final String ROOT_SPAN = "root";
 
   private String name = ROOT_SPAN;
-  private Map<String, String> attributes = new HashMap<>();
+  private final SpanAttributes attributes = new SpanAttributes();
 
   // This is a managed span that will not end.
   private DeferredEndSpanWrapper managedSpan;
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.impl.span;
+
+import static java.lang.Math.max;
+import static java.util.Arrays.copyOf;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Storage for the attributes added to a span after it was started.
+ * <p>
+ * Spans have just a few of these attributes, so they are kept in two parallel arrays that are scanned linearly. This avoids the
+ * entry objects and the table of a {@link java.util.HashMap}, which would be created for every span. The arrays are only
+ * allocated when the first attribute is added, since most spans get none.
+ * <p>
+ * Attributes are kept in insertion order. Adding an attribute with a key that is already present replaces its value. As in a
+ * {@link java.util.HashMap}, {@code null} is a valid key.
+ * <p>
+ * This class is not thread safe, in the same way as the spans that use it.
+ *
+ * @since 4.10
+ */
+public final class SpanAttributes {
+
+  private static final String[] EMPTY = new String[0];
+  private static final int DEFAULT_CAPACITY = 4;
+
+  private final int initialCapacity;
+  private String[] keys = EMPTY;
+  private String[] values = EMPTY;
+  private int size;
+
+  /**
+   * Creates an empty instance with the default initial capacity.
+   */
+  public SpanAttributes() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param initialCapacity the amount of attributes to make room for when the first one is added.
+   */
+  public SpanAttributes(int initialCapacity) {
+    this.initialCapacity = max(initialCapacity, 1);
+  }
+
+  /**
+   * Adds an attribute, replacing the value of the attribute with the same key if present.
+   *
+   * @param key   the key of the attribute.
+   * @param value the value of the attribute.
+   */
+  public void put(String key, String value) {
+    int index = indexOf(key);
+    if (index >= 0) {
+      values[index] = value;
+      return;
+    }
+
+    if (size == keys.length) {
+      int capacity = size == 0 ? initialCapacity : size * 2;
+      keys = copyOf(keys, capacity);
+      values = copyOf(values, capacity);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+  }
+
+  /**
+   * @param key the key of the attribute.
+   * @return the value of the attribute, or {@code null} if not present.
+   */
+  public String get(String key) {
+    int index = indexOf(key);
+    return index >= 0 ? values[index] : null;
+  }
+
+  /**
+   * Applies an operation on each of the attributes, in insertion order.
+   *
+   * @param biConsumer the operation to apply.
+   */
+  public void forEach(BiConsumer<String, String> biConsumer) {
+    for (int i = 0; i < size; i++) {
+      biConsumer.accept(keys[i], values[i]);
+    }
+  }
+
+  /**
+   * @return the amount of attributes.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return whether there are no attributes.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private int indexOf(String key) {
+    for (int i = 0; i < size; i++) {
+      // Keys are usually constants, so the identity check avoids comparing the characters
+      if (keys[i] == key || (key != null && key.equals(keys[i]))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.impl.span;
+
+import static org.mule.runtime.api.profiling.tracing.SpanIdentifier.INVALID_SPAN_IDENTIFIER;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+import org.mule.runtime.api.profiling.tracing.Span;
+import org.mule.runtime.api.profiling.tracing.SpanDuration;
+import org.mule.runtime.api.profiling.tracing.SpanError;
+import org.mule.runtime.api.profiling.tracing.SpanIdentifier;
+import org.mule.runtime.tracer.api.span.error.InternalSpanError;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An {@link InternalSpan} that stands for every span started under a span whose trace was not sampled. As those spans are never
+ * exported, a single shared instance that does nothing is used instead of creating them. Only their name is kept, through
+ * {@link #getUnsampledSpan(String)}, so that the assertions on the started and ended spans still apply.
+ * <p>
+ * The distributed trace context of the event is still resolved from the last span that was actually created, which carries the
+ * sampling decision, so that it is propagated to the downstream systems.
+ *
+ * @since 4.10
+ */
+public final class UnsampledSpan implements InternalSpan {
+
+  public static final String UNSAMPLED_SPAN = "unsampled";
+
+  private static final UnsampledSpan INSTANCE = new UnsampledSpan(UNSAMPLED_SPAN);
+
+  public static InternalSpan getUnsampledSpan() {
+    return INSTANCE;
+  }
+
+  /**
+   * @param name the name of the span that was not created.
+   * @return an unsampled span that only keeps the given {@code name}.
+   */
+  public static InternalSpan getUnsampledSpan(String name) {
+    return new UnsampledSpan(name);
+  }
+
+  private final String name;
+
+  private UnsampledSpan(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public Span getParent() {
+    return null;
+  }
+
+  @Override
+  public SpanIdentifier getIdentifier() {
+    return INVALID_SPAN_IDENTIFIER;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public SpanDuration getDuration() {
+    return null;
+  }
+
+  @Override
+  public List<SpanError> getErrors() {
+    return emptyList();
+  }
+
+  @Override
+  public boolean hasErrors() {
+    return false;
+  }
+
+  @Override
+  public void end() {
+    // Nothing to do.
+  }
+
+  @Override
+  public void end(long endTime) {
+    // Nothing to do.
+  }
+
+  @Override
+  public void addError(InternalSpanError error) {
+    // Nothing to do.
+  }
+
+  @Override
+  public void updateName(String name) {
+    // Nothing to do.
+  }
+
+  @Override
+  public void forEachAttribute(BiConsumer<String, String> biConsumer) {
+    // Nothing to do.
+  }
+
+  @Override
+  public Map<String, String> serializeAsMap() {
+    return emptyMap();
+  }
+
+  @Override
+  public int getAttributesCount() {
+    return 0;
+  }
+
+  @Override
+  public InternalSpan onChild(InternalSpan child) {
+    return child;
+  }
+
+  @Override
+  public boolean isSampled() {
+    return false;
+  }
+}
@@ -16,10 +16,14 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
 import static org.hamcrest.collection.IsMapWithSize.aMapWithSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -127,4 +131,101 @@ public class EventSpanContextTestCase {
     spanContext.endSpan(new SpanNameAssertion("mockedSpan"));
   }
 
+  @Test
+  public void spansOnTopOfUnsampledSpanAreNotCreated() {
+    InternalSpan unsampledSpan = mock(InternalSpan.class);
+    when(unsampledSpan.getName()).thenReturn("unsampledSpan");
+    when(unsampledSpan.isSampled()).thenReturn(false);
+
+    DistributedTraceContextGetter distributedTraceContextGetter = mock(DistributedTraceContextGetter.class);
+    when(distributedTraceContextGetter.get(any(String.class))).thenReturn(empty());
+    EventSpanContext spanContext =
+        EventSpanContext.builder().withGetter(distributedTraceContextGetter).build();
+
+    spanContext.setSpan(unsampledSpan, Assertion.SUCCESSFUL_ASSERTION);
+    assertThat(spanContext.startUnsampledSpan("notCreated", new SpanNameAssertion("unsampledSpan")), is(true));
+    assertThat(spanContext.startUnsampledSpan("notCreatedChild", new SpanNameAssertion("notCreated")), is(true));
+
+    // The distributed trace context is still resolved from the span that carries the sampling decision
+    assertThat(spanContext.getSpan().get(), sameInstance(unsampledSpan));
+
+    spanContext.endSpan(new SpanNameAssertion("notCreatedChild"));
+    spanContext.endSpan(new SpanNameAssertion("notCreated"));
+    verify(unsampledSpan, never()).end();
+
+    spanContext.endSpan(new SpanNameAssertion("unsampledSpan"));
+    verify(unsampledSpan).end();
+  }
+
+  @Test
+  public void spansOnTopOfSampledSpanAreCreated() {
+    InternalSpan sampledSpan = mock(InternalSpan.class);
+    when(sampledSpan.getName()).thenReturn("sampledSpan");
+    when(sampledSpan.isSampled()).thenReturn(true);
+
+    DistributedTraceContextGetter distributedTraceContextGetter = mock(DistributedTraceContextGetter.class);
+    when(distributedTraceContextGetter.get(any(String.class))).thenReturn(empty());
+    EventSpanContext spanContext =
+        EventSpanContext.builder().withGetter(distributedTraceContextGetter).build();
+
+    assertThat(spanContext.startUnsampledSpan("span", Assertion.SUCCESSFUL_ASSERTION), is(false));
+    spanContext.setSpan(sampledSpan, Assertion.SUCCESSFUL_ASSERTION);
+    assertThat(spanContext.startUnsampledSpan("span", Assertion.SUCCESSFUL_ASSERTION), is(false));
+  }
+
+  @Test(expected = AssertionFailedException.class)
+  public void endUnsampledSpanUnsuccessfulAssertion() {
+    EventSpanContext spanContext = unsampledSpanContext(mock(InternalSpan.class));
+    spanContext.startUnsampledSpan("notCreated", Assertion.SUCCESSFUL_ASSERTION);
+
+    spanContext.endSpan(new SpanNameAssertion("thisShouldFail"));
+  }
+
+  @Test(expected = AssertionFailedException.class)
+  public void startUnsampledSpanUnsuccessfulAssertion() {
+    EventSpanContext spanContext = unsampledSpanContext(mock(InternalSpan.class));
+
+    spanContext.startUnsampledSpan("notCreated", new SpanNameAssertion("thisShouldFail"));
+  }
+
+  @Test
+  public void copyKeepsUnsampledSpans() {
+    InternalSpan unsampledSpan = mock(InternalSpan.class);
+    EventSpanContext spanContext = unsampledSpanContext(unsampledSpan);
+    spanContext.startUnsampledSpan("notCreated", Assertion.SUCCESSFUL_ASSERTION);
+
+    EventSpanContext copy = (EventSpanContext) spanContext.copy();
+    copy.endSpan(new SpanNameAssertion("notCreated"));
+    copy.endSpan(new SpanNameAssertion("unsampledSpan"));
+    verify(unsampledSpan).end();
+
+    // The copy has its own unsampled spans
+    spanContext.endSpan(new SpanNameAssertion("notCreated"));
+  }
+
+  @Test
+  public void setSpanResetsUnsampledSpans() {
+    EventSpanContext spanContext = unsampledSpanContext(mock(InternalSpan.class));
+    spanContext.startUnsampledSpan("notCreated", Assertion.SUCCESSFUL_ASSERTION);
+
+    InternalSpan sampledSpan = mock(InternalSpan.class);
+    when(sampledSpan.getName()).thenReturn("sampledSpan");
+    when(sampledSpan.isSampled()).thenReturn(true);
+    spanContext.setSpan(sampledSpan, Assertion.SUCCESSFUL_ASSERTION);
+
+    spanContext.endSpan(new SpanNameAssertion("sampledSpan"));
+    verify(sampledSpan).end();
+  }
+
+  private static EventSpanContext unsampledSpanContext(InternalSpan unsampledSpan) {
+    when(unsampledSpan.getName()).thenReturn("unsampledSpan");
+    when(unsampledSpan.isSampled()).thenReturn(false);
+
+    DistributedTraceContextGetter distributedTraceContextGetter = mock(DistributedTraceContextGetter.class);
+    when(distributedTraceContextGetter.get(any(String.class))).thenReturn(empty());
+    EventSpanContext spanContext =
+        EventSpanContext.builder().withGetter(distributedTraceContextGetter).build();
+    spanContext.setSpan(unsampledSpan, Assertion.SUCCESSFUL_ASSERTION);
+    return spanContext;
+  }
 }
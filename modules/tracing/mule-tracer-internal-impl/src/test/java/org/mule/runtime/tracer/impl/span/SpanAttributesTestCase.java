@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.tracer.impl.span;
+
+import static org.mule.test.allure.AllureConstants.Profiling.PROFILING;
+import static org.mule.test.allure.AllureConstants.Profiling.ProfilingServiceStory.DEFAULT_CORE_EVENT_TRACER;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.Test;
+
+@Feature(PROFILING)
+@Story(DEFAULT_CORE_EVENT_TRACER)
+public class SpanAttributesTestCase {
+
+  @Test
+  public void attributesAreIteratedInInsertionOrder() {
+    SpanAttributes attributes = new SpanAttributes(1);
+    attributes.put("first", "1");
+    attributes.put("second", "2");
+    attributes.put("third", "3");
+
+    List<String> iterated = new ArrayList<>();
+    attributes.forEach((key, value) -> iterated.add(key + "=" + value));
+
+    assertThat(iterated, contains("first=1", "second=2", "third=3"));
+    assertThat(attributes.size(), is(3));
+  }
+
+  @Test
+  public void attributeWithSameKeyIsReplaced() {
+    SpanAttributes attributes = new SpanAttributes();
+    attributes.put("key", "old");
+    attributes.put(new String("key"), "new");
+
+    assertThat(attributes.get("key"), is("new"));
+    assertThat(attributes.size(), is(1));
+  }
+
+  @Test
+  public void emptyAttributes() {
+    SpanAttributes attributes = new SpanAttributes();
+
+    assertThat(attributes.isEmpty(), is(true));
+    assertThat(attributes.get("key"), is(nullValue()));
+    attributes.forEach((key, value) -> {
+      throw new AssertionError("No attributes expected");
+    });
+  }
+
+  @Test
+  public void nullKey() {
+    SpanAttributes attributes = new SpanAttributes();
+    assertThat(attributes.get(null), is(nullValue()));
+
+    attributes.put(null, "old");
+    attributes.put("key", "value");
+    attributes.put(null, "new");
+
+    assertThat(attributes.get(null), is("new"));
+    assertThat(attributes.get("key"), is("value"));
+    assertThat(attributes.get("other"), is(nullValue()));
+    assertThat(attributes.size(), is(2));
+  }
+}
@@ -17,6 +17,8 @@ module org.mule.runtime.troubleshooting {
   requires org.mule.runtime.deployment;
   requires org.mule.runtime.deployment.model;
 
+  requires java.management;
+
   requires org.json;
   requires com.google.gson;
 
@@ -16,6 +16,8 @@ import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefin
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationException;
 import org.mule.runtime.module.troubleshooting.api.TroubleshootingService;
 import org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.OpenCursorsOperation;
+import org.mule.runtime.module.troubleshooting.internal.operations.ProcessingStatisticsOperation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -29,6 +31,8 @@ public class DefaultTroubleshootingService implements TroubleshootingService {
 
   public DefaultTroubleshootingService(DeploymentService deploymentService) {
     registerOperation(new EventDumpOperation(deploymentService));
+    registerOperation(new ProcessingStatisticsOperation(deploymentService));
+    registerOperation(new OpenCursorsOperation(deploymentService));
   }
 
   @Override
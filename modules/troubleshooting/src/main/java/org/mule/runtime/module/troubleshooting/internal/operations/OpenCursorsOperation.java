@@ -0,0 +1,149 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STREAMING_GHOST_BUSTER;
+
+import static java.lang.Math.max;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Comparator.comparingLong;
+
+import org.mule.runtime.core.internal.streaming.CursorProviderTracker;
+import org.mule.runtime.core.internal.streaming.CursorProviderTracker.OpenCursorProvider;
+import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Operation used to collect, in JSON format, the cursor providers of the applications whose resources have not been released
+ * yet, along with the location of the component that opened them, their age and the amount of bytes they buffer.
+ * <p>
+ * The name of the operation is "openCursors".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the open cursor providers from</li>
+ * </ul>
+ * <p>
+ * The inventory of open providers is only kept if enabled through
+ * {@link CursorProviderTracker#TRACK_CURSOR_PROVIDERS_PROPERTY}. The amount of providers reclaimed after being garbage collected
+ * is always reported.
+ *
+ * @since 4.10
+ */
+public class OpenCursorsOperation implements TroubleshootingOperation {
+
+  public static final String OPEN_CURSORS_OPERATION_NAME = "openCursors";
+  public static final String OPEN_CURSORS_OPERATION_DESCRIPTION =
+      "Collects the cursor providers that are still open, grouped by the component that opened them, in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the open cursor providers from";
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public OpenCursorsOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JSONObject applications = new JSONObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          addOpenCursorsFor(application, applications);
+        }
+      } else {
+        addOpenCursorsFor(deploymentService.findApplication(applicationName), applications);
+      }
+
+      JSONObject openCursors = new JSONObject();
+      openCursors.put("applications", applications);
+      return openCursors.toString(2);
+    };
+  }
+
+  private static void addOpenCursorsFor(Application application, JSONObject applications) {
+    Optional<StreamingGhostBuster> ghostBuster =
+        application.getArtifactContext().getRegistry().lookupByName(OBJECT_STREAMING_GHOST_BUSTER);
+    if (!ghostBuster.isPresent()) {
+      return;
+    }
+
+    JSONObject applicationAsJSON = new JSONObject();
+    applicationAsJSON.put("reclaimedByGhostBuster", ghostBuster.get().getReclaimedCount());
+    Optional<CursorProviderTracker> tracker = ghostBuster.get().getCursorProviderTracker();
+    applicationAsJSON.put("trackingEnabled", tracker.isPresent());
+    tracker.ifPresent(t -> applicationAsJSON.put("locations", openCursorsByLocation(t)));
+    applications.put(application.getArtifactName(), applicationAsJSON);
+  }
+
+  private static JSONObject openCursorsByLocation(CursorProviderTracker tracker) {
+    final long now = currentTimeMillis();
+    List<OpenCursorProvider> openProviders = new ArrayList<>(tracker.getOpenCursorProviders());
+    // Oldest first, since those are the most likely to have leaked
+    openProviders.sort(comparingLong(OpenCursorProvider::getCreationTime));
+
+    JSONObject locations = new JSONObject();
+    for (OpenCursorProvider openProvider : openProviders) {
+      JSONObject locationAsJSON = locations.optJSONObject(openProvider.getLocation());
+      if (locationAsJSON == null) {
+        locationAsJSON = new JSONObject();
+        locationAsJSON.put("openProviders", 0);
+        locationAsJSON.put("bufferedBytes", 0L);
+        locationAsJSON.put("providers", new JSONArray());
+        locations.put(openProvider.getLocation(), locationAsJSON);
+      }
+
+      long bufferedBytes = openProvider.getBufferedBytes();
+      locationAsJSON.increment("openProviders");
+      locationAsJSON.put("bufferedBytes", locationAsJSON.getLong("bufferedBytes") + max(bufferedBytes, 0));
+
+      JSONObject providerAsJSON = new JSONObject();
+      providerAsJSON.put("id", openProvider.getId());
+      providerAsJSON.put("ageMillis", max(now - openProvider.getCreationTime(), 0));
+      providerAsJSON.put("creatorThread", openProvider.getCreatorThreadName());
+      if (bufferedBytes >= 0) {
+        providerAsJSON.put("bufferedBytes", bufferedBytes);
+      }
+      locationAsJSON.getJSONArray("providers").put(providerAsJSON);
+    }
+    return locations;
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(OPEN_CURSORS_OPERATION_NAME,
+                                                         OPEN_CURSORS_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static org.mule.runtime.core.internal.processor.strategy.BufferedProcessingStrategy.getBufferedProcessingStrategy;
+import static org.mule.runtime.core.internal.time.SharedTimerScheduler.getActiveTriggerStatistics;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.regex.Pattern.compile;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.internal.construct.AbstractPipeline;
+import org.mule.runtime.core.internal.construct.FlowProcessingStatistics;
+import org.mule.runtime.core.internal.time.TriggerStatistics;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+import org.mule.runtime.module.troubleshooting.api.ArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperation;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationCallback;
+import org.mule.runtime.module.troubleshooting.api.TroubleshootingOperationDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultArgumentDefinition;
+import org.mule.runtime.module.troubleshooting.internal.DefaultTroubleshootingOperationDefinition;
+
+import java.lang.management.ThreadInfo;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Operation used to collect, in JSON format, the statistics of the processing of the flows, the back-pressure they applied and
+ * the state of the thread pools of the runtime.
+ * <p>
+ * The name of the operation is "processingStats".
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>application (Optional): The application to collect the flow statistics from</li>
+ * </ul>
+ * <p>
+ * If the given application is not deployed, the result only has an "error" entry describing it.
+ * <p>
+ * All the data comes from counters that are updated without locking and from the state of the threads, without their stack
+ * traces, so this operation is cheap enough to be invoked frequently.
+ *
+ * @since 4.10
+ */
+public class ProcessingStatisticsOperation implements TroubleshootingOperation {
+
+  public static final String PROCESSING_STATISTICS_OPERATION_NAME = "processingStats";
+  public static final String PROCESSING_STATISTICS_OPERATION_DESCRIPTION =
+      "Collects flow processing, back-pressure and thread pool statistics in JSON format";
+
+  public static final String APPLICATION_ARGUMENT_NAME = "application";
+  public static final String APPLICATION_ARGUMENT_DESCRIPTION = "Application to collect the flow statistics from";
+
+  // Threads of the pools of the runtime are named after the pool, followed by their index and optionally the task they run
+  private static final Pattern THREAD_POOL_NAME_PATTERN = compile("^(\\[MuleRuntime\\]\\.[^.:\\s]+)\\.\\d+");
+
+  private static final TroubleshootingOperationDefinition definition = createOperationDefinition();
+
+  private final DeploymentService deploymentService;
+
+  public ProcessingStatisticsOperation(DeploymentService deploymentService) {
+    this.deploymentService = deploymentService;
+  }
+
+  @Override
+  public TroubleshootingOperationDefinition getDefinition() {
+    return definition;
+  }
+
+  @Override
+  public TroubleshootingOperationCallback getCallback() {
+    return arguments -> {
+      JSONObject applications = new JSONObject();
+      JSONObject schedulerTriggers = new JSONObject();
+      final String applicationName = arguments.get(APPLICATION_ARGUMENT_NAME);
+      if (applicationName == null) {
+        for (Application application : deploymentService.getApplications()) {
+          addFlowStatisticsFor(application, applications);
+          addTriggerStatisticsFor(application, schedulerTriggers);
+        }
+      } else {
+        Application application = deploymentService.findApplication(applicationName);
+        if (application == null) {
+          JSONObject error = new JSONObject();
+          error.put("error", "Application '" + applicationName + "' not found");
+          return error.toString(2);
+        }
+        addFlowStatisticsFor(application, applications);
+        addTriggerStatisticsFor(application, schedulerTriggers);
+      }
+
+      JSONObject statistics = new JSONObject();
+      statistics.put("applications", applications);
+      statistics.put("threadPools", getThreadPoolStatistics());
+      statistics.put("schedulerTriggers", schedulerTriggers);
+      return statistics.toString(2);
+    };
+  }
+
+  private static void addFlowStatisticsFor(Application application, JSONObject applications) {
+    JSONObject flows = new JSONObject();
+    for (FlowConstruct flowConstruct : application.getArtifactContext().getRegistry().lookupAllByType(FlowConstruct.class)) {
+      if (flowConstruct instanceof AbstractPipeline pipeline) {
+        flows.put(pipeline.getName(), flowStatisticsToJSON(pipeline));
+      }
+    }
+    applications.put(application.getArtifactName(), flows);
+  }
+
+  private static JSONObject flowStatisticsToJSON(AbstractPipeline pipeline) {
+    FlowProcessingStatistics processingStatistics = pipeline.getProcessingStatistics();
+
+    JSONObject flowAsJSON = new JSONObject();
+    flowAsJSON.put("inFlightEvents", processingStatistics.getInFlightEvents());
+    flowAsJSON.put("maxConcurrency", pipeline.getMaxConcurrency());
+    getBufferedProcessingStrategy(pipeline.getProcessingStrategy()).ifPresent(buffered -> {
+      flowAsJSON.put("bufferedEvents", buffered.getBufferedEvents());
+      flowAsJSON.put("bufferCapacity", buffered.getBufferCapacity());
+    });
+
+    JSONObject backPressureAsJSON = new JSONObject();
+    for (BackPressureReason reason : BackPressureReason.values()) {
+      backPressureAsJSON.put(reason.name(), processingStatistics.getBackPressureCount(reason));
+    }
+    flowAsJSON.put("backPressure", backPressureAsJSON);
+    return flowAsJSON;
+  }
+
+  private static JSONObject getThreadPoolStatistics() {
+    JSONObject threadPools = new JSONObject();
+    // A max depth of 0 avoids collecting the stack traces of the threads
+    for (ThreadInfo threadInfo : getThreadMXBean().getThreadInfo(getThreadMXBean().getAllThreadIds(), 0)) {
+      if (threadInfo == null) {
+        // The thread is no longer alive
+        continue;
+      }
+      Matcher matcher = THREAD_POOL_NAME_PATTERN.matcher(threadInfo.getThreadName());
+      if (!matcher.find()) {
+        continue;
+      }
+
+      JSONObject poolAsJSON = threadPools.optJSONObject(matcher.group(1));
+      if (poolAsJSON == null) {
+        poolAsJSON = new JSONObject();
+        poolAsJSON.put("threads", 0);
+        poolAsJSON.put("runnable", 0);
+        poolAsJSON.put("blocked", 0);
+        poolAsJSON.put("waiting", 0);
+        threadPools.put(matcher.group(1), poolAsJSON);
+      }
+      poolAsJSON.increment("threads");
+      switch (threadInfo.getThreadState()) {
+        case RUNNABLE:
+          poolAsJSON.increment("runnable");
+          break;
+        case BLOCKED:
+          poolAsJSON.increment("blocked");
+          break;
+        case WAITING:
+        case TIMED_WAITING:
+          poolAsJSON.increment("waiting");
+          break;
+        default:
+          break;
+      }
+    }
+    return threadPools;
+  }
+
+  private static void addTriggerStatisticsFor(Application application, JSONObject schedulerTriggers) {
+    JSONArray triggers = new JSONArray();
+    for (TriggerStatistics triggerStatistics : getActiveTriggerStatistics(application.getArtifactName())) {
+      JSONObject triggerAsJSON = new JSONObject();
+      triggerAsJSON.put("scheduler", triggerStatistics.getName());
+      triggerAsJSON.put("fired", triggerStatistics.getFiredCount());
+      triggerAsJSON.put("rejected", triggerStatistics.getRejectedCount());
+      triggerAsJSON.put("averageLagMillis", triggerStatistics.getAverageLag(MILLISECONDS));
+      triggerAsJSON.put("maxLagMillis", triggerStatistics.getMaxLag(MILLISECONDS));
+      triggers.put(triggerAsJSON);
+    }
+    schedulerTriggers.put(application.getArtifactName(), triggers);
+  }
+
+  private static TroubleshootingOperationDefinition createOperationDefinition() {
+    return new DefaultTroubleshootingOperationDefinition(PROCESSING_STATISTICS_OPERATION_NAME,
+                                                         PROCESSING_STATISTICS_OPERATION_DESCRIPTION,
+                                                         createApplicationArgumentDefinition());
+  }
+
+  private static ArgumentDefinition createApplicationArgumentDefinition() {
+    return new DefaultArgumentDefinition(APPLICATION_ARGUMENT_NAME, APPLICATION_ARGUMENT_DESCRIPTION, false);
+  }
+}
@@ -16,6 +16,8 @@ import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTe
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
 import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockFlowStackEntry;
 import static org.mule.runtime.module.troubleshooting.internal.operations.EventDumpOperation.EVENT_DUMP_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.OpenCursorsOperation.OPEN_CURSORS_OPERATION_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProcessingStatisticsOperation.PROCESSING_STATISTICS_OPERATION_NAME;
 
 import org.junit.After;
 import org.junit.Before;
@@ -52,10 +54,12 @@ public class DefaultTroubleshootingServiceTestCase {
   @Test
   public void checkOperations() {
     List<TroubleshootingOperationDefinition> availableOperations = troubleshootingService.getAvailableOperations();
-    assertThat(availableOperations.size(), is(2));
+    assertThat(availableOperations.size(), is(4));
 
     List<String> operationNames = availableOperations.stream().map(TroubleshootingOperationDefinition::getName).collect(toList());
-    assertThat(operationNames, containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, TEST_OPERATION_NAME));
+    assertThat(operationNames,
+               containsInAnyOrder(EVENT_DUMP_OPERATION_NAME, PROCESSING_STATISTICS_OPERATION_NAME, OPEN_CURSORS_OPERATION_NAME,
+                                  TEST_OPERATION_NAME));
   }
 
   @Test(expected = TroubleshootingOperationException.class)
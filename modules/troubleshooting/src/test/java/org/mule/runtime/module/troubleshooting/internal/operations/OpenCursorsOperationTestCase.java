@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.lang.Thread.currentThread;
+import static java.util.Optional.of;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STREAMING_GHOST_BUSTER;
+import static org.mule.runtime.core.internal.streaming.CursorProviderTracker.TRACK_CURSOR_PROVIDERS_PROPERTY;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.OpenCursorsOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.OpenCursorsOperation.OPEN_CURSORS_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.OpenCursorsOperation.OPEN_CURSORS_OPERATION_NAME;
+
+import com.google.gson.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.internal.streaming.BufferedCursorProvider;
+import org.mule.runtime.core.internal.streaming.IdentifiableCursorProviderDecorator;
+import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
+import org.mule.runtime.core.internal.streaming.bytes.ManagedCursorStreamProvider;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class OpenCursorsOperationTestCase {
+
+  private OpenCursorsOperation openCursorsOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    Application app2 = mockApplication("app2");
+    when(app1.getArtifactContext().getRegistry().lookupByName(OBJECT_STREAMING_GHOST_BUSTER))
+        .thenReturn(of(new StreamingGhostBuster()));
+    when(app2.getArtifactContext().getRegistry().lookupByName(OBJECT_STREAMING_GHOST_BUSTER))
+        .thenReturn(of(new StreamingGhostBuster()));
+    DeploymentService deploymentService = mockDeploymentService(app1, app2);
+    openCursorsOperation = new OpenCursorsOperation(deploymentService);
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(openCursorsOperation.getDefinition().getName(), is(OPEN_CURSORS_OPERATION_NAME));
+    assertThat(openCursorsOperation.getDefinition().getDescription(), is(OPEN_CURSORS_OPERATION_DESCRIPTION));
+    assertThat(openCursorsOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReturnsAllApplications() {
+    Object result = openCursorsOperation.getCallback().execute(new HashMap<>());
+
+    JsonObject applicationsJson = parseString((String) result).getAsJsonObject().getAsJsonObject("applications");
+    assertThat(applicationsJson.keySet().size(), is(2));
+    assertThat(applicationsJson.getAsJsonObject("app1").get("reclaimedByGhostBuster").getAsLong(), is(0L));
+    assertThat(applicationsJson.getAsJsonObject("app1").get("trackingEnabled").getAsBoolean(), is(false));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = openCursorsOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonObject applicationsJson = parseString((String) result).getAsJsonObject().getAsJsonObject("applications");
+    assertThat(applicationsJson.has("app1"), is(true));
+    assertThat(applicationsJson.has("app2"), is(false));
+  }
+
+  @Test
+  public void whenTrackingIsEnabledItReturnsTheOpenProvidersByLocation() {
+    StreamingGhostBuster ghostBuster;
+    setProperty(TRACK_CURSOR_PROVIDERS_PROPERTY, "true");
+    try {
+      ghostBuster = new StreamingGhostBuster();
+    } finally {
+      clearProperty(TRACK_CURSOR_PROVIDERS_PROPERTY);
+    }
+    Application application = mockApplication("tracked");
+    when(application.getArtifactContext().getRegistry().lookupByName(OBJECT_STREAMING_GHOST_BUSTER))
+        .thenReturn(of(ghostBuster));
+    OpenCursorsOperation operation = new OpenCursorsOperation(mockDeploymentService(application));
+
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn("flow/processors/0");
+    CursorStreamProvider provider =
+        mock(CursorStreamProvider.class, withSettings().extraInterfaces(BufferedCursorProvider.class));
+    when(provider.getOriginatingLocation()).thenReturn(of(location));
+    when(((BufferedCursorProvider) provider).getBufferedBytes()).thenReturn(1024L);
+    ManagedCursorStreamProvider managedProvider =
+        new ManagedCursorStreamProvider(IdentifiableCursorProviderDecorator.of(provider), null);
+    ghostBuster.track(managedProvider);
+
+    JsonObject applicationJson = executeForApplication(operation, "tracked");
+    assertThat(applicationJson.get("trackingEnabled").getAsBoolean(), is(true));
+    JsonObject locationJson = applicationJson.getAsJsonObject("locations").getAsJsonObject("flow/processors/0");
+    assertThat(locationJson.get("openProviders").getAsInt(), is(1));
+    assertThat(locationJson.get("bufferedBytes").getAsLong(), is(1024L));
+    JsonObject providerJson = locationJson.getAsJsonArray("providers").get(0).getAsJsonObject();
+    assertThat(providerJson.get("id").getAsInt(), is(managedProvider.getId()));
+    assertThat(providerJson.get("creatorThread").getAsString(), is(currentThread().getName()));
+    assertThat(providerJson.get("bufferedBytes").getAsLong(), is(1024L));
+
+    managedProvider.releaseResources();
+    assertThat(executeForApplication(operation, "tracked").getAsJsonObject("locations").keySet().isEmpty(), is(true));
+  }
+
+  private static JsonObject executeForApplication(OpenCursorsOperation operation, String applicationName) {
+    Map<String, String> arguments = new HashMap<>();
+    arguments.put(APPLICATION_ARGUMENT_NAME, applicationName);
+    Object result = operation.getCallback().execute(arguments);
+    return parseString((String) result).getAsJsonObject().getAsJsonObject("applications").getAsJsonObject(applicationName);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.troubleshooting.internal.operations;
+
+import static com.google.gson.JsonParser.parseString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockApplication;
+import static org.mule.runtime.module.troubleshooting.internal.TroubleshootingTestUtils.mockDeploymentService;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProcessingStatisticsOperation.APPLICATION_ARGUMENT_NAME;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProcessingStatisticsOperation.PROCESSING_STATISTICS_OPERATION_DESCRIPTION;
+import static org.mule.runtime.module.troubleshooting.internal.operations.ProcessingStatisticsOperation.PROCESSING_STATISTICS_OPERATION_NAME;
+
+import com.google.gson.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.internal.construct.AbstractPipeline;
+import org.mule.runtime.core.internal.construct.FlowProcessingStatistics;
+import org.mule.runtime.deployment.model.api.application.Application;
+import org.mule.runtime.module.deployment.api.DeploymentService;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProcessingStatisticsOperationTestCase {
+
+  private ProcessingStatisticsOperation processingStatisticsOperation;
+
+  @Before
+  public void setup() {
+    Application app1 = mockApplication("app1");
+    AbstractPipeline flow = mock(AbstractPipeline.class);
+    when(flow.getName()).thenReturn("flow1");
+    when(flow.getMaxConcurrency()).thenReturn(4);
+    when(flow.getProcessingStatistics()).thenReturn(new FlowProcessingStatistics());
+    Collection<FlowConstruct> flows = List.of(flow);
+    when(app1.getArtifactContext().getRegistry().lookupAllByType(FlowConstruct.class)).thenReturn(flows);
+    Application app2 = mockApplication("app2");
+    DeploymentService deploymentService = mockDeploymentService(app1, app2);
+    processingStatisticsOperation = new ProcessingStatisticsOperation(deploymentService);
+  }
+
+  @Test
+  public void definitionHasCorrectNameDescriptionAndNumberOfArguments() {
+    assertThat(processingStatisticsOperation.getDefinition().getName(), is(PROCESSING_STATISTICS_OPERATION_NAME));
+    assertThat(processingStatisticsOperation.getDefinition().getDescription(), is(PROCESSING_STATISTICS_OPERATION_DESCRIPTION));
+    assertThat(processingStatisticsOperation.getDefinition().getArgumentDefinitions().size(), is(1));
+  }
+
+  @Test
+  public void whenNoApplicationIsPassedItReturnsAllApplications() {
+    Object result = processingStatisticsOperation.getCallback().execute(new HashMap<>());
+
+    JsonObject resultJson = parseString((String) result).getAsJsonObject();
+    assertThat(resultJson.getAsJsonObject("applications").keySet().size(), is(2));
+    assertThat(resultJson.has("threadPools"), is(true));
+    assertThat(resultJson.has("schedulerTriggers"), is(true));
+  }
+
+  @Test
+  public void whenApplicationIsPassedItReturnsOnlyThePassedOne() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = processingStatisticsOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonObject resultJson = parseString((String) result).getAsJsonObject();
+    assertThat(resultJson.getAsJsonObject("applications").has("app1"), is(true));
+    assertThat(resultJson.getAsJsonObject("applications").has("app2"), is(false));
+  }
+
+  @Test
+  public void registeredFlowsStatisticsReported() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "app1");
+    Object result = processingStatisticsOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonObject flowJson = parseString((String) result).getAsJsonObject()
+        .getAsJsonObject("applications").getAsJsonObject("app1").getAsJsonObject("flow1");
+    assertThat(flowJson.get("inFlightEvents").getAsLong(), is(0L));
+    assertThat(flowJson.get("maxConcurrency").getAsInt(), is(4));
+    assertThat(flowJson.has("bufferedEvents"), is(false));
+    for (BackPressureReason reason : BackPressureReason.values()) {
+      assertThat(flowJson.getAsJsonObject("backPressure").get(reason.name()).getAsLong(), is(0L));
+    }
+  }
+
+  @Test
+  public void whenApplicationIsNotDeployedItReturnsAnError() {
+    Map<String, String> argumentsWithApplication = new HashMap<>();
+    argumentsWithApplication.put(APPLICATION_ARGUMENT_NAME, "notDeployed");
+    Object result = processingStatisticsOperation.getCallback().execute(argumentsWithApplication);
+
+    JsonObject resultJson = parseString((String) result).getAsJsonObject();
+    assertThat(resultJson.get("error").getAsString(), is("Application 'notDeployed' not found"));
+    assertThat(resultJson.has("applications"), is(false));
+  }
+}
@@ -12,6 +12,7 @@ import static org.mule.runtime.api.meta.model.display.PathModel.Location.EMBEDDE
 import static org.mule.runtime.api.meta.model.display.PathModel.Type.FILE;
 import static org.mule.runtime.config.internal.dsl.utils.DslConstants.TLS_PREFIX;
 import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.BOOLEAN_TYPE;
+import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.LONG_TYPE;
 import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.MULESOFT_VENDOR;
 import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.MULE_TLS_NAMESPACE;
 import static org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider.MULE_TLS_SCHEMA_LOCATION;
@@ -106,12 +107,19 @@ class TlsExtensionModelDeclarer {
     params = rc.onParameterGroup("crlFile").withDslInlineRepresentation(true);
     configurePathParameter(optionalStringParam(params, "path", "The path to a CRL (Certificate Revocation List) " +
         "file to be used for this trust store. A certificate mentioned there will not be accepted for authentication."));
+    booleanParam(params, "indexed", "Index the revoked certificates of the CRL file for constant time lookups and reload " +
+        "the file when it changes, instead of using the standard Java revocation checking. Certificates whose issuer has no " +
+        "CRL in the file, or whose CRL is past its next update, are rejected.");
+    optionalParam(params, "reloadInterval", "When indexed, the minimum time in milliseconds between checks for changes in " +
+        "the CRL file. A value of 0 disables reloading.", LONG_TYPE).defaultingTo(30000L);
 
     params = rc.onParameterGroup("customOcspResponder").withDslInlineRepresentation(true);
     optionalStringParam(params, "url", "URL that identifies the location of the OCSP responder. " +
         "This is used instead of the corresponding field in the certificate extension.");
     optionalStringParam(params, "certAlias", "Alias of the certificate that signs the OCSP response, " +
         "instead of the corresponding CA. Must be present in the trust store.");
+    booleanParam(params, "cacheResponses", "Cache the OCSP responses until their next update, instead of querying the " +
+        "responder on each handshake.");
   }
 
   private void declareKeyStore(ConstructDeclarer context) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule;
+
+import static org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap.headersMultiMap;
+
+import org.mule.runtime.http.api.domain.CaseInsensitiveMultiMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+public class HeadersMultiMapBenchmark extends AbstractBenchmark {
+
+  private static final String[][] REQUEST_HEADERS = {
+      {"Host", "localhost:8081"},
+      {"User-Agent", "Mozilla/5.0 (X11; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0"},
+      {"Accept", "application/json"},
+      {"Accept-Encoding", "gzip, deflate"},
+      {"Accept-Language", "en-US,en;q=0.5"},
+      {"Connection", "keep-alive"},
+      {"Content-Type", "application/json"},
+      {"Content-Length", "1024"},
+      {"Cookie", "session=abc123"},
+      {"X-Correlation-ID", "8c9f0d1e-2a3b-4c5d-6e7f-8091a2b3c4d5"},
+      {"X-Forwarded-For", "10.0.0.1"}
+  };
+
+  @Param({"true", "false"})
+  public boolean compact;
+
+  private CaseInsensitiveMultiMap headers;
+
+  @Setup
+  public void setup() {
+    headers = build();
+  }
+
+  @Benchmark
+  public CaseInsensitiveMultiMap buildHeaders() {
+    return build();
+  }
+
+  @Benchmark
+  public String lookupWellKnownHeader() {
+    return headers.get("content-type");
+  }
+
+  @Benchmark
+  public String lookupMixedCaseHeader() {
+    return headers.get("X-Correlation-Id");
+  }
+
+  @Benchmark
+  public CaseInsensitiveMultiMap copyHeaders() {
+    CaseInsensitiveMultiMap copy = newMap();
+    copy.putAll(headers);
+    return copy;
+  }
+
+  private CaseInsensitiveMultiMap build() {
+    CaseInsensitiveMultiMap map = newMap();
+    for (String[] header : REQUEST_HEADERS) {
+      map.put(header[0], header[1]);
+    }
+    return map;
+  }
+
+  private CaseInsensitiveMultiMap newMap() {
+    return compact ? headersMultiMap(true) : new CaseInsensitiveMultiMap(true);
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.service.internal.manager;
+
+import static org.mule.runtime.module.service.api.discoverer.ServiceAssembly.lazyBuilder;
+
+import static java.lang.reflect.Proxy.getInvocationHandler;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.service.Service;
+import org.mule.runtime.api.service.ServiceDefinition;
+import org.mule.runtime.api.service.ServiceProvider;
+import org.mule.runtime.module.service.api.discoverer.ServiceAssembly;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the overhead of calling a service through the {@link LazyServiceProxy} of the container and of an application,
+ * compared to calling it directly and reflectively.
+ * <p>
+ * Once a method has been invoked a few times, {@link Method#invoke} goes through a generated accessor (or a method handle, from
+ * Java 18), so the proxies dispatch through it with an overhead of a few nanoseconds over a direct call. Keeping a
+ * {@link java.lang.invoke.MethodHandle} per method in a map measured slower than that, because of the lookup and the argument
+ * spreading on each call. Generated proxy classes were not pursued, since the configurator, the test infrastructure and the
+ * {@code ServiceProxyInvocationHandler} users reach the proxies through {@link java.lang.reflect.Proxy#getInvocationHandler}.
+ */
+@OutputTimeUnit(NANOSECONDS)
+@Threads(3)
+public class LazyServiceProxyBenchmark extends AbstractBenchmark {
+
+  public interface EchoService extends Service {
+
+    Object echo(Object value);
+  }
+
+  public static class DefaultEchoService implements EchoService {
+
+    @Override
+    public Object echo(Object value) {
+      return value;
+    }
+
+    @Override
+    public String getName() {
+      return "echo";
+    }
+  }
+
+  private final Object value = new Object();
+
+  private EchoService service;
+  private Method echoMethod;
+  private EchoService containerProxy;
+  private EchoService applicationProxy;
+
+  @Setup
+  public void setUp() throws Exception {
+    service = new DefaultEchoService();
+    echoMethod = EchoService.class.getMethod("echo", Object.class);
+
+    ServiceProvider serviceProvider = () -> new ServiceDefinition(EchoService.class, service);
+    ServiceAssembly assembly = lazyBuilder()
+        .withName("echo")
+        .withClassLoader(() -> LazyServiceProxyBenchmark.class.getClassLoader())
+        .withServiceProvider(() -> serviceProvider)
+        .forContract(EchoService.class.getName())
+        .build();
+
+    containerProxy = (EchoService) LazyServiceProxy.from(assembly, new DefaultServiceRegistry(), null);
+    applicationProxy = (EchoService) ((LazyServiceProxy) getInvocationHandler(containerProxy))
+        .forApplication(new DefaultMethodInvoker());
+
+    // Resolve the service, so that its creation is not measured
+    containerProxy.echo(value);
+    applicationProxy.echo(value);
+  }
+
+  @Benchmark
+  public Object directCall() {
+    return service.echo(value);
+  }
+
+  @Benchmark
+  public Object reflectiveCall() {
+    try {
+      return echoMethod.invoke(service, value);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Benchmark
+  public Object containerProxyCall() {
+    return containerProxy.echo(value);
+  }
+
+  @Benchmark
+  public Object applicationProxyCall() {
+    return applicationProxy.echo(value);
+  }
+}